@@ -1,6 +1,8 @@
 package com.akgarg.client.authclient;
 
+import com.akgarg.client.authclient.common.AuthClientStatistics;
 import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
 
 /**
  * Interface for authentication client that validates authentication tokens.
@@ -11,7 +13,7 @@ import com.akgarg.client.authclient.common.ValidateTokenRequest;
  * @author Akhilesh Garg
  * @since 10/09/23
  */
-public sealed interface AuthClient permits DefaultAuthClient {
+public sealed interface AuthClient extends AutoCloseable permits DefaultAuthClient {
 
     /**
      * Validates the authentication token using the provided request data.
@@ -21,4 +23,57 @@ public sealed interface AuthClient permits DefaultAuthClient {
      */
     boolean validate(ValidateTokenRequest validateTokenRequest);
 
+    /**
+     * Validates the authentication token using the provided request data, reporting how the validation ended, where
+     * the answer came from, and what it cost.
+     *
+     * @param validateTokenRequest the object containing the token validation data
+     * @return the {@link ValidationResult} of the validation
+     */
+    ValidationResult validateDetailed(ValidateTokenRequest validateTokenRequest);
+
+    /**
+     * Revokes a single session of the user, removing its token from the cache. With the in-memory cache strategy
+     * and an invalidation stream configured, the revocation is propagated to all other nodes.
+     *
+     * @param userId the user ID owning the session
+     * @param token  the authentication token of the session to revoke
+     * @return true if a cached session was removed, false otherwise
+     */
+    boolean revoke(String userId, String token);
+
+    /**
+     * Revokes all sessions of the user, removing all its tokens from the cache. With the in-memory cache strategy
+     * and an invalidation stream configured, the revocation is propagated to all other nodes.
+     *
+     * @param userId the user ID whose sessions are revoked
+     * @return true if cached sessions were removed, false otherwise
+     */
+    boolean revokeAll(String userId);
+
+    /**
+     * Returns a point-in-time view of the token cache and of the auth-service endpoints of the client, for
+     * monitoring.
+     *
+     * @return the {@link AuthClientStatistics} of the client
+     */
+    AuthClientStatistics statistics();
+
+    /**
+     * Removes every cached session, so all tokens are validated again with the auth-service. Meant to relieve
+     * incidents caused by stale or corrupted cache entries.
+     *
+     * @return true if the cache was cleared, false if the cache doesn't support it or failed to clear
+     */
+    boolean clearCache();
+
+    /**
+     * Closes the client: closes the token cache, HTTP client, endpoint registry and revocation filter built for it if
+     * they are {@link AutoCloseable}, which stops their threads and connections, and releases its reference to the
+     * {@link AuthClientResources} it was built with. A cache or HTTP client given to the {@link AuthClientBuilder} is
+     * left open, its owner closes it. Calling this method more than once has no further effect.
+     */
+    @Override
+    void close();
+
 }
@@ -1,15 +1,48 @@
 package com.akgarg.client.authclient;
 
 import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.AuthTokenCacheProvider;
 import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
 import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.PipelinedRedisAuthTokenCache;
 import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisConnectionStateListener;
+import com.akgarg.client.authclient.cache.RevocationFeed;
+import com.akgarg.client.authclient.cache.RevocationFilter;
+import com.akgarg.client.authclient.cache.TtlPolicy;
 import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.WireFormat;
+import com.akgarg.client.authclient.config.BatchingConfigs;
+import com.akgarg.client.authclient.config.ConcurrencyLimitConfigs;
+import com.akgarg.client.authclient.config.EndpointDiscoveryConfigs;
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
 import com.akgarg.client.authclient.config.RedisConnectionConfigs;
 import com.akgarg.client.authclient.config.RedisConnectionPoolConfigs;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import com.akgarg.client.authclient.config.RedisReplicaConfigs;
+import com.akgarg.client.authclient.config.RedisSingleFlightConfigs;
+import com.akgarg.client.authclient.config.RetryConfigs;
+import com.akgarg.client.authclient.config.RevocationFilterConfigs;
+import com.akgarg.client.authclient.config.SlidingExpiryConfigs;
+import com.akgarg.client.authclient.config.SnapshotConfigs;
+import com.akgarg.client.authclient.config.TtlPolicyConfigs;
+import com.akgarg.client.authclient.http.AuthServiceEndpointRegistry;
+import com.akgarg.client.authclient.http.AuthServiceEndpointSource;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.AuthServiceHttpClientProvider;
+import com.akgarg.client.authclient.http.BatchingAuthServiceHttpClient;
+import com.akgarg.client.authclient.http.ConcurrencyLimitedAuthServiceHttpClient;
 import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
 
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.function.Function;
 
 /**
  * Builder class for constructing an {@link AuthClient} instance.
@@ -25,12 +58,43 @@ public final class AuthClientBuilder {
 
     private RedisConnectionPoolConfigs connectionPoolConfig;
     private RedisConnectionConfigs redisConnectionConfigs;
+    private RedisPipelineConfigs redisPipelineConfigs;
+    private String redisKeyPrefix;
+    private boolean redisLegacyKeys;
+    private InvalidationStreamConfigs invalidationStreamConfigs;
+    private SnapshotConfigs snapshotConfigs;
+    private RedisFallbackConfigs redisFallbackConfigs;
+    private RedisReplicaConfigs redisReplicaConfigs;
+    private RedisSingleFlightConfigs redisSingleFlightConfigs;
+    private RedisConnectionStateListener redisConnectionStateListener;
+    private ConcurrencyLimitConfigs concurrencyLimitConfigs;
+    private BatchingConfigs batchingConfigs;
+    private RetryConfigs retryConfigs;
+    private List<AuthServiceEndpoint> authServiceEndpoints;
+    private AuthServiceEndpointSource authServiceEndpointSource;
+    private EndpointDiscoveryConfigs endpointDiscoveryConfigs;
+    private AuthClientTracer tracer;
+    private RevocationFilterConfigs revocationFilterConfigs;
+    private RevocationFeed revocationFeed;
+    private TtlPolicyConfigs ttlPolicyConfigs;
+    private SlidingExpiryConfigs slidingExpiryConfigs;
+    private AuthClientResources resources;
     private AuthTokenCacheStrategy cacheStrategy;
+    private AuthTokenCache authTokenCache;
+    private String cacheProvider;
+    private AuthServiceHttpClient authServiceHttpClient;
+    private String authServiceHttpClientProvider;
     private String validateTokenEndpoint;
     private ApiVersion apiVersion;
+    private WireFormat wireFormat;
+    private int maxSessionsPerUser;
 
     private AuthClientBuilder() {
         this.apiVersion = ApiVersion.V1; // Default API version
+        this.maxSessionsPerUser = AuthTokenCache.DEFAULT_MAX_SESSIONS_PER_USER;
+        this.retryConfigs = RetryConfigs.withDefaults();
+        this.authServiceEndpoints = List.of();
+        this.tracer = AuthClientTracer.NOOP;
     }
 
     /**
@@ -54,6 +118,57 @@ public final class AuthClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the cache used for token storage, taking precedence over the cache strategy.
+     *
+     * @param authTokenCache the cache to use
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the cache is null
+     */
+    public AuthClientBuilder authTokenCache(final AuthTokenCache authTokenCache) {
+        this.authTokenCache = Objects.requireNonNull(authTokenCache, "auth token cache is null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the {@link AuthTokenCacheProvider} creating the cache of the
+     * {@link AuthTokenCacheStrategy#CUSTOM} cache strategy. Not needed if exactly one provider is available.
+     *
+     * @param cacheProvider the name of the cache provider
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the cache provider name is null
+     */
+    public AuthClientBuilder cacheProvider(final String cacheProvider) {
+        this.cacheProvider = Objects.requireNonNull(cacheProvider, "cache provider is null");
+        return this;
+    }
+
+    /**
+     * Sets the transport calling the auth service, replacing the {@link DefaultAuthServiceHttpClient}. The
+     * concurrency limit still applies on top of it if enabled.
+     *
+     * @param authServiceHttpClient the transport to use
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the transport is null
+     */
+    public AuthClientBuilder authServiceHttpClient(final AuthServiceHttpClient authServiceHttpClient) {
+        this.authServiceHttpClient = Objects.requireNonNull(authServiceHttpClient, "auth service http client is null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the {@link AuthServiceHttpClientProvider} creating the transport calling the auth service,
+     * replacing the {@link DefaultAuthServiceHttpClient}.
+     *
+     * @param authServiceHttpClientProvider the name of the transport provider
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the transport provider name is null
+     */
+    public AuthClientBuilder authServiceHttpClientProvider(final String authServiceHttpClientProvider) {
+        this.authServiceHttpClientProvider = Objects.requireNonNull(authServiceHttpClientProvider, "auth service http client provider is null");
+        return this;
+    }
+
     /**
      * Sets the Redis connection properties for connecting to Redis if the cache strategy is Redis.
      *
@@ -78,6 +193,290 @@ public final class AuthClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the pipelined connection mode configuration for the {@link AuthTokenCacheStrategy#REDIS_PIPELINED}
+     * cache strategy.
+     *
+     * @param redisPipelineConfigs the Redis pipelined connection mode properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the Redis pipeline configuration is null
+     */
+    public AuthClientBuilder redisPipelineConfig(final RedisPipelineConfigs redisPipelineConfigs) {
+        this.redisPipelineConfigs = Objects.requireNonNull(redisPipelineConfigs, "redis pipeline config is null");
+        return this;
+    }
+
+    /**
+     * Sets the prefix of the Redis keys of the {@link AuthTokenCacheStrategy#REDIS} and
+     * {@link AuthTokenCacheStrategy#REDIS_PIPELINED} cache strategies, defaults to
+     * {@value RedisAuthTokenCache#DEFAULT_KEY_PREFIX}.
+     *
+     * @param redisKeyPrefix the Redis key prefix
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the Redis key prefix is null
+     */
+    public AuthClientBuilder redisKeyPrefix(final String redisKeyPrefix) {
+        this.redisKeyPrefix = Objects.requireNonNull(redisKeyPrefix, "redis key prefix is null");
+        return this;
+    }
+
+    /**
+     * Sets whether the Redis cache strategies read the sessions cached by versions up to 1.2.1, in the
+     * {@code auth_token} field of the un-prefixed {@code <userId>} hash, on a miss. Meant for the time of an upgrade
+     * only, disabled by default.
+     *
+     * @param redisLegacyKeys true to read the legacy entries
+     * @return the current {@link AuthClientBuilder} instance
+     */
+    public AuthClientBuilder redisLegacyKeys(final boolean redisLegacyKeys) {
+        this.redisLegacyKeys = redisLegacyKeys;
+        return this;
+    }
+
+    /**
+     * Enables the cross-node invalidation stream for the {@link AuthTokenCacheStrategy#IN_MEMORY} cache strategy.
+     * The stream is hosted on the Redis server set through {@link #redisConnectionProperties(RedisConnectionConfigs)}.
+     *
+     * @param invalidationStreamConfigs the invalidation stream properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the invalidation stream configuration is null
+     */
+    public AuthClientBuilder invalidationStream(final InvalidationStreamConfigs invalidationStreamConfigs) {
+        this.invalidationStreamConfigs = Objects.requireNonNull(invalidationStreamConfigs, "invalidation stream config is null");
+        return this;
+    }
+
+    /**
+     * Enables the warm-restart snapshot for the {@link AuthTokenCacheStrategy#IN_MEMORY} cache strategy.
+     *
+     * @param snapshotConfigs the snapshot properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the snapshot configuration is null
+     */
+    public AuthClientBuilder snapshot(final SnapshotConfigs snapshotConfigs) {
+        this.snapshotConfigs = Objects.requireNonNull(snapshotConfigs, "snapshot config is null");
+        return this;
+    }
+
+    /**
+     * Sets the read replicas of the {@link AuthTokenCacheStrategy#REDIS} cache strategy. Token lookups are spread
+     * across the replicas in sync with the primary, while writes and removals go to the primary.
+     *
+     * @param redisReplicaConfigs the read replicas and their replication lag check properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the read replica configuration is null
+     */
+    public AuthClientBuilder redisReplicas(final RedisReplicaConfigs redisReplicaConfigs) {
+        this.redisReplicaConfigs = Objects.requireNonNull(redisReplicaConfigs, "redis replica config is null");
+        return this;
+    }
+
+    /**
+     * Enables the cluster-wide single-flight of cache misses for the {@link AuthTokenCacheStrategy#REDIS} cache
+     * strategy: a session missing from the cache is validated by the node holding a short-lived Redis lease for it,
+     * while the other nodes wait for it to be cached.
+     *
+     * @param redisSingleFlightConfigs the single-flight properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the single-flight configuration is null
+     */
+    public AuthClientBuilder redisSingleFlight(final RedisSingleFlightConfigs redisSingleFlightConfigs) {
+        this.redisSingleFlightConfigs = Objects.requireNonNull(redisSingleFlightConfigs, "redis single flight config is null");
+        return this;
+    }
+
+    /**
+     * Sets the degraded mode configuration for the {@link AuthTokenCacheStrategy#REDIS} and
+     * {@link AuthTokenCacheStrategy#REDIS_PIPELINED} cache strategies.
+     *
+     * @param redisFallbackConfigs the degraded mode properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the degraded mode configuration is null
+     */
+    public AuthClientBuilder redisFallbackConfig(final RedisFallbackConfigs redisFallbackConfigs) {
+        this.redisFallbackConfigs = Objects.requireNonNull(redisFallbackConfigs, "redis fallback config is null");
+        return this;
+    }
+
+    /**
+     * Sets the listener notified when the Redis connection state of the {@link AuthTokenCacheStrategy#REDIS} or
+     * {@link AuthTokenCacheStrategy#REDIS_PIPELINED} cache strategy changes.
+     *
+     * @param redisConnectionStateListener the connection state listener
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the listener is null
+     */
+    public AuthClientBuilder redisConnectionStateListener(final RedisConnectionStateListener redisConnectionStateListener) {
+        this.redisConnectionStateListener = Objects.requireNonNull(redisConnectionStateListener, "redis connection state listener is null");
+        return this;
+    }
+
+    /**
+     * Enables the adaptive concurrency limit of outbound auth-service calls.
+     *
+     * @param concurrencyLimitConfigs the concurrency limit properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the concurrency limit configuration is null
+     */
+    public AuthClientBuilder concurrencyLimit(final ConcurrencyLimitConfigs concurrencyLimitConfigs) {
+        this.concurrencyLimitConfigs = Objects.requireNonNull(concurrencyLimitConfigs, "concurrency limit config is null");
+        return this;
+    }
+
+    /**
+     * Enables the micro-batching of concurrent auth-service calls into bulk calls. Batching pays off with an
+     * {@link ApiVersion} supporting bulk validation, such as {@link ApiVersion#V2}.
+     *
+     * @param batchingConfigs the batching properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the batching configuration is null
+     */
+    public AuthClientBuilder batching(final BatchingConfigs batchingConfigs) {
+        this.batchingConfigs = Objects.requireNonNull(batchingConfigs, "batching config is null");
+        return this;
+    }
+
+    /**
+     * Sets the retry budget and backoff configuration of failed auth-service calls. Defaults to
+     * {@link RetryConfigs#withDefaults()}.
+     *
+     * @param retryConfigs the retry properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the retry configuration is null
+     */
+    public AuthClientBuilder retryConfig(final RetryConfigs retryConfigs) {
+        this.retryConfigs = Objects.requireNonNull(retryConfigs, "retry config is null");
+        return this;
+    }
+
+    /**
+     * Registers the auth-service endpoints once on the client, for requests which don't carry endpoints of their
+     * own. Their URIs are precomputed and their call statistics are shared by all requests.
+     *
+     * @param authServiceEndpoints the auth-service endpoints
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the endpoints or any endpoint is null
+     */
+    public AuthClientBuilder authServiceEndpoints(final List<AuthServiceEndpoint> authServiceEndpoints) {
+        this.authServiceEndpoints = List.copyOf(Objects.requireNonNull(authServiceEndpoints, "auth service endpoints are null"));
+        return this;
+    }
+
+    /**
+     * Sets the source the registered auth-service endpoints are reloaded from in the background, enabling endpoint
+     * discovery. The endpoints set through {@link #authServiceEndpoints(List)} are used until the source supplies
+     * endpoints.
+     *
+     * @param authServiceEndpointSource the endpoint source, e.g. {@link AuthServiceEndpointSource#file}
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the endpoint source is null
+     */
+    public AuthClientBuilder authServiceEndpointSource(final AuthServiceEndpointSource authServiceEndpointSource) {
+        this.authServiceEndpointSource = Objects.requireNonNull(authServiceEndpointSource, "auth service endpoint source is null");
+        return this;
+    }
+
+    /**
+     * Enables the background reloading and health probing of the registered auth-service endpoints. Without an
+     * endpoint source, only the endpoints set through {@link #authServiceEndpoints(List)} are probed. The probes share
+     * the HTTP transport of the default HTTP client, or of the shared resources if set.
+     *
+     * @param endpointDiscoveryConfigs the reload and health probe properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the endpoint discovery configuration is null
+     */
+    public AuthClientBuilder endpointDiscovery(final EndpointDiscoveryConfigs endpointDiscoveryConfigs) {
+        this.endpointDiscoveryConfigs = Objects.requireNonNull(endpointDiscoveryConfigs, "endpoint discovery config is null");
+        return this;
+    }
+
+    /**
+     * Sets the tracer of token validations, e.g. an
+     * {@link com.akgarg.client.authclient.tracing.OpenTelemetryAuthClientTracer}. Defaults to
+     * {@link AuthClientTracer#NOOP}, tracing nothing.
+     *
+     * @param tracer the tracer
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the tracer is null
+     */
+    public AuthClientBuilder tracer(final AuthClientTracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer, "tracer is null");
+        return this;
+    }
+
+    /**
+     * Enables the local revocation filter, checked before a cached session is trusted. The filter learns about the
+     * revocations made through the client, and about those of the revocation feed if one is set, or else of the
+     * invalidation stream if one is configured.
+     *
+     * @param revocationFilterConfigs the sizing and retention properties of the filter
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the revocation filter configuration is null
+     * @see #revocationFeed(RevocationFeed)
+     */
+    public AuthClientBuilder revocationFilter(final RevocationFilterConfigs revocationFilterConfigs) {
+        this.revocationFilterConfigs = Objects.requireNonNull(revocationFilterConfigs, "revocation filter config is null");
+        return this;
+    }
+
+    /**
+     * Sets the feed of the revocations made outside the client, used by the revocation filter. The feed is started
+     * by the built client and closed along with it.
+     *
+     * @param revocationFeed the feed of revoked tokens
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the revocation feed is null
+     * @see #revocationFilter(RevocationFilterConfigs)
+     */
+    public AuthClientBuilder revocationFeed(final RevocationFeed revocationFeed) {
+        this.revocationFeed = Objects.requireNonNull(revocationFeed, "revocation feed is null");
+        return this;
+    }
+
+    /**
+     * Enables the TTL policy of cached sessions, applied to every cache strategy: a maximum cache TTL, a random
+     * jitter on the cache expiration, a minimum remaining lifetime for a session to be cached and an optional TTL
+     * for the tokens rejected by the auth-service.
+     *
+     * @param ttlPolicyConfigs the TTL policy properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the TTL policy configuration is null
+     */
+    public AuthClientBuilder ttlPolicy(final TtlPolicyConfigs ttlPolicyConfigs) {
+        this.ttlPolicyConfigs = Objects.requireNonNull(ttlPolicyConfigs, "ttl policy config is null");
+        return this;
+    }
+
+    /**
+     * Enables the sliding expiry of cached sessions for the {@link AuthTokenCacheStrategy#IN_MEMORY} and
+     * {@link AuthTokenCacheStrategy#REDIS} cache strategies: every cache hit extends the cache expiration of the
+     * session to the idle timeout from now, up to the maximum lifetime from its validation by the auth-service.
+     *
+     * @param slidingExpiryConfigs the sliding expiry properties
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the sliding expiry configuration is null
+     */
+    public AuthClientBuilder slidingExpiry(final SlidingExpiryConfigs slidingExpiryConfigs) {
+        this.slidingExpiryConfigs = Objects.requireNonNull(slidingExpiryConfigs, "sliding expiry config is null");
+        return this;
+    }
+
+    /**
+     * Shares the given resources with the other clients built with them: the in-memory cache runs its periodic tasks
+     * on the shared scheduler, the default HTTP client sends its requests through the shared HTTP transport, the
+     * Redis cache borrows its connections from the shared pool of its Redis server and runs its asynchronous calls on
+     * the shared Redis executor, and the pipelined Redis cache queues its commands on the shared pipeline of its Redis
+     * server. The built client holds a reference to the resources until it is closed.
+     *
+     * @param resources the shared resources
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the resources are null
+     */
+    public AuthClientBuilder resources(final AuthClientResources resources) {
+        this.resources = Objects.requireNonNull(resources, "resources is null");
+        return this;
+    }
+
     /**
      * Sets the endpoint for token validation requests.
      *
@@ -103,27 +502,289 @@ public final class AuthClientBuilder {
     }
 
     /**
-     * Builds the {@link AuthTokenCache} based on the specified cache strategy.
+     * Sets the preferred encoding of the auth-service request and response bodies. Endpoints rejecting it are sent
+     * JSON instead. Defaults to {@link WireFormat#JSON}.
+     *
+     * @param wireFormat the preferred wire format
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws NullPointerException if the wire format is null
+     */
+    public AuthClientBuilder wireFormat(final WireFormat wireFormat) {
+        this.wireFormat = Objects.requireNonNull(wireFormat, "wire format is null");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent sessions cached per user.
+     *
+     * @param maxSessionsPerUser the maximum number of sessions cached per user
+     * @return the current {@link AuthClientBuilder} instance
+     * @throws IllegalArgumentException if the maximum number of sessions is not greater than 0
+     */
+    public AuthClientBuilder maxSessionsPerUser(final int maxSessionsPerUser) {
+        if (maxSessionsPerUser <= 0) {
+            throw new IllegalArgumentException("max sessions per user must be greater than 0");
+        }
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        return this;
+    }
+
+    /**
+     * Builds the {@link AuthTokenCache} based on the specified cache strategy, unless a cache was given.
      *
      * @return an instance of {@link AuthTokenCache}
      */
     private AuthTokenCache buildAuthTokenCache() {
-        if (AuthTokenCacheStrategy.REDIS.equals(this.cacheStrategy)) {
-            return new RedisAuthTokenCache(this.redisConnectionConfigs, this.connectionPoolConfig);
+        if (this.authTokenCache != null) {
+            return this.authTokenCache;
+        } else if (AuthTokenCacheStrategy.CUSTOM.equals(this.cacheStrategy)) {
+            return loadProvider(AuthTokenCacheProvider.class, this.cacheProvider, AuthTokenCacheProvider::name)
+                    .create(this.maxSessionsPerUser);
+        } else if (AuthTokenCacheStrategy.REDIS.equals(this.cacheStrategy)) {
+            return RedisAuthTokenCache.builder(this.redisConnectionConfigs)
+                    .connectionPoolConfigs(this.connectionPoolConfig)
+                    .maxSessionsPerUser(this.maxSessionsPerUser)
+                    .fallback(this.redisFallbackConfigs)
+                    .stateListener(this.redisConnectionStateListener)
+                    .replicas(this.redisReplicaConfigs)
+                    .connectionPool(this.resources != null ? this.resources.redisPool(this.redisConnectionConfigs, this.connectionPoolConfig) : null)
+                    .asyncExecutor(this.resources != null ? this.resources.redisAsyncExecutor() : null)
+                    .singleFlight(this.redisSingleFlightConfigs)
+                    .slidingExpiry(this.slidingExpiryConfigs)
+                    .keyPrefix(this.redisKeyPrefix)
+                    .readLegacyKeys(this.redisLegacyKeys)
+                    .build();
+        } else if (AuthTokenCacheStrategy.REDIS_PIPELINED.equals(this.cacheStrategy)) {
+            return PipelinedRedisAuthTokenCache.builder(this.redisConnectionConfigs)
+                    .pipelineConfigs(this.redisPipelineConfigs)
+                    .pipeline(this.resources != null ? this.resources.redisPipeline(this.redisConnectionConfigs, this.redisPipelineConfigs) : null)
+                    .maxSessionsPerUser(this.maxSessionsPerUser)
+                    .fallback(this.redisFallbackConfigs)
+                    .stateListener(this.redisConnectionStateListener)
+                    .keyPrefix(this.redisKeyPrefix)
+                    .readLegacyKeys(this.redisLegacyKeys)
+                    .build();
         } else {
-            return new InMemoryAuthTokenCache();
+            if (this.invalidationStreamConfigs != null) {
+                Objects.requireNonNull(this.redisConnectionConfigs, "redis connection config is required for invalidation stream");
+            }
+            return InMemoryAuthTokenCache.builder()
+                    .maxSessionsPerUser(this.maxSessionsPerUser)
+                    .invalidationStream(this.redisConnectionConfigs, this.invalidationStreamConfigs)
+                    .snapshot(this.snapshotConfigs)
+                    .scheduler(this.resources != null ? this.resources.scheduler() : null)
+                    .slidingExpiry(this.slidingExpiryConfigs)
+                    .build();
         }
     }
 
+    /**
+     * Builds the {@link AuthServiceHttpClient}, wrapped with the adaptive concurrency limit and the micro-batching if
+     * enabled. Batches are gathered ahead of the concurrency limit, so a bulk call takes a single slot.
+     *
+     * @param transport the HTTP transport of the default HTTP client, null to create one for it
+     * @return an instance of {@link AuthServiceHttpClient}
+     */
+    private AuthServiceHttpClient buildAuthServiceHttpClient(final HttpClient transport) {
+        final AuthServiceHttpClient httpClient;
+
+        if (this.authServiceHttpClient != null) {
+            httpClient = this.authServiceHttpClient;
+        } else if (this.authServiceHttpClientProvider != null) {
+            httpClient = loadProvider(AuthServiceHttpClientProvider.class, this.authServiceHttpClientProvider, AuthServiceHttpClientProvider::name)
+                    .create(this.validateTokenEndpoint, apiVersion, this.tracer);
+        } else {
+            httpClient = DefaultAuthServiceHttpClient.builder(apiVersion)
+                    .validateTokenEndpoint(this.validateTokenEndpoint)
+                    .tracer(this.tracer)
+                    .httpClient(transport)
+                    .wireFormat(this.wireFormat)
+                    .build();
+        }
+
+        // the decorators close the client they wrap unless it was given to the builder
+        final var limitedHttpClient = this.concurrencyLimitConfigs != null
+                ? new ConcurrencyLimitedAuthServiceHttpClient(httpClient, this.concurrencyLimitConfigs, httpClient != this.authServiceHttpClient)
+                : httpClient;
+
+        if (this.batchingConfigs != null) {
+            return new BatchingAuthServiceHttpClient(
+                    limitedHttpClient,
+                    this.batchingConfigs,
+                    this.resources != null ? this.resources.scheduler() : null,
+                    limitedHttpClient != this.authServiceHttpClient
+            );
+        }
+
+        return limitedHttpClient;
+    }
+
+    /**
+     * Loads the service provider of the given type with the given name through {@link ServiceLoader}.
+     *
+     * @param type   the service provider type
+     * @param name   the name of the provider, or null to use the only available provider
+     * @param nameOf returns the name of a provider
+     * @return the service provider
+     * @throws IllegalStateException if no provider matches, or if no name is given and several providers are available
+     */
+    private static <T> T loadProvider(final Class<T> type, final String name, final Function<T, String> nameOf) {
+        final var providers = ServiceLoader.load(type).stream().map(ServiceLoader.Provider::get).toList();
+
+        if (name == null) {
+            if (providers.size() != 1) {
+                throw new IllegalStateException("expected exactly one " + type.getSimpleName() + " but found " + providers.size() + ", set the provider name");
+            }
+            return providers.get(0);
+        }
+
+        return providers.stream()
+                .filter(provider -> name.equals(nameOf.apply(provider)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("no " + type.getSimpleName() + " named '" + name + "' found"));
+    }
+
+    /**
+     * Builds the {@link AuthServiceEndpointRegistry}, reloading and probing its endpoints in the background if
+     * endpoint discovery is enabled.
+     *
+     * @param authServiceHttpClient the HTTP client calling the endpoints
+     * @param transport             the HTTP transport of the health probes, null to create one for them
+     * @return an instance of {@link AuthServiceEndpointRegistry}
+     */
+    private AuthServiceEndpointRegistry buildAuthServiceEndpointRegistry(
+            final AuthServiceHttpClient authServiceHttpClient,
+            final HttpClient transport
+    ) {
+        if (!usesEndpointDiscovery()) {
+            return AuthServiceEndpointRegistry.of(authServiceHttpClient, this.authServiceEndpoints);
+        }
+
+        final var staticEndpoints = this.authServiceEndpoints;
+        return AuthServiceEndpointRegistry.dynamic(
+                authServiceHttpClient,
+                staticEndpoints,
+                this.authServiceEndpointSource != null ? this.authServiceEndpointSource : () -> staticEndpoints,
+                this.endpointDiscoveryConfigs,
+                transport
+        );
+    }
+
+    /**
+     * Returns the HTTP transport shared by the default HTTP client and the endpoint health probes: the transport of
+     * the shared resources if set, otherwise a new one if either of them is used.
+     *
+     * @return the HTTP transport, or null if neither the default HTTP client nor endpoint discovery is used
+     */
+    private HttpClient buildTransport() {
+        if (this.resources != null) {
+            return this.resources.httpClient();
+        }
+
+        final var usesDefaultHttpClient = this.authServiceHttpClient == null && this.authServiceHttpClientProvider == null;
+        return usesDefaultHttpClient || usesEndpointDiscovery() ? HttpClient.newHttpClient() : null;
+    }
+
+    private boolean usesEndpointDiscovery() {
+        return this.authServiceEndpointSource != null || this.endpointDiscoveryConfigs != null;
+    }
+
+    /**
+     * Builds the {@link RevocationFilter} if enabled, fed by the revocation feed or else by the invalidation stream.
+     *
+     * @return an instance of {@link RevocationFilter}, or null if the revocation filter is disabled
+     */
+    private RevocationFilter buildRevocationFilter() {
+        if (this.revocationFilterConfigs == null) {
+            return null;
+        }
+
+        if (this.revocationFeed != null) {
+            return new RevocationFilter(this.revocationFilterConfigs, this.revocationFeed);
+        }
+
+        if (this.invalidationStreamConfigs != null && this.redisConnectionConfigs != null) {
+            return new RevocationFilter(
+                    this.revocationFilterConfigs,
+                    RevocationFeed.redisStream(this.redisConnectionConfigs, this.invalidationStreamConfigs)
+            );
+        }
+
+        return new RevocationFilter(this.revocationFilterConfigs);
+    }
+
     /**
      * Builds and returns a new {@link AuthClient} instance based on the provided configurations.
      *
      * @return a new {@link AuthClient} instance
      */
     public AuthClient build() {
-        final var authServiceHttpClient = new DefaultAuthServiceHttpClient(this.validateTokenEndpoint, apiVersion);
-        final var authTokenCache = buildAuthTokenCache();
-        return new DefaultAuthClient(authTokenCache, authServiceHttpClient);
+        // the client's reference is taken first, so the shared resources can't be released while they are handed out
+        final var retainedResources = this.resources != null ? this.resources.retain() : null;
+        final var builtComponents = new ArrayList<>();
+
+        try {
+            final var transport = buildTransport();
+            final var authServiceHttpClient = buildAuthServiceHttpClient(transport);
+            builtComponents.add(authServiceHttpClient);
+            final var authTokenCache = buildAuthTokenCache();
+            builtComponents.add(authTokenCache);
+            final var endpointRegistry = buildAuthServiceEndpointRegistry(authServiceHttpClient, transport);
+            builtComponents.add(endpointRegistry);
+            final var revocationFilter = buildRevocationFilter();
+            builtComponents.add(revocationFilter);
+
+            return DefaultAuthClient.builder(authTokenCache, authServiceHttpClient)
+                    .retryConfigs(this.retryConfigs)
+                    .endpointRegistry(endpointRegistry)
+                    .tracer(this.tracer)
+                    .revocationFilter(revocationFilter)
+                    .ttlPolicy(this.ttlPolicyConfigs != null ? new TtlPolicy(this.ttlPolicyConfigs) : null)
+                    .resources(retainedResources)
+                    .ownsAuthTokenCache(authTokenCache != this.authTokenCache)
+                    .ownsAuthServiceHttpClient(authServiceHttpClient != this.authServiceHttpClient)
+                    .build();
+        } catch (RuntimeException e) {
+            closeBuiltComponents(builtComponents, e);
+
+            if (retainedResources != null) {
+                retainedResources.release();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the components built for a client which failed to build, in reverse order. The cache and HTTP client
+     * given to the builder are left open, their owner closes them.
+     *
+     * @param builtComponents the components built so far
+     * @param failure         the build failure, errors closing the components are added to it as suppressed
+     */
+    private void closeBuiltComponents(final List<Object> builtComponents, final RuntimeException failure) {
+        for (int i = builtComponents.size() - 1; i >= 0; i--) {
+            final var component = builtComponents.get(i);
+
+            if (component instanceof AutoCloseable closeable && component != this.authTokenCache && component != this.authServiceHttpClient) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds and returns a new {@link ReactiveAuthClient} instance based on the provided configurations.
+     * Requires Reactor on the classpath.
+     *
+     * @return a new {@link ReactiveAuthClient} instance
+     * @see ReactiveAuthClient#from(AuthClient)
+     */
+    public ReactiveAuthClient buildReactive() {
+        return ReactiveAuthClient.from(build());
     }
 
 }
@@ -0,0 +1,326 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.PipelinedRedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisPipeline;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionPoolConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPool;
+
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resources shared by several {@link AuthClient} instances of the same JVM: the scheduler evicting expired tokens
+ * from in-memory caches, the HTTP transport calling the auth-service, the Redis connection pools and pipelines, and
+ * the executor of the blocking Redis calls of asynchronous validations.
+ * <p>
+ * Passed to {@link AuthClientBuilder#resources(AuthClientResources)}, the resources replace the scheduler thread of
+ * every {@code InMemoryAuthTokenCache}, the {@link HttpClient} of every {@code DefaultAuthServiceHttpClient} and the
+ * connection pool of every {@code RedisAuthTokenCache} connected to the same Redis server with the same pool
+ * configurations, and the pipelined connections of every {@code PipelinedRedisAuthTokenCache} connected to the same
+ * Redis server with the same pipeline configurations. The shared parts are created on first use, so unused parts cost
+ * nothing.
+ * </p>
+ * <p>
+ * Every {@code RedisAuthTokenCache} otherwise runs its asynchronous operations on threads of its own, up to one per
+ * pooled connection. With the resources, all of them share a single executor of at most
+ * {@link #DEFAULT_REDIS_ASYNC_THREADS} threads, or the number given to {@link #create(int, int)}. Its threads are
+ * started on demand and stop when idle; calls beyond them wait in its queue.
+ * </p>
+ * <p>
+ * The resources are reference counted. The creator holds the first reference, released by {@link #close()}, and every
+ * client built with the resources holds another one, released by {@link AuthClient#close()}. The scheduler and the
+ * Redis executor are stopped and the Redis pools and pipelines are closed once the last reference is released, so the
+ * resources can be closed right after the clients are built and stay alive as long as any of them.
+ * </p>
+ *
+ * <pre>{@code
+ * try (final var resources = AuthClientResources.create()) {
+ *     tenantA = AuthClientBuilder.builder().resources(resources).authServiceEndpoints(tenantAEndpoints).build();
+ *     tenantB = AuthClientBuilder.builder().resources(resources).authServiceEndpoints(tenantBEndpoints).build();
+ * }
+ * }</pre>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class AuthClientResources implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthClientResources.class);
+
+    /**
+     * The default number of threads of the shared scheduler.
+     */
+    public static final int DEFAULT_SCHEDULER_THREADS = 1;
+
+    /**
+     * The default maximum number of threads of the shared Redis executor, one per connection of a default pool.
+     */
+    public static final int DEFAULT_REDIS_ASYNC_THREADS = RedisConnectionPoolConfigs.DEFAULT_MAX_TOTAL;
+
+    private final int schedulerThreads;
+    private final int redisAsyncThreads;
+    private final AtomicInteger references;
+    private final AtomicBoolean closed;
+    private final Map<RedisPoolKey, JedisPool> redisPools;
+    private final Map<RedisPipelineKey, RedisPipeline> redisPipelines;
+    private ScheduledExecutorService scheduler;
+    private HttpClient httpClient;
+    private ExecutorService redisAsyncExecutor;
+
+    private AuthClientResources(final int schedulerThreads, final int redisAsyncThreads) {
+        this.schedulerThreads = schedulerThreads;
+        this.redisAsyncThreads = redisAsyncThreads;
+        this.references = new AtomicInteger(1);
+        this.closed = new AtomicBoolean(false);
+        this.redisPools = new HashMap<>();
+        this.redisPipelines = new HashMap<>();
+    }
+
+    /**
+     * Creates shared resources with a single scheduler thread.
+     *
+     * @return new shared resources, holding the reference of the caller
+     */
+    public static AuthClientResources create() {
+        return create(DEFAULT_SCHEDULER_THREADS);
+    }
+
+    /**
+     * Creates shared resources with the given number of scheduler threads.
+     *
+     * @param schedulerThreads the number of threads of the shared scheduler
+     * @return new shared resources, holding the reference of the caller
+     * @throws IllegalArgumentException if {@code schedulerThreads} is not greater than 0
+     */
+    public static AuthClientResources create(final int schedulerThreads) {
+        return create(schedulerThreads, DEFAULT_REDIS_ASYNC_THREADS);
+    }
+
+    /**
+     * Creates shared resources with the given number of scheduler threads and maximum number of Redis executor
+     * threads.
+     *
+     * @param schedulerThreads  the number of threads of the shared scheduler
+     * @param redisAsyncThreads the maximum number of threads of the shared Redis executor
+     * @return new shared resources, holding the reference of the caller
+     * @throws IllegalArgumentException if {@code schedulerThreads} or {@code redisAsyncThreads} is not greater than 0
+     */
+    public static AuthClientResources create(final int schedulerThreads, final int redisAsyncThreads) {
+        if (schedulerThreads <= 0) {
+            throw new IllegalArgumentException("scheduler threads must be greater than 0");
+        }
+        if (redisAsyncThreads <= 0) {
+            throw new IllegalArgumentException("redis async threads must be greater than 0");
+        }
+        return new AuthClientResources(schedulerThreads, redisAsyncThreads);
+    }
+
+    /**
+     * Returns the shared scheduler, creating it on first use.
+     *
+     * @return the shared scheduler
+     * @throws IllegalStateException if the resources are released
+     */
+    public synchronized ScheduledExecutorService scheduler() {
+        ensureOpen();
+
+        if (scheduler == null) {
+            scheduler = Executors.newScheduledThreadPool(schedulerThreads, r -> {
+                final var thread = new Thread(r, "authClientSharedScheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Returns the shared HTTP transport, creating it on first use.
+     *
+     * @return the shared HTTP transport
+     * @throws IllegalStateException if the resources are released
+     */
+    public synchronized HttpClient httpClient() {
+        ensureOpen();
+
+        if (httpClient == null) {
+            httpClient = HttpClient.newHttpClient();
+        }
+
+        return httpClient;
+    }
+
+    /**
+     * Returns the shared executor of the blocking Redis calls of asynchronous operations, creating it on first use.
+     *
+     * @return the shared Redis executor
+     * @throws IllegalStateException if the resources are released
+     * @see RedisAuthTokenCache#createAsyncExecutor(int)
+     */
+    public synchronized ExecutorService redisAsyncExecutor() {
+        ensureOpen();
+
+        if (redisAsyncExecutor == null) {
+            redisAsyncExecutor = RedisAuthTokenCache.createAsyncExecutor(redisAsyncThreads);
+        }
+
+        return redisAsyncExecutor;
+    }
+
+    /**
+     * Returns the shared connection pool of the given Redis server, creating it on first use. Caches connecting to
+     * the same server with the same pool configurations share the same pool.
+     *
+     * @param connectionConfigs     Redis connection details
+     * @param connectionPoolConfigs Redis connection pool configurations, defaults are used if null
+     * @return the shared connection pool
+     * @throws NullPointerException  if {@code connectionConfigs} is null
+     * @throws IllegalStateException if the resources are released
+     */
+    public synchronized JedisPool redisPool(
+            final RedisConnectionConfigs connectionConfigs,
+            final RedisConnectionPoolConfigs connectionPoolConfigs
+    ) {
+        Objects.requireNonNull(connectionConfigs, "connectionConfigs is null");
+        ensureOpen();
+
+        final var poolConfigs = connectionPoolConfigs != null ? connectionPoolConfigs : RedisConnectionPoolConfigs.withDefaults();
+        return redisPools.computeIfAbsent(
+                new RedisPoolKey(connectionConfigs, poolConfigs),
+                key -> RedisAuthTokenCache.createConnectionPool(key.connectionConfigs(), key.poolConfigs())
+        );
+    }
+
+    /**
+     * Returns the shared pipelined connections to the given Redis server, creating them on first use. Caches
+     * connecting to the same server with the same pipeline configurations share the same pipeline.
+     *
+     * @param connectionConfigs Redis connection details
+     * @param pipelineConfigs   pipelined connection mode configurations, defaults are used if null
+     * @return the shared pipeline
+     * @throws NullPointerException     if {@code connectionConfigs} is null
+     * @throws IllegalArgumentException if the pipeline connections or max batch size are not greater than 0
+     * @throws IllegalStateException    if the resources are released
+     */
+    public synchronized RedisPipeline redisPipeline(
+            final RedisConnectionConfigs connectionConfigs,
+            final RedisPipelineConfigs pipelineConfigs
+    ) {
+        Objects.requireNonNull(connectionConfigs, "connectionConfigs is null");
+        ensureOpen();
+
+        return redisPipelines.computeIfAbsent(
+                new RedisPipelineKey(connectionConfigs, pipelineConfigs != null ? pipelineConfigs : RedisPipelineConfigs.withDefaults()),
+                key -> PipelinedRedisAuthTokenCache.createPipeline(key.connectionConfigs(), key.pipelineConfigs())
+        );
+    }
+
+    /**
+     * Acquires a reference to the resources, to be released by {@link #release()}.
+     *
+     * @return these resources
+     * @throws IllegalStateException if the resources are released
+     */
+    public AuthClientResources retain() {
+        references.updateAndGet(count -> {
+            if (count <= 0) {
+                throw new IllegalStateException("auth client resources are released");
+            }
+            return count + 1;
+        });
+        return this;
+    }
+
+    /**
+     * Releases a reference to the resources, stopping the scheduler and the Redis executor and closing the Redis pools
+     * and pipelines once the last reference is released.
+     *
+     * @throws IllegalStateException if all references are already released
+     */
+    public void release() {
+        final var remaining = references.updateAndGet(count -> {
+            if (count <= 0) {
+                throw new IllegalStateException("auth client resources are released");
+            }
+            return count - 1;
+        });
+
+        if (remaining == 0) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of unreleased references.
+     *
+     * @return the number of unreleased references, 0 once the resources are released
+     */
+    public int references() {
+        return references.get();
+    }
+
+    /**
+     * Releases the reference of the creator. Calling this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    private void ensureOpen() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("auth client resources are released");
+        }
+    }
+
+    /**
+     * Stops the shared scheduler and Redis executor and closes the shared Redis pools and pipelines. The shared
+     * {@link HttpClient} has no lifecycle on Java 17, its selector thread stops once it is no longer referenced.
+     */
+    private synchronized void shutdown() {
+        log.info("Shutting down shared auth client resources");
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        if (redisAsyncExecutor != null) {
+            redisAsyncExecutor.shutdown();
+        }
+
+        for (final var pool : redisPools.values()) {
+            try {
+                pool.close();
+            } catch (Exception e) {
+                log.error("Error closing shared redis connection pool: {}", e.getMessage());
+            }
+        }
+
+        redisPools.clear();
+        redisPipelines.values().forEach(RedisPipeline::close);
+        redisPipelines.clear();
+        httpClient = null;
+    }
+
+    private record RedisPoolKey(RedisConnectionConfigs connectionConfigs, RedisConnectionPoolConfigs poolConfigs) {
+    }
+
+    private record RedisPipelineKey(RedisConnectionConfigs connectionConfigs, RedisPipelineConfigs pipelineConfigs) {
+    }
+
+}
@@ -1,15 +1,34 @@
 package com.akgarg.client.authclient;
 
 import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.PipelinedRedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisSingleFlight;
+import com.akgarg.client.authclient.cache.RevocationFilter;
+import com.akgarg.client.authclient.cache.TtlPolicy;
 import com.akgarg.client.authclient.common.*;
+import com.akgarg.client.authclient.config.RetryConfigs;
+import com.akgarg.client.authclient.exception.AuthServiceOverloadedException;
+import com.akgarg.client.authclient.http.AuthServiceEndpointRegistry;
 import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+import com.akgarg.client.authclient.jfr.AuthCacheLookupEvent;
+import com.akgarg.client.authclient.jfr.AuthServiceCallEvent;
+import com.akgarg.client.authclient.jfr.AuthValidateEvent;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
+import com.akgarg.client.authclient.tracing.TraceSpan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default implementation of the {@link AuthClient} interface.
@@ -22,6 +41,29 @@ import java.util.Random;
  * Caching is used to minimize redundant external API calls for token validation. If a token is not found
  * or expired in the cache, the class queries an external authentication service using HTTP.
  * </p>
+ * <p>
+ * The auth-service endpoints are taken from the {@link AuthServiceEndpointRegistry} of the client, unless the
+ * request carries its own endpoints to override them.
+ * </p>
+ * <p>
+ * Validations are traced through the configured {@link AuthClientTracer}, with child spans for the cache lookup,
+ * each auth-service call and the cache fill.
+ * </p>
+ * <p>
+ * With a {@link RevocationFilter}, a cached session is only trusted if its token is not in the filter. Tokens in the
+ * filter are validated by the auth-service instead, and their cached session is dropped if the auth-service no
+ * longer accepts them, so revocations take effect without waiting for the cached session to expire.
+ * </p>
+ * <p>
+ * With a {@link TtlPolicy}, sessions are cached with the capped and jittered expiration of the policy, and sessions
+ * about to expire are not cached. Since a session may then leave the cache before its token expires, an expired
+ * cached session is validated by the auth-service again. Tokens rejected by the auth-service are remembered for the
+ * negative TTL of the policy, if enabled.
+ * </p>
+ * <p>
+ * With the {@link RedisSingleFlight} of the Redis cache enabled, a session missing from the cache is validated by
+ * the auth-service once across all nodes, the other nodes wait for it to be cached.
+ * </p>
  *
  * @author Akhilesh
  * @since 09/09/23
@@ -32,100 +74,446 @@ final class DefaultAuthClient implements AuthClient {
 
     private final AuthServiceHttpClient authServiceHttpClient;
     private final AuthTokenCache authTokenCache;
-    private final Random random;
+    private final RetryBudget retryBudget;
+    private final AuthServiceEndpointRegistry endpointRegistry;
+    private final AuthClientTracer tracer;
+    private final String cacheStrategy;
+    private final RevocationFilter revocationFilter;
+    private final TtlPolicy ttlPolicy;
+    private final AuthClientResources resources;
+    private final boolean ownsAuthTokenCache;
+    private final boolean ownsAuthServiceHttpClient;
+    private final RedisSingleFlight singleFlight;
+    private final AtomicBoolean closed;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
 
     /**
-     * Constructs a new {@code DefaultAuthClient}.
+     * Constructs a new {@code DefaultAuthClient} with the default retry configurations and no optional feature.
      *
      * @param authTokenCache        the token cache implementation to use for storing tokens.
      *                              Must not be null.
      * @param authServiceHttpClient the HTTP client used for querying the external authentication service.
      *                              Must not be null.
      * @throws NullPointerException if {@code authTokenCache} or {@code authServiceHttpClient} is null.
+     * @see #builder(AuthTokenCache, AuthServiceHttpClient)
      */
     DefaultAuthClient(final AuthTokenCache authTokenCache, final AuthServiceHttpClient authServiceHttpClient) {
-        this.authServiceHttpClient = Objects.requireNonNull(authServiceHttpClient, "authServiceHttpClient is null");
-        this.authTokenCache = Objects.requireNonNull(authTokenCache, "authTokenCache is null");
-        this.random = new Random();
+        this(builder(authTokenCache, authServiceHttpClient));
+    }
+
+    private DefaultAuthClient(final Builder builder) {
+        this.authServiceHttpClient = Objects.requireNonNull(builder.authServiceHttpClient, "authServiceHttpClient is null");
+        this.authTokenCache = Objects.requireNonNull(builder.authTokenCache, "authTokenCache is null");
+        this.retryBudget = new RetryBudget(Objects.requireNonNull(builder.retryConfigs, "retryConfigs is null"));
+        this.endpointRegistry = Objects.requireNonNull(builder.endpointRegistry, "endpointRegistry is null");
+        this.tracer = Objects.requireNonNull(builder.tracer, "tracer is null");
+        this.cacheStrategy = cacheStrategyOf(authTokenCache).name();
+        this.revocationFilter = builder.revocationFilter;
+        this.ttlPolicy = builder.ttlPolicy;
+        this.resources = builder.resources;
+        this.ownsAuthTokenCache = builder.ownsAuthTokenCache;
+        this.ownsAuthServiceHttpClient = builder.ownsAuthServiceHttpClient;
+        this.singleFlight = authTokenCache instanceof RedisAuthTokenCache redisCache ? redisCache.singleFlight() : null;
+        this.closed = new AtomicBoolean(false);
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
+    }
+
+    /**
+     * Returns a builder of a {@code DefaultAuthClient} with the given cache and HTTP client, for configuring the
+     * optional features of the client.
+     *
+     * @param authTokenCache        the token cache implementation to use for storing tokens.
+     * @param authServiceHttpClient the HTTP client used for querying the external authentication service.
+     * @return a new builder
+     */
+    static Builder builder(final AuthTokenCache authTokenCache, final AuthServiceHttpClient authServiceHttpClient) {
+        return new Builder(authTokenCache, authServiceHttpClient);
     }
 
     @Override
     public boolean validate(final ValidateTokenRequest request) {
+        return validateDetailed(request).valid();
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public ValidationResult validateDetailed(final ValidateTokenRequest request) {
+        final var span = tracer.startSpan(AuthClientTracer.VALIDATE_SPAN, null);
+        final var event = new AuthValidateEvent();
+        event.begin();
+
+        try (final var ignored = span.makeCurrent()) {
+            final var result = validateDetailed(request, span);
+            span.setAttribute(TraceSpan.OUTCOME_ATTRIBUTE, result.outcome().name());
+            event.complete(cacheStrategy, result);
+            return result;
+        } catch (RuntimeException e) {
+            span.recordFailure(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Validates the token of the given request, tracing the steps as children of the given span.
+     *
+     * @param request the {@link ValidateTokenRequest} to validate.
+     * @param span    the span of the validation.
+     * @return the {@link ValidationResult} of the validation.
+     */
+    private ValidationResult validateDetailed(final ValidateTokenRequest request, final TraceSpan span) {
+        final var startNanos = System.nanoTime();
+
         if (log.isTraceEnabled()) {
             log.trace("validating request: {}", request);
         }
 
         if (!request.validate()) {
             log.error("invalid validate request: {}", request);
-            return false;
+            return result(ValidationResult.Outcome.MALFORMED_REQUEST, null, 0, startNanos);
+        }
+
+        if (isRejected(request)) {
+            return rejectedResult(startNanos);
         }
 
-        final var authToken = authTokenCache.getToken(request.userId());
+        final var cacheSource = cacheSource();
+        final var lookupSpan = startCacheSpan(AuthClientTracer.CACHE_LOOKUP_SPAN, span);
+        final var lookupEvent = new AuthCacheLookupEvent();
+        final Optional<AuthToken> authToken;
+
+        try {
+            lookupEvent.begin();
+            authToken = authTokenCache.getToken(request.userId(), request.token());
+            lookupEvent.complete(cacheStrategy, authToken.isPresent());
+            lookupSpan.setAttribute(TraceSpan.CACHE_HIT_ATTRIBUTE, authToken.isPresent());
+            recordCacheLookup(authToken.isPresent());
+        } catch (RuntimeException e) {
+            lookupSpan.recordFailure(e);
+            throw e;
+        } finally {
+            lookupSpan.end();
+        }
 
         if (log.isDebugEnabled()) {
             log.debug("Auth token fetched from cache for {}: {}", request.userId(), authToken);
         }
 
         if (authToken.isPresent()) {
-            if (!authToken.get().userId().equals(request.userId())) {
-                return false;
+            final var outcome = cachedOutcome(request, authToken.get());
+
+            if (isCacheExpired(outcome)) {
+                return queryAuthServiceEndpoints(request, startNanos, span);
+            }
+
+            if (!mightBeRevoked(request, outcome)) {
+                return new ValidationResult(outcome, cacheSource, null, 0, System.nanoTime() - startNanos);
             }
 
-            return checkExpiration(authToken.get());
+            return dropIfRevoked(request, queryAuthServiceEndpoints(request, startNanos, span));
         }
 
-        return queryToAuthServiceAndReturnResponse(request);
+        return queryAuthServiceOnMiss(request, startNanos, span);
     }
 
     /**
-     * Queries the external authentication service for token validation if the token is not in the cache.
+     * Validates a session missing from the cache. With the single-flight of the Redis cache enabled, only the holder
+     * of the lease of the session calls the auth-service, the other callers wait for the session to be cached.
      *
-     * @param request the {@link ValidateTokenRequest} containing the user ID, token, and service endpoints.
-     * @return {@code true} if the token is valid as per the external service; {@code false} otherwise.
+     * @param request    the {@link ValidateTokenRequest} to validate.
+     * @param startNanos the start time of the validation.
+     * @param span       the span of the validation.
+     * @return the {@link ValidationResult} of the validation.
      */
-    private boolean queryToAuthServiceAndReturnResponse(final ValidateTokenRequest request) {
-        final var authServiceEndpoints = new ArrayList<>(request.authServiceEndpoints());
-        final var authServiceRequest = new AuthServiceRequest(request.userId(), request.token());
-        Boolean result = null;
+    private ValidationResult queryAuthServiceOnMiss(
+            final ValidateTokenRequest request,
+            final long startNanos,
+            final TraceSpan span
+    ) {
+        if (singleFlight == null) {
+            return queryAuthServiceEndpoints(request, startNanos, span);
+        }
 
-        while (result == null && !authServiceEndpoints.isEmpty()) {
-            final var authServiceEndpoint = getRandomAuthServiceEndpoint(authServiceEndpoints);
-            final var authServiceResponse = authServiceHttpClient.queryAuthService(authServiceEndpoint, authServiceRequest);
+        if (singleFlight.acquire(request.userId(), request.token())) {
+            try {
+                return queryAuthServiceEndpoints(request, startNanos, span);
+            } finally {
+                singleFlight.release(request.userId(), request.token());
+            }
+        }
 
-            if (authServiceResponse.isEmpty()) {
-                authServiceEndpoints.remove(authServiceEndpoint);
-                continue;
+        final var result = awaitedResult(request, singleFlight.await(request.userId(), request.token()), startNanos);
+        return result != null ? result : queryAuthServiceEndpoints(request, startNanos, span);
+    }
+
+    /**
+     * Counts a cache lookup in the hits or misses reported by {@link #statistics()}.
+     *
+     * @param hit true if the session was found in the cache
+     */
+    void recordCacheLookup(final boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    /**
+     * Returns the result of a miss which waited for the lease holder of the single-flight to cache the session.
+     *
+     * @param request    the request being validated
+     * @param authToken  the session cached by the lease holder, empty if it did not show up
+     * @param startNanos the start time of the validation
+     * @return the valid result, or null if no valid session showed up and the token has to be validated anyway
+     */
+    ValidationResult awaitedResult(final ValidateTokenRequest request, final Optional<AuthToken> authToken, final long startNanos) {
+        if (authToken.isPresent() && cachedOutcome(request, authToken.get()) == ValidationResult.Outcome.VALID) {
+            return new ValidationResult(ValidationResult.Outcome.VALID, cacheSource(), null, 0, System.nanoTime() - startNanos);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean revoke(final String userId, final String token) {
+        if (log.isDebugEnabled()) {
+            log.debug("Revoking auth token session of '{}'", userId);
+        }
+
+        if (revocationFilter != null) {
+            revocationFilter.revoke(Objects.requireNonNull(token, "token is null"));
+        }
+
+        return authTokenCache.removeToken(
+                Objects.requireNonNull(userId, "userId is null"),
+                Objects.requireNonNull(token, "token is null")
+        );
+    }
+
+    @Override
+    public boolean revokeAll(final String userId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Revoking all auth token sessions of '{}'", userId);
+        }
+
+        return authTokenCache.removeToken(Objects.requireNonNull(userId, "userId is null"));
+    }
+
+    @Override
+    public AuthClientStatistics statistics() {
+        final var endpoints = endpointRegistry.registeredEndpoints().stream()
+                .map(endpoint -> new AuthClientStatistics.EndpointStatistics(
+                        endpoint.toString(),
+                        endpoint.isHealthy(),
+                        endpoint.calls(),
+                        endpoint.failures(),
+                        endpoint.latencyEwmaNanos() / 1_000_000.0
+                ))
+                .toList();
+
+        return new AuthClientStatistics(
+                cacheStrategy,
+                authTokenCache.size(),
+                cacheHits.sum(),
+                cacheMisses.sum(),
+                authTokenCache.redisStatus().orElse(null),
+                endpoints
+        );
+    }
+
+    @Override
+    public boolean clearCache() {
+        log.info("Clearing auth token cache");
+        return authTokenCache.clear();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        // the registry probes endpoints through the HTTP client, so it stops first
+        closeQuietly(endpointRegistry, "auth service endpoint registry");
+        closeQuietly(revocationFilter, "revocation filter");
+
+        if (ownsAuthTokenCache) {
+            closeQuietly(authTokenCache, "auth token cache");
+        }
+
+        if (ownsAuthServiceHttpClient) {
+            closeQuietly(authServiceHttpClient, "auth service http client");
+        }
+
+        if (resources != null) {
+            resources.release();
+        }
+    }
+
+    /**
+     * Closes the given component of the client if it is {@link AutoCloseable}, logging any error so the remaining
+     * components are closed as well.
+     */
+    private static void closeQuietly(final Object component, final String name) {
+        if (component instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Error closing {}: {}", name, e.getMessage());
             }
+        }
+    }
+
+    /**
+     * Queries random endpoints of the request or registry until one of them answers, a non-retryable failure occurs,
+     * all of them failed, or the retry budget is exhausted. Retries wait for a jittered exponential backoff.
+     * <p>
+     * A call rejected by the concurrency limit is not retried on another endpoint, since the limit applies to all
+     * endpoints, and the token is treated as not validated.
+     * </p>
+     *
+     * @param request    the {@link ValidateTokenRequest} containing the user ID, token, and service endpoints.
+     * @param startNanos the start time of the validation.
+     * @param span       the span of the validation.
+     * @return the {@link ValidationResult} of the validation.
+     */
+    @SuppressWarnings("try")
+    private ValidationResult queryAuthServiceEndpoints(
+            final ValidateTokenRequest request,
+            final long startNanos,
+            final TraceSpan span
+    ) {
+        final var authServiceEndpoints = resolveEndpoints(request);
+
+        if (authServiceEndpoints.isEmpty()) {
+            log.error("No auth service endpoint registered or given for request: {}", request);
+            return result(ValidationResult.Outcome.NO_ENDPOINT, null, 0, startNanos);
+        }
 
-            if (log.isDebugEnabled()) {
-                log.debug("Auth service query response for '{}' is {}", request, authServiceResponse.get());
+        final var candidates = new EndpointCandidates(authServiceEndpoints);
+        final var authServiceRequest = new AuthServiceRequest(request.userId(), request.token());
+        AuthServiceEndpoint lastEndpoint = null;
+        int attempts = 0;
+        retryBudget.recordCall();
+
+        for (; !candidates.isEmpty(); attempts++) {
+            if (attempts > 0 && !awaitRetry(request, attempts)) {
+                break;
+            }
+
+            final var candidate = candidates.pick();
+            final var callSpan = startCallSpan(span, candidates.get(candidate), attempts);
+            final var callEvent = new AuthServiceCallEvent();
+            final AuthServiceCallResult result;
+
+            callEvent.endpoint(candidates.get(candidate).endpoint(), attempts);
+            callEvent.begin();
+
+            try (final var ignored = callSpan.makeCurrent()) {
+                result = authServiceHttpClient.callAuthService(candidates.get(candidate), authServiceRequest);
+            } catch (AuthServiceOverloadedException e) {
+                callEvent.completeRejected();
+                callSpan.recordFailure(e);
+                callSpan.end();
+                log.warn("Auth service call for '{}' rejected: {}", request.userId(), e.getMessage());
+                return result(ValidationResult.Outcome.REJECTED, lastEndpoint, attempts, startNanos);
             }
 
-            result = processAuthServiceResponse(request.userId(), authServiceResponse.get());
+            callEvent.complete(result);
+            recordCallResult(callSpan, result);
+            callSpan.end();
+
+            lastEndpoint = candidates.get(candidate).endpoint();
+
+            switch (result.outcome()) {
+                case RESPONSE -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Auth service query response for '{}' is {}", request, result.response());
+                    }
 
-            if (log.isDebugEnabled()) {
-                log.debug("Auth service query result for '{}' is {}", request, result);
+                    final var processed = processAuthServiceResponse(request.userId(), result.response(), span);
+
+                    if (!processed) {
+                        recordRejection(request, result);
+                    }
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("Auth service query result for '{}' is {}", request, processed);
+                    }
+
+                    return result(
+                            processed ? ValidationResult.Outcome.VALID : ValidationResult.Outcome.INVALID,
+                            lastEndpoint,
+                            attempts + 1,
+                            startNanos
+                    );
+                }
+                case RETRYABLE_FAILURE -> candidates.exclude(candidate);
+                case FAILURE -> {
+                    return result(ValidationResult.Outcome.FAILED, lastEndpoint, attempts + 1, startNanos);
+                }
             }
         }
 
-        return Objects.requireNonNullElse(result, false);
+        return result(ValidationResult.Outcome.UNAVAILABLE, lastEndpoint, attempts, startNanos);
+    }
+
+    /**
+     * Withdraws a retry from the retry budget and waits for the backoff of the given retry.
+     *
+     * @param request the request being retried
+     * @param retry   the retry number, starting at 1
+     * @return true if the retry can go ahead, false if the budget is exhausted or the thread was interrupted
+     */
+    private boolean awaitRetry(final ValidateTokenRequest request, final int retry) {
+        if (!retryBudget.tryAcquireRetry()) {
+            log.warn("Retry budget exhausted, not retrying auth service call for '{}'", request.userId());
+            return false;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(retryBudget.backoffNanos(retry));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     /**
      * Processes the response from the external authentication service.
      * <p>
-     * If the response indicates success and the user ID matches, the token is added to the cache,
-     * and {@code true} is returned. Otherwise, returns {@code false}.
+     * If the response indicates success and the user ID matches, the token is added to the cache if the TTL policy
+     * admits it, and {@code true} is returned. Otherwise, returns {@code false}.
      * </p>
      *
      * @param userId   the user ID from the request.
      * @param response the {@link AuthServiceResponse} received from the authentication service.
+     * @param span     the span of the validation.
      * @return {@code true} if the response is valid and the token was cached; {@code false} otherwise.
      */
-    private Boolean processAuthServiceResponse(final String userId, final AuthServiceResponse response) {
+    private Boolean processAuthServiceResponse(
+            final String userId,
+            final AuthServiceResponse response,
+            final TraceSpan span
+    ) {
         if (response.success() && response.userId().equals(userId)) {
-            final var authToken = new AuthToken(userId, response.token(), response.expiration());
-            authTokenCache.addToken(response.userId(), authToken);
+            final var authToken = admit(new AuthToken(userId, response.token(), response.expiration()));
+
+            if (authToken == null) {
+                return Boolean.TRUE;
+            }
+
+            final var fillSpan = startCacheSpan(AuthClientTracer.CACHE_FILL_SPAN, span);
+
+            try {
+                authTokenCache.addToken(response.userId(), authToken);
+            } catch (RuntimeException e) {
+                fillSpan.recordFailure(e);
+                throw e;
+            } finally {
+                fillSpan.end();
+            }
+
             return Boolean.TRUE;
         }
 
@@ -133,23 +521,412 @@ final class DefaultAuthClient implements AuthClient {
     }
 
     /**
-     * Retrieves a random authentication service endpoint from a list of endpoints.
+     * Resolves the endpoints to query for the given request: the endpoints of the request if it carries any, resolved
+     * without registering them so they don't accumulate on the HTTP client, otherwise the endpoints of the registry,
+     * which are used as is without copying.
      *
-     * @param endpoints the list of available service endpoints.
-     * @return a randomly selected {@link AuthServiceEndpoint}.
+     * @param request the {@link ValidateTokenRequest} being validated.
+     * @return the registered endpoints to query.
      */
-    private AuthServiceEndpoint getRandomAuthServiceEndpoint(final List<AuthServiceEndpoint> endpoints) {
-        return endpoints.get(random.nextInt(endpoints.size()));
+    List<RegisteredEndpoint> resolveEndpoints(final ValidateTokenRequest request) {
+        final var requestEndpoints = request.authServiceEndpoints();
+
+        if (requestEndpoints == null) {
+            return endpointRegistry.endpoints();
+        }
+
+        final var registeredEndpoints = new ArrayList<RegisteredEndpoint>(requestEndpoints.size());
+
+        for (final var endpoint : requestEndpoints) {
+            registeredEndpoints.add(authServiceHttpClient.resolve(endpoint));
+        }
+
+        return registeredEndpoints;
+    }
+
+    /**
+     * Checks the cached session found for the given request.
+     *
+     * @param request   the {@link ValidateTokenRequest} being validated.
+     * @param authToken the cached {@link AuthToken}.
+     * @return {@link ValidationResult.Outcome#VALID} if the session belongs to the user of the request and has not
+     * expired, {@link ValidationResult.Outcome#INVALID} or {@link ValidationResult.Outcome#EXPIRED} otherwise.
+     */
+    static ValidationResult.Outcome cachedOutcome(final ValidateTokenRequest request, final AuthToken authToken) {
+        if (!authToken.userId().equals(request.userId())) {
+            return ValidationResult.Outcome.INVALID;
+        }
+
+        return authToken.expiration() > System.currentTimeMillis()
+                ? ValidationResult.Outcome.VALID
+                : ValidationResult.Outcome.EXPIRED;
+    }
+
+    /**
+     * Checks the revocation filter for a cached session found valid.
+     *
+     * @param request the {@link ValidateTokenRequest} being validated.
+     * @param outcome the outcome of the cached session.
+     * @return true if the session is valid and its token is in the revocation filter, so it has to be confirmed by
+     * the auth-service.
+     */
+    boolean mightBeRevoked(final ValidateTokenRequest request, final ValidationResult.Outcome outcome) {
+        if (outcome != ValidationResult.Outcome.VALID
+                || revocationFilter == null
+                || !revocationFilter.mightBeRevoked(request.token())) {
+            return false;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cached auth token of '{}' might be revoked, validating with auth service", request.userId());
+        }
+
+        return true;
+    }
+
+    /**
+     * Drops the cached session of a possibly revoked token once the auth-service rejected it.
+     *
+     * @param request the {@link ValidateTokenRequest} being validated.
+     * @param result  the result of the auth-service validation.
+     * @return the given result.
+     */
+    ValidationResult dropIfRevoked(final ValidateTokenRequest request, final ValidationResult result) {
+        if (result.outcome() == ValidationResult.Outcome.INVALID) {
+            log.info("Dropping cached auth token session of '{}' rejected by auth service", request.userId());
+            authTokenCache.removeToken(request.userId(), request.token());
+        }
+
+        return result;
+    }
+
+    /**
+     * Applies the TTL policy to a session validated by the auth-service.
+     *
+     * @param authToken the validated session.
+     * @return the session to cache, or null if the TTL policy doesn't admit it.
+     */
+    AuthToken admit(final AuthToken authToken) {
+        if (ttlPolicy == null) {
+            return authToken;
+        }
+
+        final var admitted = ttlPolicy.admit(authToken);
+
+        if (admitted == null && log.isDebugEnabled()) {
+            log.debug("Not caching auth token of '{}' about to expire", authToken.userId());
+        }
+
+        return admitted;
+    }
+
+    /**
+     * Returns whether a cached session found expired has to be validated by the auth-service again, which is the
+     * case with a TTL policy or a sliding expiry, since the session may have left the cache before its token expired.
+     *
+     * @param outcome the outcome of the cached session.
+     * @return true if the outcome is {@link ValidationResult.Outcome#EXPIRED} and a TTL policy is set or the cache
+     * slides the expiration of sessions.
+     */
+    boolean isCacheExpired(final ValidationResult.Outcome outcome) {
+        return outcome == ValidationResult.Outcome.EXPIRED && (ttlPolicy != null || authTokenCache.slidesExpiration());
+    }
+
+    /**
+     * Checks the negative entries of the TTL policy for the token of the given request.
+     *
+     * @param request the {@link ValidateTokenRequest} being validated.
+     * @return true if the token was rejected by the auth-service within the negative TTL.
+     */
+    boolean isRejected(final ValidateTokenRequest request) {
+        if (ttlPolicy == null || !ttlPolicy.isRejected(request.userId(), request.token())) {
+            return false;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Auth token of '{}' was rejected by auth service recently", request.userId());
+        }
+
+        return true;
+    }
+
+    /**
+     * Remembers a token rejected by the auth-service in the negative entries of the TTL policy. Only rejections
+     * answered with a {@code 200}, {@code 401} or {@code 403} status are remembered, since other statuses may be
+     * caused by a failure of the auth-service.
+     *
+     * @param request the rejected {@link ValidateTokenRequest}.
+     * @param result  the result of the auth-service call.
+     */
+    void recordRejection(final ValidateTokenRequest request, final AuthServiceCallResult result) {
+        final var statusCode = result.statusCode();
+
+        if (ttlPolicy != null && (statusCode == 200 || statusCode == 401 || statusCode == 403)) {
+            ttlPolicy.rejected(request.userId(), request.token());
+        }
+    }
+
+    /**
+     * Returns where cached sessions are currently looked up.
+     *
+     * @return {@link ValidationResult.Source#REDIS} if the cache serves lookups from Redis,
+     * {@link ValidationResult.Source#MEMORY} otherwise.
+     */
+    ValidationResult.Source cacheSource() {
+        return authTokenCache.servesFromRedis() ? ValidationResult.Source.REDIS : ValidationResult.Source.MEMORY;
+    }
+
+    /**
+     * Creates the result of a validation answered from the negative entries of the TTL policy.
+     *
+     * @param startNanos the start time of the validation.
+     * @return an {@link ValidationResult.Outcome#INVALID} result sourced from memory.
+     */
+    static ValidationResult rejectedResult(final long startNanos) {
+        return new ValidationResult(
+                ValidationResult.Outcome.INVALID,
+                ValidationResult.Source.MEMORY,
+                null,
+                0,
+                System.nanoTime() - startNanos
+        );
+    }
+
+    /**
+     * Creates the result of a validation not answered from the cache.
+     *
+     * @param outcome    the outcome of the validation.
+     * @param endpoint   the endpoint of the last auth-service call, null if none was made.
+     * @param attempts   the number of auth-service calls made.
+     * @param startNanos the start time of the validation.
+     * @return a {@link ValidationResult} sourced from the auth-service if it was called, from nowhere otherwise.
+     */
+    static ValidationResult result(
+            final ValidationResult.Outcome outcome,
+            final AuthServiceEndpoint endpoint,
+            final int attempts,
+            final long startNanos
+    ) {
+        return new ValidationResult(
+                outcome,
+                attempts > 0 ? ValidationResult.Source.AUTH_SERVICE : ValidationResult.Source.NONE,
+                endpoint,
+                attempts,
+                System.nanoTime() - startNanos
+        );
     }
 
     /**
-     * Checks whether the given token has expired based on its expiration timestamp.
+     * Starts a cache lookup or fill span.
      *
-     * @param authToken the {@link AuthToken} to check.
-     * @return {@code true} if the token has not expired; {@code false} otherwise.
+     * @param name   the name of the span.
+     * @param parent the span of the validation.
+     * @return the started span.
      */
-    private boolean checkExpiration(final AuthToken authToken) {
-        return authToken.expiration() > System.currentTimeMillis();
+    TraceSpan startCacheSpan(final String name, final TraceSpan parent) {
+        return tracer
+                .startSpan(name, parent)
+                .setAttribute(TraceSpan.CACHE_STRATEGY_ATTRIBUTE, cacheStrategy);
+    }
+
+    /**
+     * Starts the span of an auth-service call.
+     *
+     * @param parent   the span of the validation.
+     * @param endpoint the called endpoint.
+     * @param retry    the retry index of the call, 0 for the first call.
+     * @return the started span.
+     */
+    TraceSpan startCallSpan(final TraceSpan parent, final RegisteredEndpoint endpoint, final int retry) {
+        return tracer
+                .startSpan(AuthClientTracer.AUTH_SERVICE_CALL_SPAN, parent)
+                .setAttribute(TraceSpan.SERVER_ADDRESS_ATTRIBUTE, endpoint.endpoint().host())
+                .setAttribute(TraceSpan.SERVER_PORT_ATTRIBUTE, endpoint.endpoint().port())
+                .setAttribute(TraceSpan.RETRY_ATTRIBUTE, retry);
+    }
+
+    /**
+     * Records the result of an auth-service call on its span.
+     *
+     * @param span   the span of the call.
+     * @param result the result of the call.
+     */
+    static void recordCallResult(final TraceSpan span, final AuthServiceCallResult result) {
+        span.setAttribute(TraceSpan.STATUS_CODE_ATTRIBUTE, result.statusCode())
+                .setAttribute(TraceSpan.OUTCOME_ATTRIBUTE, result.outcome().name());
+
+        if (result.outcome() != AuthServiceCallResult.Outcome.RESPONSE) {
+            span.recordFailure(null);
+        }
+    }
+
+    /**
+     * Returns the strategy of the given cache, reported on cache spans.
+     *
+     * @param authTokenCache the cache.
+     * @return the {@link AuthTokenCacheStrategy} of the cache.
+     */
+    private static AuthTokenCacheStrategy cacheStrategyOf(final AuthTokenCache authTokenCache) {
+        if (authTokenCache instanceof PipelinedRedisAuthTokenCache) {
+            return AuthTokenCacheStrategy.REDIS_PIPELINED;
+        } else if (authTokenCache instanceof RedisAuthTokenCache) {
+            return AuthTokenCacheStrategy.REDIS;
+        } else if (authTokenCache instanceof InMemoryAuthTokenCache) {
+            return AuthTokenCacheStrategy.IN_MEMORY;
+        } else {
+            return AuthTokenCacheStrategy.CUSTOM;
+        }
+    }
+
+    AuthClientTracer tracer() {
+        return tracer;
+    }
+
+    AuthTokenCache authTokenCache() {
+        return authTokenCache;
+    }
+
+    String cacheStrategy() {
+        return cacheStrategy;
+    }
+
+    RedisSingleFlight singleFlight() {
+        return singleFlight;
+    }
+
+    AuthServiceHttpClient authServiceHttpClient() {
+        return authServiceHttpClient;
+    }
+
+    RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Builder of a {@link DefaultAuthClient}. Every optional feature is disabled unless configured, and a null
+     * argument disables the feature again.
+     */
+    static final class Builder {
+
+        private final AuthTokenCache authTokenCache;
+        private final AuthServiceHttpClient authServiceHttpClient;
+        private RetryConfigs retryConfigs = RetryConfigs.withDefaults();
+        private AuthServiceEndpointRegistry endpointRegistry = AuthServiceEndpointRegistry.empty();
+        private AuthClientTracer tracer = AuthClientTracer.NOOP;
+        private RevocationFilter revocationFilter;
+        private TtlPolicy ttlPolicy;
+        private AuthClientResources resources;
+        private boolean ownsAuthTokenCache;
+        private boolean ownsAuthServiceHttpClient;
+
+        private Builder(final AuthTokenCache authTokenCache, final AuthServiceHttpClient authServiceHttpClient) {
+            this.authTokenCache = authTokenCache;
+            this.authServiceHttpClient = authServiceHttpClient;
+        }
+
+        /**
+         * Sets the retry budget and backoff configurations, {@link RetryConfigs#withDefaults()} by default.
+         *
+         * @param retryConfigs the retry budget and backoff configurations
+         * @return the builder instance
+         */
+        Builder retryConfigs(final RetryConfigs retryConfigs) {
+            this.retryConfigs = retryConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the endpoints used by requests without endpoints of their own, registered on the HTTP client of the
+         * client. No endpoint is registered by default.
+         *
+         * @param endpointRegistry the endpoint registry
+         * @return the builder instance
+         */
+        Builder endpointRegistry(final AuthServiceEndpointRegistry endpointRegistry) {
+            this.endpointRegistry = endpointRegistry;
+            return this;
+        }
+
+        /**
+         * Sets the tracer of the validations, {@link AuthClientTracer#NOOP} by default.
+         *
+         * @param tracer the tracer of the validations
+         * @return the builder instance
+         */
+        Builder tracer(final AuthClientTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Sets the filter of revoked tokens checked before trusting a cached session.
+         *
+         * @param revocationFilter the revocation filter, null to trust cached sessions until they expire or are removed
+         * @return the builder instance
+         */
+        Builder revocationFilter(final RevocationFilter revocationFilter) {
+            this.revocationFilter = revocationFilter;
+            return this;
+        }
+
+        /**
+         * Sets the TTL policy of cached sessions.
+         *
+         * @param ttlPolicy the TTL policy, null to cache sessions until their token expires
+         * @return the builder instance
+         */
+        Builder ttlPolicy(final TtlPolicy ttlPolicy) {
+            this.ttlPolicy = ttlPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the shared resources the cache and HTTP client were built with, retained for the client and released
+         * by {@link DefaultAuthClient#close()}.
+         *
+         * @param resources the retained shared resources, null if the client owns all its resources
+         * @return the builder instance
+         */
+        Builder resources(final AuthClientResources resources) {
+            this.resources = resources;
+            return this;
+        }
+
+        /**
+         * Sets whether {@link DefaultAuthClient#close()} closes the cache of the client, false by default so a cache
+         * given by the caller is left to its owner.
+         *
+         * @param ownsAuthTokenCache true if the cache was created for the client
+         * @return the builder instance
+         */
+        Builder ownsAuthTokenCache(final boolean ownsAuthTokenCache) {
+            this.ownsAuthTokenCache = ownsAuthTokenCache;
+            return this;
+        }
+
+        /**
+         * Sets whether {@link DefaultAuthClient#close()} closes the HTTP client of the client, false by default so an
+         * HTTP client given by the caller is left to its owner.
+         *
+         * @param ownsAuthServiceHttpClient true if the HTTP client was created for the client
+         * @return the builder instance
+         */
+        Builder ownsAuthServiceHttpClient(final boolean ownsAuthServiceHttpClient) {
+            this.ownsAuthServiceHttpClient = ownsAuthServiceHttpClient;
+            return this;
+        }
+
+        /**
+         * Builds the client.
+         *
+         * @return a new DefaultAuthClient instance
+         * @throws NullPointerException if the cache, the HTTP client, the retry configurations, the endpoint registry
+         *                              or the tracer is null
+         */
+        DefaultAuthClient build() {
+            return new DefaultAuthClient(this);
+        }
+
     }
 
 }
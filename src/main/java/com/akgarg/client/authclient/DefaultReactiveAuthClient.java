@@ -0,0 +1,437 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisSingleFlight;
+import com.akgarg.client.authclient.common.*;
+import com.akgarg.client.authclient.exception.AuthServiceOverloadedException;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+import com.akgarg.client.authclient.jfr.AuthCacheLookupEvent;
+import com.akgarg.client.authclient.jfr.AuthServiceCallEvent;
+import com.akgarg.client.authclient.jfr.AuthValidateEvent;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
+import com.akgarg.client.authclient.tracing.TraceSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Default implementation of the {@link ReactiveAuthClient} interface.
+ * <p>
+ * Shares the cache, HTTP client and retry budget of a {@link DefaultAuthClient}, so both clients see the same cached
+ * sessions and revocations. Token validation is built on {@link AuthTokenCache#getTokenAsync} and
+ * {@link AuthServiceHttpClient#callAuthServiceAsync}, and retry backoffs use {@link Mono#delay}, so no thread is
+ * blocked while validating. Revocations are rare and use the blocking cache operations on the bounded elastic
+ * scheduler. Validations are traced like those of {@link DefaultAuthClient}, with spans ended on completion, honour
+ * its TTL policy, count their cache hits and misses in its {@link DefaultAuthClient#statistics() statistics} and emit
+ * the same JDK Flight Recorder events.
+ * </p>
+ * <p>
+ * Cache misses go through the single-flight of the Redis cache like those of {@link DefaultAuthClient}, so reactive
+ * and blocking validations of the same session share one auth-service call. The leases are taken and released with
+ * blocking Redis calls on the bounded elastic scheduler, while a lease held by another caller is awaited by polling
+ * the cache with {@link Mono#delay}, so waiting validations hold no thread.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class DefaultReactiveAuthClient implements ReactiveAuthClient {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultReactiveAuthClient.class);
+
+    private final DefaultAuthClient authClient;
+    private final AuthTokenCache authTokenCache;
+    private final AuthServiceHttpClient authServiceHttpClient;
+    private final RetryBudget retryBudget;
+    private final AuthClientTracer tracer;
+    private final String cacheStrategy;
+
+    /**
+     * Constructs a new {@code DefaultReactiveAuthClient}.
+     *
+     * @param authClient the client to share the cache, HTTP client and retry budget of
+     */
+    DefaultReactiveAuthClient(final DefaultAuthClient authClient) {
+        this.authClient = authClient;
+        this.authTokenCache = authClient.authTokenCache();
+        this.authServiceHttpClient = authClient.authServiceHttpClient();
+        this.retryBudget = authClient.retryBudget();
+        this.tracer = authClient.tracer();
+        this.cacheStrategy = authClient.cacheStrategy();
+    }
+
+    @Override
+    public Mono<Boolean> validate(final ValidateTokenRequest request) {
+        return validateDetailed(request).map(ValidationResult::valid);
+    }
+
+    @Override
+    public Mono<ValidationResult> validateDetailed(final ValidateTokenRequest request) {
+        return Mono.defer(() -> {
+            final var span = tracer.startSpan(AuthClientTracer.VALIDATE_SPAN, null);
+            final var event = new AuthValidateEvent();
+            event.begin();
+
+            return endSpan(
+                    validateDetailed(request, span)
+                            .doOnNext(result -> {
+                                span.setAttribute(TraceSpan.OUTCOME_ATTRIBUTE, result.outcome().name());
+                                event.complete(cacheStrategy, result);
+                            }),
+                    span
+            );
+        });
+    }
+
+    /**
+     * Validates the token of the given request, tracing the steps as children of the given span.
+     *
+     * @param request the {@link ValidateTokenRequest} to validate.
+     * @param span    the span of the validation.
+     * @return a {@link Mono} emitting the {@link ValidationResult} of the validation.
+     */
+    private Mono<ValidationResult> validateDetailed(final ValidateTokenRequest request, final TraceSpan span) {
+        return Mono.defer(() -> {
+            final var startNanos = System.nanoTime();
+
+            if (log.isTraceEnabled()) {
+                log.trace("validating request: {}", request);
+            }
+
+            if (!request.validate()) {
+                log.error("invalid validate request: {}", request);
+                return Mono.just(DefaultAuthClient.result(ValidationResult.Outcome.MALFORMED_REQUEST, null, 0, startNanos));
+            }
+
+            if (authClient.isRejected(request)) {
+                return Mono.just(DefaultAuthClient.rejectedResult(startNanos));
+            }
+
+            final var cacheSource = authClient.cacheSource();
+            final var lookupSpan = authClient.startCacheSpan(AuthClientTracer.CACHE_LOOKUP_SPAN, span);
+            final var lookupEvent = new AuthCacheLookupEvent();
+
+            return endSpan(
+                    Mono.fromFuture(() -> {
+                                lookupEvent.begin();
+                                return authTokenCache.getTokenAsync(request.userId(), request.token());
+                            })
+                            .doOnNext(authToken -> {
+                                lookupEvent.complete(cacheStrategy, authToken.isPresent());
+                                lookupSpan.setAttribute(TraceSpan.CACHE_HIT_ATTRIBUTE, authToken.isPresent());
+                                authClient.recordCacheLookup(authToken.isPresent());
+                            }),
+                    lookupSpan
+            )
+                    .flatMap(authToken -> {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Auth token fetched from cache for {}: {}", request.userId(), authToken);
+                        }
+
+                        if (authToken.isPresent()) {
+                            final var outcome = DefaultAuthClient.cachedOutcome(request, authToken.get());
+
+                            if (authClient.isCacheExpired(outcome)) {
+                                return queryAuthService(request, startNanos, span);
+                            }
+
+                            if (!authClient.mightBeRevoked(request, outcome)) {
+                                return Mono.just(new ValidationResult(outcome, cacheSource, null, 0, System.nanoTime() - startNanos));
+                            }
+
+                            // dropping the session of a revoked token is rare and uses the blocking cache removal
+                            return queryAuthService(request, startNanos, span)
+                                    .flatMap(result -> result.outcome() == ValidationResult.Outcome.INVALID
+                                            ? Mono.fromCallable(() -> authClient.dropIfRevoked(request, result))
+                                            .subscribeOn(Schedulers.boundedElastic())
+                                            : Mono.just(result));
+                        }
+
+                        return queryAuthServiceOnMiss(request, startNanos, span);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Boolean> revoke(final String userId, final String token) {
+        return Mono.fromCallable(() -> authClient.revoke(userId, token)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> revokeAll(final String userId) {
+        return Mono.fromCallable(() -> authClient.revokeAll(userId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Validates a session missing from the cache. With the single-flight of the Redis cache enabled, only the holder
+     * of the lease of the session calls the auth-service and releases the lease once the session is cached, the other
+     * callers wait for the session to be cached.
+     *
+     * @param request    the {@link ValidateTokenRequest} to validate.
+     * @param startNanos the start time of the validation.
+     * @param span       the span of the validation.
+     * @return a {@link Mono} emitting the {@link ValidationResult} of the validation.
+     */
+    private Mono<ValidationResult> queryAuthServiceOnMiss(
+            final ValidateTokenRequest request,
+            final long startNanos,
+            final TraceSpan span
+    ) {
+        final var singleFlight = authClient.singleFlight();
+
+        if (singleFlight == null) {
+            return queryAuthService(request, startNanos, span);
+        }
+
+        return Mono.fromCallable(() -> singleFlight.acquire(request.userId(), request.token()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(acquired -> {
+                    if (acquired) {
+                        return queryAuthService(request, startNanos, span)
+                                .doFinally(signal -> Schedulers.boundedElastic()
+                                        .schedule(() -> singleFlight.release(request.userId(), request.token())));
+                    }
+
+                    return awaitLease(request, singleFlight)
+                            .flatMap(authToken -> {
+                                final var result = authClient.awaitedResult(request, authToken, startNanos);
+                                return result != null ? Mono.just(result) : queryAuthService(request, startNanos, span);
+                            });
+                });
+    }
+
+    /**
+     * Polls the cache until the session validated by the lease holder shows up, the lease is released or the maximum
+     * wait elapses, like {@link RedisSingleFlight#await(String, String)} but without holding a thread between polls.
+     *
+     * @param request      the {@link ValidateTokenRequest} being validated.
+     * @param singleFlight the single-flight of the cache.
+     * @return a {@link Mono} emitting the cached session, or empty if the lease holder did not cache it in time
+     */
+    private Mono<Optional<AuthToken>> awaitLease(final ValidateTokenRequest request, final RedisSingleFlight singleFlight) {
+        final var deadline = System.nanoTime() + singleFlight.maxWait().toNanos();
+        final var pollInterval = singleFlight.pollInterval();
+        final Supplier<Mono<Optional<AuthToken>>> lookup =
+                () -> Mono.fromFuture(() -> authTokenCache.getTokenAsync(request.userId(), request.token()));
+
+        return Mono.defer(lookup)
+                .flatMap(authToken -> {
+                    if (authToken.isPresent() || System.nanoTime() - deadline >= 0) {
+                        return Mono.just(authToken);
+                    }
+
+                    // an empty poll is repeated, the lease may have been released right after the lookup
+                    return Mono.fromFuture(() -> singleFlight.isLeasedAsync(request.userId(), request.token()))
+                            .flatMap(leased -> leased ? Mono.<Optional<AuthToken>>empty() : lookup.get());
+                })
+                .repeatWhenEmpty(repeats -> repeats.concatMap(ignored -> Mono.delay(pollInterval)));
+    }
+
+    /**
+     * Queries the external authentication service for token validation if the token is not in the cache.
+     *
+     * @param request    the {@link ValidateTokenRequest} containing the user ID, token, and service endpoints.
+     * @param startNanos the start time of the validation.
+     * @param span       the span of the validation.
+     * @return a {@link Mono} emitting the {@link ValidationResult} of the validation.
+     */
+    private Mono<ValidationResult> queryAuthService(
+            final ValidateTokenRequest request,
+            final long startNanos,
+            final TraceSpan span
+    ) {
+        final var authServiceEndpoints = authClient.resolveEndpoints(request);
+
+        if (authServiceEndpoints.isEmpty()) {
+            log.error("No auth service endpoint registered or given for request: {}", request);
+            return Mono.just(DefaultAuthClient.result(ValidationResult.Outcome.NO_ENDPOINT, null, 0, startNanos));
+        }
+
+        retryBudget.recordCall();
+        return attempt(
+                request,
+                new AuthServiceRequest(request.userId(), request.token()),
+                new EndpointCandidates(authServiceEndpoints),
+                null,
+                0,
+                startNanos,
+                span
+        );
+    }
+
+    /**
+     * Calls a random remaining endpoint, moving to another endpoint on retryable failures like
+     * {@link DefaultAuthClient} does.
+     *
+     * @param lastEndpoint the endpoint of the previous call, null before the first call
+     * @param attempts     the number of calls made so far
+     */
+    private Mono<ValidationResult> attempt(
+            final ValidateTokenRequest request,
+            final AuthServiceRequest authServiceRequest,
+            final EndpointCandidates candidates,
+            final AuthServiceEndpoint lastEndpoint,
+            final int attempts,
+            final long startNanos,
+            final TraceSpan span
+    ) {
+        if (candidates.isEmpty()) {
+            return Mono.just(DefaultAuthClient.result(ValidationResult.Outcome.UNAVAILABLE, lastEndpoint, attempts, startNanos));
+        }
+
+        var backoff = Mono.<Long>empty();
+
+        if (attempts > 0) {
+            if (!retryBudget.tryAcquireRetry()) {
+                log.warn("Retry budget exhausted, not retrying auth service call for '{}'", request.userId());
+                return Mono.just(DefaultAuthClient.result(ValidationResult.Outcome.UNAVAILABLE, lastEndpoint, attempts, startNanos));
+            }
+            backoff = Mono.delay(Duration.ofNanos(retryBudget.backoffNanos(attempts)));
+        }
+
+        final var candidate = candidates.pick();
+        final var endpoint = candidates.get(candidate);
+
+        return backoff
+                .then(Mono.defer(() -> call(endpoint, authServiceRequest, attempts, span)))
+                .flatMap(result -> switch (result.outcome()) {
+                    case RESPONSE -> processAuthServiceResponse(request, result.response(), span)
+                            .doOnNext(valid -> {
+                                if (!valid) {
+                                    authClient.recordRejection(request, result);
+                                }
+                            })
+                            .map(valid -> DefaultAuthClient.result(
+                                    valid ? ValidationResult.Outcome.VALID : ValidationResult.Outcome.INVALID,
+                                    endpoint.endpoint(),
+                                    attempts + 1,
+                                    startNanos
+                            ));
+                    case RETRYABLE_FAILURE -> {
+                        candidates.exclude(candidate);
+                        yield attempt(request, authServiceRequest, candidates, endpoint.endpoint(), attempts + 1, startNanos, span);
+                    }
+                    case FAILURE -> Mono.just(DefaultAuthClient.result(
+                            ValidationResult.Outcome.FAILED,
+                            endpoint.endpoint(),
+                            attempts + 1,
+                            startNanos
+                    ));
+                })
+                .onErrorResume(AuthServiceOverloadedException.class, e -> {
+                    log.warn("Auth service call for '{}' rejected: {}", request.userId(), e.getMessage());
+                    return Mono.just(DefaultAuthClient.result(ValidationResult.Outcome.REJECTED, lastEndpoint, attempts, startNanos));
+                });
+    }
+
+    /**
+     * Calls the given endpoint within the span of the call, so the trace context is propagated to the endpoint.
+     *
+     * @param endpoint           the endpoint to call
+     * @param authServiceRequest the request payload
+     * @param retry              the retry index of the call, 0 for the first call
+     * @param span               the span of the validation
+     * @return a {@link Mono} emitting the result of the call
+     */
+    @SuppressWarnings("try")
+    private Mono<AuthServiceCallResult> call(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest authServiceRequest,
+            final int retry,
+            final TraceSpan span
+    ) {
+        final var callSpan = authClient.startCallSpan(span, endpoint, retry);
+        final var callEvent = new AuthServiceCallEvent();
+        final CompletableFuture<AuthServiceCallResult> future;
+
+        callEvent.endpoint(endpoint.endpoint(), retry);
+        callEvent.begin();
+
+        try (final var ignored = callSpan.makeCurrent()) {
+            future = authServiceHttpClient.callAuthServiceAsync(endpoint, authServiceRequest);
+        } catch (RuntimeException e) {
+            if (e instanceof AuthServiceOverloadedException) {
+                callEvent.completeRejected();
+            }
+            callSpan.recordFailure(e);
+            callSpan.end();
+            return Mono.error(e);
+        }
+
+        return endSpan(
+                Mono.fromFuture(future)
+                        .doOnNext(result -> {
+                            callEvent.complete(result);
+                            DefaultAuthClient.recordCallResult(callSpan, result);
+                        })
+                        .doOnError(AuthServiceOverloadedException.class, e -> callEvent.completeRejected()),
+                callSpan
+        );
+    }
+
+    /**
+     * Caches the token of a successful response matching the request user, if the TTL policy admits it.
+     *
+     * @param request  the request being validated
+     * @param response the {@link AuthServiceResponse} received from the authentication service
+     * @param span     the span of the validation
+     * @return a {@link Mono} emitting true if the response is valid, false otherwise
+     */
+    private Mono<Boolean> processAuthServiceResponse(
+            final ValidateTokenRequest request,
+            final AuthServiceResponse response,
+            final TraceSpan span
+    ) {
+        if (log.isDebugEnabled()) {
+            log.debug("Auth service query response for '{}' is {}", request, response);
+        }
+
+        if (response.success() && response.userId().equals(request.userId())) {
+            final var authToken = authClient.admit(new AuthToken(request.userId(), response.token(), response.expiration()));
+
+            if (authToken == null) {
+                return Mono.just(true);
+            }
+
+            final var fillSpan = authClient.startCacheSpan(AuthClientTracer.CACHE_FILL_SPAN, span);
+            return endSpan(Mono.fromFuture(() -> authTokenCache.addTokenAsync(response.userId(), authToken)), fillSpan)
+                    .thenReturn(true);
+        }
+
+        return Mono.just(false);
+    }
+
+    /**
+     * Ends the given span once the given {@link Mono} succeeds, fails or is cancelled, whichever comes first. Spans
+     * are ended before the signal reaches downstream, so a span always ends before its parent.
+     *
+     * @param mono the traced {@link Mono}
+     * @param span the span to end
+     * @return the {@link Mono} ending the span
+     */
+    private static <T> Mono<T> endSpan(final Mono<T> mono, final TraceSpan span) {
+        final var ended = new AtomicBoolean();
+        final Runnable end = () -> {
+            if (ended.compareAndSet(false, true)) {
+                span.end();
+            }
+        };
+
+        return mono
+                .doOnSuccess(value -> end.run())
+                .doOnError(e -> {
+                    span.recordFailure(e);
+                    end.run();
+                })
+                .doOnCancel(end);
+    }
+
+}
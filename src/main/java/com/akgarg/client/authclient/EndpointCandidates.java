@@ -0,0 +1,101 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The endpoints a single validation may still try, picked at random and excluded once they failed.
+ * <p>
+ * The endpoint list is shared, not copied: excluded endpoints are tracked in a bitmask, which only needs an
+ * allocation beyond this object for lists of more than 64 endpoints. Instances are not thread-safe and belong to a
+ * single validation.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class EndpointCandidates {
+
+    private final List<RegisteredEndpoint> endpoints;
+    private final BitSet overflowExcluded;
+    private long excluded;
+    private int remaining;
+
+    /**
+     * Constructs the candidates of a validation.
+     *
+     * @param endpoints the endpoints to pick from, must not be modified while in use
+     */
+    EndpointCandidates(final List<RegisteredEndpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.overflowExcluded = endpoints.size() > Long.SIZE ? new BitSet(endpoints.size()) : null;
+        this.remaining = endpoints.size();
+    }
+
+    /**
+     * Returns whether no endpoint is left to try.
+     *
+     * @return true if all endpoints were excluded, false otherwise
+     */
+    boolean isEmpty() {
+        return remaining == 0;
+    }
+
+    /**
+     * Picks a random endpoint which was not excluded.
+     *
+     * @return the index of the picked endpoint, or -1 if no endpoint is left
+     */
+    int pick() {
+        if (remaining == 0) {
+            return -1;
+        }
+
+        var skip = ThreadLocalRandom.current().nextInt(remaining);
+
+        for (int index = 0; index < endpoints.size(); index++) {
+            if (!isExcluded(index) && skip-- == 0) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the endpoint at the given index.
+     *
+     * @param index the index returned by {@link #pick()}
+     * @return the endpoint
+     */
+    RegisteredEndpoint get(final int index) {
+        return endpoints.get(index);
+    }
+
+    /**
+     * Excludes the endpoint at the given index from the next picks.
+     *
+     * @param index the index returned by {@link #pick()}
+     */
+    void exclude(final int index) {
+        if (isExcluded(index)) {
+            return;
+        }
+
+        if (overflowExcluded != null) {
+            overflowExcluded.set(index);
+        } else {
+            excluded |= 1L << index;
+        }
+
+        remaining--;
+    }
+
+    private boolean isExcluded(final int index) {
+        return overflowExcluded != null ? overflowExcluded.get(index) : (excluded & (1L << index)) != 0;
+    }
+
+}
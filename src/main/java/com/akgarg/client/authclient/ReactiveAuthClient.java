@@ -0,0 +1,70 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Reactive variant of {@link AuthClient}, validating authentication tokens without blocking the subscribing thread.
+ * <p>
+ * Requires Reactor on the classpath. Cache lookups use the asynchronous operations of the cache and auth-service
+ * calls are sent asynchronously, with the same caching, failover, retry budget and concurrency limit semantics as
+ * {@link AuthClient}.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public sealed interface ReactiveAuthClient permits DefaultReactiveAuthClient {
+
+    /**
+     * Creates a reactive client sharing the cache, HTTP client and retry budget of the given client.
+     *
+     * @param authClient the client to share the components of
+     * @return a new {@link ReactiveAuthClient}
+     * @throws NullPointerException if {@code authClient} is null
+     */
+    static ReactiveAuthClient from(final AuthClient authClient) {
+        return new DefaultReactiveAuthClient((DefaultAuthClient) Objects.requireNonNull(authClient, "authClient is null"));
+    }
+
+    /**
+     * Validates the authentication token using the provided request data.
+     *
+     * @param validateTokenRequest the object containing the token validation data
+     * @return a {@link Mono} emitting true if the token is successfully validated, false otherwise
+     */
+    Mono<Boolean> validate(ValidateTokenRequest validateTokenRequest);
+
+    /**
+     * Validates the authentication token using the provided request data, reporting how the validation ended, where
+     * the answer came from, and what it cost.
+     *
+     * @param validateTokenRequest the object containing the token validation data
+     * @return a {@link Mono} emitting the {@link ValidationResult} of the validation
+     * @see AuthClient#validateDetailed(ValidateTokenRequest)
+     */
+    Mono<ValidationResult> validateDetailed(ValidateTokenRequest validateTokenRequest);
+
+    /**
+     * Revokes a single session of the user, removing its token from the cache.
+     *
+     * @param userId the user ID owning the session
+     * @param token  the authentication token of the session to revoke
+     * @return a {@link Mono} emitting true if a cached session was removed, false otherwise
+     * @see AuthClient#revoke(String, String)
+     */
+    Mono<Boolean> revoke(String userId, String token);
+
+    /**
+     * Revokes all sessions of the user, removing all its tokens from the cache.
+     *
+     * @param userId the user ID whose sessions are revoked
+     * @return a {@link Mono} emitting true if cached sessions were removed, false otherwise
+     * @see AuthClient#revokeAll(String)
+     */
+    Mono<Boolean> revokeAll(String userId);
+
+}
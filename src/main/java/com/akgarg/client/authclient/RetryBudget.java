@@ -0,0 +1,87 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.config.RetryConfigs;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A token-bucket retry budget shared by all requests of an {@link AuthClient}, along with the retry backoff.
+ * <p>
+ * Every first call deposits {@link RetryConfigs#budgetRatio()} tokens, the bucket is refilled with
+ * {@link RetryConfigs#minRetriesPerSecond()} tokens per second, and every retry withdraws one token. The balance is
+ * capped at one second of reserve plus the tokens earned by the last {@value #CAPPED_FIRST_CALLS} first calls, so a
+ * long healthy period can't be spent as a retry storm later.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RetryBudget {
+
+    private static final int CAPPED_FIRST_CALLS = 100;
+
+    private final double depositPerCall;
+    private final double refillPerNano;
+    private final double capacity;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private double balance;
+    private long lastRefillNanos;
+
+    /**
+     * Constructs a retry budget starting with one second of reserve.
+     *
+     * @param configs the retry configurations
+     */
+    RetryBudget(final RetryConfigs configs) {
+        this.depositPerCall = configs.budgetRatio();
+        this.refillPerNano = configs.minRetriesPerSecond() / 1_000_000_000.0;
+        this.capacity = Math.max(1.0, configs.minRetriesPerSecond() + configs.budgetRatio() * CAPPED_FIRST_CALLS);
+        this.initialBackoffNanos = configs.initialBackoff().toNanos();
+        this.maxBackoffNanos = configs.maxBackoff().toNanos();
+        this.balance = configs.minRetriesPerSecond();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a first call, depositing its share of retries.
+     */
+    synchronized void recordCall() {
+        refill();
+        balance = Math.min(capacity, balance + depositPerCall);
+    }
+
+    /**
+     * Withdraws a token for a retry.
+     *
+     * @return true if the retry is within budget, false otherwise
+     */
+    synchronized boolean tryAcquireRetry() {
+        refill();
+
+        if (balance < 1.0) {
+            return false;
+        }
+
+        balance -= 1.0;
+        return true;
+    }
+
+    /**
+     * Returns a full-jitter exponential backoff for the given retry.
+     *
+     * @param retry the retry number, starting at 1
+     * @return the backoff in nanoseconds
+     */
+    long backoffNanos(final int retry) {
+        final var ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(retry - 1, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    private void refill() {
+        final var now = System.nanoTime();
+        balance = Math.min(capacity, balance + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+
+}
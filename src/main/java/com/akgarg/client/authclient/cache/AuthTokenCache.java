@@ -3,18 +3,39 @@ package com.akgarg.client.authclient.cache;
 import com.akgarg.client.authclient.common.AuthToken;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for handling token cache operations.
  * Implementations should provide mechanisms for storing, retrieving, and removing authentication tokens.
+ * <p>
+ * A user can hold several concurrent sessions (e.g. phone, web and tablet), so the cache keeps up to a configurable
+ * number of tokens per user, each with its own expiry. Once the cap is reached, the sessions closest to expiry are
+ * evicted first.
+ * </p>
+ * <p>
+ * The asynchronous variants never block the calling thread. By default they complete immediately with the result
+ * of the synchronous method, which suits caches whose operations don't block.
+ * </p>
+ * <p>
+ * Custom implementations can be passed to {@link com.akgarg.client.authclient.AuthClientBuilder#authTokenCache} or
+ * published through an {@link AuthTokenCacheProvider}, and should pass the conformance kit
+ * {@code com.akgarg.client.authclient.testkit.AuthTokenCacheConformanceKit} of the {@code tests} classifier artifact.
+ * Implementations must be thread-safe.
+ * </p>
  *
  * @author Akhilesh Garg
  * @since 09/09/23
  */
-public sealed interface AuthTokenCache permits InMemoryAuthTokenCache, RedisAuthTokenCache {
+public interface AuthTokenCache {
 
     /**
-     * Fetches the {@link AuthToken} from the cache associated with the given user ID.
+     * The default maximum number of sessions cached per user.
+     */
+    int DEFAULT_MAX_SESSIONS_PER_USER = 8;
+
+    /**
+     * Fetches the latest expiring {@link AuthToken} from the cache associated with the given user ID.
      *
      * @param userId the user ID to retrieve the token for
      * @return an {@link Optional} containing the {@link AuthToken} if found, otherwise empty
@@ -22,7 +43,18 @@ public sealed interface AuthTokenCache permits InMemoryAuthTokenCache, RedisAuth
     Optional<AuthToken> getToken(String userId);
 
     /**
-     * Adds a new authentication token to the cache. If a token already exists for the given user ID, it will be replaced.
+     * Fetches the cached session of the given user ID matching the given token.
+     *
+     * @param userId the user ID to retrieve the token for
+     * @param token  the authentication token of the session
+     * @return an {@link Optional} containing the {@link AuthToken} if found, otherwise empty
+     */
+    Optional<AuthToken> getToken(String userId, String token);
+
+    /**
+     * Adds a new authentication token to the cache as a session of the given user ID. If the same token is already
+     * cached, it will be replaced. If the user already holds the maximum number of sessions, the sessions closest
+     * to expiry are evicted.
      *
      * @param userId the user ID associated with the token
      * @param token  the {@link AuthToken} to add
@@ -31,11 +63,91 @@ public sealed interface AuthTokenCache permits InMemoryAuthTokenCache, RedisAuth
     boolean addToken(String userId, AuthToken token);
 
     /**
-     * Removes the authentication token associated with the given user ID from the cache.
+     * Removes all authentication tokens associated with the given user ID from the cache.
+     *
+     * @param userId the user ID to remove the tokens for
+     * @return true if the tokens were removed successfully, false otherwise
+     */
+    boolean removeToken(String userId);
+
+    /**
+     * Removes the session of the given user ID matching the given token from the cache.
      *
      * @param userId the user ID to remove the token for
+     * @param token  the authentication token of the session to remove
      * @return true if the token was removed successfully, false otherwise
      */
-    boolean removeToken(String userId);
+    boolean removeToken(String userId, String token);
+
+    /**
+     * Asynchronously fetches the cached session of the given user ID matching the given token.
+     *
+     * @param userId the user ID to retrieve the token for
+     * @param token  the authentication token of the session
+     * @return a future completed with an {@link Optional} containing the {@link AuthToken} if found, otherwise empty
+     * @see #getToken(String, String)
+     */
+    default CompletableFuture<Optional<AuthToken>> getTokenAsync(final String userId, final String token) {
+        return CompletableFuture.completedFuture(getToken(userId, token));
+    }
+
+    /**
+     * Asynchronously adds a new authentication token to the cache as a session of the given user ID.
+     *
+     * @param userId the user ID associated with the token
+     * @param token  the {@link AuthToken} to add
+     * @return a future completed with true if the token was successfully added or replaced, false otherwise
+     * @see #addToken(String, AuthToken)
+     */
+    default CompletableFuture<Boolean> addTokenAsync(final String userId, final AuthToken token) {
+        return CompletableFuture.completedFuture(addToken(userId, token));
+    }
+
+    /**
+     * Returns whether lookups are currently served from Redis rather than from local memory, to report where
+     * validations were answered from.
+     *
+     * @return true if lookups go to Redis, false if they are served from local memory
+     */
+    default boolean servesFromRedis() {
+        return false;
+    }
+
+    /**
+     * Returns whether lookups extend the expiration of the sessions they find. A session found expired by such a cache
+     * may have left the cache while its token is still valid, so it is validated again with the auth-service.
+     *
+     * @return true if the cache has a sliding expiry, false if sessions expire with their cached expiration
+     */
+    default boolean slidesExpiration() {
+        return false;
+    }
+
+    /**
+     * Returns the number of cached sessions, for monitoring.
+     *
+     * @return the number of cached sessions, or -1 if the cache can't count them cheaply
+     */
+    default long size() {
+        return -1;
+    }
+
+    /**
+     * Removes every cached session. Sessions are validated again with the auth-service afterwards.
+     *
+     * @return true if the cache was cleared, false if the cache doesn't support it or failed to clear
+     */
+    default boolean clear() {
+        return false;
+    }
+
+    /**
+     * Returns the state of the Redis connections of a Redis-backed cache, for monitoring.
+     *
+     * @return the Redis status, or empty if the cache is not backed by Redis
+     */
+    default Optional<RedisStatus> redisStatus() {
+        return Optional.empty();
+    }
 
 }
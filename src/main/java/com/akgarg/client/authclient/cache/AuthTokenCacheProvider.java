@@ -0,0 +1,32 @@
+package com.akgarg.client.authclient.cache;
+
+/**
+ * Service provider of a custom {@link AuthTokenCache}, used by the {@link AuthTokenCacheStrategy#CUSTOM} cache
+ * strategy.
+ * <p>
+ * Providers are discovered through {@link java.util.ServiceLoader}, so an implementation is published by listing its
+ * fully qualified class name in {@code META-INF/services/com.akgarg.client.authclient.cache.AuthTokenCacheProvider}.
+ * Providers must have a public no-argument constructor.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public interface AuthTokenCacheProvider {
+
+    /**
+     * Returns the name the provider is selected by, e.g. {@code "hazelcast"}.
+     *
+     * @return the name of the provider
+     */
+    String name();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSessionsPerUser the maximum number of sessions cached per user
+     * @return a new {@link AuthTokenCache} instance
+     */
+    AuthTokenCache create(int maxSessionsPerUser);
+
+}
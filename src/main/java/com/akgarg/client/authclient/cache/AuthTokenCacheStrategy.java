@@ -2,15 +2,19 @@ package com.akgarg.client.authclient.cache;
 
 /**
  * Enumeration representing the available strategies for token caching.
- * The two supported strategies are:
+ * The supported strategies are:
  * <ul>
  *     <li>IN_MEMORY - Use an in-memory cache for storing tokens.</li>
  *     <li>REDIS - Use Redis for external token caching.</li>
+ *     <li>REDIS_PIPELINED - Use Redis for external token caching, multiplexing all commands over a few
+ *     long-lived connections which are flushed automatically as pipelines.</li>
+ *     <li>CUSTOM - Use a custom cache, created by an {@link AuthTokenCacheProvider} discovered through
+ *     {@link java.util.ServiceLoader}.</li>
  * </ul>
  *
  * @author Akhilesh Garg
  * @since 09/09/23
  */
 public enum AuthTokenCacheStrategy {
-    IN_MEMORY, REDIS
+    IN_MEMORY, REDIS, REDIS_PIPELINED, CUSTOM
 }
\ No newline at end of file
@@ -1,52 +1,233 @@
 package com.akgarg.client.authclient.cache;
 
 import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.TokenDigest;
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.SlidingExpiryConfigs;
+import com.akgarg.client.authclient.config.SnapshotConfigs;
+import com.akgarg.client.authclient.jfr.AuthCacheEvictionEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A simple in-memory cache for storing and managing authentication tokens.
  * It supports token retrieval, addition, and removal. Expired tokens are evicted periodically.
+ * <p>
+ * Each user can hold up to a configurable number of concurrent sessions.
+ * </p>
+ * <p>
+ * Optionally, removals can be shared with all other nodes through a Redis Stream based invalidation log, so a
+ * logout or revocation on one node also drops the cached sessions on every other node. A removal which can't be
+ * published while Redis is unreachable is queued and published once Redis is reachable again.
+ * </p>
+ * <p>
+ * Optionally, live entries can be written to a memory-mapped snapshot file on shutdown and periodically, which is
+ * reloaded in the background on startup so the cache is mostly warm right after a restart. Removals made while the
+ * snapshot is loading are remembered until it is loaded, so the snapshot never brings a removed session back. With an
+ * invalidation stream, the consumer resumes from the last entry applied before the snapshot was taken, and the
+ * snapshot is discarded if the stream has been trimmed past that entry.
+ * </p>
+ * <p>
+ * Optionally, the expiration of a session is extended by every lookup of it, see {@link SlidingExpiryConfigs}.
+ * Sessions reloaded from a snapshot are not extended past their snapshotted expiration.
+ * </p>
+ * <p>
+ * The periodic tasks run on a scheduler thread of the cache, or on a scheduler shared with other caches if one is
+ * given. {@link #close()} cancels the tasks of the cache and only stops the scheduler if the cache created it.
+ * </p>
  */
-public final class InMemoryAuthTokenCache implements AuthTokenCache {
+public final class InMemoryAuthTokenCache implements AuthTokenCache, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(InMemoryAuthTokenCache.class);
     private static final String USER_ID_NULL_MSG = "UserId should not be null";
 
-    private final Map<String, AuthToken> cacheMap;
+    private final Map<String, UserSessions> cacheMap;
     private final ScheduledExecutorService tokenEvictionScheduler;
+    private final boolean ownsScheduler;
+    private final List<ScheduledFuture<?>> scheduledTasks;
+    private final int maxSessionsPerUser;
+    private final RedisStreamInvalidationLog invalidationLog;
+    private final InMemoryCacheSnapshot snapshot;
+    private final SlidingExpiry slidingExpiry;
+    private final Set<Tombstone> snapshotTombstones;
+    private final Thread snapshotHook;
+    private volatile boolean loadingSnapshot;
+    private volatile boolean snapshotCleared;
 
     /**
-     * Constructs an instance of the cache with a scheduled eviction of expired tokens.
+     * Constructs an instance of the cache with a scheduled eviction of expired tokens, caching up to
+     * {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER} sessions per user.
+     *
+     * @see #builder()
      */
     public InMemoryAuthTokenCache() {
+        this(builder());
+    }
+
+    private InMemoryAuthTokenCache(final Builder builder) {
+        if (builder.maxSessionsPerUser <= 0) {
+            throw new IllegalArgumentException("max sessions per user must be greater than 0");
+        }
+
+        this.maxSessionsPerUser = builder.maxSessionsPerUser;
+        this.slidingExpiry = builder.slidingExpiryConfigs != null ? new SlidingExpiry(builder.slidingExpiryConfigs) : null;
+        this.invalidationLog = builder.invalidationStreamConfigs != null
+                ? new RedisStreamInvalidationLog(builder.connectionConfigs, builder.invalidationStreamConfigs)
+                : null;
+        this.snapshot = builder.snapshotConfigs != null ? new InMemoryCacheSnapshot(builder.snapshotConfigs.file()) : null;
         this.cacheMap = new ConcurrentHashMap<>();
-        this.tokenEvictionScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        this.snapshotTombstones = ConcurrentHashMap.newKeySet();
+        this.snapshotHook = snapshot != null ? new Thread(this::writeSnapshot, "inMemoryAuthTokenCacheSnapshotHook") : null;
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduledTasks = new CopyOnWriteArrayList<>();
+        this.tokenEvictionScheduler = builder.scheduler != null ? builder.scheduler : Executors.newSingleThreadScheduledExecutor(r -> {
             final var thread = new Thread(r);
             thread.setDaemon(true);
             return thread;
         });
         startEvictionThread();
+
+        if (snapshot != null) {
+            startSnapshots(builder.snapshotConfigs);
+        } else if (invalidationLog != null) {
+            invalidationLog.start(this::applyInvalidation);
+        }
+    }
+
+    /**
+     * Returns a builder of an InMemoryAuthTokenCache instance, for configuring the optional features of the cache.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reloads the snapshot in the background and schedules the periodic and shutdown snapshots.
+     *
+     * @param snapshotConfigs warm-restart snapshot configurations
+     */
+    private void startSnapshots(final SnapshotConfigs snapshotConfigs) {
+        loadingSnapshot = true;
+        tokenEvictionScheduler.execute(this::loadSnapshot);
+
+        if (snapshotConfigs.periodic()) {
+            final var intervalMillis = snapshotConfigs.interval().toMillis();
+            scheduledTasks.add(tokenEvictionScheduler.scheduleAtFixedRate(this::writeSnapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS));
+        }
+
+        Runtime.getRuntime().addShutdownHook(snapshotHook);
+    }
+
+    /**
+     * Loads the unexpired entries of the snapshot into the cache, without overriding newer entries or restoring
+     * sessions removed in the meantime, and starts the invalidation stream consumer from the snapshotted entry.
+     */
+    private void loadSnapshot() {
+        try {
+            var contents = snapshot.read();
+
+            if (contents != null && invalidationLog != null && !invalidationLog.retainsEntriesAfter(contents.streamEntryId())) {
+                log.warn("Discarding cache snapshot {}, the invalidation stream no longer retains the entries after {}",
+                        snapshot.file(), contents.streamEntryId());
+                contents = null;
+            }
+
+            if (invalidationLog != null) {
+                invalidationLog.start(this::applyInvalidation, contents != null ? contents.streamEntryId() : null);
+            }
+
+            if (contents == null) {
+                return;
+            }
+
+            for (final var entry : contents.entries()) {
+                cacheMap.compute(entry.userId(), (key, sessions) -> {
+                    if (snapshotCleared ||
+                            snapshotTombstones.contains(new Tombstone(key, null)) ||
+                            snapshotTombstones.contains(new Tombstone(key, entry.tokenDigest()))) {
+                        return sessions;
+                    }
+
+                    final var userSessions = sessions != null ? sessions : new UserSessions(maxSessionsPerUser);
+                    userSessions.restore(key, entry.tokenDigest(), entry.expiration());
+                    return userSessions;
+                });
+            }
+
+            log.info("Loaded {} auth tokens from cache snapshot {}", contents.entries().size(), snapshot.file());
+        } finally {
+            loadingSnapshot = false;
+            snapshotTombstones.clear();
+        }
+    }
+
+    /**
+     * Remembers a removal made while the snapshot is loading, so the snapshot doesn't restore the removed sessions.
+     *
+     * @param userId      the user ID whose sessions are removed
+     * @param tokenDigest the hex encoded token digest of the removed session, or null for all sessions
+     */
+    private void addSnapshotTombstone(final String userId, final String tokenDigest) {
+        if (loadingSnapshot) {
+            snapshotTombstones.add(new Tombstone(userId, tokenDigest));
+        }
+    }
+
+    /**
+     * Writes all live entries of the cache to the snapshot file, along with the last invalidation stream entry applied
+     * before the entries are read. The previous snapshot is kept while it is still loading.
+     */
+    private void writeSnapshot() {
+        if (loadingSnapshot) {
+            log.debug("Skipping cache snapshot {} while it is loading", snapshot.file());
+            return;
+        }
+
+        try {
+            final var streamEntryId = invalidationLog != null ? invalidationLog.lastEntryId() : null;
+            final var entries = new ArrayList<InMemoryCacheSnapshot.Entry>(cacheMap.size());
+            for (final var sessions : cacheMap.values()) {
+                sessions.snapshot(entries::add);
+            }
+
+            final var written = snapshot.write(streamEntryId, entries);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Written {} auth tokens to cache snapshot {}", written, snapshot.file());
+            }
+        } catch (Exception e) {
+            log.error("Error writing cache snapshot {}: {}", snapshot.file(), e.getMessage());
+        }
     }
 
     /**
      * Starts the scheduled eviction thread to remove expired tokens every 5 minutes.
      */
     private void startEvictionThread() {
-        tokenEvictionScheduler.scheduleAtFixedRate(this::evictExpiredTokens, 5, 5, TimeUnit.MINUTES);
+        scheduledTasks.add(tokenEvictionScheduler.scheduleAtFixedRate(this::evictExpiredTokens, 5, 5, TimeUnit.MINUTES));
     }
 
     @Override
     public Optional<AuthToken> getToken(final String userId) {
-        final var authToken = cacheMap.get(Objects.requireNonNull(userId, USER_ID_NULL_MSG));
+        final var sessions = cacheMap.get(Objects.requireNonNull(userId, USER_ID_NULL_MSG));
+        final var authToken = sessions != null ? sessions.latest() : null;
 
         if (log.isDebugEnabled()) {
             log.debug("Auth token fetched for '{}' is {}", userId, authToken);
@@ -55,6 +236,26 @@ public final class InMemoryAuthTokenCache implements AuthTokenCache {
         return Optional.ofNullable(authToken);
     }
 
+    @Override
+    public Optional<AuthToken> getToken(final String userId, final String token) {
+        final var sessions = cacheMap.get(Objects.requireNonNull(userId, USER_ID_NULL_MSG));
+        final AuthToken authToken;
+
+        if (sessions == null) {
+            authToken = null;
+        } else if (slidingExpiry != null) {
+            authToken = sessions.slide(token, slidingExpiry, System.currentTimeMillis());
+        } else {
+            authToken = sessions.find(token);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Auth token session fetched for '{}' is {}", userId, authToken);
+        }
+
+        return Optional.ofNullable(authToken);
+    }
+
     @Override
     public boolean addToken(final String userId, final AuthToken token) {
         Objects.requireNonNull(userId, USER_ID_NULL_MSG);
@@ -64,37 +265,273 @@ public final class InMemoryAuthTokenCache implements AuthTokenCache {
             log.debug("Adding auth token: {}", token);
         }
 
-        cacheMap.put(token.token(), token);
+        final var ceiling = slidingExpiry != null ? slidingExpiry.ceiling(token, System.currentTimeMillis()) : token.expiration();
+
+        cacheMap.compute(userId, (key, sessions) -> {
+            final var userSessions = sessions != null ? sessions : new UserSessions(maxSessionsPerUser);
+            userSessions.add(token, ceiling);
+            return userSessions;
+        });
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With an invalidation stream, false is also returned if the removal could not be published to the other nodes
+     * yet; it is queued and published once Redis is reachable again.
+     * </p>
+     */
     @Override
     public boolean removeToken(final String userId) {
         Objects.requireNonNull(userId, USER_ID_NULL_MSG);
 
         if (log.isDebugEnabled()) {
-            log.debug("Removing auth token for '{}'", userId);
+            log.debug("Removing auth tokens for '{}'", userId);
+        }
+
+        addSnapshotTombstone(userId, null);
+        final var removedSessions = cacheMap.remove(userId);
+
+        final var published = invalidationLog == null || invalidationLog.publish(userId, null);
+        return removedSessions != null && published;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With an invalidation stream, false is also returned if the removal could not be published to the other nodes
+     * yet; it is queued and published once Redis is reachable again.
+     * </p>
+     */
+    @Override
+    public boolean removeToken(final String userId, final String token) {
+        Objects.requireNonNull(userId, USER_ID_NULL_MSG);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Removing auth token session for '{}'", userId);
+        }
+
+        final var tokenDigest = HexFormat.of().formatHex(TokenDigest.sha256(token));
+        addSnapshotTombstone(userId, tokenDigest);
+
+        final var removed = new boolean[1];
+        cacheMap.computeIfPresent(userId, (key, sessions) -> {
+            removed[0] = sessions.remove(token);
+            return sessions.isEmpty() ? null : sessions;
+        });
+
+        final var published = invalidationLog == null || invalidationLog.publish(userId, tokenDigest);
+        return removed[0] && published;
+    }
+
+    @Override
+    public boolean slidesExpiration() {
+        return slidingExpiry != null;
+    }
+
+    @Override
+    public long size() {
+        return cacheMap.values().stream().mapToLong(UserSessions::size).sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the sessions of this node are removed, the clear is not published on the invalidation stream. A snapshot
+     * still loading is discarded.
+     * </p>
+     */
+    @Override
+    public boolean clear() {
+        log.info("Clearing in-memory auth token cache");
+        final var event = new AuthCacheEvictionEvent();
+        event.begin();
+        final var cleared = event.isEnabled() ? size() : 0;
+
+        if (loadingSnapshot) {
+            snapshotCleared = true;
+        }
+
+        cacheMap.clear();
+        event.complete(AuthTokenCacheStrategy.IN_MEMORY.name(), AuthCacheEvictionEvent.CLEARED, cleared);
+        return true;
+    }
+
+    /**
+     * Cancels the periodic tasks of the cache and stops the invalidation stream. The scheduler is only stopped if it
+     * was created by the cache, a shared scheduler keeps running for the other caches. With snapshots, the snapshot is
+     * written and the shutdown hook writing it is removed.
+     */
+    @Override
+    public void close() {
+        scheduledTasks.forEach(task -> task.cancel(false));
+        scheduledTasks.clear();
+
+        if (snapshotHook != null && removeSnapshotHook()) {
+            writeSnapshot();
+        }
+
+        if (ownsScheduler) {
+            tokenEvictionScheduler.shutdownNow();
+        }
+
+        if (invalidationLog != null) {
+            invalidationLog.close();
+        }
+    }
+
+    /**
+     * Removes the shutdown hook writing the snapshot.
+     *
+     * @return true if the hook was removed, false if it was removed before or the JVM is shutting down
+     */
+    private boolean removeSnapshotHook() {
+        try {
+            return Runtime.getRuntime().removeShutdownHook(snapshotHook);
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Applies an invalidation published by another node, without publishing it again.
+     *
+     * @param userId      the user ID whose sessions are invalidated
+     * @param tokenDigest the hex encoded token digest of the invalidated session, or null for all sessions
+     */
+    private void applyInvalidation(final String userId, final String tokenDigest) {
+        addSnapshotTombstone(userId, tokenDigest);
+
+        if (tokenDigest == null) {
+            cacheMap.remove(userId);
+            return;
         }
 
-        final var removedToken = cacheMap.remove(userId);
-        return removedToken != null;
+        cacheMap.computeIfPresent(userId, (key, sessions) -> {
+            sessions.removeByDigest(tokenDigest);
+            return sessions.isEmpty() ? null : sessions;
+        });
     }
 
     /**
      * Evicts tokens that have expired based on their expiration time.
      */
     private void evictExpiredTokens() {
+        final var event = new AuthCacheEvictionEvent();
+        event.begin();
         final var currentTimeMillis = System.currentTimeMillis();
-        final var iterator = cacheMap.entrySet().iterator();
+        final var evicted = new long[1];
 
-        while (iterator.hasNext()) {
-            final var entry = iterator.next();
-            final var token = entry.getValue();
+        for (final var userId : cacheMap.keySet()) {
+            cacheMap.computeIfPresent(userId, (key, sessions) -> {
+                evicted[0] += sessions.removeExpired(currentTimeMillis);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
 
-            if (token.expiration() < currentTimeMillis) {
-                iterator.remove();
-            }
+        event.complete(AuthTokenCacheStrategy.IN_MEMORY.name(), AuthCacheEvictionEvent.EXPIRED, evicted[0]);
+    }
+
+    /**
+     * A removal made while the snapshot is loading.
+     *
+     * @param userId      the user ID whose sessions are removed
+     * @param tokenDigest the hex encoded token digest of the removed session, or null for all sessions
+     */
+    private record Tombstone(String userId, String tokenDigest) {
+    }
+
+    /**
+     * Builder of an {@link InMemoryAuthTokenCache}. Every optional feature is disabled unless configured, and a null
+     * value disables it again.
+     */
+    public static final class Builder {
+
+        private int maxSessionsPerUser = DEFAULT_MAX_SESSIONS_PER_USER;
+        private RedisConnectionConfigs connectionConfigs;
+        private InvalidationStreamConfigs invalidationStreamConfigs;
+        private SnapshotConfigs snapshotConfigs;
+        private ScheduledExecutorService scheduler;
+        private SlidingExpiryConfigs slidingExpiryConfigs;
+
+        private Builder() {
         }
+
+        /**
+         * Sets the maximum number of sessions cached per user, {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER}
+         * by default.
+         *
+         * @param maxSessionsPerUser the maximum number of sessions cached per user
+         * @return the builder instance
+         */
+        public Builder maxSessionsPerUser(final int maxSessionsPerUser) {
+            this.maxSessionsPerUser = maxSessionsPerUser;
+            return this;
+        }
+
+        /**
+         * Shares the removals with all other nodes through the configured Redis invalidation stream.
+         *
+         * @param connectionConfigs         Redis connection details of the invalidation stream, null if
+         *                                  {@code invalidationStreamConfigs} is null
+         * @param invalidationStreamConfigs invalidation stream configurations, null to disable the invalidation stream
+         * @return the builder instance
+         */
+        public Builder invalidationStream(
+                final RedisConnectionConfigs connectionConfigs,
+                final InvalidationStreamConfigs invalidationStreamConfigs
+        ) {
+            this.connectionConfigs = connectionConfigs;
+            this.invalidationStreamConfigs = invalidationStreamConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the warm-restart snapshot configurations.
+         *
+         * @param snapshotConfigs warm-restart snapshot configurations, null to disable snapshots
+         * @return the builder instance
+         */
+        public Builder snapshot(final SnapshotConfigs snapshotConfigs) {
+            this.snapshotConfigs = snapshotConfigs;
+            return this;
+        }
+
+        /**
+         * Runs the periodic tasks of the cache on the given scheduler, shared with other caches.
+         *
+         * @param scheduler the shared scheduler, null to create one for the cache
+         * @return the builder instance
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Sets the sliding expiry configurations.
+         *
+         * @param slidingExpiryConfigs sliding expiry configurations, null to keep the expiration of sessions fixed
+         * @return the builder instance
+         */
+        public Builder slidingExpiry(final SlidingExpiryConfigs slidingExpiryConfigs) {
+            this.slidingExpiryConfigs = slidingExpiryConfigs;
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return a new InMemoryAuthTokenCache instance
+         * @throws IllegalArgumentException if {@code maxSessionsPerUser} is not greater than 0 or the sliding expiry
+         *                                  configurations are invalid
+         * @throws NullPointerException     if an invalidation stream is configured without Redis connection details
+         */
+        public InMemoryAuthTokenCache build() {
+            return new InMemoryAuthTokenCache(this);
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package com.akgarg.client.authclient.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.StreamEntryID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * A compact, memory-mapped snapshot file of the entries of an {@link InMemoryAuthTokenCache}.
+ * <p>
+ * File layout, all numbers big-endian:
+ * <pre>
+ * header: magic (int) | format version (int) | entry count (int) | body length (int) | CRC32 (long) |
+ *         stream entry ID millis (long) | stream entry ID sequence (long)
+ * entry:  user ID length (int) | user ID (UTF-8) | token digest (32 bytes) | expiration millis (long)
+ * </pre>
+ * Tokens are never written in plain text, entries carry the SHA-256 digest of the token instead. The stream entry ID
+ * is the last invalidation stream entry applied to the cache before the snapshot was taken, {@code 0-0} if unknown,
+ * and the checksum covers it and the body.
+ * </p>
+ * <p>
+ * A snapshot is written to a temporary file which is then atomically moved over the previous snapshot, so readers
+ * never see a partially written file. Files with an unknown magic or format version, or not matching their
+ * checksum, are ignored.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class InMemoryCacheSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryCacheSnapshot.class);
+
+    private static final int MAGIC = 0x41435348; // "ACSH"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_LENGTH = 4 + 4 + 4 + 4 + 8 + 8 + 8;
+    private static final int DIGEST_LENGTH = 32;
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final Path file;
+
+    /**
+     * Constructs a snapshot stored at the given path.
+     *
+     * @param file the path of the snapshot file
+     */
+    InMemoryCacheSnapshot(final Path file) {
+        this.file = Objects.requireNonNull(file, "snapshot file can't be null");
+    }
+
+    /**
+     * Writes the given entries to the snapshot file, skipping the expired ones.
+     *
+     * @param streamEntryId the last invalidation stream entry applied to the cache, null if unknown
+     * @param entries       the entries to write
+     * @return the number of written entries
+     * @throws IOException if the snapshot file can't be written
+     */
+    int write(final StreamEntryID streamEntryId, final Iterable<Entry> entries) throws IOException {
+        final var currentTimeMillis = System.currentTimeMillis();
+        final var entryId = streamEntryId != null ? streamEntryId : new StreamEntryID();
+        final var body = new ByteArrayOutputStream(4096);
+        var written = 0;
+
+        try (final var out = new DataOutputStream(body)) {
+            for (final var entry : entries) {
+                if (entry.expiration() <= currentTimeMillis || entry.userId() == null) {
+                    continue;
+                }
+
+                writeString(out, entry.userId());
+                out.write(HEX_FORMAT.parseHex(entry.tokenDigest()));
+                out.writeLong(entry.expiration());
+                written++;
+            }
+        }
+
+        final var bodyBytes = body.toByteArray();
+        final var checksum = checksum(entryId.getTime(), entryId.getSequence(), ByteBuffer.wrap(bodyBytes));
+
+        final var parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var tempFile = createOwnerOnlyTempFile(parent);
+
+        try (final var channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) HEADER_LENGTH + bodyBytes.length);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(written)
+                    .putInt(bodyBytes.length)
+                    .putLong(checksum)
+                    .putLong(entryId.getTime())
+                    .putLong(entryId.getSequence())
+                    .put(bodyBytes);
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    /**
+     * Reads the unexpired entries of the snapshot file.
+     *
+     * @return the contents of the snapshot, or null if there is no valid snapshot
+     */
+    Contents read() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                log.warn("Ignoring truncated cache snapshot {}", file);
+                return null;
+            }
+
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var magic = buffer.getInt();
+            final var version = buffer.getInt();
+            final var entries = buffer.getInt();
+            final var bodyLength = buffer.getInt();
+            final var expectedChecksum = buffer.getLong();
+            final var entryIdTime = buffer.getLong();
+            final var entryIdSequence = buffer.getLong();
+
+            if (magic != MAGIC || version != FORMAT_VERSION) {
+                log.warn("Ignoring cache snapshot {} with unsupported format {}", file, version);
+                return null;
+            }
+
+            if (bodyLength != buffer.remaining()) {
+                log.warn("Ignoring cache snapshot {} with invalid length", file);
+                return null;
+            }
+
+            if (checksum(entryIdTime, entryIdSequence, buffer.duplicate()) != expectedChecksum) {
+                log.warn("Ignoring corrupted cache snapshot {}", file);
+                return null;
+            }
+
+            final var currentTimeMillis = System.currentTimeMillis();
+            final var loaded = new ArrayList<Entry>(entries);
+
+            for (int i = 0; i < entries; i++) {
+                final var userId = readString(buffer);
+                final var digest = new byte[DIGEST_LENGTH];
+                buffer.get(digest);
+                final var expiration = buffer.getLong();
+
+                if (expiration > currentTimeMillis) {
+                    loaded.add(new Entry(userId, HEX_FORMAT.formatHex(digest), expiration));
+                }
+            }
+
+            return new Contents(new StreamEntryID(entryIdTime, entryIdSequence), loaded);
+        } catch (Exception e) {
+            log.error("Error reading cache snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the path of the snapshot file.
+     *
+     * @return the snapshot file path
+     */
+    Path file() {
+        return file;
+    }
+
+    private Path createOwnerOnlyTempFile(final Path directory) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile(
+                    directory,
+                    file.getFileName().toString(),
+                    ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+            );
+        }
+        return Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    }
+
+    private static long checksum(final long entryIdTime, final long entryIdSequence, final ByteBuffer body) {
+        final var checksum = new CRC32();
+        checksum.update(ByteBuffer.allocate(16).putLong(entryIdTime).putLong(entryIdSequence).flip());
+        checksum.update(body);
+        return checksum.getValue();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A snapshotted session.
+     *
+     * @param userId      the user ID of the session
+     * @param tokenDigest the hex encoded SHA-256 digest of the token of the session
+     * @param expiration  the expiration of the session in milliseconds
+     */
+    record Entry(String userId, String tokenDigest, long expiration) {
+    }
+
+    /**
+     * The contents of a snapshot file.
+     *
+     * @param streamEntryId the last invalidation stream entry applied to the cache before the snapshot was taken,
+     *                      {@code 0-0} if unknown
+     * @param entries       the unexpired entries of the snapshot
+     */
+    record Contents(StreamEntryID streamEntryId, List<Entry> entries) {
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, local token cache serving a Redis-backed cache while Redis is unreachable.
+ * <p>
+ * Users are kept in least-recently-used order and the least recently used user is dropped once
+ * {@code maxUsers} is exceeded. Removals made while Redis is unreachable are recorded, so they can be replayed on
+ * Redis once it is reachable again; otherwise a token revoked during the outage would be served from Redis again.
+ * Removals are recorded by the digest of their token, which is the hash field of the session in Redis. The removal
+ * log is bounded like the cache and drops its oldest removals once full; the dropped removals are counted, and the
+ * Redis cache has to be cleared on recovery since they can't be replayed. All methods are synchronized on the instance.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class LocalFallbackCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFallbackCache.class);
+
+    private final Map<String, UserSessions> sessionsMap;
+    private final List<PendingRemoval> pendingRemovals;
+    private final int maxSessionsPerUser;
+    private final int maxUsers;
+    private long droppedRemovals;
+    private long recoveredDroppedRemovals;
+
+    /**
+     * Constructs an empty fallback cache.
+     *
+     * @param maxUsers           the maximum number of users held
+     * @param maxSessionsPerUser the maximum number of sessions held per user
+     */
+    LocalFallbackCache(final int maxUsers, final int maxSessionsPerUser) {
+        this.maxUsers = maxUsers;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.pendingRemovals = new ArrayList<>();
+        this.sessionsMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, UserSessions> eldest) {
+                return size() > LocalFallbackCache.this.maxUsers;
+            }
+        };
+    }
+
+    synchronized AuthToken latest(final String userId) {
+        final var sessions = sessionsMap.get(userId);
+        return sessions != null ? sessions.latest() : null;
+    }
+
+    synchronized AuthToken find(final String userId, final String token) {
+        final var sessions = sessionsMap.get(userId);
+        return sessions != null ? sessions.find(token) : null;
+    }
+
+    synchronized void add(final String userId, final AuthToken token) {
+        sessionsMap.computeIfAbsent(userId, key -> new UserSessions(maxSessionsPerUser)).add(token);
+    }
+
+    synchronized boolean remove(final String userId) {
+        recordRemoval(new PendingRemoval(userId, null));
+        return sessionsMap.remove(userId) != null;
+    }
+
+    synchronized boolean remove(final String userId, final String token) {
+        recordRemoval(new PendingRemoval(userId, HexFormat.of().formatHex(RedisSessionLayout.sessionField(token))));
+        final var sessions = sessionsMap.get(userId);
+
+        if (sessions == null) {
+            return false;
+        }
+
+        final var removed = sessions.remove(token);
+
+        if (sessions.isEmpty()) {
+            sessionsMap.remove(userId);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the removals recorded while Redis was unreachable.
+     *
+     * @return a copy of the recorded removals, oldest first
+     */
+    synchronized List<PendingRemoval> pendingRemovals() {
+        return new ArrayList<>(pendingRemovals);
+    }
+
+    /**
+     * Returns the number of removals dropped since startup because the removal log was full.
+     *
+     * @return the number of dropped removals
+     */
+    synchronized long droppedRemovals() {
+        return droppedRemovals;
+    }
+
+    /**
+     * Returns whether removals were dropped since the Redis cache was last cleared on recovery, see
+     * {@link #clear(List, long)}.
+     *
+     * @return true if the Redis cache has to be cleared on recovery, false otherwise
+     */
+    synchronized boolean removalsDropped() {
+        return droppedRemovals > recoveredDroppedRemovals;
+    }
+
+    /**
+     * Clears the cached sessions and forgets the given removals once they have been replayed on Redis.
+     *
+     * @param replayed the removals replayed on Redis
+     */
+    synchronized void clear(final List<PendingRemoval> replayed) {
+        sessionsMap.clear();
+        pendingRemovals.removeAll(new HashSet<>(replayed));
+    }
+
+    /**
+     * Clears the cached sessions and forgets the given removals once they have been replayed on Redis, and the
+     * dropped removals once the Redis cache has been cleared.
+     *
+     * @param replayed        the removals replayed on Redis
+     * @param droppedRemovals the number of dropped removals read before the Redis cache was cleared
+     */
+    synchronized void clear(final List<PendingRemoval> replayed, final long droppedRemovals) {
+        clear(replayed);
+        recoveredDroppedRemovals = Math.max(recoveredDroppedRemovals, droppedRemovals);
+    }
+
+    private void recordRemoval(final PendingRemoval removal) {
+        // bounded like the cache itself, dropping the oldest removals first
+        if (pendingRemovals.size() >= maxUsers) {
+            pendingRemovals.remove(0);
+
+            if (!removalsDropped()) {
+                log.warn("Degraded mode removal log is full with {} removals, dropping the oldest removals; " +
+                        "the redis cache is cleared once redis is reachable again", maxUsers);
+            }
+
+            droppedRemovals++;
+        }
+        pendingRemovals.add(removal);
+    }
+
+    /**
+     * A removal made while Redis was unreachable.
+     *
+     * @param userId      the user ID whose sessions were removed
+     * @param tokenDigest the hex encoded SHA-256 digest of the token of the removed session, or null if all sessions
+     *                    were removed
+     */
+    record PendingRemoval(String userId, String tokenDigest) {
+    }
+
+}
@@ -0,0 +1,703 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import com.akgarg.client.authclient.exception.RedisConnectivityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.jedis.params.ScanParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static com.akgarg.client.authclient.cache.AuthTokenSerializerDeserializer.deserialize;
+import static com.akgarg.client.authclient.cache.RedisSessionLayout.*;
+
+/**
+ * A Redis-backed cache that multiplexes the commands of all application threads over a few long-lived connections.
+ * <p>
+ * Instead of borrowing a pooled connection per operation, every {@code getToken}/{@code addToken}/{@code removeToken}
+ * call is enqueued on one of {@link RedisPipelineConfigs#connections()} pipeline workers. Each worker owns a single
+ * Redis connection and a writer thread which drains all pending commands and flushes them as one pipeline,
+ * so under load many commands share a single network round trip. Commands for the same user always go through the
+ * same worker, which preserves their relative order.
+ * </p>
+ * <p>
+ * The data layout in Redis is identical to {@link RedisAuthTokenCache}, so both strategies can share a Redis instance.
+ * </p>
+ * <p>
+ * Like {@link RedisAuthTokenCache}, the cache connects in the background and serves operations from a bounded
+ * local fallback cache while Redis is unreachable.
+ * </p>
+ * <p>
+ * The asynchronous operations complete straight from the pipeline workers, without blocking any thread while
+ * waiting for Redis.
+ * </p>
+ * <p>
+ * The pipeline connections are configured like the pooled connections of {@link RedisAuthTokenCache}, with a socket
+ * timeout matching the command timeout, so a stalled connection fails its pipeline instead of blocking the worker.
+ * The cache owns threads and connections and has to be {@link #close() closed}, unless it is built with a
+ * {@link RedisPipeline} shared with other caches.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class PipelinedRedisAuthTokenCache implements AuthTokenCache, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelinedRedisAuthTokenCache.class);
+
+    private final RedisPipeline redisPipeline;
+    private final boolean ownsPipeline;
+    private final int maxSessionsPerUser;
+    private final LocalFallbackCache fallbackCache;
+    private final RedisConnectionMonitor connectionMonitor;
+    private final RedisSessionLayout layout;
+    private final boolean readLegacyKeys;
+
+    /**
+     * Constructs a PipelinedRedisAuthTokenCache instance with the specified connection configurations, caching up to
+     * {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER} sessions per user.
+     *
+     * @param connectionProperty Redis connection details
+     * @param pipelineConfigs    pipelined connection mode configurations, defaults are used if null
+     * @see #builder(RedisConnectionConfigs)
+     */
+    public PipelinedRedisAuthTokenCache(
+            final RedisConnectionConfigs connectionProperty,
+            final RedisPipelineConfigs pipelineConfigs
+    ) {
+        this(builder(connectionProperty).pipelineConfigs(pipelineConfigs));
+    }
+
+    private PipelinedRedisAuthTokenCache(final Builder builder) {
+        final var connectionProperty = Objects.requireNonNull(builder.connectionConfigs, "please provide valid redisConnectionProperty");
+        final var maxSessionsPerUser = builder.maxSessionsPerUser;
+
+        if (maxSessionsPerUser <= 0) {
+            throw new IllegalArgumentException("max sessions per user must be greater than 0");
+        }
+
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.layout = new RedisSessionLayout(builder.keyPrefix != null ? builder.keyPrefix : RedisAuthTokenCache.DEFAULT_KEY_PREFIX);
+        this.readLegacyKeys = builder.readLegacyKeys;
+        this.ownsPipeline = builder.pipeline == null;
+        this.redisPipeline = builder.pipeline != null
+                ? builder.pipeline
+                : createPipeline(connectionProperty, builder.pipelineConfigs);
+
+        final var fallback = builder.fallbackConfigs != null ? builder.fallbackConfigs : RedisFallbackConfigs.withDefaults();
+        this.fallbackCache = new LocalFallbackCache(fallback.maxUsers(), maxSessionsPerUser);
+        this.connectionMonitor = new RedisConnectionMonitor(
+                PipelinedRedisAuthTokenCache.class.getSimpleName(),
+                this::ping,
+                this::replayPendingRemovals,
+                fallback,
+                builder.stateListener
+        );
+        this.connectionMonitor.start();
+        log.info("Pipelined redis auth token cache initialized with {} connections", redisPipeline.connections());
+    }
+
+    /**
+     * Returns a builder of a PipelinedRedisAuthTokenCache instance connecting to the given Redis server, for
+     * configuring the optional features of the cache.
+     *
+     * @param connectionProperty Redis connection details
+     * @return a new builder
+     */
+    public static Builder builder(final RedisConnectionConfigs connectionProperty) {
+        return new Builder(connectionProperty);
+    }
+
+    @Override
+    public Optional<AuthToken> getToken(final String userId) {
+        if (log.isTraceEnabled()) {
+            log.trace("Fetching latest token in cache: '{}'", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return Optional.ofNullable(fallbackCache.latest(userId));
+        }
+
+        try {
+            final var key = layout.sessionsKey(userId);
+            final var serializedTokens = execute(userId, pipeline -> pipeline.hvals(key));
+            final var authTokens = new ArrayList<AuthToken>(serializedTokens.size());
+
+            for (final var serializedToken : serializedTokens) {
+                authTokens.add(deserialize(serializedToken));
+            }
+
+            final var latest = RedisSessionLayout.latest(authTokens);
+            return latest != null ? Optional.of(latest) : legacySession(userId, null);
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return Optional.ofNullable(fallbackCache.latest(userId));
+            }
+            log.error("Error getting token for {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<AuthToken> getToken(final String userId, final String token) {
+        if (log.isTraceEnabled()) {
+            log.trace("Fetching token session in cache: '{}'", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return Optional.ofNullable(fallbackCache.find(userId, token));
+        }
+
+        try {
+            final var key = layout.sessionsKey(userId);
+            final var field = sessionField(token);
+            final var authToken = execute(userId, pipeline -> pipeline.hget(key, field));
+
+            if (authToken == null) {
+                return legacySession(userId, token);
+            }
+
+            return Optional.of(deserialize(authToken));
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return Optional.ofNullable(fallbackCache.find(userId, token));
+            }
+            log.error("Error getting token session for {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean addToken(final String userId, final AuthToken token) {
+        if (log.isTraceEnabled()) {
+            log.trace("'{}' adding token in cache", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            fallbackCache.add(userId, token);
+            return true;
+        }
+
+        try {
+            final var keys = layout.scriptKeys(userId);
+            final var args = addSessionArgs(token, maxSessionsPerUser);
+
+            if (log.isTraceEnabled()) {
+                log.trace("'{}' expiration time in millis is: {}", userId, token.expiration());
+            }
+
+            final var result = evalScript(userId, ADD_SESSION_SCRIPT, keys, args);
+            return Long.valueOf(1).equals(result);
+        } catch (Exception e) {
+            if (degrade(e)) {
+                fallbackCache.add(userId, token);
+                return true;
+            }
+            log.error("error adding token to redis: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeToken(final String userId) {
+        if (log.isTraceEnabled()) {
+            log.trace("'{}' removing tokens in cache", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return fallbackCache.remove(userId);
+        }
+
+        try {
+            return removeSessions(userId);
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return fallbackCache.remove(userId);
+            }
+            log.error("'{}' error deleting tokens: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeToken(final String userId, final String token) {
+        if (log.isTraceEnabled()) {
+            log.trace("'{}' removing token session in cache", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return fallbackCache.remove(userId, token);
+        }
+
+        try {
+            return removeSession(userId, sessionField(token));
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return fallbackCache.remove(userId, token);
+            }
+            log.error("'{}' error deleting token session: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lookups go to Redis unless it is known to be unreachable and the local fallback cache serves them.
+     * </p>
+     */
+    @Override
+    public boolean servesFromRedis() {
+        return connectionMonitor.isAvailable();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Scans Redis for the session keys of every user under the key prefix and deletes them, along with the local
+     * fallback cache, like {@link RedisAuthTokenCache#clear()}.
+     * </p>
+     *
+     * @return true if Redis was cleared, false if Redis is unreachable or the scan failed
+     */
+    @Override
+    public boolean clear() {
+        log.info("Clearing pipelined redis auth token cache");
+        fallbackCache.clear(List.of());
+
+        if (!connectionMonitor.isAvailable()) {
+            log.warn("Redis is unreachable, only the local fallback cache was cleared");
+            return false;
+        }
+
+        try {
+            clearRedis();
+            return true;
+        } catch (Exception e) {
+            degrade(e);
+            log.error("error clearing pipelined redis auth token cache: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pipeline connections are reported as active connections, since they are held for the lifetime of the cache.
+     * </p>
+     */
+    @Override
+    public Optional<RedisStatus> redisStatus() {
+        return Optional.of(new RedisStatus(connectionMonitor.state(), redisPipeline.connections(), 0, 0, fallbackCache.droppedRemovals()));
+    }
+
+    @Override
+    public CompletableFuture<Optional<AuthToken>> getTokenAsync(final String userId, final String token) {
+        if (!connectionMonitor.isAvailable()) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(fallbackCache.find(userId, token)));
+        }
+
+        final var key = layout.sessionsKey(userId);
+        final var field = sessionField(token);
+
+        return executeAsync(userId, pipeline -> pipeline.hget(key, field))
+                .thenApply(PipelinedRedisAuthTokenCache::deserializeSession)
+                .thenCompose(session -> session.isPresent() || !readLegacyKeys
+                        ? CompletableFuture.completedFuture(session)
+                        : executeAsync(userId, pipeline -> pipeline.hget(legacyKey(userId), LEGACY_FIELD))
+                        .thenApply(serializedToken -> deserializeLegacySession(serializedToken, token)))
+                .exceptionally(e -> {
+                    if (degrade(unwrap(e))) {
+                        return Optional.ofNullable(fallbackCache.find(userId, token));
+                    }
+                    log.error("Error getting token session for {}: {}", userId, e.getMessage());
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTokenAsync(final String userId, final AuthToken token) {
+        if (!connectionMonitor.isAvailable()) {
+            fallbackCache.add(userId, token);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        final var keys = layout.scriptKeys(userId);
+        final List<byte[]> args;
+
+        try {
+            args = addSessionArgs(token, maxSessionsPerUser);
+        } catch (Exception e) {
+            log.error("error adding token to redis: {}", e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return evalScriptAsync(userId, ADD_SESSION_SCRIPT, keys, args)
+                .thenApply(result -> Long.valueOf(1).equals(result))
+                .exceptionally(e -> {
+                    if (degrade(unwrap(e))) {
+                        fallbackCache.add(userId, token);
+                        return true;
+                    }
+                    log.error("error adding token to redis: {}", e.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * Looks up the session of a user cached in the legacy layout, if legacy keys are read.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token, or null for any token
+     * @return the unexpired legacy session, or empty if there is none or legacy keys are not read
+     * @throws Exception if the command failed or the session can't be deserialized
+     */
+    private Optional<AuthToken> legacySession(final String userId, final String token) throws Exception {
+        if (!readLegacyKeys) {
+            return Optional.empty();
+        }
+
+        final var serializedToken = execute(userId, pipeline -> pipeline.hget(legacyKey(userId), LEGACY_FIELD));
+        return Optional.ofNullable(RedisSessionLayout.legacySession(serializedToken, token));
+    }
+
+    /**
+     * Removes all sessions of the given user, including the legacy entry if legacy keys are read.
+     */
+    private boolean removeSessions(final String userId) throws Exception {
+        final var removed = execute(userId, pipeline -> pipeline.del(layout.userKeys(userId))) > 0;
+        return removeLegacySession(userId) || removed;
+    }
+
+    /**
+     * Removes a single session of the given user by its hash field. If legacy keys are read, the legacy entry of the
+     * user is removed as well, since it holds at most one session.
+     */
+    private boolean removeSession(final String userId, final byte[] field) throws Exception {
+        final var removed = execute(userId, pipeline -> {
+            final var deleted = pipeline.hdel(layout.sessionsKey(userId), field);
+            pipeline.zrem(layout.expiryKey(userId), field);
+            pipeline.zrem(layout.ceilingKey(userId), field);
+            return deleted;
+        }) == 1;
+        return removeLegacySession(userId) || removed;
+    }
+
+    private boolean removeLegacySession(final String userId) throws Exception {
+        return readLegacyKeys && execute(userId, pipeline -> pipeline.hdel(legacyKey(userId), LEGACY_FIELD)) == 1;
+    }
+
+    /**
+     * Runs a script by its digest, sending it in full if Redis doesn't know it, see {@link RedisScript}.
+     */
+    private Object evalScript(
+            final String userId,
+            final RedisScript script,
+            final List<byte[]> keys,
+            final List<byte[]> args
+    ) throws Exception {
+        try {
+            return execute(userId, pipeline -> script.evalsha(pipeline, keys, args));
+        } catch (JedisNoScriptException e) {
+            return execute(userId, pipeline -> script.eval(pipeline, keys, args));
+        }
+    }
+
+    /**
+     * Asynchronously runs a script by its digest, sending it in full if Redis doesn't know it, see
+     * {@link RedisScript}.
+     */
+    private CompletableFuture<Object> evalScriptAsync(
+            final String userId,
+            final RedisScript script,
+            final List<byte[]> keys,
+            final List<byte[]> args
+    ) {
+        return executeAsync(userId, pipeline -> script.evalsha(pipeline, keys, args))
+                .exceptionallyCompose(e -> unwrap(e) instanceof JedisNoScriptException
+                        ? executeAsync(userId, pipeline -> script.eval(pipeline, keys, args))
+                        : CompletableFuture.failedFuture(e));
+    }
+
+    private <T> T execute(final String userId, final Function<Pipeline, Response<T>> command) throws Exception {
+        return redisPipeline.execute(userId, command);
+    }
+
+    private <T> CompletableFuture<T> executeAsync(final String userId, final Function<Pipeline, Response<T>> command) {
+        return redisPipeline.executeAsync(userId, command);
+    }
+
+    private static Optional<AuthToken> deserializeSession(final byte[] authToken) {
+        if (authToken == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(deserialize(authToken));
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Optional<AuthToken> deserializeLegacySession(final byte[] serializedToken, final String token) {
+        try {
+            return Optional.ofNullable(RedisSessionLayout.legacySession(serializedToken, token));
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Exception unwrap(final Throwable e) {
+        final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof Exception exception ? exception : new CompletionException(cause);
+    }
+
+    /**
+     * Switches to degraded mode if the given exception means Redis could not be reached.
+     *
+     * @param e the exception thrown by a cache operation
+     * @return true if the operation should be served by the local fallback cache, false otherwise
+     */
+    private boolean degrade(final Exception e) {
+        if (!RedisConnectionMonitor.isConnectivityFailure(e)) {
+            return false;
+        }
+        connectionMonitor.reportFailure(e);
+        return true;
+    }
+
+    /**
+     * Pings the Redis server through every worker pipeline to check connectivity.
+     *
+     * @return the number of pinged connections
+     * @throws Exception if any connection failed to answer within the command timeout
+     */
+    private int ping() throws Exception {
+        for (int i = 0; i < redisPipeline.connections(); i++) {
+            redisPipeline.execute(i, pipeline -> pipeline.sendCommand(new CommandArguments(Protocol.Command.PING)));
+            if (log.isDebugEnabled()) {
+                log.debug("Redis ping succeeded on pipeline connection {}", i);
+            }
+        }
+        return redisPipeline.connections();
+    }
+
+    /**
+     * Scans Redis for the session keys of every user under the key prefix and deletes them.
+     */
+    private void clearRedis() throws Exception {
+        final var scanParams = new ScanParams().match(layout.expiryKeyPattern()).count(SCAN_COUNT);
+        var cursor = ScanParams.SCAN_POINTER_START_BINARY;
+
+        do {
+            final var scanCursor = cursor;
+            final var page = redisPipeline.execute(0, pipeline -> pipeline.scan(scanCursor, scanParams, EXPIRY_KEY_TYPE));
+
+            for (final var expiryKey : page.getResult()) {
+                final var userId = layout.userIdOf(expiryKey);
+                execute(userId, pipeline -> pipeline.del(layout.userKeys(userId)));
+            }
+
+            cursor = page.getCursorAsBytes();
+        } while (!Arrays.equals(cursor, ScanParams.SCAN_POINTER_START_BINARY));
+    }
+
+    /**
+     * Replays on Redis the removals made while it was unreachable, then drops the local fallback entries. If removals
+     * were dropped since the removal log was full, the Redis cache is cleared instead, so no removed session is served
+     * from Redis again.
+     */
+    private void replayPendingRemovals() {
+        final var droppedRemovals = fallbackCache.droppedRemovals();
+        final var removals = fallbackCache.pendingRemovals();
+        final var removalsDropped = fallbackCache.removalsDropped();
+
+        try {
+            if (removalsDropped) {
+                clearRedis();
+            } else {
+                for (final var removal : removals) {
+                    if (removal.tokenDigest() == null) {
+                        removeSessions(removal.userId());
+                    } else {
+                        removeSession(removal.userId(), HexFormat.of().parseHex(removal.tokenDigest()));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new RedisConnectivityException("Replaying token removals on redis failed", e);
+        }
+
+        if (removalsDropped) {
+            log.warn("Cleared the redis auth token cache since {} token removals made while redis was unreachable were dropped",
+                    droppedRemovals);
+        } else if (!removals.isEmpty()) {
+            log.info("Replayed {} token removals made while redis was unreachable", removals.size());
+        }
+
+        fallbackCache.clear(removals, droppedRemovals);
+    }
+
+    /**
+     * Stops the connection monitor, and the pipeline workers and their connections unless the pipeline is shared.
+     * Queued commands and commands sent afterwards fail.
+     */
+    @Override
+    public void close() {
+        log.info("Shutting down PipelinedRedisAuthTokenCache...");
+        connectionMonitor.close();
+
+        if (ownsPipeline) {
+            redisPipeline.close();
+        }
+
+        log.info("Completed shut down of PipelinedRedisAuthTokenCache");
+    }
+
+    /**
+     * Creates the pipelined connections to a Redis server, to be shared by several caches. The caller owns the
+     * pipeline and closes it once the caches using it are closed.
+     *
+     * @param connectionProperty Redis connection details
+     * @param pipelineConfigs    pipelined connection mode configurations, defaults are used if null
+     * @return a new pipeline, connecting in the background
+     * @throws IllegalArgumentException if the pipeline connections or max batch size are not greater than 0
+     */
+    public static RedisPipeline createPipeline(
+            final RedisConnectionConfigs connectionProperty,
+            final RedisPipelineConfigs pipelineConfigs
+    ) {
+        return new RedisPipeline(connectionProperty, pipelineConfigs);
+    }
+
+    /**
+     * Builder of a {@link PipelinedRedisAuthTokenCache}. Every optional setting falls back to its default unless
+     * configured, and a null value restores the default.
+     */
+    public static final class Builder {
+
+        private final RedisConnectionConfigs connectionConfigs;
+        private RedisPipelineConfigs pipelineConfigs;
+        private RedisPipeline pipeline;
+        private int maxSessionsPerUser = DEFAULT_MAX_SESSIONS_PER_USER;
+        private RedisFallbackConfigs fallbackConfigs;
+        private RedisConnectionStateListener stateListener;
+        private String keyPrefix;
+        private boolean readLegacyKeys;
+
+        private Builder(final RedisConnectionConfigs connectionConfigs) {
+            this.connectionConfigs = connectionConfigs;
+        }
+
+        /**
+         * Sets the pipelined connection mode configurations.
+         *
+         * @param pipelineConfigs pipelined connection mode configurations, defaults are used if null
+         * @return the builder instance
+         */
+        public Builder pipelineConfigs(final RedisPipelineConfigs pipelineConfigs) {
+            this.pipelineConfigs = pipelineConfigs;
+            return this;
+        }
+
+        /**
+         * Sets pipelined connections shared with other caches, in place of the pipeline configurations. A given
+         * pipeline is not closed when the cache shuts down, its owner closes it instead.
+         *
+         * @param pipeline the shared pipelined connections, null to create them
+         * @return the builder instance
+         * @see #createPipeline(RedisConnectionConfigs, RedisPipelineConfigs)
+         */
+        public Builder pipeline(final RedisPipeline pipeline) {
+            this.pipeline = pipeline;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of sessions cached per user, {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER}
+         * by default.
+         *
+         * @param maxSessionsPerUser the maximum number of sessions cached per user
+         * @return the builder instance
+         */
+        public Builder maxSessionsPerUser(final int maxSessionsPerUser) {
+            this.maxSessionsPerUser = maxSessionsPerUser;
+            return this;
+        }
+
+        /**
+         * Sets the degraded mode configurations.
+         *
+         * @param fallbackConfigs degraded mode configurations, defaults are used if null
+         * @return the builder instance
+         */
+        public Builder fallback(final RedisFallbackConfigs fallbackConfigs) {
+            this.fallbackConfigs = fallbackConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of connection state changes.
+         *
+         * @param stateListener the listener, may be null
+         * @return the builder instance
+         */
+        public Builder stateListener(final RedisConnectionStateListener stateListener) {
+            this.stateListener = stateListener;
+            return this;
+        }
+
+        /**
+         * Sets the prefix of every key of the cache, {@value RedisAuthTokenCache#DEFAULT_KEY_PREFIX} by default.
+         *
+         * @param keyPrefix the key prefix, the default is used if null
+         * @return the builder instance
+         * @see RedisAuthTokenCache.Builder#keyPrefix(String)
+         */
+        public Builder keyPrefix(final String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+            return this;
+        }
+
+        /**
+         * Sets whether sessions cached by versions up to 1.2.1 are read on a miss and removed along with the
+         * sessions of the user. Disabled by default.
+         *
+         * @param readLegacyKeys true to read the legacy entries
+         * @return the builder instance
+         * @see RedisAuthTokenCache.Builder#readLegacyKeys(boolean)
+         */
+        public Builder readLegacyKeys(final boolean readLegacyKeys) {
+            this.readLegacyKeys = readLegacyKeys;
+            return this;
+        }
+
+        /**
+         * Builds the cache, which starts connecting to Redis in the background.
+         *
+         * @return a new PipelinedRedisAuthTokenCache instance
+         * @throws IllegalArgumentException if the pipeline connections, max batch size or max sessions per user are
+         *                                  not greater than 0
+         */
+        public PipelinedRedisAuthTokenCache build() {
+            return new PipelinedRedisAuthTokenCache(this);
+        }
+
+    }
+
+}
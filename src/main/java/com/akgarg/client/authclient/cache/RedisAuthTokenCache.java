@@ -3,65 +3,248 @@ package com.akgarg.client.authclient.cache;
 import com.akgarg.client.authclient.common.AuthToken;
 import com.akgarg.client.authclient.config.RedisConnectionConfigs;
 import com.akgarg.client.authclient.config.RedisConnectionPoolConfigs;
-import com.akgarg.client.authclient.exception.RedisConnectivityException;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import com.akgarg.client.authclient.config.RedisReplicaConfigs;
+import com.akgarg.client.authclient.config.RedisSingleFlightConfigs;
+import com.akgarg.client.authclient.config.SlidingExpiryConfigs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.params.ScanParams;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.akgarg.client.authclient.cache.AuthTokenSerializerDeserializer.deserialize;
-import static com.akgarg.client.authclient.cache.AuthTokenSerializerDeserializer.serializeToken;
+import static com.akgarg.client.authclient.cache.RedisSessionLayout.*;
 
 /**
  * A Redis-backed cache for storing and managing authentication tokens.
  * This class handles token retrieval, addition, removal, and periodic connection validation.
+ * <p>
+ * Each user can hold up to a configurable number of concurrent sessions, see {@link RedisSessionLayout}
+ * for the data layout.
+ * </p>
+ * <p>
+ * Creating the cache never blocks on Redis: the connection is established in the background by a
+ * {@link RedisConnectionMonitor}. While Redis is unreachable, operations are served by a bounded local fallback cache
+ * and Redis is retried with backoff. Removals made in the meantime are replayed on Redis before switching back.
+ * </p>
+ * <p>
+ * Optionally, lookups are spread across read replicas by a {@link RedisReplicaRouter}, while writes and removals go
+ * to the primary. Lookups missed by a replica are repeated on the primary, since the session may have been added
+ * shortly before and not be replicated yet; a miss is followed by an auth-service call and a write to the primary
+ * anyway. Lookups fall back to the primary as well when no replica is in rotation.
+ * </p>
+ * <p>
+ * Optionally, cache misses are validated once across all nodes by a {@link RedisSingleFlight}.
+ * </p>
+ * <p>
+ * Optionally, the expiration of a session is extended by every lookup of it, see {@link SlidingExpiryConfigs}. A
+ * single script checks the session and extends its expiration on the primary, so sliding lookups don't go to the
+ * read replicas. Every node sharing the Redis server should use the same sliding expiry configuration.
+ * </p>
+ * <p>
+ * Since Jedis connections are blocking, the asynchronous operations run on an executor, so they never block the
+ * calling thread. Each call holds a thread for its whole Redis round trip, so unless an executor shared with other
+ * caches is given, the cache creates one with up to one thread per pooled connection, since more threads would only
+ * wait for a connection. Its threads are started on demand and stop after a minute without work, so an idle cache
+ * holds no threads, while a busy one holds up to {@code maxTotal} threads, each with its own stack.
+ * </p>
+ * <p>
+ * The cache owns threads and connections and has to be {@link #close() closed}, unless it is built with a connection
+ * pool shared with other caches.
+ * </p>
  */
-public final class RedisAuthTokenCache implements AuthTokenCache {
+public final class RedisAuthTokenCache implements AuthTokenCache, AutoCloseable {
 
-    private static final byte[] REDIS_HASH_FIELD = "auth_token".getBytes(StandardCharsets.UTF_8);
     private static final Logger log = LoggerFactory.getLogger(RedisAuthTokenCache.class);
 
+    /**
+     * The connect and socket timeout of the Redis connections, in milliseconds.
+     */
+    static final int DEFAULT_TIMEOUT_MILLIS = Protocol.DEFAULT_TIMEOUT;
+
+    /**
+     * The default prefix of the keys of the Redis cache strategies.
+     */
+    public static final String DEFAULT_KEY_PREFIX = "authclient:";
+
+    /**
+     * The time an idle thread of an asynchronous executor is kept, in seconds.
+     */
+    static final int ASYNC_THREAD_KEEP_ALIVE_SECONDS = 60;
+
     private final JedisPool connectionPool;
+    private final int maxSessionsPerUser;
+    private final LocalFallbackCache fallbackCache;
+    private final RedisConnectionMonitor connectionMonitor;
+    private final ExecutorService asyncExecutor;
+    private final RedisReplicaRouter replicaRouter;
+    private final boolean ownsConnectionPool;
+    private final boolean ownsAsyncExecutor;
+    private final RedisSingleFlight singleFlight;
+    private final SlidingExpiry slidingExpiry;
+    private final RedisSessionLayout layout;
+    private final boolean readLegacyKeys;
 
     /**
-     * Constructs a RedisAuthTokenCache instance with the specified connection configurations.
+     * Constructs a RedisAuthTokenCache instance with the specified connection configurations, caching up to
+     * {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER} sessions per user.
      *
      * @param connectionProperty   Redis connection details
      * @param connectionPoolConfig Redis connection pool configurations
+     * @see #builder(RedisConnectionConfigs)
      */
     public RedisAuthTokenCache(
             final RedisConnectionConfigs connectionProperty,
             final RedisConnectionPoolConfigs connectionPoolConfig
     ) {
-        Objects.requireNonNull(connectionProperty, "please provide valid redisConnectionProperty");
-        this.connectionPool = initializeConnectionPool(connectionProperty, connectionPoolConfig);
-        ping();
-        registerCleanupShutdownHook();
+        this(builder(connectionProperty).connectionPoolConfigs(connectionPoolConfig));
+    }
+
+    private RedisAuthTokenCache(final Builder builder) {
+        final var connectionProperty = Objects.requireNonNull(builder.connectionConfigs, "please provide valid redisConnectionProperty");
+        if (builder.maxSessionsPerUser <= 0) {
+            throw new IllegalArgumentException("max sessions per user must be greater than 0");
+        }
+        this.slidingExpiry = builder.slidingExpiryConfigs != null ? new SlidingExpiry(builder.slidingExpiryConfigs) : null;
+        this.layout = new RedisSessionLayout(builder.keyPrefix != null ? builder.keyPrefix : DEFAULT_KEY_PREFIX);
+        this.readLegacyKeys = builder.readLegacyKeys;
+        final var fallback = builder.fallbackConfigs != null ? builder.fallbackConfigs : RedisFallbackConfigs.withDefaults();
+        this.maxSessionsPerUser = builder.maxSessionsPerUser;
+        this.ownsConnectionPool = builder.connectionPool == null;
+        this.connectionPool = builder.connectionPool != null
+                ? builder.connectionPool
+                : createConnectionPool(connectionProperty, builder.connectionPoolConfigs);
+        this.replicaRouter = builder.replicaConfigs != null
+                ? new RedisReplicaRouter(this.connectionPool, builder.replicaConfigs, getConnectionPoolConfigs(builder.connectionPoolConfigs))
+                : null;
+        this.ownsAsyncExecutor = builder.asyncExecutor == null;
+        this.asyncExecutor = builder.asyncExecutor != null
+                ? builder.asyncExecutor
+                : createAsyncExecutor(this.connectionPool.getMaxTotal());
+        this.fallbackCache = new LocalFallbackCache(fallback.maxUsers(), maxSessionsPerUser);
+        this.connectionMonitor = new RedisConnectionMonitor(
+                RedisAuthTokenCache.class.getSimpleName(),
+                this::ping,
+                this::replayPendingRemovals,
+                fallback,
+                builder.stateListener
+        );
+        this.singleFlight = builder.singleFlightConfigs != null
+                ? new RedisSingleFlight(this.connectionPool, layout, connectionMonitor::isAvailable, this::getToken, asyncExecutor, builder.singleFlightConfigs)
+                : null;
+        this.connectionMonitor.start();
         log.info("Redis auth token cache initialized");
     }
 
+    /**
+     * Returns a builder of a RedisAuthTokenCache instance connecting to the given Redis server, for configuring the
+     * optional features of the cache.
+     *
+     * @param connectionProperty Redis connection details of the primary
+     * @return a new builder
+     */
+    public static Builder builder(final RedisConnectionConfigs connectionProperty) {
+        return new Builder(connectionProperty);
+    }
+
     @Override
     public Optional<AuthToken> getToken(final String userId) {
         if (log.isTraceEnabled()) {
-            log.trace("Fetching token in cache: '{}'", userId);
+            log.trace("Fetching latest token in cache: '{}'", userId);
         }
 
-        try (final Jedis jedis = connectionPool.getResource()) {
-            final var authToken = jedis.hget(userId.getBytes(StandardCharsets.UTF_8), REDIS_HASH_FIELD);
+        if (!connectionMonitor.isAvailable()) {
+            return Optional.ofNullable(fallbackCache.latest(userId));
+        }
+
+        try {
+            final var key = layout.sessionsKey(userId);
+
+            if (slidingExpiry != null) {
+                return latestSlidingSession(userId);
+            }
+
+            var serializedTokens = replicaRouter != null ? replicaRouter.read(jedis -> jedis.hvals(key)) : null;
+
+            if (serializedTokens == null || serializedTokens.isEmpty()) {
+                try (final Jedis jedis = connectionPool.getResource()) {
+                    serializedTokens = jedis.hvals(key);
+                }
+            }
+
+            final var authTokens = new ArrayList<AuthToken>(serializedTokens.size());
+
+            for (final var serializedToken : serializedTokens) {
+                authTokens.add(deserialize(serializedToken));
+            }
+
+            final var latest = RedisSessionLayout.latest(authTokens);
+            return latest != null ? Optional.of(latest) : legacySession(userId, null);
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return Optional.ofNullable(fallbackCache.latest(userId));
+            }
+            log.error("Error getting token for {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<AuthToken> getToken(final String userId, final String token) {
+        if (log.isTraceEnabled()) {
+            log.trace("Fetching token session in cache: '{}'", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return Optional.ofNullable(fallbackCache.find(userId, token));
+        }
+
+        try {
+            final var key = layout.sessionsKey(userId);
+
+            if (slidingExpiry != null) {
+                return slideSession(userId, token);
+            }
+
+            final var field = sessionField(token);
+            var authToken = replicaRouter != null ? replicaRouter.read(jedis -> jedis.hget(key, field)) : null;
 
             if (authToken == null) {
-                return Optional.empty();
+                try (final Jedis jedis = connectionPool.getResource()) {
+                    authToken = jedis.hget(key, field);
+                }
+            }
+
+            if (authToken == null) {
+                return legacySession(userId, token);
             }
 
             return Optional.of(deserialize(authToken));
         } catch (Exception e) {
-            log.error("Error getting token for {}: {}", userId, e.getMessage());
+            if (degrade(e)) {
+                return Optional.ofNullable(fallbackCache.find(userId, token));
+            }
+            log.error("Error getting token session for {}: {}", userId, e.getMessage());
             return Optional.empty();
         }
     }
@@ -72,22 +255,30 @@ public final class RedisAuthTokenCache implements AuthTokenCache {
             log.trace("'{}' adding token in cache", userId);
         }
 
-        try (final Jedis jedis = connectionPool.getResource()) {
-            final var key = userId.getBytes(StandardCharsets.UTF_8);
-            final var tokenBytes = serializeToken(token);
-            final var expiration = (token.expiration() - System.currentTimeMillis()) / 1000;
+        if (!connectionMonitor.isAvailable()) {
+            fallbackCache.add(userId, token);
+            return true;
+        }
 
+        try (final Jedis jedis = connectionPool.getResource()) {
             if (log.isTraceEnabled()) {
-                log.trace("'{}' expiration time in seconds is: {}", userId, expiration);
+                log.trace("'{}' expiration time in millis is: {}", userId, token.expiration());
             }
 
-            final var pipeline = jedis.pipelined();
-            pipeline.hset(key, REDIS_HASH_FIELD, tokenBytes);
-            pipeline.expire(key, expiration);
-            pipeline.sync();
+            final var result = ADD_SESSION_SCRIPT.eval(
+                    jedis,
+                    layout.scriptKeys(userId),
+                    slidingExpiry != null
+                            ? addSessionArgs(token, slidingExpiry.ceiling(token, System.currentTimeMillis()), maxSessionsPerUser)
+                            : addSessionArgs(token, maxSessionsPerUser)
+            );
 
-            return true;
+            return Long.valueOf(1).equals(result);
         } catch (Exception e) {
+            if (degrade(e)) {
+                fallbackCache.add(userId, token);
+                return true;
+            }
             log.error("error adding token to redis: {}", e.getMessage());
             return false;
         }
@@ -96,30 +287,113 @@ public final class RedisAuthTokenCache implements AuthTokenCache {
     @Override
     public boolean removeToken(final String userId) {
         if (log.isTraceEnabled()) {
-            log.trace("'{}' removing token in cache", userId);
+            log.trace("'{}' removing tokens in cache", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return fallbackCache.remove(userId);
         }
 
         try (final var jedis = connectionPool.getResource()) {
-            return jedis.hdel(userId.getBytes(StandardCharsets.UTF_8), REDIS_HASH_FIELD) == 1;
+            return removeSessions(jedis, userId);
         } catch (Exception e) {
-            log.error("'{}' error deleting token: {}", userId, e.getMessage());
+            if (degrade(e)) {
+                return fallbackCache.remove(userId);
+            }
+            log.error("'{}' error deleting tokens: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeToken(final String userId, final String token) {
+        if (log.isTraceEnabled()) {
+            log.trace("'{}' removing token session in cache", userId);
+        }
+
+        if (!connectionMonitor.isAvailable()) {
+            return fallbackCache.remove(userId, token);
+        }
+
+        try (final var jedis = connectionPool.getResource()) {
+            return removeSession(jedis, userId, sessionField(token));
+        } catch (Exception e) {
+            if (degrade(e)) {
+                return fallbackCache.remove(userId, token);
+            }
+            log.error("'{}' error deleting token session: {}", userId, e.getMessage());
             return false;
         }
     }
 
     /**
-     * Initializes the connection pool with the given Redis connection configurations.
+     * Creates an executor of the blocking Redis calls of the asynchronous operations, configured like the executor
+     * this cache creates for itself: up to the given number of daemon threads, started on demand and stopped when
+     * idle, with the calls beyond them queued.
+     *
+     * @param threads the maximum number of threads
+     * @return a new executor, to be shut down by the caller
+     * @throws IllegalArgumentException if {@code threads} is not greater than 0
+     */
+    public static ExecutorService createAsyncExecutor(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("async executor threads must be greater than 0");
+        }
+
+        final var executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                ASYNC_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    final var thread = new Thread(r, "redisAuthTokenCacheAsync");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Creates a connection pool with the given Redis connection configurations, configured like the pool this cache
+     * creates for itself.
      *
      * @param connectionProperty         Redis connection details
-     * @param redisConnectionPoolConfigs Redis connection pool configurations
+     * @param redisConnectionPoolConfigs Redis connection pool configurations, defaults are used if null
      * @return a configured JedisPool instance
      */
-    private JedisPool initializeConnectionPool(
+    public static JedisPool createConnectionPool(
             final RedisConnectionConfigs connectionProperty,
             final RedisConnectionPoolConfigs redisConnectionPoolConfigs
     ) {
         final var connectionPoolConfigs = getConnectionPoolConfigs(redisConnectionPoolConfigs);
-        return new JedisPool(connectionPoolConfigs, connectionProperty.host(), connectionProperty.port());
+        return new JedisPool(connectionPoolConfigs, hostAndPort(connectionProperty), clientConfig(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Returns the client configuration shared by the Redis connections of the client, so a stalled Redis server
+     * blocks a connection for at most the given socket timeout.
+     *
+     * @param socketTimeoutMillis the socket timeout in milliseconds
+     * @return the client configuration, connecting within {@link #DEFAULT_TIMEOUT_MILLIS}
+     */
+    static JedisClientConfig clientConfig(final int socketTimeoutMillis) {
+        return DefaultJedisClientConfig.builder()
+                .connectionTimeoutMillis(DEFAULT_TIMEOUT_MILLIS)
+                .socketTimeoutMillis(socketTimeoutMillis)
+                .build();
+    }
+
+    /**
+     * Returns the address of the given Redis server.
+     *
+     * @param connectionProperty Redis connection details
+     * @return the host and port of the server
+     */
+    static HostAndPort hostAndPort(final RedisConnectionConfigs connectionProperty) {
+        return new HostAndPort(connectionProperty.host(), connectionProperty.port());
     }
 
     /**
@@ -128,7 +402,7 @@ public final class RedisAuthTokenCache implements AuthTokenCache {
      * @param redisConnectionPoolConfigs Redis connection pool configurations
      * @return a JedisPoolConfig instance
      */
-    private JedisPoolConfig getConnectionPoolConfigs(final RedisConnectionPoolConfigs redisConnectionPoolConfigs) {
+    private static JedisPoolConfig getConnectionPoolConfigs(final RedisConnectionPoolConfigs redisConnectionPoolConfigs) {
         final var poolConfig = new JedisPoolConfig();
 
         if (redisConnectionPoolConfigs != null) {
@@ -151,35 +425,446 @@ public final class RedisAuthTokenCache implements AuthTokenCache {
         return poolConfig;
     }
 
+    /**
+     * Returns the cluster-wide single-flight of the cache misses.
+     *
+     * @return the single-flight, or null if disabled
+     */
+    public RedisSingleFlight singleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lookups go to Redis unless it is known to be unreachable and the local fallback cache serves them.
+     * </p>
+     */
+    @Override
+    public boolean servesFromRedis() {
+        return connectionMonitor.isAvailable();
+    }
+
+    @Override
+    public boolean slidesExpiration() {
+        return slidingExpiry != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Scans Redis for the session keys of every user under the key prefix and deletes them, along with the local
+     * fallback cache. Other nodes sharing the Redis server and key prefix lose their sessions too. Legacy entries are
+     * not scanned for, they expire with their session.
+     * </p>
+     *
+     * @return true if Redis was cleared, false if Redis is unreachable or the scan failed
+     */
+    @Override
+    public boolean clear() {
+        log.info("Clearing redis auth token cache");
+        fallbackCache.clear(List.of());
+
+        if (!connectionMonitor.isAvailable()) {
+            log.warn("Redis is unreachable, only the local fallback cache was cleared");
+            return false;
+        }
+
+        try (final var jedis = connectionPool.getResource()) {
+            clearRedis(jedis);
+            return true;
+        } catch (Exception e) {
+            degrade(e);
+            log.error("error clearing redis auth token cache: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<RedisStatus> redisStatus() {
+        return Optional.of(new RedisStatus(
+                connectionMonitor.state(),
+                connectionPool.getNumActive(),
+                connectionPool.getNumIdle(),
+                connectionPool.getNumWaiters(),
+                fallbackCache.droppedRemovals()
+        ));
+    }
+
+    @Override
+    public CompletableFuture<Optional<AuthToken>> getTokenAsync(final String userId, final String token) {
+        return CompletableFuture.supplyAsync(() -> getToken(userId, token), asyncExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTokenAsync(final String userId, final AuthToken token) {
+        return CompletableFuture.supplyAsync(() -> addToken(userId, token), asyncExecutor);
+    }
+
+    /**
+     * Looks up the session of the given token and extends its sliding expiration on the primary.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     * @return the session with its extended expiration, or empty if it is missing or expired
+     * @throws Exception if Redis can't be reached or the session can't be deserialized
+     */
+    private Optional<AuthToken> slideSession(final String userId, final String token) throws Exception {
+        final Object result;
+
+        try (final var jedis = connectionPool.getResource()) {
+            result = SLIDE_SESSION_SCRIPT.eval(
+                    jedis,
+                    layout.scriptKeys(userId),
+                    slideSessionArgs(token, System.currentTimeMillis(), slidingExpiry.idleTimeoutMillis())
+            );
+        }
+
+        if (!(result instanceof List<?> session)) {
+            return legacySession(userId, token);
+        }
+
+        return Optional.of(slidingSession((byte[]) session.get(0), (Long) session.get(1)));
+    }
+
+    /**
+     * Looks up the latest expiring session of a user with sliding expirations on the primary, without extending it.
+     *
+     * @param userId the user ID
+     * @return the latest expiring session, or empty if the user has no unexpired session
+     * @throws Exception if Redis can't be reached or the session can't be deserialized
+     */
+    private Optional<AuthToken> latestSlidingSession(final String userId) throws Exception {
+        final byte[] serializedToken;
+        final long expiration;
+
+        try (final var jedis = connectionPool.getResource()) {
+            final var latest = jedis.zrevrangeByScoreWithScores(layout.expiryKey(userId), Double.POSITIVE_INFINITY, System.currentTimeMillis(), 0, 1);
+            serializedToken = latest.isEmpty() ? null : jedis.hget(layout.sessionsKey(userId), latest.get(0).getBinaryElement());
+            expiration = latest.isEmpty() ? 0 : (long) latest.get(0).getScore();
+        }
+
+        return serializedToken != null
+                ? Optional.of(slidingSession(serializedToken, expiration))
+                : legacySession(userId, null);
+    }
+
+    /**
+     * Looks up the session of a user cached in the legacy layout on the primary, if legacy keys are read.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token, or null for any token
+     * @return the unexpired legacy session, or empty if there is none or legacy keys are not read
+     * @throws Exception if Redis can't be reached or the session can't be deserialized
+     */
+    private Optional<AuthToken> legacySession(final String userId, final String token) throws Exception {
+        if (!readLegacyKeys) {
+            return Optional.empty();
+        }
+
+        final byte[] serializedToken;
+
+        try (final var jedis = connectionPool.getResource()) {
+            serializedToken = jedis.hget(legacyKey(userId), LEGACY_FIELD);
+        }
+
+        return Optional.ofNullable(RedisSessionLayout.legacySession(serializedToken, token));
+    }
+
+    /**
+     * Removes all sessions of the given user using the given connection, including the legacy entry if legacy keys
+     * are read.
+     *
+     * @return true if any session was removed, false otherwise
+     */
+    private boolean removeSessions(final Jedis jedis, final String userId) {
+        final var removed = jedis.del(layout.userKeys(userId)) > 0;
+        return readLegacyKeys ? jedis.hdel(legacyKey(userId), LEGACY_FIELD) > 0 || removed : removed;
+    }
+
+    /**
+     * Removes a single session of the given user using the given connection. If legacy keys are read, the legacy
+     * entry of the user is removed as well, since it holds at most one session.
+     *
+     * @param field the hash field of the session, see {@link RedisSessionLayout#sessionField(String)}
+     * @return true if the session was removed, false otherwise
+     */
+    private boolean removeSession(final Jedis jedis, final String userId, final byte[] field) {
+        final var pipeline = jedis.pipelined();
+        final var removed = pipeline.hdel(layout.sessionsKey(userId), field);
+        pipeline.zrem(layout.expiryKey(userId), field);
+        pipeline.zrem(layout.ceilingKey(userId), field);
+        final var legacyRemoved = readLegacyKeys ? pipeline.hdel(legacyKey(userId), LEGACY_FIELD) : null;
+        pipeline.sync();
+        return removed.get() == 1 || (legacyRemoved != null && legacyRemoved.get() == 1);
+    }
+
+    /**
+     * Switches to degraded mode if the given exception means Redis could not be reached.
+     *
+     * @param e the exception thrown by a cache operation
+     * @return true if the operation should be served by the local fallback cache, false otherwise
+     */
+    private boolean degrade(final Exception e) {
+        if (!RedisConnectionMonitor.isConnectivityFailure(e)) {
+            return false;
+        }
+        connectionMonitor.reportFailure(e);
+        return true;
+    }
+
     /**
      * Pings the Redis server to check connectivity.
+     *
+     * @return the ping response
      */
-    private void ping() {
+    private String ping() {
         try (final var jedis = connectionPool.getResource()) {
             final var pingResponse = jedis.ping();
             if (log.isDebugEnabled()) {
                 log.debug("Redis ping response: {}", pingResponse);
             }
-        } catch (Exception e) {
-            throw new RedisConnectivityException("PING to redis failed", e);
+            return pingResponse;
         }
     }
 
     /**
-     * Method to register shutdown hook to close redis connection pool
+     * Scans Redis for the session keys of every user under the key prefix and deletes them using the given connection.
      */
-    private void registerCleanupShutdownHook() {
-        log.debug("Registering shutdown hook for RedisAuthTokenCache");
+    private void clearRedis(final Jedis jedis) {
+        final var scanParams = new ScanParams().match(layout.expiryKeyPattern()).count(SCAN_COUNT);
+        var cursor = ScanParams.SCAN_POINTER_START_BINARY;
+
+        do {
+            final var page = jedis.scan(cursor, scanParams, EXPIRY_KEY_TYPE);
 
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            try {
-                log.info("Shutting down RedisAuthTokenCache...");
-                connectionPool.close();
-                log.info("Completed shut down of RedisAuthTokenCache");
-            } catch (Exception e) {
-                log.error("Error shutting down RedisAuthTokenCache: {}", e.getMessage());
+            for (final var expiryKey : page.getResult()) {
+                jedis.del(layout.userKeys(layout.userIdOf(expiryKey)));
             }
-        }, "redisAuthTokenCacheShutdownHook"));
+
+            cursor = page.getCursorAsBytes();
+        } while (!Arrays.equals(cursor, ScanParams.SCAN_POINTER_START_BINARY));
+    }
+
+    /**
+     * Replays on Redis the removals made while it was unreachable, then drops the local fallback entries. If removals
+     * were dropped since the removal log was full, the Redis cache is cleared instead, so no removed session is served
+     * from Redis again.
+     */
+    private void replayPendingRemovals() {
+        final var droppedRemovals = fallbackCache.droppedRemovals();
+        final var removals = fallbackCache.pendingRemovals();
+
+        if (fallbackCache.removalsDropped()) {
+            try (final var jedis = connectionPool.getResource()) {
+                clearRedis(jedis);
+            }
+            log.warn("Cleared the redis auth token cache since {} token removals made while redis was unreachable were dropped",
+                    droppedRemovals);
+        } else if (!removals.isEmpty()) {
+            try (final var jedis = connectionPool.getResource()) {
+                for (final var removal : removals) {
+                    if (removal.tokenDigest() == null) {
+                        removeSessions(jedis, removal.userId());
+                    } else {
+                        removeSession(jedis, removal.userId(), HexFormat.of().parseHex(removal.tokenDigest()));
+                    }
+                }
+            }
+            log.info("Replayed {} token removals made while redis was unreachable", removals.size());
+        }
+
+        fallbackCache.clear(removals, droppedRemovals);
+    }
+
+    /**
+     * Stops the connection monitor and the asynchronous executor unless it is shared, and closes the replica pools
+     * and the connection pool to the primary unless the pool is shared. Operations sent afterwards fail.
+     */
+    @Override
+    public void close() {
+        log.info("Shutting down RedisAuthTokenCache...");
+        connectionMonitor.close();
+
+        if (replicaRouter != null) {
+            replicaRouter.close();
+        }
+
+        if (ownsAsyncExecutor) {
+            asyncExecutor.shutdown();
+        }
+
+        if (ownsConnectionPool) {
+            connectionPool.close();
+        }
+
+        log.info("Completed shut down of RedisAuthTokenCache");
+    }
+
+    /**
+     * Builder of a {@link RedisAuthTokenCache}. Every optional feature is disabled unless configured, and a null
+     * value disables it again.
+     */
+    public static final class Builder {
+
+        private final RedisConnectionConfigs connectionConfigs;
+        private RedisConnectionPoolConfigs connectionPoolConfigs;
+        private int maxSessionsPerUser = DEFAULT_MAX_SESSIONS_PER_USER;
+        private RedisFallbackConfigs fallbackConfigs;
+        private RedisConnectionStateListener stateListener;
+        private RedisReplicaConfigs replicaConfigs;
+        private JedisPool connectionPool;
+        private ExecutorService asyncExecutor;
+        private RedisSingleFlightConfigs singleFlightConfigs;
+        private SlidingExpiryConfigs slidingExpiryConfigs;
+        private String keyPrefix;
+        private boolean readLegacyKeys;
+
+        private Builder(final RedisConnectionConfigs connectionConfigs) {
+            this.connectionConfigs = connectionConfigs;
+        }
+
+        /**
+         * Sets the connection pool configurations, used for every replica and for the primary unless a connection
+         * pool is given.
+         *
+         * @param connectionPoolConfigs Redis connection pool configurations, defaults are used if null
+         * @return the builder instance
+         */
+        public Builder connectionPoolConfigs(final RedisConnectionPoolConfigs connectionPoolConfigs) {
+            this.connectionPoolConfigs = connectionPoolConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of sessions cached per user, {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER}
+         * by default.
+         *
+         * @param maxSessionsPerUser the maximum number of sessions cached per user
+         * @return the builder instance
+         */
+        public Builder maxSessionsPerUser(final int maxSessionsPerUser) {
+            this.maxSessionsPerUser = maxSessionsPerUser;
+            return this;
+        }
+
+        /**
+         * Sets the degraded mode configurations.
+         *
+         * @param fallbackConfigs degraded mode configurations, defaults are used if null
+         * @return the builder instance
+         */
+        public Builder fallback(final RedisFallbackConfigs fallbackConfigs) {
+            this.fallbackConfigs = fallbackConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of connection state changes.
+         *
+         * @param stateListener the listener, may be null
+         * @return the builder instance
+         */
+        public Builder stateListener(final RedisConnectionStateListener stateListener) {
+            this.stateListener = stateListener;
+            return this;
+        }
+
+        /**
+         * Sets the read replica configurations.
+         *
+         * @param replicaConfigs read replica configurations, null to send lookups to the primary
+         * @return the builder instance
+         */
+        public Builder replicas(final RedisReplicaConfigs replicaConfigs) {
+            this.replicaConfigs = replicaConfigs;
+            return this;
+        }
+
+        /**
+         * Sets a connection pool to the primary shared with other caches. A given connection pool is not closed
+         * when the cache shuts down, its owner closes it instead.
+         *
+         * @param connectionPool the shared connection pool to the primary, null to create one
+         * @return the builder instance
+         * @see #createConnectionPool(RedisConnectionConfigs, RedisConnectionPoolConfigs)
+         */
+        public Builder connectionPool(final JedisPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * Sets an executor of the asynchronous operations shared with other caches. A given executor is not shut down
+         * when the cache shuts down, its owner shuts it down instead.
+         *
+         * @param asyncExecutor the shared executor of the blocking Redis calls, null to create one
+         * @return the builder instance
+         * @see #createAsyncExecutor(int)
+         */
+        public Builder asyncExecutor(final ExecutorService asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the cluster-wide single-flight configurations of cache misses.
+         *
+         * @param singleFlightConfigs single-flight configurations, null to disable it
+         * @return the builder instance
+         */
+        public Builder singleFlight(final RedisSingleFlightConfigs singleFlightConfigs) {
+            this.singleFlightConfigs = singleFlightConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the sliding expiry configurations.
+         *
+         * @param slidingExpiryConfigs sliding expiry configurations, null to keep the expiration of sessions fixed
+         * @return the builder instance
+         */
+        public Builder slidingExpiry(final SlidingExpiryConfigs slidingExpiryConfigs) {
+            this.slidingExpiryConfigs = slidingExpiryConfigs;
+            return this;
+        }
+
+        /**
+         * Sets the prefix of every key of the cache, {@value #DEFAULT_KEY_PREFIX} by default. Applications sharing a
+         * Redis server should use distinct prefixes unless they share their sessions.
+         *
+         * @param keyPrefix the key prefix, the default is used if null
+         * @return the builder instance
+         */
+        public Builder keyPrefix(final String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+            return this;
+        }
+
+        /**
+         * Sets whether sessions cached by versions up to 1.2.1, in the {@code auth_token} field of the un-prefixed
+         * {@code <userId>} hash, are read on a miss and removed along with the sessions of the user, so an upgrade
+         * does not drop the sessions cached by the previous version. Disabled by default.
+         *
+         * @param readLegacyKeys true to read the legacy entries
+         * @return the builder instance
+         */
+        public Builder readLegacyKeys(final boolean readLegacyKeys) {
+            this.readLegacyKeys = readLegacyKeys;
+            return this;
+        }
+
+        /**
+         * Builds the cache, which starts connecting to Redis in the background.
+         *
+         * @return a new RedisAuthTokenCache instance
+         * @throws IllegalArgumentException if {@code maxSessionsPerUser} is not greater than 0, or the replica,
+         *                                  single-flight or sliding expiry configurations are invalid
+         */
+        public RedisAuthTokenCache build() {
+            return new RedisAuthTokenCache(this);
+        }
+
     }
 
 }
@@ -0,0 +1,210 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.net.SocketException;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the connectivity of a Redis-backed token cache and re-establishes it in the background.
+ * <p>
+ * The monitor starts in {@link RedisConnectionState#CONNECTING} and pings Redis from its own thread, so creating a
+ * cache never blocks on Redis. Operations keep going to Redis while connecting or connected. When a ping fails, or
+ * when the cache reports a connectivity failure, the monitor switches to {@link RedisConnectionState#DEGRADED} and
+ * pings again with jittered exponential backoff until Redis answers. Before switching back to
+ * {@link RedisConnectionState#CONNECTED} it runs the restore action of the cache. While connected, Redis is pinged
+ * periodically to detect outages without waiting for user traffic.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RedisConnectionMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisConnectionMonitor.class);
+    private static final long HEALTH_CHECK_INTERVAL_MILLIS = 5000;
+
+    private final String source;
+    private final Callable<?> ping;
+    private final Runnable restoreAction;
+    private final RedisConnectionStateListener listener;
+    private final long minBackoffMillis;
+    private final long maxBackoffMillis;
+    private final AtomicReference<RedisConnectionState> state;
+    private final AtomicBoolean reconnectScheduled;
+    private final ScheduledExecutorService scheduler;
+    private volatile long backoffMillis;
+
+    /**
+     * Constructs a connection monitor.
+     *
+     * @param source          the name of the monitored cache, used in logs and events
+     * @param ping            pings Redis, throwing if Redis is unreachable
+     * @param restoreAction   runs once Redis is reachable again, before operations are routed back to Redis
+     * @param fallbackConfigs the reconnection backoff configurations
+     * @param listener        the state change listener, may be null
+     */
+    RedisConnectionMonitor(
+            final String source,
+            final Callable<?> ping,
+            final Runnable restoreAction,
+            final RedisFallbackConfigs fallbackConfigs,
+            final RedisConnectionStateListener listener
+    ) {
+        this.source = source;
+        this.ping = ping;
+        this.restoreAction = restoreAction;
+        this.listener = listener;
+        this.minBackoffMillis = fallbackConfigs.minReconnectBackoff().toMillis();
+        this.maxBackoffMillis = fallbackConfigs.maxReconnectBackoff().toMillis();
+        this.backoffMillis = minBackoffMillis;
+        this.state = new AtomicReference<>(RedisConnectionState.CONNECTING);
+        this.reconnectScheduled = new AtomicBoolean(false);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, source + "ConnectionMonitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts connecting in the background and the periodic health checks.
+     */
+    void start() {
+        reconnectScheduled.set(true);
+        scheduler.execute(this::reconnect);
+        scheduler.scheduleWithFixedDelay(this::healthCheck, HEALTH_CHECK_INTERVAL_MILLIS, HEALTH_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns whether operations should be sent to Redis.
+     *
+     * @return false if Redis is known to be unreachable, true otherwise
+     */
+    boolean isAvailable() {
+        return state.get() != RedisConnectionState.DEGRADED;
+    }
+
+    /**
+     * Returns the current connection state.
+     *
+     * @return the current connection state
+     */
+    RedisConnectionState state() {
+        return state.get();
+    }
+
+    /**
+     * Reports a connectivity failure observed by a cache operation, switching to degraded mode.
+     *
+     * @param e the connectivity failure
+     */
+    void reportFailure(final Exception e) {
+        if (transition(RedisConnectionState.DEGRADED)) {
+            log.warn("{} lost connection to redis, serving from local fallback cache: {}", source, e.getMessage());
+        }
+        scheduleReconnect();
+    }
+
+    /**
+     * Returns whether the given exception, or any of its causes, means Redis could not be reached.
+     *
+     * @param e the exception thrown by a cache operation
+     * @return true for connection failures and timeouts, false otherwise
+     */
+    static boolean isConnectivityFailure(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JedisConnectionException
+                    || cause instanceof SocketException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops the monitor thread.
+     */
+    void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void healthCheck() {
+        if (state.get() != RedisConnectionState.CONNECTED) {
+            return;
+        }
+
+        try {
+            ping.call();
+        } catch (Exception e) {
+            reportFailure(e);
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (!reconnectScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        final var delay = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+        backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+
+        try {
+            scheduler.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            reconnectScheduled.set(false);
+        }
+    }
+
+    private void reconnect() {
+        reconnectScheduled.set(false);
+
+        try {
+            ping.call();
+            restoreAction.run();
+            backoffMillis = minBackoffMillis;
+
+            if (transition(RedisConnectionState.CONNECTED)) {
+                log.info("{} connected to redis", source);
+            }
+        } catch (Exception e) {
+            if (transition(RedisConnectionState.DEGRADED)) {
+                log.warn("{} can't connect to redis, serving from local fallback cache: {}", source, e.getMessage());
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} redis reconnection attempt failed: {}", source, e.getMessage());
+            }
+            scheduleReconnect();
+        }
+    }
+
+    /**
+     * Moves to the given state and notifies the listener if the state changed.
+     *
+     * @return true if the state changed, false otherwise
+     */
+    private boolean transition(final RedisConnectionState newState) {
+        final var previous = state.getAndSet(newState);
+
+        if (previous == newState) {
+            return false;
+        }
+
+        if (listener != null) {
+            try {
+                listener.onStateChange(new RedisConnectionStateEvent(source, previous, newState, Instant.now()));
+            } catch (Exception e) {
+                log.error("{} redis connection state listener failed: {}", source, e.getMessage());
+            }
+        }
+
+        return true;
+    }
+
+}
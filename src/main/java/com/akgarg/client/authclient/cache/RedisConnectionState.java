@@ -0,0 +1,17 @@
+package com.akgarg.client.authclient.cache;
+
+/**
+ * Enumeration representing the connection state of a Redis-backed token cache.
+ * <ul>
+ *     <li>CONNECTING - The cache has been created and is connecting to Redis in the background.</li>
+ *     <li>CONNECTED - Redis is reachable and serves all cache operations.</li>
+ *     <li>DEGRADED - Redis is unreachable, cache operations are served by a bounded local cache while
+ *     the connection is re-established with backoff.</li>
+ * </ul>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public enum RedisConnectionState {
+    CONNECTING, CONNECTED, DEGRADED
+}
@@ -0,0 +1,21 @@
+package com.akgarg.client.authclient.cache;
+
+import java.time.Instant;
+
+/**
+ * Event emitted when the connection state of a Redis-backed token cache changes.
+ *
+ * @param source    the simple class name of the cache emitting the event
+ * @param previous  the state before the change
+ * @param current   the state after the change
+ * @param timestamp the time of the change
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record RedisConnectionStateEvent(
+        String source,
+        RedisConnectionState previous,
+        RedisConnectionState current,
+        Instant timestamp
+) {
+}
@@ -0,0 +1,23 @@
+package com.akgarg.client.authclient.cache;
+
+/**
+ * Listener notified when the connection state of a Redis-backed token cache changes.
+ * <p>
+ * Listeners are invoked on the thread observing the change, which may be an application thread, and should
+ * return quickly.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@FunctionalInterface
+public interface RedisConnectionStateListener {
+
+    /**
+     * Invoked after the connection state has changed.
+     *
+     * @param event the state change event
+     */
+    void onStateChange(RedisConnectionStateEvent event);
+
+}
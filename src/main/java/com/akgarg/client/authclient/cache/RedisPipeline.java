@@ -0,0 +1,333 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The pipelined connections of a {@link PipelinedRedisAuthTokenCache}: a few long-lived Redis connections, each with
+ * a writer thread which drains the pending commands of all callers and flushes them as one pipeline.
+ * <p>
+ * A pipeline is created by
+ * {@link PipelinedRedisAuthTokenCache#createPipeline(RedisConnectionConfigs, RedisPipelineConfigs)} and can be shared
+ * by several caches connected to the same Redis server, see
+ * {@link PipelinedRedisAuthTokenCache.Builder#pipeline(RedisPipeline)}. It owns threads and connections and has to be
+ * {@link #close() closed} by its owner.
+ * </p>
+ * <p>
+ * A command whose caller stopped waiting for it, because it did not complete within the command timeout, is skipped
+ * if it was not flushed yet, so a backlog built up during a stall doesn't run long after its callers gave up. A
+ * command already sent to Redis still runs.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class RedisPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisPipeline.class);
+
+    private final PipelineWorker[] workers;
+    private final long commandTimeoutMillis;
+    private final AtomicBoolean closed;
+
+    RedisPipeline(final RedisConnectionConfigs connectionProperty, final RedisPipelineConfigs pipelineConfigs) {
+        Objects.requireNonNull(connectionProperty, "please provide valid redisConnectionProperty");
+        final var configs = pipelineConfigs != null ? pipelineConfigs : RedisPipelineConfigs.withDefaults();
+
+        if (configs.connections() <= 0 || configs.maxBatchSize() <= 0) {
+            throw new IllegalArgumentException("pipeline connections and max batch size must be greater than 0");
+        }
+
+        this.commandTimeoutMillis = configs.commandTimeout().toMillis();
+        this.closed = new AtomicBoolean(false);
+        this.workers = new PipelineWorker[configs.connections()];
+        final var address = RedisAuthTokenCache.hostAndPort(connectionProperty);
+        final var clientConfig = RedisAuthTokenCache.clientConfig((int) Math.min(commandTimeoutMillis, Integer.MAX_VALUE));
+
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new PipelineWorker(address, clientConfig, configs.maxBatchSize(), i);
+        }
+
+        for (final var worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Returns the number of pipelined connections.
+     *
+     * @return the number of connections
+     */
+    public int connections() {
+        return workers.length;
+    }
+
+    /**
+     * Enqueues a command on the worker owning the given user and waits for its result. Commands for the same user
+     * always go through the same worker, which preserves their relative order.
+     *
+     * @param userId  the user ID used to select the pipeline worker
+     * @param command the command to queue on the worker pipeline
+     * @param <T>     the type of the command result
+     * @return the result of the command
+     * @throws Exception if the command failed or did not complete within the command timeout
+     */
+    <T> T execute(final String userId, final Function<Pipeline, Response<T>> command) throws Exception {
+        return execute(Math.floorMod(userId.hashCode(), workers.length), command);
+    }
+
+    /**
+     * Enqueues a command on the given connection and waits for its result.
+     *
+     * @param connection the index of the connection, between 0 and {@link #connections()}
+     * @param command    the command to queue on the worker pipeline
+     * @param <T>        the type of the command result
+     * @return the result of the command
+     * @throws Exception if the command failed or did not complete within the command timeout, in which case it is
+     *                   skipped if it was not flushed yet
+     */
+    <T> T execute(final int connection, final Function<Pipeline, Response<T>> command) throws Exception {
+        final var pendingCommand = new PendingCommand<>(command);
+        workers[connection].submit(pendingCommand);
+
+        try {
+            return pendingCommand.result.get(commandTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            pendingCommand.result.cancel(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Enqueues a command on the worker owning the given user without waiting for its result.
+     *
+     * @param userId  the user ID used to select the pipeline worker
+     * @param command the command to queue on the worker pipeline
+     * @param <T>     the type of the command result
+     * @return a future completed with the result of the command, or exceptionally if the command failed or did not
+     * complete within the command timeout, in which case it is skipped if it was not flushed yet
+     */
+    <T> CompletableFuture<T> executeAsync(final String userId, final Function<Pipeline, Response<T>> command) {
+        final var pendingCommand = new PendingCommand<>(command);
+        workers[Math.floorMod(userId.hashCode(), workers.length)].submit(pendingCommand);
+        return pendingCommand.result.orTimeout(commandTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops all pipeline workers and closes their connections. Queued commands and commands sent afterwards fail.
+     * Calling this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (final var worker : workers) {
+            worker.shutdown();
+        }
+
+        log.debug("Closed {} pipelined redis connections", workers.length);
+    }
+
+    /**
+     * A command waiting to be flushed by a pipeline worker, along with the future its caller waits on.
+     *
+     * @param <T> the type of the command result
+     */
+    private static final class PendingCommand<T> {
+
+        private final Function<Pipeline, Response<T>> command;
+        private final CompletableFuture<T> result;
+        private Response<T> response;
+
+        private PendingCommand(final Function<Pipeline, Response<T>> command) {
+            this.command = command;
+            this.result = new CompletableFuture<>();
+        }
+
+        /**
+         * Returns whether the caller stopped waiting for the command, which is only completed once flushed
+         * otherwise.
+         */
+        private boolean isAbandoned() {
+            return result.isDone();
+        }
+
+        private void queue(final Pipeline pipeline) {
+            this.response = command.apply(pipeline);
+        }
+
+        private void complete() {
+            try {
+                result.complete(response.get());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void fail(final Exception e) {
+            result.completeExceptionally(e);
+        }
+
+    }
+
+    /**
+     * Owns one long-lived Redis connection and the writer thread that flushes queued commands as pipelines.
+     */
+    private static final class PipelineWorker implements Runnable {
+
+        private final HostAndPort address;
+        private final JedisClientConfig clientConfig;
+        private final BlockingQueue<PendingCommand<?>> queue;
+        private final List<PendingCommand<?>> batch;
+        private final int maxBatchSize;
+        private final int index;
+        private final Thread thread;
+        private volatile Jedis jedis;
+        private volatile boolean running;
+
+        private PipelineWorker(
+                final HostAndPort address,
+                final JedisClientConfig clientConfig,
+                final int maxBatchSize,
+                final int index
+        ) {
+            this.address = address;
+            this.clientConfig = clientConfig;
+            this.queue = new LinkedBlockingQueue<>();
+            this.batch = new ArrayList<>(maxBatchSize);
+            this.maxBatchSize = maxBatchSize;
+            this.index = index;
+            this.thread = new Thread(this, "redisPipelineWorker-" + index);
+            this.thread.setDaemon(true);
+            this.running = true;
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void submit(final PendingCommand<?> command) {
+            if (!running) {
+                command.fail(new IllegalStateException("pipeline worker is shut down"));
+                return;
+            }
+            queue.add(command);
+        }
+
+        /**
+         * Returns the current connection of this worker, opening a new one if there is none.
+         */
+        private Jedis connection() {
+            var connection = this.jedis;
+            if (connection == null) {
+                connection = new Jedis(address, clientConfig);
+                this.jedis = connection;
+            }
+            return connection;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    flush();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } finally {
+                    batch.clear();
+                }
+            }
+
+            final var shutdownException = new IllegalStateException("pipeline worker is shut down");
+            PendingCommand<?> command;
+            while ((command = queue.poll()) != null) {
+                command.fail(shutdownException);
+            }
+        }
+
+        /**
+         * Sends the current batch to Redis as a single pipeline and completes the waiting callers. Commands abandoned
+         * by their callers are left out.
+         */
+        private void flush() {
+            batch.removeIf(PendingCommand::isAbandoned);
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                final var pipeline = connection().pipelined();
+
+                for (final var command : batch) {
+                    command.queue(pipeline);
+                }
+
+                pipeline.sync();
+
+                for (final var command : batch) {
+                    command.complete();
+                }
+
+                if (log.isTraceEnabled()) {
+                    log.trace("Flushed {} commands on pipeline connection {}", batch.size(), index);
+                }
+            } catch (Exception e) {
+                log.error("Error flushing pipeline on connection {}: {}", index, e.getMessage());
+
+                for (final var command : batch) {
+                    command.fail(e);
+                }
+
+                closeConnection();
+            }
+        }
+
+        private void closeConnection() {
+            final var connection = this.jedis;
+            this.jedis = null;
+
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (Exception e) {
+                    log.debug("Error closing pipeline connection {}: {}", index, e.getMessage());
+                }
+            }
+        }
+
+        private void shutdown() {
+            running = false;
+            thread.interrupt();
+            closeConnection();
+        }
+
+    }
+
+}
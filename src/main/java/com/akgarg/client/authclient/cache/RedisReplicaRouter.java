@@ -0,0 +1,207 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisReplicaConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Routes the lookups of a Redis-backed token cache to its read replicas.
+ * <p>
+ * Every replica has its own connection pool. A lookup goes to a random replica in rotation; when it fails, the
+ * replica leaves the rotation and the caller reads from the primary instead. Replicas are checked in the background:
+ * every check first reads the heartbeat written to the primary by the previous check from each replica, then writes
+ * a new one. A replica joins the rotation once its heartbeat lags at most {@code maxLag} behind, and leaves it as
+ * soon as it lags more or fails. Replicas are out of rotation until their first check passed, so creating a router
+ * never blocks on Redis.
+ * </p>
+ * <p>
+ * Every router writes its own heartbeat key, expiring shortly after the router stops, so routers on different nodes
+ * don't depend on each other's clocks.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RedisReplicaRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisReplicaRouter.class);
+    private static final String HEARTBEAT_KEY_PREFIX = "auth_client:replica_heartbeat:";
+
+    private final JedisPool primaryPool;
+    private final List<Replica> replicas;
+    private final String heartbeatKey;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private volatile long lastHeartbeatMillis = -1;
+
+    /**
+     * Constructs a router and starts checking the replicas in the background.
+     *
+     * @param primaryPool    the connection pool of the primary, the heartbeat is written to
+     * @param replicaConfigs the replicas and their lag check configurations
+     * @param poolConfig     the configuration of the connection pool of every replica
+     * @throws IllegalArgumentException if the replica configurations are invalid
+     */
+    RedisReplicaRouter(
+            final JedisPool primaryPool,
+            final RedisReplicaConfigs replicaConfigs,
+            final JedisPoolConfig poolConfig
+    ) {
+        Objects.requireNonNull(replicaConfigs, "replica configs is null");
+
+        if (replicaConfigs.replicas() == null || replicaConfigs.replicas().isEmpty()) {
+            throw new IllegalArgumentException("at least one replica is required");
+        }
+        if (replicaConfigs.maxLag() == null || replicaConfigs.maxLag().isNegative()) {
+            throw new IllegalArgumentException("max replica lag must not be negative");
+        }
+        if (replicaConfigs.checkInterval() == null || replicaConfigs.checkInterval().isNegative() || replicaConfigs.checkInterval().isZero()) {
+            throw new IllegalArgumentException("replica check interval must be positive");
+        }
+
+        this.primaryPool = Objects.requireNonNull(primaryPool, "primary pool is null");
+        this.heartbeatKey = HEARTBEAT_KEY_PREFIX + UUID.randomUUID();
+        this.maxLagMillis = replicaConfigs.maxLag().toMillis();
+        this.checkIntervalMillis = replicaConfigs.checkInterval().toMillis();
+        this.replicas = new ArrayList<>(replicaConfigs.replicas().size());
+
+        for (final var replica : replicaConfigs.replicas()) {
+            Objects.requireNonNull(replica, "replica is null");
+            replicas.add(new Replica(replica, new JedisPool(
+                    poolConfig,
+                    RedisAuthTokenCache.hostAndPort(replica),
+                    RedisAuthTokenCache.clientConfig(RedisAuthTokenCache.DEFAULT_TIMEOUT_MILLIS)
+            )));
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, "redisReplicaLagCheck");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs the given read command on a random replica in rotation.
+     *
+     * @param command the read command
+     * @return the result of the command, or null if no replica is in rotation or the replica failed, in which case
+     * the command should run on the primary
+     */
+    <T> T read(final Function<Jedis, T> command) {
+        final var count = replicas.size();
+        final var start = ThreadLocalRandom.current().nextInt(count);
+
+        for (var i = 0; i < count; i++) {
+            final var replica = replicas.get((start + i) % count);
+
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try (final var jedis = replica.pool.getResource()) {
+                return command.apply(jedis);
+            } catch (Exception e) {
+                replica.setHealthy(false, e.getMessage());
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+
+    /**
+     * Stops the lag checks and closes the replica connection pools.
+     */
+    void close() {
+        scheduler.shutdownNow();
+
+        for (final var replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    private void checkReplicas() {
+        final var heartbeat = lastHeartbeatMillis;
+
+        for (final var replica : replicas) {
+            try (final var jedis = replica.pool.getResource()) {
+                final var replicated = jedis.get(heartbeatKey);
+
+                if (heartbeat < 0) {
+                    continue;
+                }
+
+                if (replicated == null) {
+                    replica.setHealthy(false, "heartbeat not replicated");
+                    continue;
+                }
+
+                final var lagMillis = Math.max(0, heartbeat - Long.parseLong(replicated));
+                replica.setHealthy(lagMillis <= maxLagMillis, "replication lag of " + lagMillis + " ms");
+            } catch (Exception e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+
+        try (final var jedis = primaryPool.getResource()) {
+            final var now = System.currentTimeMillis();
+            jedis.set(heartbeatKey, Long.toString(now), SetParams.setParams().px(10 * checkIntervalMillis + maxLagMillis));
+            lastHeartbeatMillis = now;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error writing replica heartbeat to the primary: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A read replica and its connection pool.
+     */
+    private static final class Replica {
+
+        private final RedisConnectionConfigs address;
+        private final JedisPool pool;
+        private volatile boolean healthy;
+
+        private Replica(final RedisConnectionConfigs address, final JedisPool pool) {
+            this.address = address;
+            this.pool = pool;
+        }
+
+        private void setHealthy(final boolean healthy, final String reason) {
+            if (this.healthy == healthy) {
+                return;
+            }
+
+            this.healthy = healthy;
+
+            if (healthy) {
+                log.info("Redis replica {}:{} joined the read rotation", address.host(), address.port());
+            } else {
+                log.warn("Redis replica {}:{} left the read rotation: {}", address.host(), address.port(), reason);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.akgarg.client.authclient.cache;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A Lua script run on Redis by its SHA-1 digest.
+ * <p>
+ * Calls send the script with {@code EVALSHA}, so only the digest of the script travels with every call. A server
+ * which doesn't know the script yet, such as after a restart or a {@code SCRIPT FLUSH}, answers {@code NOSCRIPT}; the
+ * call is then sent again with {@code EVAL}, which also caches the script on the server for the following calls. The
+ * digest is computed locally, so no {@code SCRIPT LOAD} round trip is needed.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RedisScript {
+
+    private final byte[] script;
+    private final byte[] sha;
+
+    /**
+     * Constructs a script.
+     *
+     * @param script the Lua source of the script
+     */
+    RedisScript(final String script) {
+        this.script = script.getBytes(StandardCharsets.UTF_8);
+        this.sha = HexFormat.of().formatHex(sha1(this.script)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Runs the script on the given connection, sending it in full only if the server doesn't know it.
+     *
+     * @param jedis the connection
+     * @param keys  the keys of the script
+     * @param args  the arguments of the script
+     * @return the result of the script
+     */
+    Object eval(final Jedis jedis, final List<byte[]> keys, final List<byte[]> args) {
+        try {
+            return jedis.evalsha(sha, keys, args);
+        } catch (JedisNoScriptException e) {
+            return jedis.eval(script, keys, args);
+        }
+    }
+
+    /**
+     * Queues the script by its digest on the given pipeline. A {@link JedisNoScriptException} result means the server
+     * doesn't know the script, which should then be queued again with {@link #eval(Pipeline, List, List)}.
+     *
+     * @param pipeline the pipeline
+     * @param keys     the keys of the script
+     * @param args     the arguments of the script
+     * @return the response of the script
+     */
+    Response<Object> evalsha(final Pipeline pipeline, final List<byte[]> keys, final List<byte[]> args) {
+        return pipeline.evalsha(sha, keys, args);
+    }
+
+    /**
+     * Queues the script in full on the given pipeline, caching it on the server.
+     *
+     * @param pipeline the pipeline
+     * @param keys     the keys of the script
+     * @param args     the arguments of the script
+     * @return the response of the script
+     */
+    Response<Object> eval(final Pipeline pipeline, final List<byte[]> keys, final List<byte[]> args) {
+        return pipeline.eval(script, keys, args);
+    }
+
+    private static byte[] sha1(final byte[] script) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(script);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+
+}
@@ -0,0 +1,409 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.TokenDigest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+import static com.akgarg.client.authclient.cache.AuthTokenSerializerDeserializer.deserialize;
+import static com.akgarg.client.authclient.cache.AuthTokenSerializerDeserializer.serializeToken;
+
+/**
+ * Describes how the sessions of a user are laid out in Redis.
+ * <p>
+ * Every user owns two keys, both namespaced with a configurable key prefix ({@code authclient:} by default):
+ * <ul>
+ *     <li>{@code <prefix>sessions:<userId>} - a hash mapping the SHA-256 digest of each cached token to the
+ *     serialized {@link AuthToken}</li>
+ *     <li>{@code <prefix>expiry:<userId>} - a sorted set of the same digests scored by the token expiration in
+ *     milliseconds</li>
+ * </ul>
+ * The sorted set gives every session its own expiry inside a single hash, and is used to drop expired sessions and
+ * to evict the sessions closest to expiry once the per-user cap is reached. Both keys expire together with the
+ * latest expiring session.
+ * </p>
+ * <p>
+ * With the sliding expiry enabled, the sorted set holds the sliding expiration of each session, extended by every
+ * lookup, and the {@code <prefix>ceiling:<userId>} sorted set holds the ceiling of each session, the latest
+ * expiration it can be extended to. Lookups never extend a session past its ceiling, and drop it once the ceiling has
+ * passed. The serialized token holds the ceiling as well.
+ * </p>
+ * <p>
+ * With the single-flight of cache misses enabled, a node validating a missing session holds the short-lived
+ * {@code <prefix>lease:<userId>:<token digest>} key, whose value identifies the node.
+ * </p>
+ * <p>
+ * Up to version 1.2.1, a single session per user was cached in the {@code auth_token} field of the un-prefixed
+ * {@code <userId>} hash. Those legacy entries can still be read, see {@link #legacySession(byte[], String)}.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RedisSessionLayout {
+
+    /**
+     * Adds a session atomically.
+     * <p>
+     * KEYS: sessions hash, sessions expiry sorted set, sessions ceiling sorted set.
+     * ARGV: token digest, serialized token, expiration millis, current time millis, max sessions per user and, with
+     * the sliding expiry, ceiling millis.
+     * A new session is always admitted: once the cap is reached, the existing sessions closest to expiry are evicted
+     * to make room for it, even if they expire after the new session.
+     * Returns 1 if the session is cached after the call, 0 if it is already expired.
+     * </p>
+     */
+    static final RedisScript ADD_SESSION_SCRIPT = new RedisScript("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[4])
+            for _, field in ipairs(expired) do
+                redis.call('HDEL', KEYS[1], field)
+                redis.call('ZREM', KEYS[3], field)
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[4])
+            if tonumber(ARGV[3]) <= tonumber(ARGV[4]) then
+                return 0
+            end
+            if not redis.call('ZSCORE', KEYS[2], ARGV[1]) then
+                local overflow = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[5]) + 1
+                if overflow > 0 then
+                    local evicted = redis.call('ZRANGE', KEYS[2], 0, overflow - 1)
+                    for _, field in ipairs(evicted) do
+                        redis.call('HDEL', KEYS[1], field)
+                        redis.call('ZREM', KEYS[3], field)
+                    end
+                    redis.call('ZREMRANGEBYRANK', KEYS[2], 0, overflow - 1)
+                end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+            if ARGV[6] then
+                redis.call('ZADD', KEYS[3], ARGV[6], ARGV[1])
+            else
+                redis.call('ZREM', KEYS[3], ARGV[1])
+            end
+            local latest = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+            redis.call('PEXPIREAT', KEYS[1], latest[2])
+            redis.call('PEXPIREAT', KEYS[2], latest[2])
+            redis.call('PEXPIREAT', KEYS[3], latest[2])
+            return 1
+            """);
+
+    /**
+     * Looks up a session and extends its sliding expiration atomically.
+     * <p>
+     * KEYS: sessions hash, sessions expiry sorted set, sessions ceiling sorted set.
+     * ARGV: token digest, current time millis, idle timeout millis.
+     * Returns nil if the session is missing, expired or past its ceiling, and removes an expired session. Otherwise
+     * returns the serialized token and the sliding expiration millis, extended up to the ceiling. A session without a
+     * ceiling, cached without the sliding expiry, is not extended.
+     * </p>
+     */
+    static final RedisScript SLIDE_SESSION_SCRIPT = new RedisScript("""
+            local now = tonumber(ARGV[2])
+            local expiration = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if not expiration then
+                return nil
+            end
+            expiration = tonumber(expiration)
+            local ceiling = redis.call('ZSCORE', KEYS[3], ARGV[1])
+            ceiling = ceiling and tonumber(ceiling) or expiration
+            if expiration <= now or ceiling <= now then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                redis.call('ZREM', KEYS[2], ARGV[1])
+                redis.call('ZREM', KEYS[3], ARGV[1])
+                return nil
+            end
+            local value = redis.call('HGET', KEYS[1], ARGV[1])
+            if not value then
+                return nil
+            end
+            local extended = math.min(now + tonumber(ARGV[3]), ceiling)
+            if extended > expiration then
+                expiration = extended
+                redis.call('ZADD', KEYS[2], expiration, ARGV[1])
+                local latest = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+                redis.call('PEXPIREAT', KEYS[1], latest[2])
+                redis.call('PEXPIREAT', KEYS[2], latest[2])
+                redis.call('PEXPIREAT', KEYS[3], latest[2])
+            end
+            return {value, expiration}
+            """);
+
+    /**
+     * Releases a single-flight lease if it is still held by the releasing node.
+     * <p>
+     * KEYS: lease key.
+     * ARGV: node ID.
+     * Returns 1 if the lease was released, 0 otherwise.
+     * </p>
+     */
+    static final RedisScript RELEASE_LEASE_SCRIPT = new RedisScript("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """);
+
+    /**
+     * The hash field holding the single cached session of a user in the legacy layout.
+     */
+    static final byte[] LEGACY_FIELD = "auth_token".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The Redis type of the expiry keys, which are scanned for to clear the cache.
+     */
+    static final byte[] EXPIRY_KEY_TYPE = "zset".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The number of keys scanned per call when clearing the cache.
+     */
+    static final int SCAN_COUNT = 1000;
+
+    private final String keyPrefix;
+    private final byte[] expiryKeyPattern;
+
+    /**
+     * Constructs the layout of the keys namespaced with the given prefix.
+     *
+     * @param keyPrefix the prefix of every key of the cache
+     */
+    RedisSessionLayout(final String keyPrefix) {
+        this.keyPrefix = Objects.requireNonNull(keyPrefix, "redis key prefix can't be null");
+        this.expiryKeyPattern = (escapeGlob(keyPrefix) + "expiry:*").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the hash holding the sessions of the given user.
+     *
+     * @param userId the user ID
+     * @return the Redis key of the sessions hash
+     */
+    byte[] sessionsKey(final String userId) {
+        return (keyPrefix + "sessions:" + userId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the sorted set holding the session expirations of the given user.
+     *
+     * @param userId the user ID
+     * @return the Redis key of the sessions expiry sorted set
+     */
+    byte[] expiryKey(final String userId) {
+        return (keyPrefix + "expiry:" + userId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the sorted set holding the session ceilings of the given user.
+     *
+     * @param userId the user ID
+     * @return the Redis key of the sessions ceiling sorted set
+     */
+    byte[] ceilingKey(final String userId) {
+        return (keyPrefix + "ceiling:" + userId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the keys of the session scripts for the given user.
+     *
+     * @param userId the user ID
+     * @return the sessions hash, expiry sorted set and ceiling sorted set keys
+     */
+    List<byte[]> scriptKeys(final String userId) {
+        return List.of(sessionsKey(userId), expiryKey(userId), ceilingKey(userId));
+    }
+
+    /**
+     * Returns all keys holding the sessions of the given user.
+     *
+     * @param userId the user ID
+     * @return the sessions hash, expiry sorted set and ceiling sorted set keys
+     */
+    byte[][] userKeys(final String userId) {
+        return new byte[][]{sessionsKey(userId), expiryKey(userId), ceilingKey(userId)};
+    }
+
+    /**
+     * Returns the pattern matching the keys of the session expiry sorted sets under the key prefix only, used to
+     * find every cached user.
+     *
+     * @return the {@code SCAN MATCH} pattern
+     */
+    byte[] expiryKeyPattern() {
+        return expiryKeyPattern;
+    }
+
+    /**
+     * Returns the user ID owning the given sessions expiry sorted set.
+     *
+     * @param expiryKey the key of the sessions expiry sorted set of the user
+     * @return the user ID
+     */
+    String userIdOf(final byte[] expiryKey) {
+        final var prefixLength = (keyPrefix + "expiry:").getBytes(StandardCharsets.UTF_8).length;
+        return new String(expiryKey, prefixLength, expiryKey.length - prefixLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the single-flight lease of the given session.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     * @return the Redis key of the lease
+     */
+    byte[] leaseKey(final String userId, final String token) {
+        return (keyPrefix + "lease:" + userId + ":" + HexFormat.of().formatHex(TokenDigest.sha256(token))).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the hash holding the single cached session of the given user in the legacy layout.
+     *
+     * @param userId the user ID
+     * @return the legacy Redis key
+     */
+    static byte[] legacyKey(final String userId) {
+        return userId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the session held by a legacy entry if it is unexpired and matches the given token.
+     *
+     * @param serializedToken the serialized token of the legacy entry, may be null
+     * @param token           the authentication token, or null to accept any token
+     * @return the session, or null if there is no matching unexpired session
+     * @throws IOException            if the token can't be deserialized
+     * @throws ClassNotFoundException if the token class can't be found
+     */
+    static AuthToken legacySession(final byte[] serializedToken, final String token) throws IOException, ClassNotFoundException {
+        if (serializedToken == null) {
+            return null;
+        }
+
+        final var authToken = deserialize(serializedToken);
+
+        if (authToken.expiration() <= System.currentTimeMillis() || (token != null && !token.equals(authToken.token()))) {
+            return null;
+        }
+
+        return authToken;
+    }
+
+    /**
+     * Returns the hash field of the given token.
+     *
+     * @param token the authentication token
+     * @return the hash field, which is the SHA-256 digest of the token
+     */
+    static byte[] sessionField(final String token) {
+        return TokenDigest.sha256(token);
+    }
+
+    /**
+     * Builds the arguments of {@link #ADD_SESSION_SCRIPT} for the given token.
+     *
+     * @param token              the token to add
+     * @param maxSessionsPerUser the maximum number of sessions cached per user
+     * @return the script arguments
+     * @throws IOException if the token can't be serialized
+     */
+    static List<byte[]> addSessionArgs(final AuthToken token, final int maxSessionsPerUser) throws IOException {
+        return List.of(
+                sessionField(token.token()),
+                serializeToken(token),
+                toBytes(token.expiration()),
+                toBytes(System.currentTimeMillis()),
+                toBytes(maxSessionsPerUser)
+        );
+    }
+
+    /**
+     * Builds the arguments of {@link #ADD_SESSION_SCRIPT} for the given token with a sliding expiration, the
+     * serialized token holding the given ceiling.
+     *
+     * @param token              the token to add
+     * @param ceiling            the latest expiration the session can be extended to
+     * @param maxSessionsPerUser the maximum number of sessions cached per user
+     * @return the script arguments
+     * @throws IOException if the token can't be serialized
+     */
+    static List<byte[]> addSessionArgs(final AuthToken token, final long ceiling, final int maxSessionsPerUser) throws IOException {
+        return List.of(
+                sessionField(token.token()),
+                serializeToken(new AuthToken(token.userId(), token.token(), ceiling)),
+                toBytes(token.expiration()),
+                toBytes(System.currentTimeMillis()),
+                toBytes(maxSessionsPerUser),
+                toBytes(ceiling)
+        );
+    }
+
+    /**
+     * Builds the arguments of {@link #SLIDE_SESSION_SCRIPT} for the given token.
+     *
+     * @param token             the authentication token
+     * @param currentTimeMillis the current time in milliseconds
+     * @param idleTimeoutMillis the idle timeout in milliseconds
+     * @return the script arguments
+     */
+    static List<byte[]> slideSessionArgs(final String token, final long currentTimeMillis, final long idleTimeoutMillis) {
+        return List.of(sessionField(token), toBytes(currentTimeMillis), toBytes(idleTimeoutMillis));
+    }
+
+    /**
+     * Returns the session looked up with a sliding expiration, expiring at the lesser of the sliding expiration and
+     * the ceiling held by the serialized token.
+     *
+     * @param serializedToken   the serialized token holding the ceiling
+     * @param slidingExpiration the sliding expiration
+     * @return the session with its effective expiration
+     * @throws IOException            if the token can't be deserialized
+     * @throws ClassNotFoundException if the token class can't be found
+     */
+    static AuthToken slidingSession(final byte[] serializedToken, final long slidingExpiration) throws IOException, ClassNotFoundException {
+        final var token = deserialize(serializedToken);
+
+        if (token.expiration() <= slidingExpiration) {
+            return token;
+        }
+
+        return new AuthToken(token.userId(), token.token(), slidingExpiration);
+    }
+
+    /**
+     * Picks the latest expiring, unexpired token out of the given tokens.
+     *
+     * @param tokens the tokens of a user
+     * @return the latest expiring token, or null if all tokens are expired
+     */
+    static AuthToken latest(final List<AuthToken> tokens) {
+        final var currentTimeMillis = System.currentTimeMillis();
+        AuthToken latest = null;
+
+        for (final var token : tokens) {
+            if (token.expiration() > currentTimeMillis && (latest == null || token.expiration() > latest.expiration())) {
+                latest = token;
+            }
+        }
+
+        return latest;
+    }
+
+    private static String escapeGlob(final String value) {
+        final var escaped = new StringBuilder(value.length());
+        for (final var c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static byte[] toBytes(final long value) {
+        return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+}
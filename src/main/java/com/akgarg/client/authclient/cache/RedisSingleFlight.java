@@ -0,0 +1,229 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.RedisSingleFlightConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.SetParams;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+
+import static com.akgarg.client.authclient.cache.RedisSessionLayout.RELEASE_LEASE_SCRIPT;
+
+/**
+ * Cluster-wide single-flight of the cache misses of a {@link RedisAuthTokenCache}.
+ * <p>
+ * Before validating a session missing from the cache, a node takes a Redis lease for the session with
+ * {@code SET NX PX}. The node holding the lease validates the token with the auth-service and releases the lease once
+ * the session is cached. Other nodes, and other threads of the same node, missing the same session in the meantime
+ * poll the cache until the session shows up, the lease is released or the maximum wait elapses, instead of validating
+ * the token again. A session that did not show up is validated by the waiting node itself, so a slow or crashed lease
+ * holder only delays validations.
+ * </p>
+ * <p>
+ * Reactive callers poll without blocking, see {@link #maxWait()}, {@link #pollInterval()} and
+ * {@link #isLeasedAsync(String, String)}.
+ * </p>
+ * <p>
+ * The single-flight fails open: while Redis is unreachable, or if the lease can't be taken, every node validates its
+ * misses itself.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class RedisSingleFlight {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSingleFlight.class);
+
+    private final JedisPool connectionPool;
+    private final RedisSessionLayout layout;
+    private final BooleanSupplier available;
+    private final BiFunction<String, String, Optional<AuthToken>> lookup;
+    private final Executor asyncExecutor;
+    private final byte[] nodeId;
+    private final long leaseTtlMillis;
+    private final long maxWaitNanos;
+    private final long pollIntervalMillis;
+
+    /**
+     * Constructs the single-flight of a Redis cache.
+     *
+     * @param connectionPool the connection pool to the Redis primary
+     * @param layout         the key layout of the cache
+     * @param available      returns whether Redis is reachable
+     * @param lookup         looks up a session in the cache by user ID and token
+     * @param asyncExecutor  the executor of the asynchronous Redis calls of the cache
+     * @param configs        the single-flight configurations
+     * @throws IllegalArgumentException if the configurations are invalid
+     */
+    RedisSingleFlight(
+            final JedisPool connectionPool,
+            final RedisSessionLayout layout,
+            final BooleanSupplier available,
+            final BiFunction<String, String, Optional<AuthToken>> lookup,
+            final Executor asyncExecutor,
+            final RedisSingleFlightConfigs configs
+    ) {
+        Objects.requireNonNull(configs, "single flight configs is null");
+
+        if (configs.leaseTtl() == null || configs.leaseTtl().toMillis() <= 0) {
+            throw new IllegalArgumentException("single flight lease ttl must be positive");
+        }
+        if (configs.maxWait() == null || configs.maxWait().isNegative()) {
+            throw new IllegalArgumentException("single flight max wait must not be negative");
+        }
+        if (configs.pollInterval() == null || configs.pollInterval().toMillis() <= 0) {
+            throw new IllegalArgumentException("single flight poll interval must be positive");
+        }
+
+        this.connectionPool = Objects.requireNonNull(connectionPool, "connection pool is null");
+        this.layout = Objects.requireNonNull(layout, "layout is null");
+        this.available = available;
+        this.lookup = lookup;
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "async executor is null");
+        this.nodeId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        this.leaseTtlMillis = configs.leaseTtl().toMillis();
+        this.maxWaitNanos = configs.maxWait().toNanos();
+        this.pollIntervalMillis = configs.pollInterval().toMillis();
+    }
+
+    /**
+     * Takes the lease of the given session before validating it.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     * @return true if the caller has to validate the session and then {@link #release(String, String)} the lease,
+     * false if another thread or node holds the lease and the caller should {@link #await(String, String)} it
+     */
+    public boolean acquire(final String userId, final String token) {
+        if (!available.getAsBoolean()) {
+            return true;
+        }
+
+        try (final var jedis = connectionPool.getResource()) {
+            final var acquired = jedis.set(layout.leaseKey(userId, token), nodeId, SetParams.setParams().nx().px(leaseTtlMillis)) != null;
+
+            if (!acquired && log.isDebugEnabled()) {
+                log.debug("'{}' session is being validated by another node, waiting for it", userId);
+            }
+
+            return acquired;
+        } catch (Exception e) {
+            log.warn("'{}' error taking single flight lease, validating without it: {}", userId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Waits for the session validated by the lease holder to be cached.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     * @return the cached session, or empty if the lease holder did not cache it within the maximum wait
+     */
+    public Optional<AuthToken> await(final String userId, final String token) {
+        final var deadline = System.nanoTime() + maxWaitNanos;
+        final var key = layout.leaseKey(userId, token);
+
+        try {
+            while (true) {
+                final var authToken = lookup.apply(userId, token);
+
+                if (authToken.isPresent()) {
+                    return authToken;
+                }
+
+                if (System.nanoTime() - deadline >= 0 || !isLeased(key)) {
+                    // the lease may have been released right after the lookup
+                    return lookup.apply(userId, token);
+                }
+
+                TimeUnit.MILLISECONDS.sleep(pollIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns whether the lease of the given session is still held, without blocking the caller. Like
+     * {@link #await(String, String)}, a caller not finding the session in the cache keeps polling the cache every
+     * {@link #pollInterval()} while the lease is held, for at most {@link #maxWait()}.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     * @return a future completed with true if the lease is held, false if it was released or Redis is unreachable
+     */
+    public CompletableFuture<Boolean> isLeasedAsync(final String userId, final String token) {
+        final var key = layout.leaseKey(userId, token);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> isLeased(key), asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Returns the maximum time a caller waits for the lease holder to cache the session.
+     *
+     * @return the maximum wait
+     */
+    public Duration maxWait() {
+        return Duration.ofNanos(maxWaitNanos);
+    }
+
+    /**
+     * Returns the interval at which a waiting caller polls the cache.
+     *
+     * @return the poll interval
+     */
+    public Duration pollInterval() {
+        return Duration.ofMillis(pollIntervalMillis);
+    }
+
+    /**
+     * Releases the lease of the given session once it is validated, if still held by this node.
+     *
+     * @param userId the user ID
+     * @param token  the authentication token
+     */
+    public void release(final String userId, final String token) {
+        if (!available.getAsBoolean()) {
+            return;
+        }
+
+        try (final var jedis = connectionPool.getResource()) {
+            RELEASE_LEASE_SCRIPT.eval(jedis, List.of(layout.leaseKey(userId, token)), List.of(nodeId));
+        } catch (Exception e) {
+            log.warn("'{}' error releasing single flight lease: {}", userId, e.getMessage());
+        }
+    }
+
+    private boolean isLeased(final byte[] key) {
+        if (!available.getAsBoolean()) {
+            return false;
+        }
+
+        try (final var jedis = connectionPool.getResource()) {
+            return jedis.exists(key);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+}
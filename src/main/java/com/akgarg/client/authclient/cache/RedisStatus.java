@@ -0,0 +1,23 @@
+package com.akgarg.client.authclient.cache;
+
+/**
+ * A point-in-time view of the Redis connections of a Redis-backed {@link AuthTokenCache}.
+ *
+ * @param state             the connection state
+ * @param activeConnections the number of connections in use, or the number of pipeline connections of a
+ *                          {@link PipelinedRedisAuthTokenCache}
+ * @param idleConnections   the number of idle pooled connections
+ * @param waitingThreads    the number of threads waiting for a pooled connection
+ * @param droppedRemovals   the number of removals made while Redis was unreachable which could not be replayed on
+ *                          Redis since the degraded mode removal log was full
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record RedisStatus(
+        RedisConnectionState state,
+        int activeConnections,
+        int idleConnections,
+        int waitingThreads,
+        long droppedRemovals
+) {
+}
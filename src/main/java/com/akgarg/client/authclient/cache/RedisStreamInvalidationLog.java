@@ -0,0 +1,364 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.params.XAddParams;
+import redis.clients.jedis.params.XReadParams;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.BiConsumer;
+
+/**
+ * A cross-node invalidation log backed by a Redis Stream.
+ * <p>
+ * Every node publishes its token removals to the stream and runs a consumer thread which tails the stream
+ * and hands the removals of all other nodes to a listener. The consumer remembers the ID of the last entry it has
+ * applied, so after a connection failure it reconnects with backoff and replays every entry it missed, as long as
+ * the entries are still retained within {@link InvalidationStreamConfigs#maxLength()}.
+ * </p>
+ * <p>
+ * Tokens are never published in plain text, entries carry the hex encoded SHA-256 digest of the token instead.
+ * </p>
+ * <p>
+ * An invalidation which can't be published is queued and published by the consumer thread once it is connected
+ * again. While Redis is known to be unreachable, or invalidations are still queued, invalidations are queued right
+ * away instead of waiting for the connection timeout. The queue holds at most
+ * {@link InvalidationStreamConfigs#maxLength()} invalidations, since a longer backlog would be trimmed from the stream
+ * anyway; the oldest invalidation is dropped once it is full.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class RedisStreamInvalidationLog {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStreamInvalidationLog.class);
+
+    private static final String NODE_FIELD = "node";
+    private static final String USER_ID_FIELD = "user_id";
+    private static final String TOKEN_DIGEST_FIELD = "token_digest";
+
+    private static final int READ_BLOCK_MILLIS = 5000;
+    private static final int READ_BATCH_SIZE = 256;
+    private static final int CONSUMER_SOCKET_TIMEOUT_MILLIS = 2 * READ_BLOCK_MILLIS;
+    private static final long MIN_RECONNECT_BACKOFF_MILLIS = 500;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 30_000;
+
+    private final RedisConnectionConfigs connectionProperty;
+    private final InvalidationStreamConfigs streamConfigs;
+    private final JedisPool publisherPool;
+    private final String nodeId;
+    private final BlockingDeque<Map<String, String>> pendingInvalidations;
+    private volatile boolean reachable;
+    private volatile StreamEntryID lastEntryId;
+    private volatile boolean running;
+    private boolean closed;
+    private Thread consumerThread;
+    private volatile Jedis consumerConnection;
+
+    /**
+     * Constructs an invalidation log on the configured stream.
+     *
+     * @param connectionProperty Redis connection details
+     * @param streamConfigs      invalidation stream configurations
+     */
+    RedisStreamInvalidationLog(
+            final RedisConnectionConfigs connectionProperty,
+            final InvalidationStreamConfigs streamConfigs
+    ) {
+        this.connectionProperty = Objects.requireNonNull(connectionProperty, "please provide valid redisConnectionProperty");
+        this.streamConfigs = Objects.requireNonNull(streamConfigs, "invalidation stream configs can't be null");
+
+        final var poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(8);
+        poolConfig.setMaxIdle(8);
+        poolConfig.setMinIdle(0);
+        poolConfig.setTestOnBorrow(true);
+
+        this.publisherPool = new JedisPool(
+                poolConfig,
+                RedisAuthTokenCache.hostAndPort(connectionProperty),
+                RedisAuthTokenCache.clientConfig(RedisAuthTokenCache.DEFAULT_TIMEOUT_MILLIS)
+        );
+        this.nodeId = UUID.randomUUID().toString();
+        this.pendingInvalidations = new LinkedBlockingDeque<>(
+                (int) Math.max(1, Math.min(streamConfigs.maxLength(), Integer.MAX_VALUE))
+        );
+        this.reachable = true;
+    }
+
+    /**
+     * Starts consuming the stream, handing every invalidation published by other nodes to the given listener.
+     * <p>
+     * Only entries published after this call are consumed; the local cache is empty at that point, so older
+     * entries are irrelevant.
+     * </p>
+     *
+     * @param listener receives the user ID and the token digest of every invalidation, the token digest is null
+     *                 if all sessions of the user were invalidated
+     */
+    synchronized void start(final BiConsumer<String, String> listener) {
+        start(listener, false);
+    }
+
+    /**
+     * Starts consuming the stream, handing every invalidation published by other nodes to the given listener.
+     *
+     * @param listener   receives the user ID and the token digest of every invalidation, the token digest is null
+     *                   if all sessions of the user were invalidated
+     * @param fromOldest true to replay the entries retained in the stream first, false to only consume entries
+     *                   published after this call
+     */
+    synchronized void start(final BiConsumer<String, String> listener, final boolean fromOldest) {
+        start(listener, fromOldest ? new StreamEntryID() : null);
+    }
+
+    /**
+     * Starts consuming the stream after the given entry, handing every invalidation published by other nodes to the
+     * given listener. Nothing is consumed once the log is closed.
+     *
+     * @param listener   receives the user ID and the token digest of every invalidation, the token digest is null
+     *                   if all sessions of the user were invalidated
+     * @param resumeFrom the ID of the last entry already applied, null to only consume entries published after this
+     *                   call
+     */
+    synchronized void start(final BiConsumer<String, String> listener, final StreamEntryID resumeFrom) {
+        if (running || closed) {
+            return;
+        }
+
+        lastEntryId = resumeFrom;
+
+        running = true;
+        consumerThread = new Thread(() -> consume(listener), "authTokenInvalidationConsumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+        log.info("Invalidation log consumer started on stream '{}' as node {}", streamConfigs.streamKey(), nodeId);
+    }
+
+    /**
+     * Publishes an invalidation to all other nodes. An invalidation which can't be published now is queued and
+     * published once Redis is reachable again.
+     *
+     * @param userId      the user ID whose sessions are invalidated
+     * @param tokenDigest the hex encoded token digest of the invalidated session, or null for all sessions
+     * @return true if the invalidation was published, false if it was queued
+     */
+    boolean publish(final String userId, final String tokenDigest) {
+        final var fields = new HashMap<String, String>(4);
+        fields.put(NODE_FIELD, nodeId);
+        fields.put(USER_ID_FIELD, userId);
+
+        if (tokenDigest != null) {
+            fields.put(TOKEN_DIGEST_FIELD, tokenDigest);
+        }
+
+        if (reachable && pendingInvalidations.isEmpty()) {
+            try (final var jedis = publisherPool.getResource()) {
+                xadd(jedis, fields);
+                return true;
+            } catch (Exception e) {
+                reachable = false;
+                log.error("'{}' error publishing invalidation, queued until Redis is reachable: {}", userId, e.getMessage());
+            }
+        }
+
+        while (!pendingInvalidations.offerLast(fields)) {
+            if (pendingInvalidations.pollFirst() != null) {
+                log.warn("Invalidation queue is full, dropped the oldest invalidation");
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the ID of the last entry applied by the consumer.
+     *
+     * @return the ID of the last applied entry, null if the consumer has not read the stream yet
+     */
+    StreamEntryID lastEntryId() {
+        return lastEntryId;
+    }
+
+    /**
+     * Returns whether the stream still retains every entry published after the given entry, that is whether it has
+     * not been trimmed past it. Trimming keeps at least {@link InvalidationStreamConfigs#maxLength()} entries, so a
+     * shorter stream has never been trimmed.
+     *
+     * @param entryId the ID of the last entry already applied
+     * @return true if no entry after the given entry was trimmed, false if it was or the stream can't be read
+     */
+    boolean retainsEntriesAfter(final StreamEntryID entryId) {
+        try (final var jedis = publisherPool.getResource()) {
+            final var oldestEntries = jedis.xrange(streamConfigs.streamKey(), "-", "+", 1);
+
+            if (oldestEntries.isEmpty()) {
+                return entryId.equals(new StreamEntryID());
+            }
+
+            return oldestEntries.get(0).getID().compareTo(entryId) <= 0 || jedis.xlen(streamConfigs.streamKey()) < streamConfigs.maxLength();
+        } catch (Exception e) {
+            log.error("Error reading the invalidation stream '{}': {}", streamConfigs.streamKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops the consumer thread and closes all connections. The consumer connection is closed as well, so a blocking
+     * read is aborted instead of holding the consumer thread until it times out.
+     */
+    synchronized void close() {
+        running = false;
+        closed = true;
+
+        if (consumerThread != null) {
+            consumerThread.interrupt();
+        }
+
+        final var connection = consumerConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                log.debug("Error closing invalidation log consumer connection: {}", e.getMessage());
+            }
+        }
+
+        publisherPool.close();
+
+        if (!pendingInvalidations.isEmpty()) {
+            log.warn("Invalidation log closed with {} invalidations never published", pendingInvalidations.size());
+        }
+    }
+
+    /**
+     * Consumer loop, tails the stream and reconnects with exponential backoff on failures.
+     *
+     * @param listener receives the invalidations of other nodes
+     */
+    private void consume(final BiConsumer<String, String> listener) {
+        var backoffMillis = MIN_RECONNECT_BACKOFF_MILLIS;
+
+        while (running) {
+            try (final var jedis = new Jedis(
+                    RedisAuthTokenCache.hostAndPort(connectionProperty),
+                    RedisAuthTokenCache.clientConfig(CONSUMER_SOCKET_TIMEOUT_MILLIS)
+            )) {
+                consumerConnection = jedis;
+
+                if (lastEntryId == null) {
+                    lastEntryId = getLatestEntryId(jedis);
+                }
+
+                backoffMillis = MIN_RECONNECT_BACKOFF_MILLIS;
+
+                while (running) {
+                    publishPending(jedis);
+                    reachable = true;
+                    readOnce(jedis, listener);
+                }
+            } catch (Exception e) {
+                reachable = false;
+
+                if (!running) {
+                    break;
+                }
+
+                log.warn("Invalidation log consumer failed, reconnecting in {} ms from entry {}: {}",
+                        backoffMillis, lastEntryId, e.getMessage());
+
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Publishes the queued invalidations in order. An invalidation failing to publish is queued again at the head
+     * and the failure is rethrown, so the consumer reconnects.
+     */
+    private void publishPending(final Jedis jedis) {
+        Map<String, String> fields;
+
+        while ((fields = pendingInvalidations.pollFirst()) != null) {
+            try {
+                xadd(jedis, fields);
+            } catch (RuntimeException e) {
+                pendingInvalidations.offerFirst(fields);
+                throw e;
+            }
+
+            if (pendingInvalidations.isEmpty()) {
+                log.info("Published the invalidations queued while Redis was unreachable");
+            }
+        }
+    }
+
+    /**
+     * Appends an invalidation to the stream, trimming the stream to its maximum length.
+     */
+    private void xadd(final Jedis jedis, final Map<String, String> fields) {
+        jedis.xadd(
+                streamConfigs.streamKey(),
+                XAddParams.xAddParams().maxLen(streamConfigs.maxLength()).approximateTrimming(),
+                fields
+        );
+    }
+
+    /**
+     * Reads the next batch of entries after the last applied entry and hands them to the listener.
+     */
+    private void readOnce(final Jedis jedis, final BiConsumer<String, String> listener) {
+        final var streams = jedis.xread(
+                XReadParams.xReadParams().block(READ_BLOCK_MILLIS).count(READ_BATCH_SIZE),
+                Map.of(streamConfigs.streamKey(), lastEntryId)
+        );
+
+        if (streams == null) {
+            return;
+        }
+
+        for (final var stream : streams) {
+            for (final var entry : stream.getValue()) {
+                final var fields = entry.getFields();
+
+                if (!nodeId.equals(fields.get(NODE_FIELD)) && fields.get(USER_ID_FIELD) != null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Applying invalidation {} for '{}'", entry.getID(), fields.get(USER_ID_FIELD));
+                    }
+
+                    listener.accept(fields.get(USER_ID_FIELD), fields.get(TOKEN_DIGEST_FIELD));
+                }
+
+                lastEntryId = entry.getID();
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the latest entry in the stream, or {@code 0-0} if the stream is empty.
+     */
+    private StreamEntryID getLatestEntryId(final Jedis jedis) {
+        final var latestEntries = jedis.xrevrange(streamConfigs.streamKey(), "+", "-", 1);
+        return latestEntries.isEmpty() ? new StreamEntryID() : latestEntries.get(0).getID();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A feed of revoked tokens, keeping a {@link RevocationFilter} up to date with the revocations made outside the
+ * client, e.g. on other nodes or by the auth-service itself.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@FunctionalInterface
+public interface RevocationFeed extends AutoCloseable {
+
+    /**
+     * Starts the feed, handing every revoked token to the given listener as it is revoked. Must not block; feeds
+     * are consumed in the background.
+     *
+     * @param listener receives the hex encoded SHA-256 digest of every revoked token
+     */
+    void start(Consumer<String> listener);
+
+    /**
+     * Stops the feed and releases its threads and connections. Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Returns a feed of the token revocations published on the Redis invalidation stream, the same stream shared by
+     * in-memory caches with {@link InvalidationStreamConfigs}. The retained stream entries are replayed on start, so
+     * the filter also knows about the revocations made before the client started.
+     * <p>
+     * Entries carry a {@code user_id} and a {@code token_digest} field with the hex encoded SHA-256 digest of the
+     * revoked token, so revocations can be published by any service; entries without a token digest revoke all
+     * sessions of a user and are ignored by the feed.
+     * </p>
+     *
+     * @param connectionProperty Redis connection details of the invalidation stream
+     * @param streamConfigs      invalidation stream configurations
+     * @return a new {@link RevocationFeed} instance, consuming the stream until closed
+     */
+    static RevocationFeed redisStream(final RedisConnectionConfigs connectionProperty, final InvalidationStreamConfigs streamConfigs) {
+        final var invalidationLog = new RedisStreamInvalidationLog(connectionProperty, streamConfigs);
+        return new RevocationFeed() {
+
+            @Override
+            public void start(final Consumer<String> listener) {
+                Objects.requireNonNull(listener, "listener is null");
+                invalidationLog.start((userId, tokenDigest) -> {
+                    if (tokenDigest != null) {
+                        listener.accept(tokenDigest);
+                    }
+                }, true);
+            }
+
+            @Override
+            public void close() {
+                invalidationLog.close();
+            }
+
+        };
+    }
+
+}
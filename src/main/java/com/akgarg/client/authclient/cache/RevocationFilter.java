@@ -0,0 +1,228 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.TokenDigest;
+import com.akgarg.client.authclient.config.RevocationFilterConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A compact local filter of revoked tokens, checked before a cached session is trusted.
+ * <p>
+ * The filter is a Bloom filter of the SHA-256 digests of revoked tokens, fed by local revocations and optionally by
+ * a {@link RevocationFeed}. It has no false negatives: a revoked token is always reported as possibly revoked. A
+ * token which was not revoked is reported as possibly revoked with the configured false positive probability, so a
+ * positive has to be confirmed by the auth-service.
+ * </p>
+ * <p>
+ * Bloom filters can't forget, so revocations are kept in two generations: revocations are added to the current
+ * generation and looked up in both, and once the current generation is older than the retention it replaces the
+ * previous one and a new generation is started. A revocation is therefore remembered for at least the retention and
+ * at most twice as long. The digests are uniformly distributed already, so the bit positions are derived from them
+ * by double hashing without any further hashing. Lookups and additions are lock-free.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class RevocationFilter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationFilter.class);
+
+    private final int numBits;
+    private final int numHashes;
+    private final long retentionMillis;
+    private final RevocationFeed feed;
+    private volatile Generations generations;
+
+    /**
+     * Constructs an empty revocation filter.
+     *
+     * @param configs the sizing and retention configurations
+     * @throws IllegalArgumentException if the configurations are invalid
+     */
+    public RevocationFilter(final RevocationFilterConfigs configs) {
+        this(null, configs);
+    }
+
+    /**
+     * Constructs an empty revocation filter kept up to date by the given feed.
+     *
+     * @param configs the sizing and retention configurations
+     * @param feed    the feed of revocations made outside the client, started right away and closed by
+     *                {@link #close()}
+     * @throws IllegalArgumentException if the configurations are invalid
+     */
+    public RevocationFilter(final RevocationFilterConfigs configs, final RevocationFeed feed) {
+        this(Objects.requireNonNull(feed, "feed is null"), configs);
+    }
+
+    private RevocationFilter(final RevocationFeed feed, final RevocationFilterConfigs configs) {
+        Objects.requireNonNull(configs, "configs is null");
+
+        if (configs.expectedRevocations() <= 0) {
+            throw new IllegalArgumentException("expected revocations must be greater than 0");
+        }
+        if (configs.falsePositiveProbability() <= 0 || configs.falsePositiveProbability() >= 1) {
+            throw new IllegalArgumentException("false positive probability must be between 0 and 1");
+        }
+        if (configs.retention() == null || configs.retention().isNegative() || configs.retention().isZero()) {
+            throw new IllegalArgumentException("retention must be positive");
+        }
+
+        final var ln2 = Math.log(2);
+        final var bits = Math.ceil(-configs.expectedRevocations() * Math.log(configs.falsePositiveProbability()) / (ln2 * ln2));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.numHashes = (int) Math.max(1, Math.round((double) numBits / configs.expectedRevocations() * ln2));
+        this.retentionMillis = configs.retention().toMillis();
+        this.generations = new Generations(new Generation(numBits, System.currentTimeMillis()), null);
+        this.feed = feed;
+
+        if (log.isDebugEnabled()) {
+            log.debug("Revocation filter sized to {} bits and {} hashes per generation", numBits, numHashes);
+        }
+
+        if (feed != null) {
+            feed.start(this::revokeDigest);
+        }
+    }
+
+    /**
+     * Records the revocation of the given token.
+     *
+     * @param token the revoked token
+     */
+    public void revoke(final String token) {
+        add(TokenDigest.sha256(Objects.requireNonNull(token, "token is null")));
+    }
+
+    /**
+     * Records the revocation of the token with the given digest. Malformed digests are ignored.
+     *
+     * @param tokenDigest the hex encoded SHA-256 digest of the revoked token
+     */
+    public void revokeDigest(final String tokenDigest) {
+        final byte[] digest;
+
+        try {
+            digest = HexFormat.of().parseHex(tokenDigest);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Ignoring malformed revoked token digest: {}", tokenDigest);
+            return;
+        }
+
+        if (digest.length < 2 * Long.BYTES) {
+            log.warn("Ignoring short revoked token digest: {}", tokenDigest);
+            return;
+        }
+
+        add(digest);
+    }
+
+    /**
+     * Returns whether the given token might have been revoked.
+     *
+     * @param token the token to check
+     * @return false if the token was certainly not revoked within the retention, true if it might have been
+     */
+    public boolean mightBeRevoked(final String token) {
+        final var digest = ByteBuffer.wrap(TokenDigest.sha256(Objects.requireNonNull(token, "token is null")));
+        final var hash1 = digest.getLong(0);
+        final var hash2 = digest.getLong(Long.BYTES);
+        final var current = currentGenerations();
+
+        return current.current.mightContain(hash1, hash2, numHashes)
+                || current.previous != null && current.previous.mightContain(hash1, hash2, numHashes);
+    }
+
+    /**
+     * Closes the feed of the filter, if any. The filter keeps answering lookups from the revocations recorded so far.
+     */
+    @Override
+    public void close() {
+        if (feed != null) {
+            feed.close();
+        }
+    }
+
+    private void add(final byte[] digest) {
+        final var buffer = ByteBuffer.wrap(digest);
+        currentGenerations().current.put(buffer.getLong(0), buffer.getLong(Long.BYTES), numHashes);
+    }
+
+    /**
+     * Returns the generations, rotating them first if the current generation is older than the retention.
+     */
+    private Generations currentGenerations() {
+        final var current = generations;
+        final var now = System.currentTimeMillis();
+
+        if (now - current.current.startMillis < retentionMillis) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (generations == current) {
+                generations = new Generations(new Generation(numBits, now), current.current);
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Revocation filter generation rotated");
+                }
+            }
+            return generations;
+        }
+    }
+
+    private record Generations(Generation current, Generation previous) {
+    }
+
+    /**
+     * A Bloom filter generation, with bit positions derived by double hashing of two independent hashes.
+     */
+    private static final class Generation {
+
+        private final AtomicLongArray bits;
+        private final int numBits;
+        private final long startMillis;
+
+        private Generation(final int numBits, final long startMillis) {
+            this.bits = new AtomicLongArray((numBits + 63) >>> 6);
+            this.numBits = numBits;
+            this.startMillis = startMillis;
+        }
+
+        private void put(final long hash1, final long hash2, final int numHashes) {
+            for (var i = 0; i < numHashes; i++) {
+                final var index = index(hash1, hash2, i);
+                final var mask = 1L << index;
+                final var word = index >>> 6;
+
+                // set the bit unless it is set already, which saves the write on duplicate revocations
+                var value = bits.get(word);
+                while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    value = bits.get(word);
+                }
+            }
+        }
+
+        private boolean mightContain(final long hash1, final long hash2, final int numHashes) {
+            for (var i = 0; i < numHashes; i++) {
+                final var index = index(hash1, hash2, i);
+                if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(final long hash1, final long hash2, final int i) {
+            return (int) Long.remainderUnsigned(hash1 + i * (hash2 | 1), numBits);
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.SlidingExpiryConfigs;
+
+import java.util.Objects;
+
+/**
+ * The sliding expiry of the cached sessions of a cache, see {@link SlidingExpiryConfigs}.
+ * <p>
+ * Every session carries two expirations: its cache expiration, extended by each use, and its ceiling, fixed when the
+ * session is cached.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class SlidingExpiry {
+
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+
+    /**
+     * Constructs the sliding expiry of a cache.
+     *
+     * @param configs the sliding expiry configurations
+     * @throws IllegalArgumentException if the configurations are invalid
+     */
+    SlidingExpiry(final SlidingExpiryConfigs configs) {
+        Objects.requireNonNull(configs, "sliding expiry configs is null");
+
+        if (configs.idleTimeout() == null || configs.idleTimeout().toMillis() <= 0) {
+            throw new IllegalArgumentException("sliding expiry idle timeout must be positive");
+        }
+        if (configs.maxLifetime() == null || configs.maxLifetime().compareTo(configs.idleTimeout()) < 0) {
+            throw new IllegalArgumentException("sliding expiry max lifetime must not be less than the idle timeout");
+        }
+
+        this.idleTimeoutMillis = configs.idleTimeout().toMillis();
+        this.maxLifetimeMillis = configs.maxLifetime().toMillis();
+    }
+
+    /**
+     * Returns the time a session stays cached after its last use.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    long idleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Returns the ceiling of the given session being cached.
+     *
+     * @param authToken         the session being cached
+     * @param currentTimeMillis the current time in milliseconds
+     * @return the latest cache expiration of the session
+     */
+    long ceiling(final AuthToken authToken, final long currentTimeMillis) {
+        return Math.max(authToken.expiration(), currentTimeMillis + maxLifetimeMillis);
+    }
+
+    /**
+     * Returns the cache expiration of a session used now. Expired sessions are not extended.
+     *
+     * @param expiration        the current cache expiration of the session
+     * @param ceiling           the ceiling of the session
+     * @param currentTimeMillis the current time in milliseconds
+     * @return the extended cache expiration
+     */
+    long extend(final long expiration, final long ceiling, final long currentTimeMillis) {
+        if (expiration <= currentTimeMillis) {
+            return expiration;
+        }
+
+        return Math.min(Math.max(expiration, currentTimeMillis + idleTimeoutMillis), ceiling);
+    }
+
+}
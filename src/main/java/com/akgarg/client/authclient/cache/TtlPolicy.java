@@ -0,0 +1,191 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.TokenDigest;
+import com.akgarg.client.authclient.config.TtlPolicyConfigs;
+
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The TTL policy of cached sessions, applied by the client before a session is written to any {@link AuthTokenCache},
+ * so every cache strategy honours it.
+ * <p>
+ * Sessions are admitted with a cache expiration no later than their token expiration: capped at the maximum TTL and
+ * shortened by a random jitter, so sessions validated together don't expire from the cache together and cause a
+ * synchronized miss storm. Sessions about to expire are not admitted, sparing a cache write which would hardly ever
+ * be read.
+ * </p>
+ * <p>
+ * With negative entries enabled, tokens rejected by the auth-service are remembered locally by digest for the
+ * negative TTL, so repeated validations of a rejected token don't reach the auth-service. Negative entries are kept
+ * in a concurrent map without locking; once the map outgrows its bound, a single thread trims the expired entries
+ * and, if still needed, the entries expiring first. While no token is remembered, a check neither hashes the token
+ * nor touches the map.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class TtlPolicy {
+
+    private final long maxTtlMillis;
+    private final double jitter;
+    private final long minRemainingLifetimeMillis;
+    private final long negativeTtlMillis;
+    private final int negativeMaxEntries;
+    private final ConcurrentMap<String, Long> negativeEntries;
+    private final AtomicBoolean trimming;
+
+    /**
+     * Constructs a TTL policy.
+     *
+     * @param configs the TTL policy configurations
+     * @throws IllegalArgumentException if the configurations are invalid
+     */
+    public TtlPolicy(final TtlPolicyConfigs configs) {
+        Objects.requireNonNull(configs, "configs is null");
+
+        if (configs.maxTtl() == null || configs.maxTtl().isNegative() || configs.maxTtl().isZero()) {
+            throw new IllegalArgumentException("max ttl must be positive");
+        }
+        if (configs.jitter() < 0 || configs.jitter() >= 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        if (configs.minRemainingLifetime() == null || configs.minRemainingLifetime().isNegative()) {
+            throw new IllegalArgumentException("min remaining lifetime must not be negative");
+        }
+        if (configs.negativeTtl() == null || configs.negativeTtl().isNegative()) {
+            throw new IllegalArgumentException("negative ttl must not be negative");
+        }
+        if (configs.negativeMaxEntries() <= 0) {
+            throw new IllegalArgumentException("negative max entries must be greater than 0");
+        }
+
+        this.maxTtlMillis = configs.maxTtl().toMillis();
+        this.jitter = configs.jitter();
+        this.minRemainingLifetimeMillis = configs.minRemainingLifetime().toMillis();
+        this.negativeTtlMillis = configs.negativeTtl().toMillis();
+        this.negativeMaxEntries = configs.negativeMaxEntries();
+        this.negativeEntries = new ConcurrentHashMap<>();
+        this.trimming = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the session to cache for the given validated session.
+     *
+     * @param authToken the session validated by the auth-service
+     * @return the session with its cache expiration, or null if the session should not be cached
+     */
+    public AuthToken admit(final AuthToken authToken) {
+        final var now = System.currentTimeMillis();
+        final var remaining = authToken.expiration() - now;
+
+        if (remaining < minRemainingLifetimeMillis || remaining <= 0) {
+            return null;
+        }
+
+        final var ttl = Math.min(remaining, maxTtlMillis);
+        final var cut = jitter > 0 ? (long) (ThreadLocalRandom.current().nextDouble() * jitter * ttl) : 0;
+
+        if (ttl == remaining && cut == 0) {
+            return authToken;
+        }
+
+        return new AuthToken(authToken.userId(), authToken.token(), now + ttl - cut);
+    }
+
+    /**
+     * Returns whether rejected tokens are remembered.
+     *
+     * @return true if the negative TTL is positive
+     */
+    public boolean cachesRejections() {
+        return negativeTtlMillis > 0;
+    }
+
+    /**
+     * Remembers that the given token of the given user was rejected by the auth-service, if negative entries are
+     * enabled.
+     *
+     * @param userId the user ID of the request
+     * @param token  the rejected token
+     */
+    public void rejected(final String userId, final String token) {
+        if (!cachesRejections()) {
+            return;
+        }
+
+        negativeEntries.put(negativeKey(userId, token), System.currentTimeMillis() + negativeTtlMillis);
+
+        if (negativeEntries.size() > negativeMaxEntries) {
+            trimNegativeEntries();
+        }
+    }
+
+    /**
+     * Returns whether the given token of the given user was rejected by the auth-service within the negative TTL.
+     *
+     * @param userId the user ID of the request
+     * @param token  the token to check
+     * @return true if the token is remembered as rejected, false otherwise
+     */
+    public boolean isRejected(final String userId, final String token) {
+        if (!cachesRejections() || negativeEntries.isEmpty()) {
+            return false;
+        }
+
+        final var key = negativeKey(userId, token);
+        final var expiresAt = negativeEntries.get(key);
+
+        if (expiresAt == null) {
+            return false;
+        }
+
+        if (expiresAt <= System.currentTimeMillis()) {
+            negativeEntries.remove(key, expiresAt);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Brings the negative entries back within their bound, dropping the expired entries and then the entries expiring
+     * first. Trims down to three quarters of the bound, so the cost of a trim is spread over many rejections. A thread
+     * finding another thread trimming returns right away.
+     */
+    private void trimNegativeEntries() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            final var now = System.currentTimeMillis();
+            negativeEntries.values().removeIf(expiresAt -> expiresAt <= now);
+
+            final var excess = negativeEntries.size() - negativeMaxEntries * 3L / 4;
+
+            if (excess > 0 && negativeEntries.size() > negativeMaxEntries) {
+                final var cutoff = negativeEntries.values()
+                        .stream()
+                        .sorted()
+                        .skip(excess - 1)
+                        .findFirst()
+                        .orElse(Long.MAX_VALUE);
+                negativeEntries.values().removeIf(expiresAt -> expiresAt <= cutoff);
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static String negativeKey(final String userId, final String token) {
+        return userId + ':' + HexFormat.of().formatHex(TokenDigest.sha256(token));
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.akgarg.client.authclient.cache;
+
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.TokenDigest;
+
+import java.util.HexFormat;
+import java.util.function.Consumer;
+
+/**
+ * A small, bounded set of the cached sessions of a single user.
+ * <p>
+ * Sessions are kept in a plain array since the number of concurrent sessions per user is small, which makes
+ * a linear scan cheaper than any hashed structure. Once the cap is reached, adding a session evicts the session
+ * closest to expiry. All methods are synchronized on the instance.
+ * </p>
+ * <p>
+ * Each session has a ceiling, the latest expiration it can be extended to by a {@link SlidingExpiry}, which is its
+ * own expiration unless given.
+ * </p>
+ * <p>
+ * Sessions restored from a snapshot only carry the digest of their token, see {@link InMemoryCacheSnapshot}. They are
+ * matched by the digest of the looked up token and hold the token again from their first match on.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class UserSessions {
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final AuthToken[] sessions;
+    private final long[] ceilings;
+    private final String[] digests;
+    private int size;
+
+    /**
+     * Constructs an empty set of sessions.
+     *
+     * @param maxSessions the maximum number of sessions held
+     */
+    UserSessions(final int maxSessions) {
+        this.sessions = new AuthToken[maxSessions];
+        this.ceilings = new long[maxSessions];
+        this.digests = new String[maxSessions];
+    }
+
+    /**
+     * Returns the session matching the given token.
+     *
+     * @param token the authentication token
+     * @return the matching session, or null if there is none
+     */
+    synchronized AuthToken find(final String token) {
+        final var index = indexOf(token);
+        return index >= 0 ? sessions[index] : null;
+    }
+
+    /**
+     * Returns the session matching the given token, extending its expiration with the given sliding expiry.
+     *
+     * @param token             the authentication token
+     * @param slidingExpiry     the sliding expiry of the cache
+     * @param currentTimeMillis the current time in milliseconds
+     * @return the matching session with its extended expiration, or null if there is none
+     */
+    synchronized AuthToken slide(final String token, final SlidingExpiry slidingExpiry, final long currentTimeMillis) {
+        final var index = indexOf(token);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final var session = sessions[index];
+        final var expiration = slidingExpiry.extend(session.expiration(), ceilings[index], currentTimeMillis);
+
+        if (expiration != session.expiration()) {
+            sessions[index] = new AuthToken(session.userId(), session.token(), expiration);
+        }
+
+        return sessions[index];
+    }
+
+    /**
+     * Returns the latest expiring session, skipping the restored sessions whose token is not known yet.
+     *
+     * @return the latest expiring session, or null if there is none
+     */
+    synchronized AuthToken latest() {
+        AuthToken latest = null;
+        for (int i = 0; i < size; i++) {
+            if (digests[i] == null && (latest == null || sessions[i].expiration() > latest.expiration())) {
+                latest = sessions[i];
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Adds the given session, replacing the session with the same token if present. If the set is full, the existing
+     * session closest to expiry is evicted, so the added session is always held.
+     *
+     * @param authToken the session to add
+     */
+    void add(final AuthToken authToken) {
+        add(authToken, authToken.expiration());
+    }
+
+    /**
+     * Adds the given session with the given ceiling, replacing the session with the same token if present. If the set
+     * is full, the existing session closest to expiry is evicted, so the added session is always held.
+     *
+     * @param authToken the session to add
+     * @param ceiling   the latest expiration the session can be extended to
+     */
+    synchronized void add(final AuthToken authToken, final long ceiling) {
+        final var index = indexOf(authToken.token());
+
+        if (index >= 0) {
+            sessions[index] = authToken;
+            ceilings[index] = ceiling;
+            return;
+        }
+
+        put(authToken, ceiling, null);
+    }
+
+    /**
+     * Restores a snapshotted session unless a session with the same token is present. The session is never extended
+     * past its snapshotted expiration.
+     *
+     * @param userId      the user ID of the session
+     * @param tokenDigest the hex encoded SHA-256 digest of the token of the session
+     * @param expiration  the expiration of the session in milliseconds
+     */
+    synchronized void restore(final String userId, final String tokenDigest, final long expiration) {
+        for (int i = 0; i < size; i++) {
+            if (tokenDigest.equals(digestAt(i))) {
+                return;
+            }
+        }
+
+        // unlike a validated session, a restored session never evicts a session expiring later
+        if (size == sessions.length && sessions[earliest()].expiration() >= expiration) {
+            return;
+        }
+
+        put(new AuthToken(userId, null, expiration), expiration, tokenDigest);
+    }
+
+    private void put(final AuthToken authToken, final long ceiling, final String tokenDigest) {
+        if (size < sessions.length) {
+            ceilings[size] = ceiling;
+            digests[size] = tokenDigest;
+            sessions[size++] = authToken;
+            return;
+        }
+
+        final var earliest = earliest();
+        sessions[earliest] = authToken;
+        ceilings[earliest] = ceiling;
+        digests[earliest] = tokenDigest;
+    }
+
+    /**
+     * Removes the session matching the given token.
+     *
+     * @param token the authentication token of the session
+     * @return true if a session was removed, false otherwise
+     */
+    synchronized boolean remove(final String token) {
+        final var index = indexOf(token);
+
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes the session whose token matches the given hex encoded SHA-256 digest.
+     *
+     * @param tokenDigest the hex encoded token digest of the session
+     * @return true if a session was removed, false otherwise
+     */
+    synchronized boolean removeByDigest(final String tokenDigest) {
+        for (int i = 0; i < size; i++) {
+            if (digestAt(i).equals(tokenDigest)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all sessions expired at the given time.
+     *
+     * @param currentTimeMillis the current time in milliseconds
+     * @return the number of removed sessions
+     */
+    synchronized int removeExpired(final long currentTimeMillis) {
+        var removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (sessions[i].expiration() < currentTimeMillis) {
+                removeAt(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Hands every session to the given consumer as a snapshot entry.
+     *
+     * @param consumer receives the snapshot entries of the sessions
+     */
+    synchronized void snapshot(final Consumer<InMemoryCacheSnapshot.Entry> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(new InMemoryCacheSnapshot.Entry(sessions[i].userId(), digestAt(i), sessions[i].expiration()));
+        }
+    }
+
+    /**
+     * Returns the number of sessions held.
+     *
+     * @return the number of sessions
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the set holds no session.
+     *
+     * @return true if there is no session, false otherwise
+     */
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the index of the session matching the given token, which is then held by a matching restored session.
+     */
+    private int indexOf(final String token) {
+        String tokenDigest = null;
+
+        for (int i = 0; i < size; i++) {
+            if (digests[i] == null) {
+                if (sessions[i].token().equals(token)) {
+                    return i;
+                }
+                continue;
+            }
+
+            if (tokenDigest == null) {
+                tokenDigest = HEX_FORMAT.formatHex(TokenDigest.sha256(token));
+            }
+
+            if (digests[i].equals(tokenDigest)) {
+                sessions[i] = new AuthToken(sessions[i].userId(), token, sessions[i].expiration());
+                digests[i] = null;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int earliest() {
+        var earliest = 0;
+        for (int i = 1; i < size; i++) {
+            if (sessions[i].expiration() < sessions[earliest].expiration()) {
+                earliest = i;
+            }
+        }
+        return earliest;
+    }
+
+    private String digestAt(final int index) {
+        return digests[index] != null ? digests[index] : HEX_FORMAT.formatHex(TokenDigest.sha256(sessions[index].token()));
+    }
+
+    private void removeAt(final int index) {
+        sessions[index] = sessions[--size];
+        ceilings[index] = ceilings[size];
+        digests[index] = digests[size];
+        sessions[size] = null;
+        digests[size] = null;
+    }
+
+}
@@ -4,24 +4,30 @@ import java.util.Objects;
 
 /**
  * Enumeration representing the available API versions.
- * Currently, only version "v1" is supported.
+ * <p>
+ * Version "v2" adds the bulk token validation endpoint, validating many tokens in a single request.
+ * </p>
  *
  * @author Akhilesh Garg
  * @since 10/09/23
  */
 public enum ApiVersion {
 
-    V1("v1");
+    V1("v1", false),
+    V2("v2", true);
 
     private final String version;
+    private final boolean bulkValidation;
 
     /**
      * Constructor to initialize the API version.
      *
-     * @param version the version string
+     * @param version        the version string
+     * @param bulkValidation whether the version has the bulk token validation endpoint
      */
-    ApiVersion(final String version) {
+    ApiVersion(final String version, final boolean bulkValidation) {
         this.version = Objects.requireNonNull(version);
+        this.bulkValidation = bulkValidation;
     }
 
     /**
@@ -33,4 +39,13 @@ public enum ApiVersion {
         return this.version;
     }
 
+    /**
+     * Returns whether the auth-service validates many tokens in a single request with this version.
+     *
+     * @return true if the version has the bulk token validation endpoint, false otherwise
+     */
+    public boolean supportsBulkValidation() {
+        return this.bulkValidation;
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.akgarg.client.authclient.common;
+
+import com.akgarg.client.authclient.cache.RedisStatus;
+
+import java.util.List;
+
+/**
+ * A point-in-time view of the token cache and the auth-service endpoints of an auth client, for monitoring.
+ *
+ * @param cacheStrategy the name of the cache strategy
+ * @param cacheSize     the number of cached sessions, or -1 if the cache can't count them cheaply
+ * @param cacheHits     the number of cache lookups which found the session since the client was built
+ * @param cacheMisses   the number of cache lookups which did not find the session since the client was built
+ * @param redis         the state of the Redis connections, or null if the cache is not backed by Redis
+ * @param endpoints     the statistics of the auth-service endpoints of the client
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record AuthClientStatistics(
+        String cacheStrategy,
+        long cacheSize,
+        long cacheHits,
+        long cacheMisses,
+        RedisStatus redis,
+        List<EndpointStatistics> endpoints
+) {
+
+    /**
+     * Returns the ratio of cache lookups which found the session.
+     *
+     * @return the cache hit ratio between 0 and 1, or 0 if there was no lookup
+     */
+    public double cacheHitRatio() {
+        final var lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0 : (double) cacheHits / lookups;
+    }
+
+    /**
+     * The statistics of an auth-service endpoint.
+     *
+     * @param endpoint      the endpoint
+     * @param healthy       whether the endpoint is healthy
+     * @param calls         the number of completed calls
+     * @param failures      the number of calls which failed without a usable response
+     * @param latencyMillis the moving average latency of successful calls in milliseconds
+     */
+    public record EndpointStatistics(
+            String endpoint,
+            boolean healthy,
+            long calls,
+            long failures,
+            double latencyMillis
+    ) {
+    }
+
+}
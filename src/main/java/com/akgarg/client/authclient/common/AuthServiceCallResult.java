@@ -0,0 +1,74 @@
+package com.akgarg.client.authclient.common;
+
+import java.util.Optional;
+
+/**
+ * Represents the outcome of a single call to the authentication service.
+ * <p>
+ * Unlike an empty response, the outcome tells whether a failed call is worth retrying on another endpoint:
+ * connection failures, timeouts and overload statuses ({@code 429}, {@code 502}, {@code 503}, {@code 504}) are
+ * retryable, while failures which would fail again on any endpoint, such as an unreadable response, are not.
+ * </p>
+ *
+ * @param outcome    the outcome of the call
+ * @param response   the response of the authentication service, null unless the outcome is
+ *                   {@link Outcome#RESPONSE}
+ * @param statusCode the HTTP status code, or -1 if no response was received
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record AuthServiceCallResult(Outcome outcome, AuthServiceResponse response, int statusCode) {
+
+    /**
+     * Creates a result holding a response of the authentication service.
+     *
+     * @param response   the response of the authentication service
+     * @param statusCode the HTTP status code
+     * @return a new {@link Outcome#RESPONSE} result
+     */
+    public static AuthServiceCallResult response(final AuthServiceResponse response, final int statusCode) {
+        return new AuthServiceCallResult(Outcome.RESPONSE, response, statusCode);
+    }
+
+    /**
+     * Creates a result of a failed call which may succeed on another endpoint.
+     *
+     * @param statusCode the HTTP status code, or -1 if no response was received
+     * @return a new {@link Outcome#RETRYABLE_FAILURE} result
+     */
+    public static AuthServiceCallResult retryableFailure(final int statusCode) {
+        return new AuthServiceCallResult(Outcome.RETRYABLE_FAILURE, null, statusCode);
+    }
+
+    /**
+     * Creates a result of a failed call which would fail on any endpoint.
+     *
+     * @param statusCode the HTTP status code, or -1 if no response was received
+     * @return a new {@link Outcome#FAILURE} result
+     */
+    public static AuthServiceCallResult failure(final int statusCode) {
+        return new AuthServiceCallResult(Outcome.FAILURE, null, statusCode);
+    }
+
+    /**
+     * Returns the response of the authentication service, if any.
+     *
+     * @return an {@link Optional} containing the response, or an empty {@link Optional} if the call failed
+     */
+    public Optional<AuthServiceResponse> toOptional() {
+        return Optional.ofNullable(response);
+    }
+
+    /**
+     * Enumeration representing the outcome of a call to the authentication service.
+     * <ul>
+     *     <li>RESPONSE - The authentication service answered the call.</li>
+     *     <li>RETRYABLE_FAILURE - The call failed, and may succeed on another endpoint.</li>
+     *     <li>FAILURE - The call failed, and would fail on any endpoint.</li>
+     * </ul>
+     */
+    public enum Outcome {
+        RESPONSE, RETRYABLE_FAILURE, FAILURE
+    }
+
+}
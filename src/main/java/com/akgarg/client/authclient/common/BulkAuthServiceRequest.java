@@ -0,0 +1,14 @@
+package com.akgarg.client.authclient.common;
+
+import java.util.List;
+
+/**
+ * Represents a bulk token validation request, carrying the requests of several callers to the bulk validation
+ * endpoint of {@link ApiVersion#V2}.
+ *
+ * @param requests the token validation requests, answered in the same order
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record BulkAuthServiceRequest(List<AuthServiceRequest> requests) {
+}
@@ -0,0 +1,13 @@
+package com.akgarg.client.authclient.common;
+
+import java.util.List;
+
+/**
+ * Represents the response of the bulk token validation endpoint of {@link ApiVersion#V2}.
+ *
+ * @param responses the token validation responses, in the order of the requests
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record BulkAuthServiceResponse(List<AuthServiceResponse> responses) {
+}
@@ -0,0 +1,45 @@
+package com.akgarg.client.authclient.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class for computing compact, fixed-size digests of authentication tokens.
+ * <p>
+ * Digests are used wherever a token has to be used as a key, so the raw token never needs to be stored
+ * or transmitted as a key and the key size stays fixed regardless of the token length.
+ * </p>
+ *
+ * <p>This class is not meant to be instantiated.</p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class TokenDigest {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+    });
+
+    private TokenDigest() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given token.
+     *
+     * @param token the authentication token
+     * @return the 32 bytes long digest of the token
+     */
+    public static byte[] sha256(final String token) {
+        return MESSAGE_DIGEST.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
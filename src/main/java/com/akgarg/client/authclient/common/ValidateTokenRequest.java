@@ -4,27 +4,40 @@ import java.util.List;
 
 /**
  * Represents a request to validate an authentication token.
- * It includes the user ID, token, and a list of authentication service endpoints.
+ * It includes the user ID, token, and optionally a list of authentication service endpoints overriding the
+ * endpoints registered on the client.
  *
  * <p>The request can be validated using the {@link #validate()} method to check if all fields are properly populated.</p>
  *
  * @param userId               the ID of the user whose token is to be validated
  * @param token                the authentication token to validate
- * @param authServiceEndpoints a list of authentication service endpoints to be used for validation
+ * @param authServiceEndpoints a list of authentication service endpoints to be used for validation, or null to use
+ *                             the endpoints registered on the client
  * @author Akhilesh Garg
  * @since 09/09/23
  */
 public record ValidateTokenRequest(String userId, String token, List<AuthServiceEndpoint> authServiceEndpoints) {
 
     /**
-     * Validates the request by ensuring that the user ID, token, and authentication service endpoints are not null or blank.
+     * Creates a request validated against the endpoints registered on the client.
+     *
+     * @param userId the ID of the user whose token is to be validated
+     * @param token  the authentication token to validate
+     */
+    public ValidateTokenRequest(final String userId, final String token) {
+        this(userId, token, null);
+    }
+
+    /**
+     * Validates the request by ensuring that the user ID and token are not null or blank, and that the
+     * authentication service endpoints, if given, are not empty.
      *
      * @return true if the request is valid, false otherwise
      */
     public boolean validate() {
         return userId != null && !userId.isBlank() &&
                 token != null && !token.isBlank() &&
-                authServiceEndpoints != null && !authServiceEndpoints.isEmpty();
+                (authServiceEndpoints == null || !authServiceEndpoints.isEmpty());
     }
 
     /**
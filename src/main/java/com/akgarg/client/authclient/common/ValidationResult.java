@@ -0,0 +1,79 @@
+package com.akgarg.client.authclient.common;
+
+/**
+ * Represents the detailed result of a token validation: how it ended, where the answer came from, and what it cost.
+ * <p>
+ * Lets callers tell an invalid token apart from an unavailable auth-service, and record per-source metrics. The
+ * result is a single small immutable object without collections.
+ * </p>
+ *
+ * @param outcome      the outcome of the validation
+ * @param source       where the answer came from
+ * @param endpoint     the auth-service endpoint of the last call, or null if the auth-service wasn't called
+ * @param attempts     the number of auth-service calls made, 0 if the auth-service wasn't called
+ * @param elapsedNanos the time spent validating, in nanoseconds
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public record ValidationResult(
+        Outcome outcome,
+        Source source,
+        AuthServiceEndpoint endpoint,
+        int attempts,
+        long elapsedNanos
+) {
+
+    /**
+     * Returns whether the token is valid.
+     *
+     * @return true if the outcome is {@link Outcome#VALID}, false otherwise
+     */
+    public boolean valid() {
+        return outcome == Outcome.VALID;
+    }
+
+    /**
+     * Returns whether the token could not be checked, as opposed to being checked and found invalid.
+     *
+     * @return true if the outcome is {@link Outcome#NO_ENDPOINT}, {@link Outcome#REJECTED},
+     * {@link Outcome#UNAVAILABLE} or {@link Outcome#FAILED}, false otherwise
+     */
+    public boolean unavailable() {
+        return outcome == Outcome.NO_ENDPOINT ||
+                outcome == Outcome.REJECTED ||
+                outcome == Outcome.UNAVAILABLE ||
+                outcome == Outcome.FAILED;
+    }
+
+    /**
+     * Enumeration representing the outcome of a token validation.
+     * <ul>
+     *     <li>VALID - The token is valid.</li>
+     *     <li>INVALID - The token is unknown, belongs to another user, or was rejected by the auth-service.</li>
+     *     <li>EXPIRED - The token is cached but expired.</li>
+     *     <li>MALFORMED_REQUEST - The request lacks the user ID or the token, or carries an empty endpoint list.</li>
+     *     <li>NO_ENDPOINT - No auth-service endpoint is registered or given with the request.</li>
+     *     <li>REJECTED - The auth-service call was rejected by the concurrency limit.</li>
+     *     <li>UNAVAILABLE - The called endpoints were unreachable, timed out or overloaded, and no retry was left.</li>
+     *     <li>FAILED - The auth-service call failed in a way no other endpoint would fix, e.g. an unreadable
+     *     response.</li>
+     * </ul>
+     */
+    public enum Outcome {
+        VALID, INVALID, EXPIRED, MALFORMED_REQUEST, NO_ENDPOINT, REJECTED, UNAVAILABLE, FAILED
+    }
+
+    /**
+     * Enumeration representing where the answer of a token validation came from.
+     * <ul>
+     *     <li>MEMORY - The local in-memory cache, including the local fallback cache of the Redis strategies.</li>
+     *     <li>REDIS - The Redis cache.</li>
+     *     <li>AUTH_SERVICE - The auth-service.</li>
+     *     <li>NONE - Nowhere, the request was refused before any lookup.</li>
+     * </ul>
+     */
+    public enum Source {
+        MEMORY, REDIS, AUTH_SERVICE, NONE
+    }
+
+}
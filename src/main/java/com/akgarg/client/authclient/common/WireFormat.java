@@ -0,0 +1,59 @@
+package com.akgarg.client.authclient.common;
+
+/**
+ * Enumeration representing the encodings of the auth-service request and response bodies.
+ * <p>
+ * {@link #CBOR} is a compact binary encoding of the same payloads, smaller on the wire and cheaper to parse than
+ * JSON. It requires {@code jackson-dataformat-cbor} on the classpath. JSON stays the fallback: it is used with
+ * endpoints rejecting CBOR requests, and responses are always decoded according to their {@code Content-Type}.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public enum WireFormat {
+
+    JSON("application/json"),
+    CBOR("application/cbor");
+
+    private static final String CBOR_FACTORY_CLASS = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private final String mediaType;
+
+    /**
+     * Constructor to initialize the wire format.
+     *
+     * @param mediaType the media type of the encoded bodies
+     */
+    WireFormat(final String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Retrieves the media type of the encoded bodies, sent as {@code Content-Type}.
+     *
+     * @return the media type
+     */
+    public String getMediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * Returns whether the encoding is available on the classpath.
+     *
+     * @return true for {@link #JSON}, and for {@link #CBOR} if {@code jackson-dataformat-cbor} is on the classpath
+     */
+    public boolean isAvailable() {
+        if (this == JSON) {
+            return true;
+        }
+
+        try {
+            Class.forName(CBOR_FACTORY_CLASS, false, WireFormat.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
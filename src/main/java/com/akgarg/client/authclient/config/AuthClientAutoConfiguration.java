@@ -2,14 +2,32 @@ package com.akgarg.client.authclient.config;
 
 import com.akgarg.client.authclient.AuthClient;
 import com.akgarg.client.authclient.AuthClientBuilder;
+import com.akgarg.client.authclient.AuthClientResources;
+import com.akgarg.client.authclient.ReactiveAuthClient;
+import com.akgarg.client.authclient.cache.AuthTokenCache;
 import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RevocationFeed;
+import com.akgarg.client.authclient.http.AuthServiceEndpointSource;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
+import com.akgarg.client.authclient.tracing.OpenTelemetryAuthClientTracer;
+import io.opentelemetry.api.OpenTelemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Autoconfiguration class for {@link AuthClient}.
@@ -21,14 +39,50 @@ import org.springframework.context.annotation.Bean;
  *     <li>No other {@link AuthClient} bean is already defined in the Spring context.</li>
  * </ul>
  * <p>
- * This class supports two caching strategies:
+ * This class supports the following caching strategies:
  * <ul>
  *     <li><strong>Redis-based caching:</strong> If Redis connection properties are provided and validated, the
  *     {@link AuthClient} is configured to use Redis as the caching backend.</li>
+ *     <li><strong>Pipelined Redis caching:</strong> If Redis connection properties are valid and
+ *     <code>auth.client.redis-pipelined</code> is enabled, Redis commands are multiplexed over a few long-lived
+ *     connections and flushed automatically as pipelines.</li>
+ *     <li><strong>In-memory caching with invalidation stream:</strong> If Redis connection properties are valid
+ *     and <code>auth.client.invalidation-stream-enabled</code> is enabled, tokens are cached in memory and token
+ *     removals are shared with all other nodes through a Redis Stream.</li>
  *     <li><strong>In-memory caching:</strong> If Redis properties are not valid or missing, the
  *     {@link AuthClient} defaults to an in-memory caching strategy.</li>
  * </ul>
  * </p>
+ * <p>
+ * With the Redis strategies, Redis connection state changes are published as
+ * {@link com.akgarg.client.authclient.cache.RedisConnectionStateEvent} application events.
+ * </p>
+ * <p>
+ * If Reactor is present on the classpath, a {@link ReactiveAuthClient} sharing the cache of the {@link AuthClient}
+ * is configured as well.
+ * </p>
+ * <p>
+ * If the OpenTelemetry API is present on the classpath and an {@link OpenTelemetry} bean is defined, token
+ * validations are traced with an {@link OpenTelemetryAuthClientTracer}, unless
+ * <code>auth.client.tracing-enabled</code> is disabled. Any other {@link AuthClientTracer} bean is used as is.
+ * </p>
+ * <p>
+ * If <code>auth.client.revocation-filter-enabled</code> is enabled, cached sessions are checked against a local
+ * revocation filter, fed by the {@link RevocationFeed} bean if one is defined, or else by the invalidation stream.
+ * </p>
+ * <p>
+ * If <code>auth.client.ttl-policy-enabled</code> is enabled, cached sessions follow the TTL policy of the
+ * <code>auth.client.ttl-*</code> properties, whichever the cache strategy.
+ * </p>
+ * <p>
+ * Custom implementations replace the built-in ones: an {@link AuthTokenCache} bean, or else the cache provider named
+ * by <code>auth.client.cache-provider</code>, replaces the cache strategies above, and an
+ * {@link AuthServiceHttpClient} bean, or else the transport provider named by
+ * <code>auth.client.http-client-provider</code>, replaces the default HTTP client.
+ * </p>
+ * <p>
+ * The runtime hints of {@link AuthClientRuntimeHints} are registered for GraalVM native images built with Spring AOT.
+ * </p>
  *
  * @author Akhilesh
  * @since 10/09/23
@@ -37,6 +91,7 @@ import org.springframework.context.annotation.Bean;
 @ConditionalOnClass(AuthClient.class)
 @ConditionalOnMissingBean(AuthClient.class)
 @EnableConfigurationProperties(AuthClientProperties.class)
+@ImportRuntimeHints(AuthClientRuntimeHints.class)
 public class AuthClientAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(AuthClientAutoConfiguration.class);
@@ -45,38 +100,194 @@ public class AuthClientAutoConfiguration {
      * Configures an {@link AuthClient} bean based on the provided properties.
      * <p>
      * This method first checks if the Redis connection properties provided in {@link AuthClientProperties} are valid.
-     * If valid, it configures the {@link AuthClient} with Redis caching. Otherwise, it falls back to in-memory caching.
+     * If valid, it configures the {@link AuthClient} with Redis caching (or with in-memory caching and a Redis
+     * invalidation stream, if enabled). Otherwise, it falls back to in-memory caching.
      * </p>
      *
-     * @param properties the {@link AuthClientProperties} object containing configuration values.
+     * @param properties     the {@link AuthClientProperties} object containing configuration values.
+     * @param eventPublisher publishes the Redis connection state change events.
+     * @param tracer         the {@link AuthClientTracer} bean, if any.
+     * @param revocationFeed the {@link RevocationFeed} bean, if any.
+     * @param authTokenCache the {@link AuthTokenCache} bean, if any.
+     * @param httpClient     the {@link AuthServiceHttpClient} bean, if any.
+     * @param resources      the {@link AuthClientResources} bean shared with other clients, if any.
      * @return a fully configured {@link AuthClient} bean.
      */
     @Bean
-    public AuthClient authClient(final AuthClientProperties properties) {
+    public AuthClient authClient(
+            final AuthClientProperties properties,
+            final ApplicationEventPublisher eventPublisher,
+            final ObjectProvider<AuthClientTracer> tracer,
+            final ObjectProvider<RevocationFeed> revocationFeed,
+            final ObjectProvider<AuthTokenCache> authTokenCache,
+            final ObjectProvider<AuthServiceHttpClient> httpClient,
+            final ObjectProvider<AuthClientResources> resources
+    ) {
         if (log.isDebugEnabled()) {
             log.info("AutoConfiguring AuthClient with properties: {}", properties);
         }
 
+        final var builder = AuthClientBuilder
+                .builder()
+                .maxSessionsPerUser(properties.getMaxSessionsPerUser())
+                .redisFallbackConfig(getRedisFallbackConfig(properties))
+                .redisKeyPrefix(properties.getRedisKeyPrefix() != null ? properties.getRedisKeyPrefix() : RedisAuthTokenCache.DEFAULT_KEY_PREFIX)
+                .redisLegacyKeys(properties.isRedisLegacyKeysEnabled())
+                .redisConnectionStateListener(eventPublisher::publishEvent)
+                .retryConfig(getRetryConfig(properties))
+                .tracer(tracer.getIfAvailable(() -> AuthClientTracer.NOOP));
+
+        resources.ifAvailable(builder::resources);
+
+        final var customCache = authTokenCache.getIfAvailable();
+
+        if (customCache != null) {
+            builder.authTokenCache(customCache);
+        } else if (isSet(properties.getCacheProvider())) {
+            builder.cacheStrategy(AuthTokenCacheStrategy.CUSTOM).cacheProvider(properties.getCacheProvider());
+        } else {
+            configureCache(builder, properties);
+        }
+
+        final var customHttpClient = httpClient.getIfAvailable();
+
+        if (customHttpClient != null) {
+            builder.authServiceHttpClient(customHttpClient);
+        } else if (isSet(properties.getHttpClientProvider())) {
+            builder.authServiceHttpClientProvider(properties.getHttpClientProvider());
+        }
+
+        if (properties.isConcurrencyLimitEnabled()) {
+            builder.concurrencyLimit(getConcurrencyLimitConfig(properties));
+        }
+
+        if (properties.getApiVersion() != null) {
+            builder.apiVersion(properties.getApiVersion());
+        }
+
+        if (properties.getWireFormat() != null) {
+            builder.wireFormat(properties.getWireFormat());
+        }
+
+        if (properties.isBatchingEnabled()) {
+            builder.batching(getBatchingConfig(properties));
+        }
+
+        if (properties.validateEndpoints()) {
+            builder.authServiceEndpoints(properties.getEndpoints());
+        } else {
+            log.warn("Ignoring invalid auth service endpoints: {}", properties.getEndpoints());
+        }
+
+        if (properties.isEndpointDiscoveryEnabled()) {
+            builder.endpointDiscovery(getEndpointDiscoveryConfig(properties));
+
+            if (isSet(properties.getEndpointsFile())) {
+                builder.authServiceEndpointSource(AuthServiceEndpointSource.file(Path.of(properties.getEndpointsFile())));
+            }
+        }
+
+        if (properties.isRevocationFilterEnabled()) {
+            builder.revocationFilter(getRevocationFilterConfig(properties));
+            revocationFeed.ifAvailable(builder::revocationFeed);
+        }
+
+        if (properties.isTtlPolicyEnabled()) {
+            builder.ttlPolicy(getTtlPolicyConfig(properties));
+        }
+
+        if (properties.isSlidingExpiryEnabled()) {
+            builder.slidingExpiry(getSlidingExpiryConfig(properties));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns whether the given optional property is set.
+     *
+     * @param value the property value
+     * @return true if the value is neither null nor blank
+     */
+    private static boolean isSet(final String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Configures the cache strategy of the given builder based on the provided properties.
+     *
+     * @param builder    the {@link AuthClientBuilder} to configure
+     * @param properties the {@link AuthClientProperties} object containing configuration values.
+     */
+    private void configureCache(final AuthClientBuilder builder, final AuthClientProperties properties) {
+        if (properties.validateRedisConnectionProperties() && properties.isInvalidationStreamEnabled()) {
+            if (log.isDebugEnabled()) {
+                log.info("Configuring AuthClient with in-memory cache and redis invalidation stream");
+            }
+
+            builder.redisConnectionProperties(new RedisConnectionConfigs(properties.getRedisHost(), properties.getRedisPort()))
+                    .invalidationStream(getInvalidationStreamConfig(properties))
+                    .cacheStrategy(AuthTokenCacheStrategy.IN_MEMORY);
+            configureSnapshot(builder, properties);
+            return;
+        }
+
+        if (properties.validateRedisConnectionProperties() && properties.isRedisPipelined()) {
+            if (log.isDebugEnabled()) {
+                log.info("Configuring AuthClient with pipelined Redis cache");
+            }
+
+            builder.redisConnectionProperties(new RedisConnectionConfigs(properties.getRedisHost(), properties.getRedisPort()))
+                    .redisPipelineConfig(getRedisPipelineConfig(properties))
+                    .cacheStrategy(AuthTokenCacheStrategy.REDIS_PIPELINED);
+            return;
+        }
+
         if (properties.validateRedisConnectionProperties()) {
             if (log.isDebugEnabled()) {
                 log.info("Configuring AuthClient with Redis cache");
             }
 
-            return AuthClientBuilder
-                    .builder()
-                    .redisConnectionProperties(new RedisConnectionConfigs(properties.getRedisHost(), properties.getRedisPort()))
+            builder.redisConnectionProperties(new RedisConnectionConfigs(properties.getRedisHost(), properties.getRedisPort()))
                     .redisConnectionPoolConfig(getRedisConnectionPoolConfig(properties))
-                    .cacheStrategy(AuthTokenCacheStrategy.REDIS)
-                    .build();
+                    .cacheStrategy(AuthTokenCacheStrategy.REDIS);
+
+            if (properties.validateRedisReplicaConfig()) {
+                builder.redisReplicas(new RedisReplicaConfigs(
+                        properties.getRedisReplicas(),
+                        Duration.ofMillis(properties.getRedisReplicaMaxLagMillis()),
+                        Duration.ofMillis(properties.getRedisReplicaCheckIntervalMillis())
+                ));
+            } else if (properties.getRedisReplicas() != null && !properties.getRedisReplicas().isEmpty()) {
+                log.warn("Ignoring invalid redis replica configuration: {}", properties.getRedisReplicas());
+            }
+
+            if (properties.isRedisSingleFlightEnabled()) {
+                builder.redisSingleFlight(getRedisSingleFlightConfig(properties));
+            }
+            return;
         }
 
         if (log.isDebugEnabled()) {
             log.info("Configuring AuthClient with in-memory cache");
         }
 
-        return AuthClientBuilder
-                .builder()
-                .build();
+        configureSnapshot(builder, properties);
+    }
+
+    /**
+     * Enables the warm-restart snapshot of the in-memory cache if a snapshot file is configured.
+     *
+     * @param builder    the {@link AuthClientBuilder} to configure
+     * @param properties the {@link AuthClientProperties} containing the snapshot values.
+     */
+    private void configureSnapshot(final AuthClientBuilder builder, final AuthClientProperties properties) {
+        if (properties.validateSnapshotConfig()) {
+            builder.snapshot(new SnapshotConfigs(
+                    Path.of(properties.getSnapshotFile()),
+                    Duration.ofSeconds(properties.getSnapshotIntervalSeconds())
+            ));
+        }
     }
 
     /**
@@ -102,4 +313,319 @@ public class AuthClientAutoConfiguration {
         }
     }
 
+    /**
+     * Creates a {@link RedisPipelineConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default pipelined connection mode configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the pipelined connection mode values.
+     * @return a {@link RedisPipelineConfigs} object with the appropriate configuration values.
+     */
+    private RedisPipelineConfigs getRedisPipelineConfig(final AuthClientProperties properties) {
+        if (properties.validateRedisPipelineConfig()) {
+            return new RedisPipelineConfigs(
+                    properties.getRedisPipelineConnections(),
+                    properties.getRedisPipelineMaxBatchSize(),
+                    Duration.ofMillis(properties.getRedisPipelineCommandTimeoutMillis())
+            );
+        } else {
+            return RedisPipelineConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates an {@link InvalidationStreamConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default invalidation stream configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the invalidation stream values.
+     * @return an {@link InvalidationStreamConfigs} object with the appropriate configuration values.
+     */
+    private InvalidationStreamConfigs getInvalidationStreamConfig(final AuthClientProperties properties) {
+        if (properties.validateInvalidationStreamConfig()) {
+            return new InvalidationStreamConfigs(
+                    properties.getInvalidationStreamKey(),
+                    properties.getInvalidationStreamMaxLength()
+            );
+        } else {
+            return InvalidationStreamConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link RedisSingleFlightConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default single-flight configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the single-flight values.
+     * @return a {@link RedisSingleFlightConfigs} object with the appropriate configuration values.
+     */
+    private RedisSingleFlightConfigs getRedisSingleFlightConfig(final AuthClientProperties properties) {
+        if (properties.validateRedisSingleFlightConfig()) {
+            return new RedisSingleFlightConfigs(
+                    Duration.ofMillis(properties.getRedisSingleFlightLeaseTtlMillis()),
+                    Duration.ofMillis(properties.getRedisSingleFlightMaxWaitMillis()),
+                    Duration.ofMillis(properties.getRedisSingleFlightPollIntervalMillis())
+            );
+        } else {
+            return RedisSingleFlightConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link RedisFallbackConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default degraded mode configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the degraded mode values.
+     * @return a {@link RedisFallbackConfigs} object with the appropriate configuration values.
+     */
+    private RedisFallbackConfigs getRedisFallbackConfig(final AuthClientProperties properties) {
+        if (properties.validateRedisFallbackConfig()) {
+            return new RedisFallbackConfigs(
+                    properties.getRedisFallbackMaxUsers(),
+                    Duration.ofMillis(properties.getRedisReconnectMinBackoffMillis()),
+                    Duration.ofMillis(properties.getRedisReconnectMaxBackoffMillis())
+            );
+        } else {
+            return RedisFallbackConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link ConcurrencyLimitConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default concurrency limit configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the concurrency limit values.
+     * @return a {@link ConcurrencyLimitConfigs} object with the appropriate configuration values.
+     */
+    private ConcurrencyLimitConfigs getConcurrencyLimitConfig(final AuthClientProperties properties) {
+        if (properties.validateConcurrencyLimitConfig()) {
+            return new ConcurrencyLimitConfigs(
+                    properties.getConcurrencyLimitInitial(),
+                    properties.getConcurrencyLimitMin(),
+                    properties.getConcurrencyLimitMax(),
+                    Duration.ofMillis(properties.getConcurrencyLimitMaxQueueWaitMillis())
+            );
+        } else {
+            return ConcurrencyLimitConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link BatchingConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default batching configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the batching values.
+     * @return a {@link BatchingConfigs} object with the appropriate configuration values.
+     */
+    private BatchingConfigs getBatchingConfig(final AuthClientProperties properties) {
+        if (properties.validateBatchingConfig()) {
+            return new BatchingConfigs(
+                    properties.getBatchingMaxSize(),
+                    Duration.ofMillis(properties.getBatchingMaxDelayMillis())
+            );
+        } else {
+            return BatchingConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link RetryConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default retry configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the retry values.
+     * @return a {@link RetryConfigs} object with the appropriate configuration values.
+     */
+    private RetryConfigs getRetryConfig(final AuthClientProperties properties) {
+        if (properties.validateRetryConfig()) {
+            return new RetryConfigs(
+                    properties.getRetryBudgetRatio(),
+                    properties.getRetryMinPerSecond(),
+                    Duration.ofMillis(properties.getRetryInitialBackoffMillis()),
+                    Duration.ofMillis(properties.getRetryMaxBackoffMillis())
+            );
+        } else {
+            return RetryConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates an {@link EndpointDiscoveryConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default endpoint discovery configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the endpoint discovery values.
+     * @return an {@link EndpointDiscoveryConfigs} object with the appropriate configuration values.
+     */
+    private EndpointDiscoveryConfigs getEndpointDiscoveryConfig(final AuthClientProperties properties) {
+        if (properties.validateEndpointDiscoveryConfig()) {
+            return new EndpointDiscoveryConfigs(
+                    Duration.ofMillis(properties.getEndpointsRefreshIntervalMillis()),
+                    Duration.ofMillis(properties.getEndpointsProbeIntervalMillis()),
+                    Duration.ofMillis(properties.getEndpointsProbeTimeoutMillis()),
+                    properties.getEndpointsHealthCheckPath(),
+                    properties.getEndpointsUnhealthyThreshold()
+            );
+        } else {
+            return EndpointDiscoveryConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link RevocationFilterConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default revocation filter configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the revocation filter values.
+     * @return a {@link RevocationFilterConfigs} object with the appropriate configuration values.
+     */
+    private RevocationFilterConfigs getRevocationFilterConfig(final AuthClientProperties properties) {
+        if (properties.validateRevocationFilterConfig()) {
+            return new RevocationFilterConfigs(
+                    properties.getRevocationFilterExpectedRevocations(),
+                    properties.getRevocationFilterFalsePositiveProbability(),
+                    Duration.ofSeconds(properties.getRevocationFilterRetentionSeconds())
+            );
+        } else {
+            return RevocationFilterConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link SlidingExpiryConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default sliding expiry configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the sliding expiry values.
+     * @return a {@link SlidingExpiryConfigs} object with the appropriate configuration values.
+     */
+    private SlidingExpiryConfigs getSlidingExpiryConfig(final AuthClientProperties properties) {
+        if (properties.validateSlidingExpiryConfig()) {
+            return new SlidingExpiryConfigs(
+                    Duration.ofSeconds(properties.getSlidingExpiryIdleTimeoutSeconds()),
+                    Duration.ofSeconds(properties.getSlidingExpiryMaxLifetimeSeconds())
+            );
+        } else {
+            return SlidingExpiryConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Creates a {@link TtlPolicyConfigs} object based on the provided {@link AuthClientProperties}.
+     * <p>
+     * Falls back to the default TTL policy configuration if the configured values are not valid.
+     * </p>
+     *
+     * @param properties the {@link AuthClientProperties} containing the TTL policy values.
+     * @return a {@link TtlPolicyConfigs} object with the appropriate configuration values.
+     */
+    private TtlPolicyConfigs getTtlPolicyConfig(final AuthClientProperties properties) {
+        if (properties.validateTtlPolicyConfig()) {
+            return new TtlPolicyConfigs(
+                    Duration.ofSeconds(properties.getTtlMaxSeconds()),
+                    properties.getTtlJitter(),
+                    Duration.ofSeconds(properties.getTtlMinRemainingLifetimeSeconds()),
+                    Duration.ofSeconds(properties.getTtlNegativeSeconds()),
+                    properties.getTtlNegativeMaxEntries()
+            );
+        } else {
+            return TtlPolicyConfigs.withDefaults();
+        }
+    }
+
+    /**
+     * Configures a {@link ReactiveAuthClient} bean if Reactor is present on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    static class ReactiveAuthClientConfiguration {
+
+        /**
+         * Configures a {@link ReactiveAuthClient} bean sharing the cache, HTTP client and retry budget of the
+         * {@link AuthClient} bean.
+         *
+         * @param authClient the {@link AuthClient} bean
+         * @return a {@link ReactiveAuthClient} bean
+         */
+        @Bean
+        @ConditionalOnMissingBean(ReactiveAuthClient.class)
+        public ReactiveAuthClient reactiveAuthClient(final AuthClient authClient) {
+            return ReactiveAuthClient.from(authClient);
+        }
+
+    }
+
+    /**
+     * Configures the actuator health indicator and management endpoint of the {@link AuthClient} bean if Spring Boot
+     * Actuator is present on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    static class AuthClientActuatorConfiguration {
+
+        /**
+         * Configures the {@link AuthClientHealthIndicator} bean, reported as {@code authClient} by the health
+         * endpoint.
+         *
+         * @param authClient the {@link AuthClient} bean
+         * @return an {@link AuthClientHealthIndicator} bean
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "authClientHealthIndicator")
+        public AuthClientHealthIndicator authClientHealthIndicator(final AuthClient authClient) {
+            return new AuthClientHealthIndicator(authClient);
+        }
+
+        /**
+         * Configures the {@link AuthClientEndpoint} bean.
+         *
+         * @param authClient the {@link AuthClient} bean
+         * @return an {@link AuthClientEndpoint} bean
+         */
+        @Bean
+        @ConditionalOnMissingBean(AuthClientEndpoint.class)
+        public AuthClientEndpoint authClientEndpoint(final AuthClient authClient) {
+            return new AuthClientEndpoint(authClient);
+        }
+
+    }
+
+    /**
+     * Configures an {@link OpenTelemetryAuthClientTracer} bean if the OpenTelemetry API is present on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.opentelemetry.api.OpenTelemetry")
+    @ConditionalOnProperty(prefix = "auth.client", name = "tracing-enabled", matchIfMissing = true)
+    static class OpenTelemetryTracingConfiguration {
+
+        /**
+         * Configures an {@link AuthClientTracer} bean reporting to the {@link OpenTelemetry} bean, or tracing nothing
+         * if there is none.
+         *
+         * @param openTelemetry the {@link OpenTelemetry} bean, if any
+         * @return an {@link AuthClientTracer} bean
+         */
+        @Bean
+        @ConditionalOnMissingBean(AuthClientTracer.class)
+        public AuthClientTracer authClientTracer(final ObjectProvider<OpenTelemetry> openTelemetry) {
+            final var instance = openTelemetry.getIfAvailable();
+            return instance != null ? new OpenTelemetryAuthClientTracer(instance) : AuthClientTracer.NOOP;
+        }
+
+    }
+
 }
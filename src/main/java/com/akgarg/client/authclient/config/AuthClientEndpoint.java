@@ -0,0 +1,76 @@
+package com.akgarg.client.authclient.config;
+
+import com.akgarg.client.authclient.AuthClient;
+import com.akgarg.client.authclient.common.AuthClientStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A Spring Boot Actuator endpoint, {@code /actuator/authclient}, exposing the cache and auth-service endpoint
+ * statistics of an {@link AuthClient} and operations to evict cached sessions without restarting the application.
+ * <ul>
+ *     <li>{@code GET /actuator/authclient} - the {@link AuthClientStatistics} of the client</li>
+ *     <li>{@code DELETE /actuator/authclient/{userId}} - revokes all cached sessions of the user</li>
+ *     <li>{@code DELETE /actuator/authclient} - clears the whole cache</li>
+ * </ul>
+ * Like every actuator endpoint, it has to be exposed through {@code management.endpoints.web.exposure.include}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@Endpoint(id = "authclient")
+public final class AuthClientEndpoint {
+
+    private final AuthClient authClient;
+
+    /**
+     * Constructs the endpoint of the given client.
+     *
+     * @param authClient the client to expose
+     * @throws NullPointerException if {@code authClient} is null
+     */
+    public AuthClientEndpoint(final AuthClient authClient) {
+        this.authClient = Objects.requireNonNull(authClient, "auth client is null");
+    }
+
+    /**
+     * Returns the statistics of the client, along with the cache hit ratio.
+     *
+     * @return the statistics of the client
+     */
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        final var statistics = authClient.statistics();
+        return Map.of(
+                "statistics", statistics,
+                "cacheHitRatio", statistics.cacheHitRatio()
+        );
+    }
+
+    /**
+     * Revokes all cached sessions of the given user.
+     *
+     * @param userId the user ID whose sessions are revoked
+     * @return whether cached sessions were removed
+     */
+    @DeleteOperation
+    public Map<String, Object> invalidateUser(@Selector final String userId) {
+        return Map.of("userId", userId, "removed", authClient.revokeAll(userId));
+    }
+
+    /**
+     * Clears the whole cache.
+     *
+     * @return whether the cache was cleared
+     */
+    @DeleteOperation
+    public Map<String, Object> clearCache() {
+        return Map.of("cleared", authClient.clearCache());
+    }
+
+}
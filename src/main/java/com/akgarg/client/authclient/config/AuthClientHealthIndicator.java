@@ -0,0 +1,65 @@
+package com.akgarg.client.authclient.config;
+
+import com.akgarg.client.authclient.AuthClient;
+import com.akgarg.client.authclient.cache.RedisConnectionState;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Objects;
+
+/**
+ * A Spring Boot Actuator health indicator reporting the Redis connections and the auth-service endpoints of an
+ * {@link AuthClient}.
+ * <p>
+ * The client is {@code DOWN} when none of its auth-service endpoints is healthy, since no uncached token can be
+ * validated, and {@link #DEGRADED} while its Redis cache is unreachable and served by the local fallback cache.
+ * {@code DEGRADED} is not mapped to an error HTTP status, so degraded pods keep serving instead of being restarted.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class AuthClientHealthIndicator extends AbstractHealthIndicator {
+
+    /**
+     * Status of a client whose Redis cache is unreachable.
+     */
+    public static final Status DEGRADED = new Status("DEGRADED", "Redis is unreachable, sessions are served by the local fallback cache");
+
+    private final AuthClient authClient;
+
+    /**
+     * Constructs a health indicator of the given client.
+     *
+     * @param authClient the client to report on
+     * @throws NullPointerException if {@code authClient} is null
+     */
+    public AuthClientHealthIndicator(final AuthClient authClient) {
+        super("Auth client health check failed");
+        this.authClient = Objects.requireNonNull(authClient, "auth client is null");
+    }
+
+    @Override
+    protected void doHealthCheck(final Health.Builder builder) {
+        final var statistics = authClient.statistics();
+        final var healthyEndpoints = statistics.endpoints().stream().filter(endpoint -> endpoint.healthy()).count();
+
+        if (!statistics.endpoints().isEmpty() && healthyEndpoints == 0) {
+            builder.down();
+        } else if (statistics.redis() != null && statistics.redis().state() == RedisConnectionState.DEGRADED) {
+            builder.status(DEGRADED);
+        } else {
+            builder.up();
+        }
+
+        builder.withDetail("cacheStrategy", statistics.cacheStrategy())
+                .withDetail("endpoints", statistics.endpoints().size())
+                .withDetail("healthyEndpoints", healthyEndpoints);
+
+        if (statistics.redis() != null) {
+            builder.withDetail("redis", statistics.redis());
+        }
+    }
+
+}
@@ -1,7 +1,15 @@
 package com.akgarg.client.authclient.config;
 
+import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.WireFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties class for AuthClient.
  * <p>
@@ -19,6 +27,64 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * auth.client.redis-connection-pool-max-total=100
  * auth.client.redis-connection-pool-max-idle=10
  * auth.client.redis-connection-pool-min-idle=5
+ * auth.client.redis-pipelined=true
+ * auth.client.redis-pipeline-connections=4
+ * auth.client.redis-pipeline-max-batch-size=256
+ * auth.client.redis-pipeline-command-timeout-millis=2000
+ * auth.client.max-sessions-per-user=8
+ * auth.client.invalidation-stream-enabled=true
+ * auth.client.invalidation-stream-key=auth_client:invalidations
+ * auth.client.invalidation-stream-max-length=100000
+ * auth.client.snapshot-file=/var/lib/app/auth-client-cache.snapshot
+ * auth.client.snapshot-interval-seconds=300
+ * auth.client.redis-fallback-max-users=10000
+ * auth.client.redis-reconnect-min-backoff-millis=500
+ * auth.client.redis-reconnect-max-backoff-millis=30000
+ * auth.client.redis-replicas[0].host=redis-replica-1
+ * auth.client.redis-replicas[0].port=6379
+ * auth.client.redis-replica-max-lag-millis=1000
+ * auth.client.redis-replica-check-interval-millis=500
+ * auth.client.redis-single-flight-enabled=true
+ * auth.client.redis-single-flight-lease-ttl-millis=3000
+ * auth.client.redis-single-flight-max-wait-millis=1000
+ * auth.client.redis-single-flight-poll-interval-millis=20
+ * auth.client.concurrency-limit-enabled=true
+ * auth.client.concurrency-limit-initial=20
+ * auth.client.concurrency-limit-min=1
+ * auth.client.concurrency-limit-max=200
+ * auth.client.concurrency-limit-max-queue-wait-millis=25
+ * auth.client.api-version=v2
+ * auth.client.wire-format=cbor
+ * auth.client.batching-enabled=true
+ * auth.client.batching-max-size=64
+ * auth.client.batching-max-delay-millis=2
+ * auth.client.retry-budget-ratio=0.1
+ * auth.client.retry-min-per-second=10
+ * auth.client.retry-initial-backoff-millis=50
+ * auth.client.retry-max-backoff-millis=1000
+ * auth.client.endpoints[0].scheme=http
+ * auth.client.endpoints[0].host=auth-service-1
+ * auth.client.endpoints[0].port=8080
+ * auth.client.endpoint-discovery-enabled=true
+ * auth.client.endpoints-file=/etc/app/auth-service-endpoints
+ * auth.client.endpoints-refresh-interval-millis=10000
+ * auth.client.endpoints-probe-interval-millis=5000
+ * auth.client.endpoints-probe-timeout-millis=1000
+ * auth.client.endpoints-health-check-path=/actuator/health
+ * auth.client.endpoints-unhealthy-threshold=2
+ * auth.client.tracing-enabled=true
+ * auth.client.revocation-filter-enabled=true
+ * auth.client.revocation-filter-expected-revocations=100000
+ * auth.client.revocation-filter-false-positive-probability=0.001
+ * auth.client.revocation-filter-retention-seconds=86400
+ * auth.client.ttl-policy-enabled=true
+ * auth.client.ttl-max-seconds=3600
+ * auth.client.ttl-jitter=0.1
+ * auth.client.ttl-min-remaining-lifetime-seconds=5
+ * auth.client.ttl-negative-seconds=30
+ * auth.client.ttl-negative-max-entries=10000
+ * auth.client.cache-provider=hazelcast
+ * auth.client.http-client-provider=okhttp
  * </pre>
  *
  * @author Akhilesh
@@ -70,68 +136,1212 @@ public class AuthClientProperties {
      */
     private int redisConnectionPoolMinIdle = RedisConnectionPoolConfigs.DEFAULT_MIN_IDLE;
 
-    public String getRedisHost() {
-        return redisHost;
-    }
+    /**
+     * Whether to use the auto-pipelined Redis connection mode.
+     * <p>
+     * When enabled, cache commands of all threads are multiplexed over a few long-lived connections
+     * instead of a connection pool. Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean redisPipelined;
 
-    public void setRedisHost(final String redisHost) {
-        this.redisHost = redisHost;
-    }
+    /**
+     * Number of long-lived connections used by the pipelined Redis connection mode.
+     * <p>
+     * Defaults to {@link RedisPipelineConfigs#DEFAULT_CONNECTIONS}.
+     * </p>
+     */
+    private int redisPipelineConnections = RedisPipelineConfigs.DEFAULT_CONNECTIONS;
 
-    public int getRedisPort() {
-        return redisPort;
-    }
+    /**
+     * Maximum number of commands flushed in one pipeline by the pipelined Redis connection mode.
+     * <p>
+     * Defaults to {@link RedisPipelineConfigs#DEFAULT_MAX_BATCH_SIZE}.
+     * </p>
+     */
+    private int redisPipelineMaxBatchSize = RedisPipelineConfigs.DEFAULT_MAX_BATCH_SIZE;
 
-    public void setRedisPort(final int redisPort) {
-        this.redisPort = redisPort;
-    }
+    /**
+     * Maximum time in milliseconds a caller waits for a command result in the pipelined Redis connection mode.
+     * <p>
+     * Defaults to {@link RedisPipelineConfigs#DEFAULT_COMMAND_TIMEOUT_MILLIS}.
+     * </p>
+     */
+    private long redisPipelineCommandTimeoutMillis = RedisPipelineConfigs.DEFAULT_COMMAND_TIMEOUT_MILLIS;
 
-    public int getRedisConnectionPoolMaxTotal() {
-        return redisConnectionPoolMaxTotal;
-    }
+    /**
+     * Prefix of the keys of the Redis cache strategies.
+     * <p>
+     * Defaults to {@link RedisAuthTokenCache#DEFAULT_KEY_PREFIX}.
+     * </p>
+     */
+    private String redisKeyPrefix = RedisAuthTokenCache.DEFAULT_KEY_PREFIX;
 
-    public void setRedisConnectionPoolMaxTotal(final int redisConnectionPoolMaxTotal) {
-        this.redisConnectionPoolMaxTotal = redisConnectionPoolMaxTotal;
-    }
+    /**
+     * Whether the Redis cache strategies read the sessions cached by versions up to 1.2.1 on a miss.
+     * <p>
+     * Meant for the time of an upgrade only. Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean redisLegacyKeysEnabled;
 
-    public int getRedisConnectionPoolMaxIdle() {
-        return redisConnectionPoolMaxIdle;
-    }
+    /**
+     * Maximum number of concurrent sessions cached per user.
+     * <p>
+     * Defaults to {@link AuthTokenCache#DEFAULT_MAX_SESSIONS_PER_USER}.
+     * </p>
+     */
+    private int maxSessionsPerUser = AuthTokenCache.DEFAULT_MAX_SESSIONS_PER_USER;
 
-    public void setRedisConnectionPoolMaxIdle(final int redisConnectionPoolMaxIdle) {
-        this.redisConnectionPoolMaxIdle = redisConnectionPoolMaxIdle;
-    }
+    /**
+     * Whether to use the in-memory cache with a cross-node invalidation stream hosted on the configured Redis.
+     * <p>
+     * When enabled, Redis is used only to share token removals between nodes while tokens are cached in memory.
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean invalidationStreamEnabled;
 
-    public int getRedisConnectionPoolMinIdle() {
-        return redisConnectionPoolMinIdle;
-    }
+    /**
+     * Redis key of the cross-node invalidation stream.
+     * <p>
+     * Defaults to {@link InvalidationStreamConfigs#DEFAULT_STREAM_KEY}.
+     * </p>
+     */
+    private String invalidationStreamKey = InvalidationStreamConfigs.DEFAULT_STREAM_KEY;
 
-    public void setRedisConnectionPoolMinIdle(final int redisConnectionPoolMinIdle) {
-        this.redisConnectionPoolMinIdle = redisConnectionPoolMinIdle;
-    }
+    /**
+     * Approximate maximum number of entries retained in the cross-node invalidation stream.
+     * <p>
+     * Defaults to {@link InvalidationStreamConfigs#DEFAULT_MAX_LENGTH}.
+     * </p>
+     */
+    private long invalidationStreamMaxLength = InvalidationStreamConfigs.DEFAULT_MAX_LENGTH;
 
     /**
-     * Validates whether the Redis connection properties are properly set.
-     *
-     * @return <code>true</code> if the Redis host is not null or blank, and the Redis port is greater than 0;
-     * <code>false</code> otherwise.
+     * Path of the warm-restart snapshot file of the in-memory cache.
+     * <p>
+     * When set, live entries of the in-memory cache are written to this file on shutdown and reloaded on startup.
+     * </p>
      */
-    public boolean validateRedisConnectionProperties() {
-        return this.redisHost != null &&
-                !this.redisHost.isBlank() &&
-                this.redisPort > 0;
-    }
+    private String snapshotFile;
 
     /**
-     * Validates the Redis connection pool configuration.
-     *
-     * @return <code>true</code> if all connection pool settings are greater than 0;
-     * <code>false</code> otherwise.
+     * Interval in seconds of the periodic snapshots of the in-memory cache.
+     * <p>
+     * Defaults to <code>0</code>, which writes the snapshot on shutdown only.
+     * </p>
      */
-    public boolean validateRedisConnectionPoolConfig() {
-        return this.redisConnectionPoolMaxTotal > 0 &&
-                this.redisConnectionPoolMaxIdle > 0 &&
-                this.redisConnectionPoolMinIdle > 0;
+    private long snapshotIntervalSeconds;
+
+    /**
+     * Maximum number of users held by the local fallback cache while Redis is unreachable.
+     * <p>
+     * Defaults to {@link RedisFallbackConfigs#DEFAULT_MAX_USERS}.
+     * </p>
+     */
+    private int redisFallbackMaxUsers = RedisFallbackConfigs.DEFAULT_MAX_USERS;
+
+    /**
+     * Delay in milliseconds before the first Redis reconnection attempt.
+     * <p>
+     * Defaults to {@link RedisFallbackConfigs#DEFAULT_MIN_RECONNECT_BACKOFF_MILLIS}.
+     * </p>
+     */
+    private long redisReconnectMinBackoffMillis = RedisFallbackConfigs.DEFAULT_MIN_RECONNECT_BACKOFF_MILLIS;
+
+    /**
+     * Upper bound in milliseconds of the delay between Redis reconnection attempts.
+     * <p>
+     * Defaults to {@link RedisFallbackConfigs#DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS}.
+     * </p>
+     */
+    private long redisReconnectMaxBackoffMillis = RedisFallbackConfigs.DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS;
+
+    /**
+     * Read replicas of the Redis cache strategy, serving token lookups while writes go to the primary.
+     * <p>
+     * Defaults to no replica, in which case lookups go to the primary.
+     * </p>
+     */
+    private List<RedisConnectionConfigs> redisReplicas = new ArrayList<>();
+
+    /**
+     * Maximum replication lag in milliseconds of a replica serving lookups.
+     * <p>
+     * Defaults to {@link RedisReplicaConfigs#DEFAULT_MAX_LAG_MILLIS}.
+     * </p>
+     */
+    private long redisReplicaMaxLagMillis = RedisReplicaConfigs.DEFAULT_MAX_LAG_MILLIS;
+
+    /**
+     * Interval in milliseconds between two replication lag checks of the replicas.
+     * <p>
+     * Defaults to {@link RedisReplicaConfigs#DEFAULT_CHECK_INTERVAL_MILLIS}.
+     * </p>
+     */
+    private long redisReplicaCheckIntervalMillis = RedisReplicaConfigs.DEFAULT_CHECK_INTERVAL_MILLIS;
+
+    /**
+     * Flag to enable the cluster-wide single-flight of cache misses of the Redis cache strategy.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean redisSingleFlightEnabled = false;
+
+    /**
+     * Expiration in milliseconds of the single-flight lease of a session being validated.
+     * <p>
+     * Defaults to {@link RedisSingleFlightConfigs#DEFAULT_LEASE_TTL_MILLIS}.
+     * </p>
+     */
+    private long redisSingleFlightLeaseTtlMillis = RedisSingleFlightConfigs.DEFAULT_LEASE_TTL_MILLIS;
+
+    /**
+     * Maximum time in milliseconds waited for the single-flight lease holder before validating the token.
+     * <p>
+     * Defaults to {@link RedisSingleFlightConfigs#DEFAULT_MAX_WAIT_MILLIS}.
+     * </p>
+     */
+    private long redisSingleFlightMaxWaitMillis = RedisSingleFlightConfigs.DEFAULT_MAX_WAIT_MILLIS;
+
+    /**
+     * Delay in milliseconds between two cache lookups while waiting for the single-flight lease holder.
+     * <p>
+     * Defaults to {@link RedisSingleFlightConfigs#DEFAULT_POLL_INTERVAL_MILLIS}.
+     * </p>
+     */
+    private long redisSingleFlightPollIntervalMillis = RedisSingleFlightConfigs.DEFAULT_POLL_INTERVAL_MILLIS;
+
+    /**
+     * Flag to enable the adaptive concurrency limit of outbound auth-service calls.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean concurrencyLimitEnabled;
+
+    /**
+     * Initial concurrency limit of outbound auth-service calls.
+     * <p>
+     * Defaults to {@link ConcurrencyLimitConfigs#DEFAULT_INITIAL_LIMIT}.
+     * </p>
+     */
+    private int concurrencyLimitInitial = ConcurrencyLimitConfigs.DEFAULT_INITIAL_LIMIT;
+
+    /**
+     * Lower bound of the concurrency limit of outbound auth-service calls.
+     * <p>
+     * Defaults to {@link ConcurrencyLimitConfigs#DEFAULT_MIN_LIMIT}.
+     * </p>
+     */
+    private int concurrencyLimitMin = ConcurrencyLimitConfigs.DEFAULT_MIN_LIMIT;
+
+    /**
+     * Upper bound of the concurrency limit of outbound auth-service calls.
+     * <p>
+     * Defaults to {@link ConcurrencyLimitConfigs#DEFAULT_MAX_LIMIT}.
+     * </p>
+     */
+    private int concurrencyLimitMax = ConcurrencyLimitConfigs.DEFAULT_MAX_LIMIT;
+
+    /**
+     * Maximum time in milliseconds an auth-service call waits for a free slot before being rejected.
+     * <p>
+     * Defaults to {@link ConcurrencyLimitConfigs#DEFAULT_MAX_QUEUE_WAIT_MILLIS}.
+     * </p>
+     */
+    private long concurrencyLimitMaxQueueWaitMillis = ConcurrencyLimitConfigs.DEFAULT_MAX_QUEUE_WAIT_MILLIS;
+
+    /**
+     * Version of the auth-service API, {@link ApiVersion#V2} enabling bulk token validation.
+     * <p>
+     * Defaults to {@link ApiVersion#V1}.
+     * </p>
+     */
+    private ApiVersion apiVersion = ApiVersion.V1;
+
+    /**
+     * Preferred encoding of the auth-service request and response bodies, {@link WireFormat#CBOR} requiring
+     * {@code jackson-dataformat-cbor} on the classpath.
+     * <p>
+     * Defaults to {@link WireFormat#JSON}.
+     * </p>
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    /**
+     * Flag to enable the micro-batching of concurrent auth-service calls into bulk calls.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean batchingEnabled;
+
+    /**
+     * Maximum number of token validations sent in a single bulk call.
+     * <p>
+     * Defaults to {@link BatchingConfigs#DEFAULT_MAX_BATCH_SIZE}.
+     * </p>
+     */
+    private int batchingMaxSize = BatchingConfigs.DEFAULT_MAX_BATCH_SIZE;
+
+    /**
+     * Maximum time in milliseconds a token validation waits for other validations to be batched with.
+     * <p>
+     * Defaults to {@link BatchingConfigs#DEFAULT_MAX_DELAY_MILLIS}.
+     * </p>
+     */
+    private long batchingMaxDelayMillis = BatchingConfigs.DEFAULT_MAX_DELAY_MILLIS;
+
+    /**
+     * Ratio of retries to first auth-service calls allowed by the retry budget.
+     * <p>
+     * Defaults to {@link RetryConfigs#DEFAULT_BUDGET_RATIO}.
+     * </p>
+     */
+    private double retryBudgetRatio = RetryConfigs.DEFAULT_BUDGET_RATIO;
+
+    /**
+     * Auth-service call retries per second allowed regardless of the number of first calls.
+     * <p>
+     * Defaults to {@link RetryConfigs#DEFAULT_MIN_RETRIES_PER_SECOND}.
+     * </p>
+     */
+    private int retryMinPerSecond = RetryConfigs.DEFAULT_MIN_RETRIES_PER_SECOND;
+
+    /**
+     * Upper bound in milliseconds of the jittered backoff before the first retry.
+     * <p>
+     * Defaults to {@link RetryConfigs#DEFAULT_INITIAL_BACKOFF_MILLIS}.
+     * </p>
+     */
+    private long retryInitialBackoffMillis = RetryConfigs.DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+    /**
+     * Upper bound in milliseconds of the jittered backoff before any retry.
+     * <p>
+     * Defaults to {@link RetryConfigs#DEFAULT_MAX_BACKOFF_MILLIS}.
+     * </p>
+     */
+    private long retryMaxBackoffMillis = RetryConfigs.DEFAULT_MAX_BACKOFF_MILLIS;
+
+    /**
+     * Auth-service endpoints registered once on the client and used by requests without endpoints of their own.
+     * <p>
+     * Defaults to no endpoint, in which case every request must carry its endpoints.
+     * </p>
+     */
+    private List<AuthServiceEndpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Whether the registered auth-service endpoints are reloaded and health-probed in the background.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean endpointDiscoveryEnabled;
+
+    /**
+     * File the auth-service endpoints are reloaded from, one <code>scheme://host:port</code> endpoint per line.
+     * <p>
+     * Optional; without it only the configured <code>endpoints</code> are health-probed.
+     * </p>
+     */
+    private String endpointsFile;
+
+    /**
+     * Interval in milliseconds between two reloads of the endpoints file.
+     * <p>
+     * Defaults to {@link EndpointDiscoveryConfigs#DEFAULT_REFRESH_INTERVAL_MILLIS}.
+     * </p>
+     */
+    private long endpointsRefreshIntervalMillis = EndpointDiscoveryConfigs.DEFAULT_REFRESH_INTERVAL_MILLIS;
+
+    /**
+     * Interval in milliseconds between two health probes of an endpoint.
+     * <p>
+     * Defaults to {@link EndpointDiscoveryConfigs#DEFAULT_PROBE_INTERVAL_MILLIS}.
+     * </p>
+     */
+    private long endpointsProbeIntervalMillis = EndpointDiscoveryConfigs.DEFAULT_PROBE_INTERVAL_MILLIS;
+
+    /**
+     * Timeout in milliseconds of a health probe.
+     * <p>
+     * Defaults to {@link EndpointDiscoveryConfigs#DEFAULT_PROBE_TIMEOUT_MILLIS}.
+     * </p>
+     */
+    private long endpointsProbeTimeoutMillis = EndpointDiscoveryConfigs.DEFAULT_PROBE_TIMEOUT_MILLIS;
+
+    /**
+     * Path of the health check answered with a <code>2xx</code> status by healthy endpoints.
+     * <p>
+     * Optional; without it any HTTP response counts as healthy.
+     * </p>
+     */
+    private String endpointsHealthCheckPath;
+
+    /**
+     * Consecutive failed health probes taking an endpoint out of rotation.
+     * <p>
+     * Defaults to {@link EndpointDiscoveryConfigs#DEFAULT_UNHEALTHY_THRESHOLD}.
+     * </p>
+     */
+    private int endpointsUnhealthyThreshold = EndpointDiscoveryConfigs.DEFAULT_UNHEALTHY_THRESHOLD;
+
+    /**
+     * Whether token validations are traced with OpenTelemetry when an <code>OpenTelemetry</code> bean is defined.
+     * <p>
+     * Defaults to <code>true</code>.
+     * </p>
+     */
+    private boolean tracingEnabled = true;
+
+    /**
+     * Whether cached sessions are checked against a local filter of revoked tokens before being trusted.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean revocationFilterEnabled;
+
+    /**
+     * Expected number of revocations per retention period, sizing the revocation filter.
+     * <p>
+     * Defaults to {@link RevocationFilterConfigs#DEFAULT_EXPECTED_REVOCATIONS}.
+     * </p>
+     */
+    private long revocationFilterExpectedRevocations = RevocationFilterConfigs.DEFAULT_EXPECTED_REVOCATIONS;
+
+    /**
+     * False positive probability of the revocation filter at the expected number of revocations.
+     * <p>
+     * Defaults to {@link RevocationFilterConfigs#DEFAULT_FALSE_POSITIVE_PROBABILITY}.
+     * </p>
+     */
+    private double revocationFilterFalsePositiveProbability = RevocationFilterConfigs.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    /**
+     * Minimum time in seconds a revocation is remembered, should cover the longest lifetime of a token.
+     * <p>
+     * Defaults to {@link RevocationFilterConfigs#DEFAULT_RETENTION_SECONDS}.
+     * </p>
+     */
+    private long revocationFilterRetentionSeconds = RevocationFilterConfigs.DEFAULT_RETENTION_SECONDS;
+
+    /**
+     * Whether cached sessions follow the TTL policy, with a capped and jittered cache expiration.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean ttlPolicyEnabled;
+
+    /**
+     * Maximum time in seconds a session is cached.
+     * <p>
+     * Defaults to {@link TtlPolicyConfigs#DEFAULT_MAX_TTL_SECONDS}.
+     * </p>
+     */
+    private long ttlMaxSeconds = TtlPolicyConfigs.DEFAULT_MAX_TTL_SECONDS;
+
+    /**
+     * Maximum fraction of the cached lifetime of a session cut off at random, between 0 and 1.
+     * <p>
+     * Defaults to {@link TtlPolicyConfigs#DEFAULT_JITTER}.
+     * </p>
+     */
+    private double ttlJitter = TtlPolicyConfigs.DEFAULT_JITTER;
+
+    /**
+     * Minimum remaining lifetime in seconds of a session for it to be cached.
+     * <p>
+     * Defaults to {@link TtlPolicyConfigs#DEFAULT_MIN_REMAINING_LIFETIME_SECONDS}.
+     * </p>
+     */
+    private long ttlMinRemainingLifetimeSeconds = TtlPolicyConfigs.DEFAULT_MIN_REMAINING_LIFETIME_SECONDS;
+
+    /**
+     * Time in seconds a token rejected by the auth-service is remembered, <code>0</code> to disable negative entries.
+     * <p>
+     * Defaults to {@link TtlPolicyConfigs#DEFAULT_NEGATIVE_TTL_SECONDS}.
+     * </p>
+     */
+    private long ttlNegativeSeconds = TtlPolicyConfigs.DEFAULT_NEGATIVE_TTL_SECONDS;
+
+    /**
+     * Maximum number of rejected tokens remembered.
+     * <p>
+     * Defaults to {@link TtlPolicyConfigs#DEFAULT_NEGATIVE_MAX_ENTRIES}.
+     * </p>
+     */
+    private int ttlNegativeMaxEntries = TtlPolicyConfigs.DEFAULT_NEGATIVE_MAX_ENTRIES;
+
+    /**
+     * Whether every cache hit extends the cache expiration of the session, with the in-memory or Redis cache strategy.
+     * <p>
+     * Defaults to <code>false</code>.
+     * </p>
+     */
+    private boolean slidingExpiryEnabled;
+
+    /**
+     * Time in seconds a session stays cached after its last use.
+     * <p>
+     * Defaults to {@link SlidingExpiryConfigs#DEFAULT_IDLE_TIMEOUT_SECONDS}.
+     * </p>
+     */
+    private long slidingExpiryIdleTimeoutSeconds = SlidingExpiryConfigs.DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+    /**
+     * Maximum time in seconds a session stays cached after its validation by the auth-service.
+     * <p>
+     * Defaults to {@link SlidingExpiryConfigs#DEFAULT_MAX_LIFETIME_SECONDS}.
+     * </p>
+     */
+    private long slidingExpiryMaxLifetimeSeconds = SlidingExpiryConfigs.DEFAULT_MAX_LIFETIME_SECONDS;
+
+    /**
+     * Name of the <code>AuthTokenCacheProvider</code> discovered through <code>ServiceLoader</code> creating the
+     * token cache, replacing the built-in cache strategies.
+     * <p>
+     * Optional; an <code>AuthTokenCache</code> bean takes precedence over it.
+     * </p>
+     */
+    private String cacheProvider;
+
+    /**
+     * Name of the <code>AuthServiceHttpClientProvider</code> discovered through <code>ServiceLoader</code> creating
+     * the transport calling the auth service, replacing the default HTTP client.
+     * <p>
+     * Optional; an <code>AuthServiceHttpClient</code> bean takes precedence over it.
+     * </p>
+     */
+    private String httpClientProvider;
+
+    public String getRedisHost() {
+        return redisHost;
+    }
+
+    public void setRedisHost(final String redisHost) {
+        this.redisHost = redisHost;
+    }
+
+    public int getRedisPort() {
+        return redisPort;
+    }
+
+    public void setRedisPort(final int redisPort) {
+        this.redisPort = redisPort;
+    }
+
+    public int getRedisConnectionPoolMaxTotal() {
+        return redisConnectionPoolMaxTotal;
+    }
+
+    public void setRedisConnectionPoolMaxTotal(final int redisConnectionPoolMaxTotal) {
+        this.redisConnectionPoolMaxTotal = redisConnectionPoolMaxTotal;
+    }
+
+    public int getRedisConnectionPoolMaxIdle() {
+        return redisConnectionPoolMaxIdle;
+    }
+
+    public void setRedisConnectionPoolMaxIdle(final int redisConnectionPoolMaxIdle) {
+        this.redisConnectionPoolMaxIdle = redisConnectionPoolMaxIdle;
+    }
+
+    public int getRedisConnectionPoolMinIdle() {
+        return redisConnectionPoolMinIdle;
+    }
+
+    public void setRedisConnectionPoolMinIdle(final int redisConnectionPoolMinIdle) {
+        this.redisConnectionPoolMinIdle = redisConnectionPoolMinIdle;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(final String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public boolean isRedisLegacyKeysEnabled() {
+        return redisLegacyKeysEnabled;
+    }
+
+    public void setRedisLegacyKeysEnabled(final boolean redisLegacyKeysEnabled) {
+        this.redisLegacyKeysEnabled = redisLegacyKeysEnabled;
+    }
+
+    public boolean isRedisPipelined() {
+        return redisPipelined;
+    }
+
+    public void setRedisPipelined(final boolean redisPipelined) {
+        this.redisPipelined = redisPipelined;
+    }
+
+    public int getRedisPipelineConnections() {
+        return redisPipelineConnections;
+    }
+
+    public void setRedisPipelineConnections(final int redisPipelineConnections) {
+        this.redisPipelineConnections = redisPipelineConnections;
+    }
+
+    public int getRedisPipelineMaxBatchSize() {
+        return redisPipelineMaxBatchSize;
+    }
+
+    public void setRedisPipelineMaxBatchSize(final int redisPipelineMaxBatchSize) {
+        this.redisPipelineMaxBatchSize = redisPipelineMaxBatchSize;
+    }
+
+    public long getRedisPipelineCommandTimeoutMillis() {
+        return redisPipelineCommandTimeoutMillis;
+    }
+
+    public void setRedisPipelineCommandTimeoutMillis(final long redisPipelineCommandTimeoutMillis) {
+        this.redisPipelineCommandTimeoutMillis = redisPipelineCommandTimeoutMillis;
+    }
+
+    public int getMaxSessionsPerUser() {
+        return maxSessionsPerUser;
+    }
+
+    public void setMaxSessionsPerUser(final int maxSessionsPerUser) {
+        this.maxSessionsPerUser = maxSessionsPerUser;
+    }
+
+    public boolean isInvalidationStreamEnabled() {
+        return invalidationStreamEnabled;
+    }
+
+    public void setInvalidationStreamEnabled(final boolean invalidationStreamEnabled) {
+        this.invalidationStreamEnabled = invalidationStreamEnabled;
+    }
+
+    public String getInvalidationStreamKey() {
+        return invalidationStreamKey;
+    }
+
+    public void setInvalidationStreamKey(final String invalidationStreamKey) {
+        this.invalidationStreamKey = invalidationStreamKey;
+    }
+
+    public long getInvalidationStreamMaxLength() {
+        return invalidationStreamMaxLength;
+    }
+
+    public void setInvalidationStreamMaxLength(final long invalidationStreamMaxLength) {
+        this.invalidationStreamMaxLength = invalidationStreamMaxLength;
+    }
+
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(final String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public long getSnapshotIntervalSeconds() {
+        return snapshotIntervalSeconds;
+    }
+
+    public void setSnapshotIntervalSeconds(final long snapshotIntervalSeconds) {
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    public int getRedisFallbackMaxUsers() {
+        return redisFallbackMaxUsers;
+    }
+
+    public void setRedisFallbackMaxUsers(final int redisFallbackMaxUsers) {
+        this.redisFallbackMaxUsers = redisFallbackMaxUsers;
+    }
+
+    public long getRedisReconnectMinBackoffMillis() {
+        return redisReconnectMinBackoffMillis;
+    }
+
+    public void setRedisReconnectMinBackoffMillis(final long redisReconnectMinBackoffMillis) {
+        this.redisReconnectMinBackoffMillis = redisReconnectMinBackoffMillis;
+    }
+
+    public long getRedisReconnectMaxBackoffMillis() {
+        return redisReconnectMaxBackoffMillis;
+    }
+
+    public void setRedisReconnectMaxBackoffMillis(final long redisReconnectMaxBackoffMillis) {
+        this.redisReconnectMaxBackoffMillis = redisReconnectMaxBackoffMillis;
+    }
+
+    public List<RedisConnectionConfigs> getRedisReplicas() {
+        return redisReplicas;
+    }
+
+    public void setRedisReplicas(final List<RedisConnectionConfigs> redisReplicas) {
+        this.redisReplicas = redisReplicas;
+    }
+
+    public long getRedisReplicaMaxLagMillis() {
+        return redisReplicaMaxLagMillis;
+    }
+
+    public void setRedisReplicaMaxLagMillis(final long redisReplicaMaxLagMillis) {
+        this.redisReplicaMaxLagMillis = redisReplicaMaxLagMillis;
+    }
+
+    public long getRedisReplicaCheckIntervalMillis() {
+        return redisReplicaCheckIntervalMillis;
+    }
+
+    public void setRedisReplicaCheckIntervalMillis(final long redisReplicaCheckIntervalMillis) {
+        this.redisReplicaCheckIntervalMillis = redisReplicaCheckIntervalMillis;
+    }
+
+    public boolean isRedisSingleFlightEnabled() {
+        return redisSingleFlightEnabled;
+    }
+
+    public void setRedisSingleFlightEnabled(final boolean redisSingleFlightEnabled) {
+        this.redisSingleFlightEnabled = redisSingleFlightEnabled;
+    }
+
+    public long getRedisSingleFlightLeaseTtlMillis() {
+        return redisSingleFlightLeaseTtlMillis;
+    }
+
+    public void setRedisSingleFlightLeaseTtlMillis(final long redisSingleFlightLeaseTtlMillis) {
+        this.redisSingleFlightLeaseTtlMillis = redisSingleFlightLeaseTtlMillis;
+    }
+
+    public long getRedisSingleFlightMaxWaitMillis() {
+        return redisSingleFlightMaxWaitMillis;
+    }
+
+    public void setRedisSingleFlightMaxWaitMillis(final long redisSingleFlightMaxWaitMillis) {
+        this.redisSingleFlightMaxWaitMillis = redisSingleFlightMaxWaitMillis;
+    }
+
+    public long getRedisSingleFlightPollIntervalMillis() {
+        return redisSingleFlightPollIntervalMillis;
+    }
+
+    public void setRedisSingleFlightPollIntervalMillis(final long redisSingleFlightPollIntervalMillis) {
+        this.redisSingleFlightPollIntervalMillis = redisSingleFlightPollIntervalMillis;
+    }
+
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimitEnabled;
+    }
+
+    public void setConcurrencyLimitEnabled(final boolean concurrencyLimitEnabled) {
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    public int getConcurrencyLimitInitial() {
+        return concurrencyLimitInitial;
+    }
+
+    public void setConcurrencyLimitInitial(final int concurrencyLimitInitial) {
+        this.concurrencyLimitInitial = concurrencyLimitInitial;
+    }
+
+    public int getConcurrencyLimitMin() {
+        return concurrencyLimitMin;
+    }
+
+    public void setConcurrencyLimitMin(final int concurrencyLimitMin) {
+        this.concurrencyLimitMin = concurrencyLimitMin;
+    }
+
+    public int getConcurrencyLimitMax() {
+        return concurrencyLimitMax;
+    }
+
+    public void setConcurrencyLimitMax(final int concurrencyLimitMax) {
+        this.concurrencyLimitMax = concurrencyLimitMax;
+    }
+
+    public long getConcurrencyLimitMaxQueueWaitMillis() {
+        return concurrencyLimitMaxQueueWaitMillis;
+    }
+
+    public void setConcurrencyLimitMaxQueueWaitMillis(final long concurrencyLimitMaxQueueWaitMillis) {
+        this.concurrencyLimitMaxQueueWaitMillis = concurrencyLimitMaxQueueWaitMillis;
+    }
+
+    public ApiVersion getApiVersion() {
+        return apiVersion;
+    }
+
+    public void setApiVersion(final ApiVersion apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(final WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public boolean isBatchingEnabled() {
+        return batchingEnabled;
+    }
+
+    public void setBatchingEnabled(final boolean batchingEnabled) {
+        this.batchingEnabled = batchingEnabled;
+    }
+
+    public int getBatchingMaxSize() {
+        return batchingMaxSize;
+    }
+
+    public void setBatchingMaxSize(final int batchingMaxSize) {
+        this.batchingMaxSize = batchingMaxSize;
+    }
+
+    public long getBatchingMaxDelayMillis() {
+        return batchingMaxDelayMillis;
+    }
+
+    public void setBatchingMaxDelayMillis(final long batchingMaxDelayMillis) {
+        this.batchingMaxDelayMillis = batchingMaxDelayMillis;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(final double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getRetryMinPerSecond() {
+        return retryMinPerSecond;
+    }
+
+    public void setRetryMinPerSecond(final int retryMinPerSecond) {
+        this.retryMinPerSecond = retryMinPerSecond;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return retryInitialBackoffMillis;
+    }
+
+    public void setRetryInitialBackoffMillis(final long retryInitialBackoffMillis) {
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    public long getRetryMaxBackoffMillis() {
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(final long retryMaxBackoffMillis) {
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    public List<AuthServiceEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(final List<AuthServiceEndpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public boolean isEndpointDiscoveryEnabled() {
+        return endpointDiscoveryEnabled;
+    }
+
+    public void setEndpointDiscoveryEnabled(final boolean endpointDiscoveryEnabled) {
+        this.endpointDiscoveryEnabled = endpointDiscoveryEnabled;
+    }
+
+    public String getEndpointsFile() {
+        return endpointsFile;
+    }
+
+    public void setEndpointsFile(final String endpointsFile) {
+        this.endpointsFile = endpointsFile;
+    }
+
+    public long getEndpointsRefreshIntervalMillis() {
+        return endpointsRefreshIntervalMillis;
+    }
+
+    public void setEndpointsRefreshIntervalMillis(final long endpointsRefreshIntervalMillis) {
+        this.endpointsRefreshIntervalMillis = endpointsRefreshIntervalMillis;
+    }
+
+    public long getEndpointsProbeIntervalMillis() {
+        return endpointsProbeIntervalMillis;
+    }
+
+    public void setEndpointsProbeIntervalMillis(final long endpointsProbeIntervalMillis) {
+        this.endpointsProbeIntervalMillis = endpointsProbeIntervalMillis;
+    }
+
+    public long getEndpointsProbeTimeoutMillis() {
+        return endpointsProbeTimeoutMillis;
+    }
+
+    public void setEndpointsProbeTimeoutMillis(final long endpointsProbeTimeoutMillis) {
+        this.endpointsProbeTimeoutMillis = endpointsProbeTimeoutMillis;
+    }
+
+    public String getEndpointsHealthCheckPath() {
+        return endpointsHealthCheckPath;
+    }
+
+    public void setEndpointsHealthCheckPath(final String endpointsHealthCheckPath) {
+        this.endpointsHealthCheckPath = endpointsHealthCheckPath;
+    }
+
+    public int getEndpointsUnhealthyThreshold() {
+        return endpointsUnhealthyThreshold;
+    }
+
+    public void setEndpointsUnhealthyThreshold(final int endpointsUnhealthyThreshold) {
+        this.endpointsUnhealthyThreshold = endpointsUnhealthyThreshold;
+    }
+
+    public boolean isTracingEnabled() {
+        return tracingEnabled;
+    }
+
+    public void setTracingEnabled(final boolean tracingEnabled) {
+        this.tracingEnabled = tracingEnabled;
+    }
+
+    public boolean isRevocationFilterEnabled() {
+        return revocationFilterEnabled;
+    }
+
+    public void setRevocationFilterEnabled(final boolean revocationFilterEnabled) {
+        this.revocationFilterEnabled = revocationFilterEnabled;
+    }
+
+    public long getRevocationFilterExpectedRevocations() {
+        return revocationFilterExpectedRevocations;
+    }
+
+    public void setRevocationFilterExpectedRevocations(final long revocationFilterExpectedRevocations) {
+        this.revocationFilterExpectedRevocations = revocationFilterExpectedRevocations;
+    }
+
+    public double getRevocationFilterFalsePositiveProbability() {
+        return revocationFilterFalsePositiveProbability;
+    }
+
+    public void setRevocationFilterFalsePositiveProbability(final double revocationFilterFalsePositiveProbability) {
+        this.revocationFilterFalsePositiveProbability = revocationFilterFalsePositiveProbability;
+    }
+
+    public long getRevocationFilterRetentionSeconds() {
+        return revocationFilterRetentionSeconds;
+    }
+
+    public void setRevocationFilterRetentionSeconds(final long revocationFilterRetentionSeconds) {
+        this.revocationFilterRetentionSeconds = revocationFilterRetentionSeconds;
+    }
+
+    public boolean isTtlPolicyEnabled() {
+        return ttlPolicyEnabled;
+    }
+
+    public void setTtlPolicyEnabled(final boolean ttlPolicyEnabled) {
+        this.ttlPolicyEnabled = ttlPolicyEnabled;
+    }
+
+    public long getTtlMaxSeconds() {
+        return ttlMaxSeconds;
+    }
+
+    public void setTtlMaxSeconds(final long ttlMaxSeconds) {
+        this.ttlMaxSeconds = ttlMaxSeconds;
+    }
+
+    public double getTtlJitter() {
+        return ttlJitter;
+    }
+
+    public void setTtlJitter(final double ttlJitter) {
+        this.ttlJitter = ttlJitter;
+    }
+
+    public long getTtlMinRemainingLifetimeSeconds() {
+        return ttlMinRemainingLifetimeSeconds;
+    }
+
+    public void setTtlMinRemainingLifetimeSeconds(final long ttlMinRemainingLifetimeSeconds) {
+        this.ttlMinRemainingLifetimeSeconds = ttlMinRemainingLifetimeSeconds;
+    }
+
+    public long getTtlNegativeSeconds() {
+        return ttlNegativeSeconds;
+    }
+
+    public void setTtlNegativeSeconds(final long ttlNegativeSeconds) {
+        this.ttlNegativeSeconds = ttlNegativeSeconds;
+    }
+
+    public int getTtlNegativeMaxEntries() {
+        return ttlNegativeMaxEntries;
+    }
+
+    public void setTtlNegativeMaxEntries(final int ttlNegativeMaxEntries) {
+        this.ttlNegativeMaxEntries = ttlNegativeMaxEntries;
+    }
+
+    public boolean isSlidingExpiryEnabled() {
+        return slidingExpiryEnabled;
+    }
+
+    public void setSlidingExpiryEnabled(final boolean slidingExpiryEnabled) {
+        this.slidingExpiryEnabled = slidingExpiryEnabled;
+    }
+
+    public long getSlidingExpiryIdleTimeoutSeconds() {
+        return slidingExpiryIdleTimeoutSeconds;
+    }
+
+    public void setSlidingExpiryIdleTimeoutSeconds(final long slidingExpiryIdleTimeoutSeconds) {
+        this.slidingExpiryIdleTimeoutSeconds = slidingExpiryIdleTimeoutSeconds;
+    }
+
+    public long getSlidingExpiryMaxLifetimeSeconds() {
+        return slidingExpiryMaxLifetimeSeconds;
+    }
+
+    public void setSlidingExpiryMaxLifetimeSeconds(final long slidingExpiryMaxLifetimeSeconds) {
+        this.slidingExpiryMaxLifetimeSeconds = slidingExpiryMaxLifetimeSeconds;
+    }
+
+    public String getCacheProvider() {
+        return cacheProvider;
+    }
+
+    public void setCacheProvider(final String cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    public String getHttpClientProvider() {
+        return httpClientProvider;
+    }
+
+    public void setHttpClientProvider(final String httpClientProvider) {
+        this.httpClientProvider = httpClientProvider;
+    }
+
+    /**
+     * Validates whether the Redis connection properties are properly set.
+     *
+     * @return <code>true</code> if the Redis host is not null or blank, and the Redis port is greater than 0;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateRedisConnectionProperties() {
+        return this.redisHost != null &&
+                !this.redisHost.isBlank() &&
+                this.redisPort > 0;
+    }
+
+    /**
+     * Validates the Redis connection pool configuration.
+     *
+     * @return <code>true</code> if all connection pool settings are greater than 0;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateRedisConnectionPoolConfig() {
+        return this.redisConnectionPoolMaxTotal > 0 &&
+                this.redisConnectionPoolMaxIdle > 0 &&
+                this.redisConnectionPoolMinIdle > 0;
+    }
+
+    /**
+     * Validates the pipelined Redis connection mode configuration.
+     *
+     * @return <code>true</code> if all pipelined connection mode settings are greater than 0;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateRedisPipelineConfig() {
+        return this.redisPipelineConnections > 0 &&
+                this.redisPipelineMaxBatchSize > 0 &&
+                this.redisPipelineCommandTimeoutMillis > 0;
+    }
+
+    /**
+     * Validates the cross-node invalidation stream configuration.
+     *
+     * @return <code>true</code> if the stream key is not null or blank, and the max length is greater than 0;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateInvalidationStreamConfig() {
+        return this.invalidationStreamKey != null &&
+                !this.invalidationStreamKey.isBlank() &&
+                this.invalidationStreamMaxLength > 0;
+    }
+
+    /**
+     * Validates the warm-restart snapshot configuration.
+     *
+     * @return <code>true</code> if the snapshot file is not null or blank, and the interval is not negative;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateSnapshotConfig() {
+        return this.snapshotFile != null &&
+                !this.snapshotFile.isBlank() &&
+                this.snapshotIntervalSeconds >= 0;
+    }
+
+    /**
+     * Validates the degraded mode configuration of the Redis cache strategies.
+     *
+     * @return <code>true</code> if the fallback cache size and the minimum backoff are greater than 0, and the
+     * maximum backoff is not lower than the minimum backoff; <code>false</code> otherwise.
+     */
+    public boolean validateRedisFallbackConfig() {
+        return this.redisFallbackMaxUsers > 0 &&
+                this.redisReconnectMinBackoffMillis > 0 &&
+                this.redisReconnectMaxBackoffMillis >= this.redisReconnectMinBackoffMillis;
+    }
+
+    /**
+     * Validates the adaptive concurrency limit configuration.
+     *
+     * @return <code>true</code> if the limits are greater than 0, the minimum limit is not greater than the maximum
+     * limit, and the queue wait is not negative; <code>false</code> otherwise.
+     */
+    public boolean validateConcurrencyLimitConfig() {
+        return this.concurrencyLimitInitial > 0 &&
+                this.concurrencyLimitMin > 0 &&
+                this.concurrencyLimitMin <= this.concurrencyLimitMax &&
+                this.concurrencyLimitMaxQueueWaitMillis >= 0;
+    }
+
+    /**
+     * Validates the micro-batching configuration.
+     *
+     * @return <code>true</code> if the batch size is greater than 0 and the batch delay is not negative;
+     * <code>false</code> otherwise.
+     */
+    public boolean validateBatchingConfig() {
+        return this.batchingMaxSize > 0 && this.batchingMaxDelayMillis >= 0;
+    }
+
+    /**
+     * Validates the retry budget and backoff configuration.
+     *
+     * @return <code>true</code> if the budget ratio, retries per second and backoffs are not negative, and the
+     * maximum backoff is not lower than the initial backoff; <code>false</code> otherwise.
+     */
+    public boolean validateRetryConfig() {
+        return this.retryBudgetRatio >= 0 &&
+                this.retryMinPerSecond >= 0 &&
+                this.retryInitialBackoffMillis >= 0 &&
+                this.retryMaxBackoffMillis >= this.retryInitialBackoffMillis;
+    }
+
+    /**
+     * Validates the read replica configuration.
+     *
+     * @return <code>true</code> if at least one replica is configured, every replica has a host and a port greater
+     * than 0, the max lag is not negative and the check interval is greater than 0; <code>false</code> otherwise.
+     */
+    public boolean validateRedisReplicaConfig() {
+        return this.redisReplicas != null && !this.redisReplicas.isEmpty() &&
+                this.redisReplicas.stream().allMatch(replica ->
+                        replica != null &&
+                                replica.host() != null && !replica.host().isBlank() &&
+                                replica.port() > 0) &&
+                this.redisReplicaMaxLagMillis >= 0 &&
+                this.redisReplicaCheckIntervalMillis > 0;
+    }
+
+    /**
+     * Validates the single-flight configuration.
+     *
+     * @return <code>true</code> if the lease TTL and the poll interval are greater than 0 and the max wait is not
+     * negative; <code>false</code> otherwise.
+     */
+    public boolean validateRedisSingleFlightConfig() {
+        return this.redisSingleFlightLeaseTtlMillis > 0 &&
+                this.redisSingleFlightMaxWaitMillis >= 0 &&
+                this.redisSingleFlightPollIntervalMillis > 0;
+    }
+
+    /**
+     * Validates the registered auth-service endpoints.
+     *
+     * @return <code>true</code> if every endpoint has a scheme and a host which are not blank, and a port greater
+     * than 0; <code>false</code> otherwise.
+     */
+    public boolean validateEndpoints() {
+        return this.endpoints != null && this.endpoints.stream().allMatch(endpoint ->
+                endpoint != null &&
+                        endpoint.scheme() != null && !endpoint.scheme().isBlank() &&
+                        endpoint.host() != null && !endpoint.host().isBlank() &&
+                        endpoint.port() > 0);
+    }
+
+    /**
+     * Validates the endpoint discovery configuration.
+     *
+     * @return <code>true</code> if the intervals and the probe timeout are greater than 0, and the unhealthy
+     * threshold is greater than 0; <code>false</code> otherwise.
+     */
+    public boolean validateEndpointDiscoveryConfig() {
+        return this.endpointsRefreshIntervalMillis > 0 &&
+                this.endpointsProbeIntervalMillis > 0 &&
+                this.endpointsProbeTimeoutMillis > 0 &&
+                this.endpointsUnhealthyThreshold > 0;
+    }
+
+    /**
+     * Validates the revocation filter configuration.
+     *
+     * @return <code>true</code> if the expected revocations and the retention are greater than 0, and the false
+     * positive probability is between 0 and 1 (exclusive); <code>false</code> otherwise.
+     */
+    public boolean validateRevocationFilterConfig() {
+        return this.revocationFilterExpectedRevocations > 0 &&
+                this.revocationFilterFalsePositiveProbability > 0 &&
+                this.revocationFilterFalsePositiveProbability < 1 &&
+                this.revocationFilterRetentionSeconds > 0;
+    }
+
+    /**
+     * Validates the TTL policy configuration.
+     *
+     * @return <code>true</code> if the maximum TTL and the maximum number of negative entries are greater than 0, the
+     * jitter is between 0 (inclusive) and 1 (exclusive), and the minimum remaining lifetime and the negative TTL are
+     * not negative; <code>false</code> otherwise.
+     */
+    public boolean validateTtlPolicyConfig() {
+        return this.ttlMaxSeconds > 0 &&
+                this.ttlJitter >= 0 &&
+                this.ttlJitter < 1 &&
+                this.ttlMinRemainingLifetimeSeconds >= 0 &&
+                this.ttlNegativeSeconds >= 0 &&
+                this.ttlNegativeMaxEntries > 0;
+    }
+
+    /**
+     * Validates the sliding expiry configuration.
+     *
+     * @return <code>true</code> if the idle timeout is greater than 0 and the maximum lifetime is not less than the
+     * idle timeout; <code>false</code> otherwise.
+     */
+    public boolean validateSlidingExpiryConfig() {
+        return this.slidingExpiryIdleTimeoutSeconds > 0 &&
+                this.slidingExpiryMaxLifetimeSeconds >= this.slidingExpiryIdleTimeoutSeconds;
     }
 
     @Override
@@ -142,6 +1352,66 @@ public class AuthClientProperties {
                 ", redisConnectionPoolMaxTotal=" + redisConnectionPoolMaxTotal +
                 ", redisConnectionPoolMaxIdle=" + redisConnectionPoolMaxIdle +
                 ", redisConnectionPoolMinIdle=" + redisConnectionPoolMinIdle +
+                ", redisKeyPrefix='" + redisKeyPrefix + '\'' +
+                ", redisLegacyKeysEnabled=" + redisLegacyKeysEnabled +
+                ", redisPipelined=" + redisPipelined +
+                ", redisPipelineConnections=" + redisPipelineConnections +
+                ", redisPipelineMaxBatchSize=" + redisPipelineMaxBatchSize +
+                ", redisPipelineCommandTimeoutMillis=" + redisPipelineCommandTimeoutMillis +
+                ", maxSessionsPerUser=" + maxSessionsPerUser +
+                ", invalidationStreamEnabled=" + invalidationStreamEnabled +
+                ", invalidationStreamKey='" + invalidationStreamKey + '\'' +
+                ", invalidationStreamMaxLength=" + invalidationStreamMaxLength +
+                ", snapshotFile='" + snapshotFile + '\'' +
+                ", snapshotIntervalSeconds=" + snapshotIntervalSeconds +
+                ", redisFallbackMaxUsers=" + redisFallbackMaxUsers +
+                ", redisReconnectMinBackoffMillis=" + redisReconnectMinBackoffMillis +
+                ", redisReconnectMaxBackoffMillis=" + redisReconnectMaxBackoffMillis +
+                ", redisReplicas=" + redisReplicas +
+                ", redisReplicaMaxLagMillis=" + redisReplicaMaxLagMillis +
+                ", redisReplicaCheckIntervalMillis=" + redisReplicaCheckIntervalMillis +
+                ", redisSingleFlightEnabled=" + redisSingleFlightEnabled +
+                ", redisSingleFlightLeaseTtlMillis=" + redisSingleFlightLeaseTtlMillis +
+                ", redisSingleFlightMaxWaitMillis=" + redisSingleFlightMaxWaitMillis +
+                ", redisSingleFlightPollIntervalMillis=" + redisSingleFlightPollIntervalMillis +
+                ", concurrencyLimitEnabled=" + concurrencyLimitEnabled +
+                ", concurrencyLimitInitial=" + concurrencyLimitInitial +
+                ", concurrencyLimitMin=" + concurrencyLimitMin +
+                ", concurrencyLimitMax=" + concurrencyLimitMax +
+                ", concurrencyLimitMaxQueueWaitMillis=" + concurrencyLimitMaxQueueWaitMillis +
+                ", apiVersion=" + apiVersion +
+                ", wireFormat=" + wireFormat +
+                ", batchingEnabled=" + batchingEnabled +
+                ", batchingMaxSize=" + batchingMaxSize +
+                ", batchingMaxDelayMillis=" + batchingMaxDelayMillis +
+                ", retryBudgetRatio=" + retryBudgetRatio +
+                ", retryMinPerSecond=" + retryMinPerSecond +
+                ", retryInitialBackoffMillis=" + retryInitialBackoffMillis +
+                ", retryMaxBackoffMillis=" + retryMaxBackoffMillis +
+                ", endpoints=" + endpoints +
+                ", endpointDiscoveryEnabled=" + endpointDiscoveryEnabled +
+                ", endpointsFile='" + endpointsFile + '\'' +
+                ", endpointsRefreshIntervalMillis=" + endpointsRefreshIntervalMillis +
+                ", endpointsProbeIntervalMillis=" + endpointsProbeIntervalMillis +
+                ", endpointsProbeTimeoutMillis=" + endpointsProbeTimeoutMillis +
+                ", endpointsHealthCheckPath='" + endpointsHealthCheckPath + '\'' +
+                ", endpointsUnhealthyThreshold=" + endpointsUnhealthyThreshold +
+                ", tracingEnabled=" + tracingEnabled +
+                ", revocationFilterEnabled=" + revocationFilterEnabled +
+                ", revocationFilterExpectedRevocations=" + revocationFilterExpectedRevocations +
+                ", revocationFilterFalsePositiveProbability=" + revocationFilterFalsePositiveProbability +
+                ", revocationFilterRetentionSeconds=" + revocationFilterRetentionSeconds +
+                ", ttlPolicyEnabled=" + ttlPolicyEnabled +
+                ", ttlMaxSeconds=" + ttlMaxSeconds +
+                ", ttlJitter=" + ttlJitter +
+                ", ttlMinRemainingLifetimeSeconds=" + ttlMinRemainingLifetimeSeconds +
+                ", ttlNegativeSeconds=" + ttlNegativeSeconds +
+                ", ttlNegativeMaxEntries=" + ttlNegativeMaxEntries +
+                ", slidingExpiryEnabled=" + slidingExpiryEnabled +
+                ", slidingExpiryIdleTimeoutSeconds=" + slidingExpiryIdleTimeoutSeconds +
+                ", slidingExpiryMaxLifetimeSeconds=" + slidingExpiryMaxLifetimeSeconds +
+                ", cacheProvider='" + cacheProvider + '\'' +
+                ", httpClientProvider='" + httpClientProvider + '\'' +
                 '}';
     }
 
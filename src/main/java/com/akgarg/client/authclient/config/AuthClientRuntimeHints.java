@@ -0,0 +1,62 @@
+package com.akgarg.client.authclient.config;
+
+import com.akgarg.client.authclient.cache.RedisStatus;
+import com.akgarg.client.authclient.common.AuthClientStatistics;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.AuthServiceResponse;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.BulkAuthServiceRequest;
+import com.akgarg.client.authclient.common.BulkAuthServiceResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+
+/**
+ * Registers the runtime hints the client needs in a GraalVM native image built with Spring AOT.
+ * <p>
+ * The auth-service payloads are mapped by Jackson through reflection, sessions are stored in Redis with Java
+ * serialization, and {@link AuthClientProperties} is bound through reflection, including its nested endpoint and
+ * replica records. The same metadata is shipped under {@code META-INF/native-image} for native images built
+ * without Spring AOT. The statistics returned by the actuator endpoint are serialized by Jackson as well, and only
+ * need hints with Spring AOT.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class AuthClientRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+        for (final var payloadType : new Class<?>[]{
+                AuthServiceRequest.class,
+                AuthServiceResponse.class,
+                BulkAuthServiceRequest.class,
+                BulkAuthServiceResponse.class
+        }) {
+            hints.reflection().registerType(
+                    payloadType,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS
+            );
+        }
+
+        // serialized by the actuator endpoint
+        for (final var statisticsType : new Class<?>[]{
+                AuthClientStatistics.class,
+                AuthClientStatistics.EndpointStatistics.class,
+                RedisStatus.class
+        }) {
+            hints.reflection().registerType(statisticsType, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.serialization()
+                .registerType(AuthToken.class)
+                .registerType(String.class);
+
+        BindableRuntimeHintsRegistrar.forTypes(AuthClientProperties.class).registerHints(hints, classLoader);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the micro-batching of concurrent auth-service calls.
+ * <p>
+ * Cache misses validated at the same time are gathered for at most {@code maxDelay}, or until {@code maxBatchSize}
+ * requests are gathered, and sent together to the bulk validation endpoint of the auth-service, so a burst of misses
+ * costs a few calls instead of one call per token.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code maxBatchSize} - Maximum number of requests sent in a single call.</li>
+ * <li>{@code maxDelay} - Maximum time the first request of a batch waits for other requests.</li>
+ * </ul>
+ *
+ * @param maxBatchSize the maximum number of requests sent in a single call
+ * @param maxDelay     the maximum time a request waits for other requests
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record BatchingConfigs(int maxBatchSize, Duration maxDelay) {
+
+    /**
+     * The default maximum number of requests sent in a single call.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    /**
+     * The default maximum time in milliseconds a request waits for other requests.
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2;
+
+    /**
+     * Creates a {@code BatchingConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code maxBatchSize} = {@value #DEFAULT_MAX_BATCH_SIZE}</li>
+     * <li>{@code maxDelay} = {@value #DEFAULT_MAX_DELAY_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code BatchingConfigs} instance with default configurations
+     */
+    public static BatchingConfigs withDefaults() {
+        return new BatchingConfigs(DEFAULT_MAX_BATCH_SIZE, Duration.ofMillis(DEFAULT_MAX_DELAY_MILLIS));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the adaptive concurrency limit of outbound auth-service calls.
+ * <p>
+ * The number of concurrent auth-service calls is capped by a limit which is adjusted from the observed latency:
+ * it grows additively while latency stays close to the lowest recently observed latency, and shrinks
+ * multiplicatively when latency rises or calls fail. Calls exceeding the limit wait up to {@code maxQueueWait}
+ * for a free slot and are then rejected.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code initialLimit} - Concurrency limit used until enough calls have been observed.</li>
+ * <li>{@code minLimit} - Lower bound of the concurrency limit.</li>
+ * <li>{@code maxLimit} - Upper bound of the concurrency limit.</li>
+ * <li>{@code maxQueueWait} - Maximum time a call waits for a free slot, zero to reject immediately.</li>
+ * </ul>
+ *
+ * @param initialLimit the initial concurrency limit
+ * @param minLimit     the lower bound of the concurrency limit
+ * @param maxLimit     the upper bound of the concurrency limit
+ * @param maxQueueWait the maximum time to wait for a free slot
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record ConcurrencyLimitConfigs(int initialLimit, int minLimit, int maxLimit, Duration maxQueueWait) {
+
+    /**
+     * The default initial concurrency limit.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * The default lower bound of the concurrency limit.
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * The default upper bound of the concurrency limit.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 200;
+
+    /**
+     * The default maximum time in milliseconds a call waits for a free slot.
+     */
+    public static final long DEFAULT_MAX_QUEUE_WAIT_MILLIS = 25;
+
+    /**
+     * Creates a {@code ConcurrencyLimitConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code initialLimit} = {@value #DEFAULT_INITIAL_LIMIT}</li>
+     * <li>{@code minLimit} = {@value #DEFAULT_MIN_LIMIT}</li>
+     * <li>{@code maxLimit} = {@value #DEFAULT_MAX_LIMIT}</li>
+     * <li>{@code maxQueueWait} = {@value #DEFAULT_MAX_QUEUE_WAIT_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code ConcurrencyLimitConfigs} instance with default configurations
+     */
+    public static ConcurrencyLimitConfigs withDefaults() {
+        return new ConcurrencyLimitConfigs(
+                DEFAULT_INITIAL_LIMIT,
+                DEFAULT_MIN_LIMIT,
+                DEFAULT_MAX_LIMIT,
+                Duration.ofMillis(DEFAULT_MAX_QUEUE_WAIT_MILLIS)
+        );
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for reloading the registered auth-service endpoints and probing their health in the
+ * background.
+ * <p>
+ * The endpoint source is polled every {@code refreshInterval}; added endpoints join the rotation once they passed a
+ * health probe, removed endpoints leave it right away. Every endpoint is probed every {@code probeInterval} with an
+ * HTTP {@code GET} on {@code healthCheckPath}, answered with a {@code 2xx} status by healthy endpoints. Without a
+ * health check path, the root path is requested and any HTTP response counts as healthy. An endpoint leaves the
+ * rotation after {@code unhealthyThreshold} consecutive failed probes and joins it again after one successful probe.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code refreshInterval} - Interval between two reloads of the endpoint source.</li>
+ * <li>{@code probeInterval} - Interval between two health probes of an endpoint.</li>
+ * <li>{@code probeTimeout} - Timeout of a health probe.</li>
+ * <li>{@code healthCheckPath} - Path of the health check, or null to only check that the endpoint answers HTTP.</li>
+ * <li>{@code unhealthyThreshold} - Consecutive failed probes taking an endpoint out of rotation.</li>
+ * </ul>
+ *
+ * @param refreshInterval    the interval between two reloads of the endpoint source
+ * @param probeInterval      the interval between two health probes of an endpoint
+ * @param probeTimeout       the timeout of a health probe
+ * @param healthCheckPath    the path of the health check, may be null
+ * @param unhealthyThreshold the consecutive failed probes taking an endpoint out of rotation
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record EndpointDiscoveryConfigs(
+        Duration refreshInterval,
+        Duration probeInterval,
+        Duration probeTimeout,
+        String healthCheckPath,
+        int unhealthyThreshold
+) {
+
+    /**
+     * The default interval in milliseconds between two reloads of the endpoint source.
+     */
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 10_000;
+
+    /**
+     * The default interval in milliseconds between two health probes of an endpoint.
+     */
+    public static final long DEFAULT_PROBE_INTERVAL_MILLIS = 5000;
+
+    /**
+     * The default timeout in milliseconds of a health probe.
+     */
+    public static final long DEFAULT_PROBE_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * The default number of consecutive failed probes taking an endpoint out of rotation.
+     */
+    public static final int DEFAULT_UNHEALTHY_THRESHOLD = 2;
+
+    /**
+     * Creates an {@code EndpointDiscoveryConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code refreshInterval} = {@value #DEFAULT_REFRESH_INTERVAL_MILLIS} milliseconds</li>
+     * <li>{@code probeInterval} = {@value #DEFAULT_PROBE_INTERVAL_MILLIS} milliseconds</li>
+     * <li>{@code probeTimeout} = {@value #DEFAULT_PROBE_TIMEOUT_MILLIS} milliseconds</li>
+     * <li>{@code healthCheckPath} = null</li>
+     * <li>{@code unhealthyThreshold} = {@value #DEFAULT_UNHEALTHY_THRESHOLD}</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code EndpointDiscoveryConfigs} instance with default configurations
+     */
+    public static EndpointDiscoveryConfigs withDefaults() {
+        return new EndpointDiscoveryConfigs(
+                Duration.ofMillis(DEFAULT_REFRESH_INTERVAL_MILLIS),
+                Duration.ofMillis(DEFAULT_PROBE_INTERVAL_MILLIS),
+                Duration.ofMillis(DEFAULT_PROBE_TIMEOUT_MILLIS),
+                null,
+                DEFAULT_UNHEALTHY_THRESHOLD
+        );
+    }
+
+}
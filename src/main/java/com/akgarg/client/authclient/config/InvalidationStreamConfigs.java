@@ -0,0 +1,48 @@
+package com.akgarg.client.authclient.config;
+
+/**
+ * Configuration class for the cross-node invalidation stream of the in-memory cache strategy.
+ * <p>
+ * When enabled, token removals and revocations on one node are published to a Redis Stream, and every node's
+ * in-memory cache consumes the stream to drop the same entries locally.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code streamKey} - Redis key of the invalidation stream.</li>
+ * <li>{@code maxLength} - Approximate maximum number of entries retained in the stream.</li>
+ * </ul>
+ *
+ * @param streamKey the Redis key of the invalidation stream
+ * @param maxLength the approximate maximum number of entries retained in the stream
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record InvalidationStreamConfigs(String streamKey, long maxLength) {
+
+    /**
+     * The default Redis key of the invalidation stream.
+     */
+    public static final String DEFAULT_STREAM_KEY = "auth_client:invalidations";
+
+    /**
+     * The default approximate maximum number of entries retained in the stream.
+     */
+    public static final long DEFAULT_MAX_LENGTH = 100_000;
+
+    /**
+     * Creates an {@code InvalidationStreamConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code streamKey} = {@value #DEFAULT_STREAM_KEY}</li>
+     * <li>{@code maxLength} = {@value #DEFAULT_MAX_LENGTH}</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code InvalidationStreamConfigs} instance with default configurations
+     */
+    public static InvalidationStreamConfigs withDefaults() {
+        return new InvalidationStreamConfigs(DEFAULT_STREAM_KEY, DEFAULT_MAX_LENGTH);
+    }
+
+}
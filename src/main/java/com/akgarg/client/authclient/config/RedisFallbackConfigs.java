@@ -0,0 +1,62 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the degraded mode of the Redis cache strategies.
+ * <p>
+ * While Redis is unreachable, cache operations are served by a bounded local cache and the connection is
+ * re-established in the background with exponential backoff.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code maxUsers} - Maximum number of users held by the local fallback cache.</li>
+ * <li>{@code minReconnectBackoff} - Delay before the first reconnection attempt.</li>
+ * <li>{@code maxReconnectBackoff} - Upper bound of the delay between reconnection attempts.</li>
+ * </ul>
+ *
+ * @param maxUsers            the maximum number of users held by the local fallback cache
+ * @param minReconnectBackoff the delay before the first reconnection attempt
+ * @param maxReconnectBackoff the upper bound of the delay between reconnection attempts
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record RedisFallbackConfigs(int maxUsers, Duration minReconnectBackoff, Duration maxReconnectBackoff) {
+
+    /**
+     * The default maximum number of users held by the local fallback cache.
+     */
+    public static final int DEFAULT_MAX_USERS = 10_000;
+
+    /**
+     * The default delay in milliseconds before the first reconnection attempt.
+     */
+    public static final long DEFAULT_MIN_RECONNECT_BACKOFF_MILLIS = 500;
+
+    /**
+     * The default upper bound in milliseconds of the delay between reconnection attempts.
+     */
+    public static final long DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Creates a {@code RedisFallbackConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code maxUsers} = {@value #DEFAULT_MAX_USERS}</li>
+     * <li>{@code minReconnectBackoff} = {@value #DEFAULT_MIN_RECONNECT_BACKOFF_MILLIS} milliseconds</li>
+     * <li>{@code maxReconnectBackoff} = {@value #DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code RedisFallbackConfigs} instance with default configurations
+     */
+    public static RedisFallbackConfigs withDefaults() {
+        return new RedisFallbackConfigs(
+                DEFAULT_MAX_USERS,
+                Duration.ofMillis(DEFAULT_MIN_RECONNECT_BACKOFF_MILLIS),
+                Duration.ofMillis(DEFAULT_MAX_RECONNECT_BACKOFF_MILLIS)
+        );
+    }
+
+}
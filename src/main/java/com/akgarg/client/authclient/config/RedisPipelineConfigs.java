@@ -0,0 +1,63 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the auto-pipelined Redis connection mode.
+ * <p>
+ * In pipelined mode all cache commands issued by the application threads are multiplexed over a small, fixed
+ * number of long-lived Redis connections. Each connection owns a writer thread that drains pending commands
+ * and flushes them to Redis as a single pipeline.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code connections} - Number of long-lived Redis connections commands are multiplexed over.</li>
+ * <li>{@code maxBatchSize} - Maximum number of commands flushed in one pipeline.</li>
+ * <li>{@code commandTimeout} - Maximum time a caller waits for the result of a command.</li>
+ * </ul>
+ *
+ * @param connections    the number of multiplexed Redis connections
+ * @param maxBatchSize   the maximum number of commands sent in a single pipeline
+ * @param commandTimeout the maximum time to wait for a command result
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record RedisPipelineConfigs(int connections, int maxBatchSize, Duration commandTimeout) {
+
+    /**
+     * The default number of multiplexed Redis connections.
+     */
+    public static final int DEFAULT_CONNECTIONS = 4;
+
+    /**
+     * The default maximum number of commands flushed in one pipeline.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /**
+     * The default command timeout in milliseconds.
+     */
+    public static final long DEFAULT_COMMAND_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * Creates a {@code RedisPipelineConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code connections} = {@value #DEFAULT_CONNECTIONS}</li>
+     * <li>{@code maxBatchSize} = {@value #DEFAULT_MAX_BATCH_SIZE}</li>
+     * <li>{@code commandTimeout} = {@value #DEFAULT_COMMAND_TIMEOUT_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code RedisPipelineConfigs} instance with default configurations
+     */
+    public static RedisPipelineConfigs withDefaults() {
+        return new RedisPipelineConfigs(
+                DEFAULT_CONNECTIONS,
+                DEFAULT_MAX_BATCH_SIZE,
+                Duration.ofMillis(DEFAULT_COMMAND_TIMEOUT_MILLIS)
+        );
+    }
+
+}
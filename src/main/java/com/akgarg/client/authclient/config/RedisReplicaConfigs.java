@@ -0,0 +1,60 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration class for the read replicas of the Redis cache strategy.
+ * <p>
+ * Token lookups are spread across the replicas, while writes and removals go to the primary. The replication lag of
+ * every replica is checked every {@code checkInterval}; replicas lagging more than {@code maxLag} behind the primary,
+ * or failing, are left out until they catch up. The lag is measured with a heartbeat written to the primary on every
+ * check, so it is known with the precision of the check interval.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code replicas} - Connection details of the read replicas.</li>
+ * <li>{@code maxLag} - Maximum replication lag of a replica serving lookups.</li>
+ * <li>{@code checkInterval} - Interval between two replication lag checks.</li>
+ * </ul>
+ *
+ * @param replicas      the connection details of the read replicas
+ * @param maxLag        the maximum replication lag of a replica serving lookups
+ * @param checkInterval the interval between two replication lag checks
+ * @see #of(List)
+ * @since 18/10/26
+ */
+public record RedisReplicaConfigs(List<RedisConnectionConfigs> replicas, Duration maxLag, Duration checkInterval) {
+
+    /**
+     * The default maximum replication lag in milliseconds of a replica serving lookups.
+     */
+    public static final long DEFAULT_MAX_LAG_MILLIS = 1000;
+
+    /**
+     * The default interval in milliseconds between two replication lag checks.
+     */
+    public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 500;
+
+    /**
+     * Creates a {@code RedisReplicaConfigs} instance for the given replicas with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code maxLag} = {@value #DEFAULT_MAX_LAG_MILLIS} milliseconds</li>
+     * <li>{@code checkInterval} = {@value #DEFAULT_CHECK_INTERVAL_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @param replicas the connection details of the read replicas
+     * @return a new {@code RedisReplicaConfigs} instance with default configurations
+     */
+    public static RedisReplicaConfigs of(final List<RedisConnectionConfigs> replicas) {
+        return new RedisReplicaConfigs(
+                replicas,
+                Duration.ofMillis(DEFAULT_MAX_LAG_MILLIS),
+                Duration.ofMillis(DEFAULT_CHECK_INTERVAL_MILLIS)
+        );
+    }
+
+}
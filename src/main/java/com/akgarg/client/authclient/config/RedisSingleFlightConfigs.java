@@ -0,0 +1,63 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the cluster-wide single-flight of cache misses of the Redis cache strategy.
+ * <p>
+ * On a cache miss, the first node takes a short-lived Redis lease for the session and validates the token with the
+ * auth-service, while the other nodes missing the same session wait for it to be cached instead of validating it
+ * again.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code leaseTtl} - Expiration of the lease, bounding how long a crashed node can hold it.</li>
+ * <li>{@code maxWait} - Maximum time a node waits for the lease holder before validating the token itself.</li>
+ * <li>{@code pollInterval} - Delay between two lookups of the session while waiting.</li>
+ * </ul>
+ *
+ * @param leaseTtl     the expiration of the lease
+ * @param maxWait      the maximum time waited for the lease holder
+ * @param pollInterval the delay between two lookups of the session while waiting
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record RedisSingleFlightConfigs(Duration leaseTtl, Duration maxWait, Duration pollInterval) {
+
+    /**
+     * The default expiration in milliseconds of the lease.
+     */
+    public static final long DEFAULT_LEASE_TTL_MILLIS = 3000;
+
+    /**
+     * The default maximum time in milliseconds waited for the lease holder.
+     */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 1000;
+
+    /**
+     * The default delay in milliseconds between two lookups of the session while waiting.
+     */
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 20;
+
+    /**
+     * Creates a {@code RedisSingleFlightConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code leaseTtl} = {@value #DEFAULT_LEASE_TTL_MILLIS} milliseconds</li>
+     * <li>{@code maxWait} = {@value #DEFAULT_MAX_WAIT_MILLIS} milliseconds</li>
+     * <li>{@code pollInterval} = {@value #DEFAULT_POLL_INTERVAL_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code RedisSingleFlightConfigs} instance with default configurations
+     */
+    public static RedisSingleFlightConfigs withDefaults() {
+        return new RedisSingleFlightConfigs(
+                Duration.ofMillis(DEFAULT_LEASE_TTL_MILLIS),
+                Duration.ofMillis(DEFAULT_MAX_WAIT_MILLIS),
+                Duration.ofMillis(DEFAULT_POLL_INTERVAL_MILLIS)
+        );
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the retries of failed auth-service calls on other endpoints.
+ * <p>
+ * Retries are bounded by a token-bucket retry budget shared by all requests: every first call deposits
+ * {@code budgetRatio} tokens and every retry withdraws one, so retries can't exceed {@code budgetRatio} of the first
+ * calls plus a small reserve of {@code minRetriesPerSecond}. Retries wait for a jittered exponential backoff
+ * between {@code 0} and {@code initialBackoff * 2^(retry - 1)}, capped at {@code maxBackoff}.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code budgetRatio} - Ratio of retries to first calls allowed by the retry budget.</li>
+ * <li>{@code minRetriesPerSecond} - Retries per second allowed regardless of the number of first calls.</li>
+ * <li>{@code initialBackoff} - Upper bound of the backoff before the first retry.</li>
+ * <li>{@code maxBackoff} - Upper bound of the backoff before any retry.</li>
+ * </ul>
+ *
+ * @param budgetRatio         the ratio of retries to first calls
+ * @param minRetriesPerSecond the retries per second allowed regardless of the number of first calls
+ * @param initialBackoff      the upper bound of the backoff before the first retry
+ * @param maxBackoff          the upper bound of the backoff before any retry
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record RetryConfigs(double budgetRatio, int minRetriesPerSecond, Duration initialBackoff, Duration maxBackoff) {
+
+    /**
+     * The default ratio of retries to first calls.
+     */
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+    /**
+     * The default retries per second allowed regardless of the number of first calls.
+     */
+    public static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+
+    /**
+     * The default upper bound in milliseconds of the backoff before the first retry.
+     */
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 50;
+
+    /**
+     * The default upper bound in milliseconds of the backoff before any retry.
+     */
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 1000;
+
+    /**
+     * Creates a {@code RetryConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code budgetRatio} = {@value #DEFAULT_BUDGET_RATIO}</li>
+     * <li>{@code minRetriesPerSecond} = {@value #DEFAULT_MIN_RETRIES_PER_SECOND}</li>
+     * <li>{@code initialBackoff} = {@value #DEFAULT_INITIAL_BACKOFF_MILLIS} milliseconds</li>
+     * <li>{@code maxBackoff} = {@value #DEFAULT_MAX_BACKOFF_MILLIS} milliseconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code RetryConfigs} instance with default configurations
+     */
+    public static RetryConfigs withDefaults() {
+        return new RetryConfigs(
+                DEFAULT_BUDGET_RATIO,
+                DEFAULT_MIN_RETRIES_PER_SECOND,
+                Duration.ofMillis(DEFAULT_INITIAL_BACKOFF_MILLIS),
+                Duration.ofMillis(DEFAULT_MAX_BACKOFF_MILLIS)
+        );
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the local revocation filter, a Bloom filter of the digests of revoked tokens checked
+ * before a cached session is trusted.
+ * <p>
+ * Revoked tokens are remembered for at least {@code retention} and at most twice as long, so the retention should
+ * cover the longest lifetime of a token. The filter is sized to hold {@code expectedRevocations} revocations per
+ * retention period with a false positive probability of {@code falsePositiveProbability}; every false positive costs
+ * an auth-service call.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code expectedRevocations} - Expected number of revocations per retention period.</li>
+ * <li>{@code falsePositiveProbability} - False positive probability at the expected number of revocations.</li>
+ * <li>{@code retention} - Minimum time a revocation is remembered.</li>
+ * </ul>
+ *
+ * @param expectedRevocations      the expected number of revocations per retention period
+ * @param falsePositiveProbability the false positive probability at the expected number of revocations
+ * @param retention                the minimum time a revocation is remembered
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record RevocationFilterConfigs(long expectedRevocations, double falsePositiveProbability, Duration retention) {
+
+    /**
+     * The default expected number of revocations per retention period.
+     */
+    public static final long DEFAULT_EXPECTED_REVOCATIONS = 100_000;
+
+    /**
+     * The default false positive probability.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.001;
+
+    /**
+     * The default retention in seconds.
+     */
+    public static final long DEFAULT_RETENTION_SECONDS = 86_400;
+
+    /**
+     * Creates a {@code RevocationFilterConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code expectedRevocations} = {@value #DEFAULT_EXPECTED_REVOCATIONS}</li>
+     * <li>{@code falsePositiveProbability} = {@value #DEFAULT_FALSE_POSITIVE_PROBABILITY}</li>
+     * <li>{@code retention} = {@value #DEFAULT_RETENTION_SECONDS} seconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code RevocationFilterConfigs} instance with default configurations
+     */
+    public static RevocationFilterConfigs withDefaults() {
+        return new RevocationFilterConfigs(
+                DEFAULT_EXPECTED_REVOCATIONS,
+                DEFAULT_FALSE_POSITIVE_PROBABILITY,
+                Duration.ofSeconds(DEFAULT_RETENTION_SECONDS)
+        );
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the sliding expiry of cached sessions of the in-memory and Redis cache strategies.
+ * <p>
+ * Every cache hit extends the cache expiration of the session to at least the idle timeout from now, so sessions in
+ * continuous use stay cached instead of being validated again by the auth-service once their initial expiration
+ * passes. A session is never extended past its ceiling: the maximum lifetime from its validation by the
+ * auth-service, or its initial expiration if later.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code idleTimeout} - Time a session stays cached after its last use.</li>
+ * <li>{@code maxLifetime} - Maximum time a session stays cached after its validation by the auth-service.</li>
+ * </ul>
+ *
+ * @param idleTimeout the time a session stays cached after its last use
+ * @param maxLifetime the maximum time a session stays cached after its validation
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record SlidingExpiryConfigs(Duration idleTimeout, Duration maxLifetime) {
+
+    /**
+     * The default time in seconds a session stays cached after its last use.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 900;
+
+    /**
+     * The default maximum time in seconds a session stays cached after its validation.
+     */
+    public static final long DEFAULT_MAX_LIFETIME_SECONDS = 14400;
+
+    /**
+     * Creates a {@code SlidingExpiryConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code idleTimeout} = {@value #DEFAULT_IDLE_TIMEOUT_SECONDS} seconds</li>
+     * <li>{@code maxLifetime} = {@value #DEFAULT_MAX_LIFETIME_SECONDS} seconds</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code SlidingExpiryConfigs} instance with default configurations
+     */
+    public static SlidingExpiryConfigs withDefaults() {
+        return new SlidingExpiryConfigs(
+                Duration.ofSeconds(DEFAULT_IDLE_TIMEOUT_SECONDS),
+                Duration.ofSeconds(DEFAULT_MAX_LIFETIME_SECONDS)
+        );
+    }
+
+}
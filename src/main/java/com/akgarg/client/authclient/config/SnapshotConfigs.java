@@ -0,0 +1,50 @@
+package com.akgarg.client.authclient.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration class for the warm-restart snapshot of the in-memory cache.
+ * <p>
+ * When configured, live and unexpired cache entries are written to a memory-mapped snapshot file on shutdown and,
+ * optionally, periodically. On startup the snapshot is reloaded in the background so the cache is mostly warm
+ * right after a restart.
+ * </p>
+ * <p>
+ * The snapshot only holds the SHA-256 digests of the cached tokens, a restored session is matched by the digest of the
+ * looked up token. It should still be placed on a path only the application can write. With an invalidation stream,
+ * the snapshot is discarded on startup if the stream no longer retains every removal published since it was taken.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code file} - Path of the snapshot file.</li>
+ * <li>{@code interval} - Interval of the periodic snapshots, or null/zero to snapshot on shutdown only.</li>
+ * </ul>
+ *
+ * @param file     the path of the snapshot file
+ * @param interval the interval of the periodic snapshots, null or zero to snapshot on shutdown only
+ * @see #onShutdown(Path)
+ * @since 18/10/26
+ */
+public record SnapshotConfigs(Path file, Duration interval) {
+
+    /**
+     * Creates a {@code SnapshotConfigs} instance writing the snapshot on shutdown only.
+     *
+     * @param file the path of the snapshot file
+     * @return a new {@code SnapshotConfigs} instance without periodic snapshots
+     */
+    public static SnapshotConfigs onShutdown(final Path file) {
+        return new SnapshotConfigs(file, null);
+    }
+
+    /**
+     * Returns whether periodic snapshots are enabled.
+     *
+     * @return true if periodic snapshots are enabled, false otherwise
+     */
+    public boolean periodic() {
+        return interval != null && !interval.isZero() && !interval.isNegative();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.akgarg.client.authclient.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the TTL policy of cached sessions, applied to every cache strategy.
+ * <p>
+ * A session is cached until the expiration returned by the auth-service, capped at {@code maxTtl}. Up to
+ * {@code jitter} of the cached lifetime is cut off at random, so sessions validated together, e.g. in a login wave,
+ * don't all expire from the cache together. Sessions with less than {@code minRemainingLifetime} left are not cached
+ * at all. With a positive {@code negativeTtl}, tokens rejected by the auth-service are remembered locally for that
+ * long and rejected without calling the auth-service again.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code maxTtl} - Maximum time a session is cached.</li>
+ * <li>{@code jitter} - Maximum fraction of the cached lifetime cut off at random, between 0 and 1.</li>
+ * <li>{@code minRemainingLifetime} - Minimum remaining lifetime of a session for it to be cached.</li>
+ * <li>{@code negativeTtl} - Time a rejected token is remembered, zero to disable negative entries.</li>
+ * <li>{@code negativeMaxEntries} - Maximum number of rejected tokens remembered.</li>
+ * </ul>
+ *
+ * @param maxTtl               the maximum time a session is cached
+ * @param jitter               the maximum fraction of the cached lifetime cut off at random
+ * @param minRemainingLifetime the minimum remaining lifetime of a session for it to be cached
+ * @param negativeTtl          the time a rejected token is remembered, zero to disable negative entries
+ * @param negativeMaxEntries   the maximum number of rejected tokens remembered
+ * @see #withDefaults()
+ * @since 18/10/26
+ */
+public record TtlPolicyConfigs(
+        Duration maxTtl,
+        double jitter,
+        Duration minRemainingLifetime,
+        Duration negativeTtl,
+        int negativeMaxEntries
+) {
+
+    /**
+     * The default maximum time in seconds a session is cached.
+     */
+    public static final long DEFAULT_MAX_TTL_SECONDS = 3600;
+
+    /**
+     * The default maximum fraction of the cached lifetime cut off at random.
+     */
+    public static final double DEFAULT_JITTER = 0.1;
+
+    /**
+     * The default minimum remaining lifetime in seconds of a session for it to be cached.
+     */
+    public static final long DEFAULT_MIN_REMAINING_LIFETIME_SECONDS = 5;
+
+    /**
+     * The default time in seconds a rejected token is remembered, disabling negative entries.
+     */
+    public static final long DEFAULT_NEGATIVE_TTL_SECONDS = 0;
+
+    /**
+     * The default maximum number of rejected tokens remembered.
+     */
+    public static final int DEFAULT_NEGATIVE_MAX_ENTRIES = 10_000;
+
+    /**
+     * Creates a {@code TtlPolicyConfigs} instance with default values.
+     * <p>
+     * The default values are:
+     * <ul>
+     * <li>{@code maxTtl} = {@value #DEFAULT_MAX_TTL_SECONDS} seconds</li>
+     * <li>{@code jitter} = {@value #DEFAULT_JITTER}</li>
+     * <li>{@code minRemainingLifetime} = {@value #DEFAULT_MIN_REMAINING_LIFETIME_SECONDS} seconds</li>
+     * <li>{@code negativeTtl} = {@value #DEFAULT_NEGATIVE_TTL_SECONDS} seconds</li>
+     * <li>{@code negativeMaxEntries} = {@value #DEFAULT_NEGATIVE_MAX_ENTRIES}</li>
+     * </ul>
+     * </p>
+     *
+     * @return a new {@code TtlPolicyConfigs} instance with default configurations
+     */
+    public static TtlPolicyConfigs withDefaults() {
+        return new TtlPolicyConfigs(
+                Duration.ofSeconds(DEFAULT_MAX_TTL_SECONDS),
+                DEFAULT_JITTER,
+                Duration.ofSeconds(DEFAULT_MIN_REMAINING_LIFETIME_SECONDS),
+                Duration.ofSeconds(DEFAULT_NEGATIVE_TTL_SECONDS),
+                DEFAULT_NEGATIVE_MAX_ENTRIES
+        );
+    }
+
+}
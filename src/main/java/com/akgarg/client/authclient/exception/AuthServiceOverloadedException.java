@@ -0,0 +1,26 @@
+package com.akgarg.client.authclient.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when an auth-service call is rejected because the adaptive concurrency limit is reached.
+ * This class extends {@link RuntimeException}; the call was never sent to auth-service.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public class AuthServiceOverloadedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3412457189066238131L;
+
+    /**
+     * Constructs a new AuthServiceOverloadedException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public AuthServiceOverloadedException(final String message) {
+        super(message);
+    }
+
+}
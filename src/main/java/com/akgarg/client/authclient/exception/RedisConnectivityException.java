@@ -1,5 +1,7 @@
 package com.akgarg.client.authclient.exception;
 
+import java.io.Serial;
+
 /**
  * Exception thrown when there is a failure in connecting to Redis.
  * This class extends {@link RuntimeException} and provides additional details
@@ -10,6 +12,9 @@ package com.akgarg.client.authclient.exception;
  */
 public class RedisConnectivityException extends RuntimeException {
 
+    @Serial
+    private static final long serialVersionUID = 7305180364587519262L;
+
     /**
      * Constructs a new RedisConnectivityException with the specified message and cause.
      *
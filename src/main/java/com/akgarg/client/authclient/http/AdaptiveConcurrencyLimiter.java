@@ -0,0 +1,180 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.config.ConcurrencyLimitConfigs;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An AIMD (additive increase, multiplicative decrease) concurrency limiter driven by observed latency.
+ * <p>
+ * The lowest latency observed over a window of recent calls is used as the no-load baseline. A call completing
+ * within {@value #LATENCY_TOLERANCE} times the baseline while the limit is actually used grows the limit by
+ * {@code 1 / limit}, so the limit grows by about one per round trip. A failed call, or a call slower than the
+ * tolerance, shrinks the limit by {@value #BACKOFF_RATIO}, at most once per baseline latency so a burst of slow
+ * completions counts as a single congestion signal.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final int BASELINE_WINDOW_SAMPLES = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxQueueWaitNanos;
+    private final ReentrantLock lock;
+    private final Condition slotReleased;
+    private double limit;
+    private int inFlight;
+    private long baselineNanos;
+    private long windowMinNanos;
+    private int windowSamples;
+    private long lastDecreaseNanos;
+
+    /**
+     * Constructs a limiter starting at the configured initial limit.
+     *
+     * @param configs the concurrency limit configurations
+     */
+    AdaptiveConcurrencyLimiter(final ConcurrencyLimitConfigs configs) {
+        this.minLimit = configs.minLimit();
+        this.maxLimit = configs.maxLimit();
+        this.maxQueueWaitNanos = configs.maxQueueWait().toNanos();
+        this.limit = Math.min(Math.max(configs.initialLimit(), minLimit), maxLimit);
+        this.lock = new ReentrantLock();
+        this.slotReleased = lock.newCondition();
+        this.baselineNanos = Long.MAX_VALUE;
+        this.windowMinNanos = Long.MAX_VALUE;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * Acquires a slot for a call, waiting up to the configured queue wait for a free slot.
+     *
+     * @return true if a slot was acquired, false if the call must be rejected
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            var remainingNanos = maxQueueWaitNanos;
+
+            while (inFlight >= (int) limit) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = slotReleased.awaitNanos(remainingNanos);
+            }
+
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a slot for a call if one is free, without waiting.
+     *
+     * @return true if a slot was acquired, false if the call must be rejected
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot of a completed call and adjusts the limit.
+     *
+     * @param latencyNanos the latency of the call
+     * @param failed       whether the call failed
+     */
+    void release(final long latencyNanos, final boolean failed) {
+        lock.lock();
+        try {
+            final var limitUsed = inFlight * 2 >= limit;
+            inFlight--;
+
+            if (!failed) {
+                sampleLatency(latencyNanos);
+            }
+
+            if (failed || latencyNanos > baselineNanos * LATENCY_TOLERANCE) {
+                decrease();
+            } else if (limitUsed) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the current concurrency limit
+     */
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls currently holding a slot.
+     *
+     * @return the number of in-flight calls
+     */
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sampleLatency(final long latencyNanos) {
+        baselineNanos = Math.min(baselineNanos, latencyNanos);
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+
+        // let the baseline rise again once auth-service got permanently slower
+        if (++windowSamples >= BASELINE_WINDOW_SAMPLES) {
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private void decrease() {
+        final var now = System.nanoTime();
+        final var minInterval = baselineNanos == Long.MAX_VALUE ? 0 : baselineNanos;
+
+        if (now - lastDecreaseNanos < minInterval) {
+            return;
+        }
+
+        lastDecreaseNanos = now;
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+
+}
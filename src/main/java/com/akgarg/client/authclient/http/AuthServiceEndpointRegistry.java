@@ -0,0 +1,327 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.config.EndpointDiscoveryConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The set of auth-service endpoints registered once on a client, shared by all requests which don't override it.
+ * <p>
+ * Endpoints are resolved to {@link RegisteredEndpoint}s up front, so requests neither copy the endpoint list nor
+ * rebuild URIs, and per-endpoint state persists across requests.
+ * </p>
+ * <p>
+ * A registry created with {@link #dynamic} reloads its endpoints from an {@link AuthServiceEndpointSource} and
+ * probes their health in the background, see {@link EndpointDiscoveryConfigs}. Requests only see the endpoints in
+ * rotation, i.e. the healthy ones, or all registered endpoints if none of them is healthy. The endpoint lists are
+ * immutable snapshots replaced on change, so reading them never blocks.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class AuthServiceEndpointRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthServiceEndpointRegistry.class);
+    private static final AuthServiceEndpointRegistry EMPTY = new AuthServiceEndpointRegistry(null, null, 0);
+
+    private final AuthServiceHttpClient httpClient;
+    private final EndpointHealthProber prober;
+    private final int unhealthyThreshold;
+    private final ScheduledExecutorService scheduler;
+    private volatile List<RegisteredEndpoint> registeredEndpoints;
+    private volatile List<RegisteredEndpoint> endpoints;
+
+    private AuthServiceEndpointRegistry(
+            final AuthServiceHttpClient httpClient,
+            final EndpointHealthProber prober,
+            final int unhealthyThreshold
+    ) {
+        this.httpClient = httpClient;
+        this.prober = prober;
+        this.unhealthyThreshold = unhealthyThreshold;
+        this.registeredEndpoints = List.of();
+        this.endpoints = List.of();
+        this.scheduler = prober == null ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, "AuthServiceEndpointDiscovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a registry of the given endpoints, registered on the given HTTP client.
+     *
+     * @param httpClient the HTTP client calling the endpoints
+     * @param endpoints  the auth-service endpoints, duplicates are ignored
+     * @return a new {@link AuthServiceEndpointRegistry}
+     * @throws NullPointerException if {@code httpClient}, {@code endpoints} or any endpoint is null
+     */
+    public static AuthServiceEndpointRegistry of(
+            final AuthServiceHttpClient httpClient,
+            final List<AuthServiceEndpoint> endpoints
+    ) {
+        final var registry = new AuthServiceEndpointRegistry(Objects.requireNonNull(httpClient, "httpClient is null"), null, 0);
+        registry.reload(endpoints);
+        return registry;
+    }
+
+    /**
+     * Creates a registry reloading its endpoints from the given source and probing their health in the background.
+     * <p>
+     * The source is loaded once before returning; if that fails, the registry starts with {@code initialEndpoints}.
+     * </p>
+     *
+     * @param httpClient       the HTTP client calling the endpoints
+     * @param initialEndpoints the endpoints used until the source supplies endpoints
+     * @param source           the source of the endpoints
+     * @param configs          the reload and health probe configurations, defaults are used if null
+     * @return a new {@link AuthServiceEndpointRegistry}
+     * @throws NullPointerException     if {@code httpClient}, {@code initialEndpoints} or {@code source} is null
+     * @throws IllegalArgumentException if an interval or the timeout is not positive, or the unhealthy threshold
+     *                                  is not greater than 0
+     */
+    public static AuthServiceEndpointRegistry dynamic(
+            final AuthServiceHttpClient httpClient,
+            final List<AuthServiceEndpoint> initialEndpoints,
+            final AuthServiceEndpointSource source,
+            final EndpointDiscoveryConfigs configs
+    ) {
+        return dynamic(httpClient, initialEndpoints, source, configs, null);
+    }
+
+    /**
+     * Creates a registry reloading its endpoints from the given source and probing their health in the background
+     * through the given HTTP transport, e.g. the transport of the {@link DefaultAuthServiceHttpClient} calling them.
+     * <p>
+     * The source is loaded once before returning; if that fails, the registry starts with {@code initialEndpoints}.
+     * </p>
+     *
+     * @param httpClient       the HTTP client calling the endpoints
+     * @param initialEndpoints the endpoints used until the source supplies endpoints
+     * @param source           the source of the endpoints
+     * @param configs          the reload and health probe configurations, defaults are used if null
+     * @param probeTransport   the HTTP transport of the health probes, null to create one for the registry
+     * @return a new {@link AuthServiceEndpointRegistry}
+     * @throws NullPointerException     if {@code httpClient}, {@code initialEndpoints} or {@code source} is null
+     * @throws IllegalArgumentException if an interval or the timeout is not positive, or the unhealthy threshold
+     *                                  is not greater than 0
+     */
+    public static AuthServiceEndpointRegistry dynamic(
+            final AuthServiceHttpClient httpClient,
+            final List<AuthServiceEndpoint> initialEndpoints,
+            final AuthServiceEndpointSource source,
+            final EndpointDiscoveryConfigs configs,
+            final HttpClient probeTransport
+    ) {
+        Objects.requireNonNull(source, "endpoint source is null");
+        final var discoveryConfigs = configs != null ? configs : EndpointDiscoveryConfigs.withDefaults();
+
+        if (!isPositive(discoveryConfigs.refreshInterval()) ||
+                !isPositive(discoveryConfigs.probeInterval()) ||
+                !isPositive(discoveryConfigs.probeTimeout()) ||
+                discoveryConfigs.unhealthyThreshold() <= 0) {
+            throw new IllegalArgumentException("endpoint discovery intervals and timeout must be positive and unhealthy threshold greater than 0");
+        }
+
+        final var registry = new AuthServiceEndpointRegistry(
+                Objects.requireNonNull(httpClient, "httpClient is null"),
+                new EndpointHealthProber(discoveryConfigs, probeTransport),
+                discoveryConfigs.unhealthyThreshold()
+        );
+        // endpoints known at startup are in rotation right away, the first probe round follows immediately
+        registry.reload(initialEndpoints, false);
+        registry.refresh(source, false);
+
+        registry.scheduler.scheduleWithFixedDelay(
+                registry::probeAll,
+                0,
+                discoveryConfigs.probeInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        registry.scheduler.scheduleWithFixedDelay(
+                () -> registry.refresh(source, true),
+                discoveryConfigs.refreshInterval().toMillis(),
+                discoveryConfigs.refreshInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+
+        return registry;
+    }
+
+    /**
+     * Returns an empty registry, for clients whose requests always carry their endpoints.
+     *
+     * @return the empty registry
+     */
+    public static AuthServiceEndpointRegistry empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the endpoints in rotation: the healthy endpoints, or all registered endpoints if none is healthy.
+     *
+     * @return an unmodifiable snapshot of the endpoints in rotation
+     */
+    public List<RegisteredEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns all registered endpoints, healthy or not.
+     *
+     * @return an unmodifiable snapshot of the registered endpoints
+     */
+    public List<RegisteredEndpoint> registeredEndpoints() {
+        return registeredEndpoints;
+    }
+
+    /**
+     * Returns whether no endpoint is registered.
+     *
+     * @return true if there is no endpoint, false otherwise
+     */
+    public boolean isEmpty() {
+        return registeredEndpoints.isEmpty();
+    }
+
+    /**
+     * Replaces the registered endpoints. Endpoints which were already registered keep their state; in a registry
+     * probing endpoint health, added endpoints join the rotation once they passed a health probe.
+     *
+     * @param newEndpoints the new auth-service endpoints, duplicates are ignored
+     * @throws NullPointerException  if {@code newEndpoints} or any endpoint is null
+     * @throws IllegalStateException if called on the {@link #empty()} registry
+     */
+    public void reload(final List<AuthServiceEndpoint> newEndpoints) {
+        reload(newEndpoints, prober != null);
+    }
+
+    private void reload(final List<AuthServiceEndpoint> newEndpoints, final boolean probeAdded) {
+        if (httpClient == null) {
+            throw new IllegalStateException("the empty endpoint registry can't be reloaded");
+        }
+
+        final var added = new ArrayList<RegisteredEndpoint>();
+
+        synchronized (this) {
+            final var previous = new HashSet<>(registeredEndpoints);
+            final var reloaded = new ArrayList<RegisteredEndpoint>(newEndpoints.size());
+
+            for (final var endpoint : newEndpoints) {
+                final var registeredEndpoint = httpClient.register(Objects.requireNonNull(endpoint, "endpoint is null"));
+
+                if (reloaded.contains(registeredEndpoint)) {
+                    continue;
+                }
+
+                reloaded.add(registeredEndpoint);
+
+                if (!previous.remove(registeredEndpoint)) {
+                    added.add(registeredEndpoint);
+
+                    if (probeAdded) {
+                        registeredEndpoint.awaitProbe();
+                    }
+                }
+            }
+
+            for (final var removed : previous) {
+                httpClient.unregister(removed.endpoint());
+            }
+
+            if (!added.isEmpty() || !previous.isEmpty()) {
+                log.info("Auth service endpoints reloaded, added: {}, removed: {}", added, previous);
+            }
+
+            this.registeredEndpoints = Collections.unmodifiableList(reloaded);
+            updateRotation();
+        }
+
+        if (probeAdded) {
+            added.forEach(this::probe);
+        }
+    }
+
+    /**
+     * Stops reloading and probing the endpoints.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void refresh(final AuthServiceEndpointSource source, final boolean probeAdded) {
+        try {
+            final var loaded = source.load();
+
+            if (loaded == null || loaded.isEmpty()) {
+                log.warn("Auth service endpoint source supplied no endpoint, keeping {}", registeredEndpoints);
+                return;
+            }
+
+            reload(loaded, probeAdded);
+        } catch (Exception e) {
+            log.warn("Error '{}' loading auth service endpoints, keeping {}", e.getMessage(), registeredEndpoints);
+        }
+    }
+
+    private void probeAll() {
+        registeredEndpoints.forEach(this::probe);
+    }
+
+    private void probe(final RegisteredEndpoint endpoint) {
+        prober.probe(endpoint).thenAccept(healthy -> {
+            if (endpoint.recordProbe(healthy, unhealthyThreshold)) {
+                if (healthy) {
+                    log.info("Auth service endpoint {} is healthy, adding it to rotation", endpoint);
+                } else {
+                    log.warn("Auth service endpoint {} is unhealthy, removing it from rotation", endpoint);
+                }
+
+                synchronized (this) {
+                    updateRotation();
+                }
+            }
+        });
+    }
+
+    /**
+     * Recomputes the endpoints in rotation, must be called while holding the lock of the registry.
+     */
+    private void updateRotation() {
+        final var healthy = new ArrayList<RegisteredEndpoint>(registeredEndpoints.size());
+
+        for (final var endpoint : registeredEndpoints) {
+            if (endpoint.isHealthy()) {
+                healthy.add(endpoint);
+            }
+        }
+
+        if (healthy.isEmpty() && !registeredEndpoints.isEmpty()) {
+            log.warn("No healthy auth service endpoint, keeping all {} registered endpoints in rotation", registeredEndpoints.size());
+            this.endpoints = registeredEndpoints;
+        } else {
+            this.endpoints = Collections.unmodifiableList(healthy);
+        }
+    }
+
+    private static boolean isPositive(final Duration duration) {
+        return duration != null && !duration.isZero() && !duration.isNegative();
+    }
+
+}
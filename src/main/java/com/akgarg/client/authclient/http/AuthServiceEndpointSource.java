@@ -0,0 +1,42 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Supplies the current set of auth-service endpoints, for example from a service registry or a local file.
+ * <p>
+ * The source is polled by an {@link AuthServiceEndpointRegistry} in the background. A source failing or supplying no
+ * endpoint leaves the registered endpoints unchanged.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@FunctionalInterface
+public interface AuthServiceEndpointSource {
+
+    /**
+     * Loads the current auth-service endpoints.
+     *
+     * @return the current endpoints
+     * @throws Exception if the endpoints can't be loaded
+     */
+    List<AuthServiceEndpoint> load() throws Exception;
+
+    /**
+     * Creates a source reading the endpoints from a local file, one {@code scheme://host:port} endpoint per line.
+     * Blank lines and lines starting with {@code #} are ignored. The file is parsed again only when its
+     * modification time or size changed.
+     *
+     * @param file the endpoints file
+     * @return a new file based {@link AuthServiceEndpointSource}
+     * @throws NullPointerException if {@code file} is null
+     */
+    static AuthServiceEndpointSource file(final Path file) {
+        return new FileAuthServiceEndpointSource(file);
+    }
+
+}
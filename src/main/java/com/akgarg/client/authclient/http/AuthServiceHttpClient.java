@@ -1,10 +1,13 @@
 package com.akgarg.client.authclient.http;
 
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
 import com.akgarg.client.authclient.common.AuthServiceEndpoint;
 import com.akgarg.client.authclient.common.AuthServiceRequest;
 import com.akgarg.client.authclient.common.AuthServiceResponse;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an HTTP client interface for interacting with authentication service.
@@ -14,15 +17,27 @@ import java.util.Optional;
  * communication with the authentication server, and parsing of the response.
  * </p>
  * <p>
- * If the HTTP call encounters an issue, such as a connectivity or parsing error,
- * an empty {@link Optional} is returned. If the call is successful, the response from
- * the authentication service is encapsulated in an {@link AuthServiceResponse} object.
+ * Every call returns an {@link AuthServiceCallResult}: the {@link AuthServiceResponse} of a successful call, or a
+ * failure telling whether it is worth retrying on another endpoint, such as a connectivity error or an overload
+ * status, or whether it would fail on any endpoint, such as an unreadable response. Endpoints are
+ * {@link #register(AuthServiceEndpoint) registered} once and called through their {@link RegisteredEndpoint}.
+ * Endpoints given with a single call are {@link #resolve(AuthServiceEndpoint) resolved} instead, so they don't
+ * accumulate on the client.
+ * {@link #queryAuthService} remains as a shorthand returning an empty {@link Optional} on any failure.
+ * </p>
+ * <p>
+ * Custom transports implement the registration and the synchronous and asynchronous calls of registered endpoints,
+ * and can be passed to {@link com.akgarg.client.authclient.AuthClientBuilder#authServiceHttpClient} or published
+ * through an {@link AuthServiceHttpClientProvider}. They should pass the conformance kit
+ * {@code com.akgarg.client.authclient.testkit.AuthServiceHttpClientConformanceKit} of the {@code tests} classifier
+ * artifact, and report the outcome of every call on its {@link RegisteredEndpoint}, which health probes and routing
+ * rely on.
  * </p>
  *
  * @author Akhilesh
  * @since 09/09/23
  */
-public sealed interface AuthServiceHttpClient permits DefaultAuthServiceHttpClient {
+public interface AuthServiceHttpClient {
 
     /**
      * Queries the authentication service at the specified endpoint with the provided request payload.
@@ -37,6 +52,112 @@ public sealed interface AuthServiceHttpClient permits DefaultAuthServiceHttpClie
      * @return an {@link Optional} containing the {@link AuthServiceResponse} if the query is successful,
      * or an empty {@link Optional} if the query fails
      */
-    Optional<AuthServiceResponse> queryAuthService(AuthServiceEndpoint endpoint, AuthServiceRequest request);
+    default Optional<AuthServiceResponse> queryAuthService(AuthServiceEndpoint endpoint, AuthServiceRequest request) {
+        return callAuthService(endpoint, request).toOptional();
+    }
+
+    /**
+     * Registers the given endpoint on this client, precomputing its request URI. Registering the same endpoint again
+     * returns the same {@link RegisteredEndpoint}, so its state persists across requests.
+     *
+     * @param endpoint the {@link AuthServiceEndpoint} to register
+     * @return the {@link RegisteredEndpoint} of the endpoint
+     * @throws NullPointerException if {@code endpoint} is null
+     */
+    RegisteredEndpoint register(AuthServiceEndpoint endpoint);
+
+    /**
+     * Resolves the given endpoint for a single call without registering it. Returns the {@link RegisteredEndpoint} of
+     * the endpoint if it is registered, so its state is shared, or a new one whose state is dropped after the call
+     * otherwise.
+     * <p>
+     * The default implementation registers the endpoint; transports should override it so per-request endpoints
+     * don't accumulate.
+     * </p>
+     *
+     * @param endpoint the {@link AuthServiceEndpoint} to resolve
+     * @return the {@link RegisteredEndpoint} of the endpoint
+     * @throws NullPointerException if {@code endpoint} is null
+     */
+    default RegisteredEndpoint resolve(AuthServiceEndpoint endpoint) {
+        return register(endpoint);
+    }
+
+    /**
+     * Forgets the state of the given endpoint once it is no longer in use, for example after it was removed from a
+     * reloaded {@link AuthServiceEndpointRegistry}. Registering it again starts with a fresh state.
+     *
+     * @param endpoint the {@link AuthServiceEndpoint} to unregister
+     */
+    void unregister(AuthServiceEndpoint endpoint);
+
+    /**
+     * Calls the authentication service at the specified endpoint with the provided request payload, telling apart
+     * failures worth retrying on another endpoint from the others.
+     *
+     * @param endpoint the {@link AuthServiceEndpoint} representing the target API endpoint
+     * @param request  the {@link AuthServiceRequest} containing the payload for token validation
+     * @return the {@link AuthServiceCallResult} of the call
+     */
+    default AuthServiceCallResult callAuthService(AuthServiceEndpoint endpoint, AuthServiceRequest request) {
+        return callAuthService(resolve(endpoint), request);
+    }
+
+    /**
+     * Calls the authentication service at the specified registered endpoint with the provided request payload,
+     * telling apart failures worth retrying on another endpoint from the others.
+     *
+     * @param endpoint the {@link RegisteredEndpoint} representing the target API endpoint
+     * @param request  the {@link AuthServiceRequest} containing the payload for token validation
+     * @return the {@link AuthServiceCallResult} of the call
+     */
+    AuthServiceCallResult callAuthService(RegisteredEndpoint endpoint, AuthServiceRequest request);
+
+    /**
+     * Asynchronously calls the authentication service at the specified endpoint with the provided request payload,
+     * without blocking the calling thread.
+     *
+     * @param endpoint the {@link AuthServiceEndpoint} representing the target API endpoint
+     * @param request  the {@link AuthServiceRequest} containing the payload for token validation
+     * @return a future completed with the {@link AuthServiceCallResult} of the call
+     * @see #callAuthService(AuthServiceEndpoint, AuthServiceRequest)
+     */
+    default CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(AuthServiceEndpoint endpoint, AuthServiceRequest request) {
+        return callAuthServiceAsync(resolve(endpoint), request);
+    }
+
+    /**
+     * Asynchronously calls the authentication service at the specified registered endpoint with the provided
+     * request payload, without blocking the calling thread.
+     *
+     * @param endpoint the {@link RegisteredEndpoint} representing the target API endpoint
+     * @param request  the {@link AuthServiceRequest} containing the payload for token validation
+     * @return a future completed with the {@link AuthServiceCallResult} of the call
+     * @see #callAuthService(RegisteredEndpoint, AuthServiceRequest)
+     */
+    CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(RegisteredEndpoint endpoint, AuthServiceRequest request);
+
+    /**
+     * Asynchronously calls the authentication service at the specified registered endpoint with several request
+     * payloads, without blocking the calling thread.
+     * <p>
+     * The default implementation sends one call per request. Transports talking to an auth-service with a bulk
+     * validation endpoint send all requests in a single call instead.
+     * </p>
+     *
+     * @param endpoint the {@link RegisteredEndpoint} representing the target API endpoint
+     * @param requests the {@link AuthServiceRequest} payloads for token validation
+     * @return a future completed with the {@link AuthServiceCallResult} of every request, in the order of the requests
+     * @see BatchingAuthServiceHttpClient
+     */
+    default CompletableFuture<List<AuthServiceCallResult>> callAuthServiceBulkAsync(
+            RegisteredEndpoint endpoint,
+            List<AuthServiceRequest> requests
+    ) {
+        final var futures = requests.stream().map(request -> callAuthServiceAsync(endpoint, request)).toList();
+        return CompletableFuture
+                .allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
 
 }
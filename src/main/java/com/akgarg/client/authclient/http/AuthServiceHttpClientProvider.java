@@ -0,0 +1,39 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
+
+/**
+ * Service provider of a custom {@link AuthServiceHttpClient} transport, replacing the
+ * {@link DefaultAuthServiceHttpClient}.
+ * <p>
+ * Providers are discovered through {@link java.util.ServiceLoader}, so an implementation is published by listing its
+ * fully qualified class name in
+ * {@code META-INF/services/com.akgarg.client.authclient.http.AuthServiceHttpClientProvider}. Providers must
+ * have a public no-argument constructor.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public interface AuthServiceHttpClientProvider {
+
+    /**
+     * Returns the name the provider is selected by, e.g. {@code "okhttp"}.
+     *
+     * @return the name of the provider
+     */
+    String name();
+
+    /**
+     * Creates a new transport.
+     *
+     * @param validateTokenEndpoint custom token validation endpoint; if {@code null} or blank, the default endpoint of
+     *                              the API version is used
+     * @param apiVersion            the API version of the auth service
+     * @param tracer                the tracer whose current trace context should be propagated to the auth service
+     * @return a new {@link AuthServiceHttpClient} instance
+     */
+    AuthServiceHttpClient create(String validateTokenEndpoint, ApiVersion apiVersion, AuthClientTracer tracer);
+
+}
@@ -0,0 +1,311 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.config.BatchingConfigs;
+import com.akgarg.client.authclient.exception.AuthServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An {@link AuthServiceHttpClient} decorator gathering concurrent auth-service calls into bulk calls.
+ * <p>
+ * Calls to the same endpoint are held for at most the configured delay, or until the configured number of calls is
+ * gathered, and then sent together with
+ * {@link AuthServiceHttpClient#callAuthServiceBulkAsync(RegisteredEndpoint, List)}. The result of every request is
+ * handed back to its caller. A batch holding a single call is sent as a regular call.
+ * </p>
+ * <p>
+ * Batching pays off with an API version supporting bulk validation, see
+ * {@link com.akgarg.client.authclient.common.ApiVersion#supportsBulkValidation()}. With other versions the gathered
+ * calls are sent one by one and batching only adds the delay.
+ * </p>
+ * <p>
+ * {@link #close()} sends the pending batches, stops the flusher thread unless the scheduler was given, and closes
+ * the wrapped client if this client owns it. Calls made afterwards are sent right away without batching.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class BatchingAuthServiceHttpClient implements AuthServiceHttpClient, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingAuthServiceHttpClient.class);
+
+    private final AuthServiceHttpClient delegate;
+    private final boolean ownsDelegate;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ConcurrentMap<RegisteredEndpoint, Batch> pendingBatches;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long callTimeoutNanos;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a batching client around the given client.
+     *
+     * @param delegate     the client sending the auth-service calls
+     * @param configs      the batching configurations, defaults are used if null
+     * @param scheduler    the scheduler flushing the batches, a dedicated daemon thread is used if null
+     * @param ownsDelegate whether {@link #close()} closes {@code delegate}, false if its owner closes it
+     * @throws NullPointerException     if {@code delegate} is null
+     * @throws IllegalArgumentException if the batch size is not greater than 0 or the delay is negative
+     */
+    public BatchingAuthServiceHttpClient(
+            final AuthServiceHttpClient delegate,
+            final BatchingConfigs configs,
+            final ScheduledExecutorService scheduler,
+            final boolean ownsDelegate
+    ) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate http client is null");
+        this.ownsDelegate = ownsDelegate;
+        final var batchingConfigs = configs != null ? configs : BatchingConfigs.withDefaults();
+
+        if (batchingConfigs.maxBatchSize() <= 0 || batchingConfigs.maxDelay() == null || batchingConfigs.maxDelay().isNegative()) {
+            throw new IllegalArgumentException("batch size must be greater than 0 and batch delay not negative");
+        }
+
+        this.maxBatchSize = batchingConfigs.maxBatchSize();
+        this.maxDelayNanos = batchingConfigs.maxDelay().toNanos();
+        this.callTimeoutNanos = maxDelayNanos + TimeUnit.MILLISECONDS.toNanos(DefaultAuthServiceHttpClient.REQUEST_TIMEOUT_MILLIS);
+        this.pendingBatches = new ConcurrentHashMap<>();
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = scheduler != null ? scheduler : Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, "authClientBatchFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public RegisteredEndpoint register(final AuthServiceEndpoint endpoint) {
+        return delegate.register(endpoint);
+    }
+
+    @Override
+    public RegisteredEndpoint resolve(final AuthServiceEndpoint endpoint) {
+        return delegate.resolve(endpoint);
+    }
+
+    @Override
+    public void unregister(final AuthServiceEndpoint endpoint) {
+        delegate.unregister(endpoint);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The call is added to the pending batch of the endpoint and the calling thread waits for the batch to be sent,
+     * for at most the batch delay and the {@link DefaultAuthServiceHttpClient#REQUEST_TIMEOUT_MILLIS request timeout}.
+     * A call unanswered by then is reported as a retryable failure, like a timed out request.
+     * </p>
+     *
+     * @throws AuthServiceOverloadedException if the batch was rejected by a concurrency limit
+     */
+    @Override
+    public AuthServiceCallResult callAuthService(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request
+    ) {
+        try {
+            return callAuthServiceAsync(endpoint, request).get(callTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Batched auth service call to endpoint {} not answered within {} ms", endpoint, TimeUnit.NANOSECONDS.toMillis(callTimeoutNanos));
+            return AuthServiceCallResult.retryableFailure(-1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AuthServiceCallResult.failure(-1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            return AuthServiceCallResult.failure(-1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The call is added to the pending batch of the endpoint, and the returned future completes once the batch is
+     * answered.
+     * </p>
+     */
+    @Override
+    public CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request
+    ) {
+        if (closed) {
+            return delegate.callAuthServiceAsync(endpoint, request);
+        }
+
+        final var future = new CompletableFuture<AuthServiceCallResult>();
+        final var createdBatch = new Batch[1];
+        final var fullBatch = new Batch[1];
+
+        pendingBatches.compute(endpoint, (key, batch) -> {
+            final var current = batch != null ? batch : new Batch(new ArrayList<>(), new ArrayList<>());
+            current.requests.add(request);
+            current.futures.add(future);
+
+            if (batch == null) {
+                createdBatch[0] = current;
+            }
+
+            if (current.requests.size() >= maxBatchSize) {
+                fullBatch[0] = current;
+                return null;
+            }
+
+            return current;
+        });
+
+        if (fullBatch[0] != null) {
+            flush(endpoint, fullBatch[0]);
+        } else if (createdBatch[0] != null) {
+            scheduleFlush(endpoint, createdBatch[0]);
+        }
+
+        return future;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Bulk calls are already batched and sent right away.
+     * </p>
+     */
+    @Override
+    public CompletableFuture<List<AuthServiceCallResult>> callAuthServiceBulkAsync(
+            final RegisteredEndpoint endpoint,
+            final List<AuthServiceRequest> requests
+    ) {
+        return delegate.callAuthServiceBulkAsync(endpoint, requests);
+    }
+
+    /**
+     * Returns the number of calls waiting in the pending batches.
+     *
+     * @return the number of calls not yet sent
+     */
+    public int pendingCalls() {
+        return pendingBatches.values().stream().mapToInt(batch -> batch.requests.size()).sum();
+    }
+
+    /**
+     * Sends the pending batches right away and stops the flusher thread if it was created by this client, then closes
+     * the wrapped client if this client owns it and it is {@link AutoCloseable}. Calling this method more than once
+     * has no further effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        for (final var endpoint : pendingBatches.keySet()) {
+            final var batch = pendingBatches.remove(endpoint);
+            if (batch != null) {
+                flush(endpoint, batch);
+            }
+        }
+
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+
+        if (ownsDelegate && delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Error closing batched http client: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Schedules a new batch to be sent once the maximum delay elapses, unless it is sent before. Scheduling happens
+     * outside of {@code pendingBatches.compute}, so a batch filled and sent in the meantime is not sent again. If the
+     * scheduler rejects the task, e.g. since the shared scheduler is shut down, the batch is sent right away.
+     */
+    private void scheduleFlush(final RegisteredEndpoint endpoint, final Batch batch) {
+        final Runnable flushIfPending = () -> {
+            if (pendingBatches.remove(endpoint, batch)) {
+                flush(endpoint, batch);
+            }
+        };
+
+        try {
+            scheduler.schedule(flushIfPending, maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Batch flusher rejected the batch of endpoint {}, sending it right away", endpoint);
+            flushIfPending.run();
+        }
+    }
+
+    /**
+     * Sends a batch no longer reachable from {@code pendingBatches} and completes the futures of its calls.
+     */
+    private void flush(final RegisteredEndpoint endpoint, final Batch batch) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending batch of {} auth service calls to endpoint {}", batch.requests.size(), endpoint);
+        }
+
+        try {
+            if (batch.requests.size() == 1) {
+                delegate.callAuthServiceAsync(endpoint, batch.requests.get(0)).whenComplete((result, e) -> {
+                    if (e != null) {
+                        batch.completeExceptionally(e);
+                    } else {
+                        batch.futures.get(0).complete(result);
+                    }
+                });
+                return;
+            }
+
+            delegate.callAuthServiceBulkAsync(endpoint, batch.requests).whenComplete((results, e) -> {
+                if (e != null) {
+                    batch.completeExceptionally(e);
+                    return;
+                }
+
+                for (int i = 0; i < batch.futures.size(); i++) {
+                    batch.futures.get(i).complete(i < results.size() ? results.get(i) : AuthServiceCallResult.failure(-1));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Calls gathered for an endpoint, the request and the future of a call sharing the same index.
+     */
+    private record Batch(List<AuthServiceRequest> requests, List<CompletableFuture<AuthServiceCallResult>> futures) {
+
+        private void completeExceptionally(final Throwable e) {
+            final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            futures.forEach(future -> future.completeExceptionally(cause));
+        }
+
+    }
+
+}
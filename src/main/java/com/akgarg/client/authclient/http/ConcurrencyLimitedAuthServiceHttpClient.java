@@ -0,0 +1,206 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.config.ConcurrencyLimitConfigs;
+import com.akgarg.client.authclient.exception.AuthServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link AuthServiceHttpClient} decorator capping the number of concurrent auth-service calls with an adaptive
+ * concurrency limit.
+ * <p>
+ * The limit follows the capacity of auth-service as observed through call latency, see
+ * {@link ConcurrencyLimitConfigs}. A call exceeding the limit waits briefly for a free slot and is then rejected with
+ * an {@link AuthServiceOverloadedException} without being sent, so an overloaded auth-service is not buried under
+ * more calls than it can serve. Asynchronous calls never wait for a slot and are rejected right away.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class ConcurrencyLimitedAuthServiceHttpClient implements AuthServiceHttpClient, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitedAuthServiceHttpClient.class);
+
+    private final AuthServiceHttpClient delegate;
+    private final boolean ownsDelegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Constructs a concurrency limited client around the given client.
+     *
+     * @param delegate     the client sending the auth-service calls
+     * @param configs      the concurrency limit configurations, defaults are used if null
+     * @param ownsDelegate whether {@link #close()} closes {@code delegate}, false if its owner closes it
+     * @throws NullPointerException     if {@code delegate} is null
+     * @throws IllegalArgumentException if the limits are not greater than 0, the minimum limit is greater than the
+     *                                  maximum limit, or the queue wait is negative
+     */
+    public ConcurrencyLimitedAuthServiceHttpClient(
+            final AuthServiceHttpClient delegate,
+            final ConcurrencyLimitConfigs configs,
+            final boolean ownsDelegate
+    ) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate http client is null");
+        this.ownsDelegate = ownsDelegate;
+        final var limitConfigs = configs != null ? configs : ConcurrencyLimitConfigs.withDefaults();
+
+        if (limitConfigs.minLimit() <= 0 || limitConfigs.minLimit() > limitConfigs.maxLimit() || limitConfigs.maxQueueWait().isNegative()) {
+            throw new IllegalArgumentException("concurrency limits must be greater than 0, min limit not greater than max limit and queue wait not negative");
+        }
+
+        this.limiter = new AdaptiveConcurrencyLimiter(limitConfigs);
+    }
+
+    @Override
+    public RegisteredEndpoint register(final AuthServiceEndpoint endpoint) {
+        return delegate.register(endpoint);
+    }
+
+    @Override
+    public RegisteredEndpoint resolve(final AuthServiceEndpoint endpoint) {
+        return delegate.resolve(endpoint);
+    }
+
+    @Override
+    public void unregister(final AuthServiceEndpoint endpoint) {
+        delegate.unregister(endpoint);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws AuthServiceOverloadedException if no slot became free within the configured queue wait
+     */
+    @Override
+    public AuthServiceCallResult callAuthService(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request
+    ) {
+        try {
+            if (!limiter.acquire()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Rejecting auth service call, concurrency limit {} reached", limiter.limit());
+                }
+                throw new AuthServiceOverloadedException("auth service concurrency limit reached");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AuthServiceCallResult.failure(-1);
+        }
+
+        final var startNanos = System.nanoTime();
+        var failed = true;
+
+        try {
+            final var result = delegate.callAuthService(endpoint, request);
+            failed = result.outcome() == AuthServiceCallResult.Outcome.RETRYABLE_FAILURE;
+            return result;
+        } finally {
+            limiter.release(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws AuthServiceOverloadedException if no slot is free
+     */
+    @Override
+    public CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request
+    ) {
+        if (!limiter.tryAcquire()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Rejecting auth service call, concurrency limit {} reached", limiter.limit());
+            }
+            throw new AuthServiceOverloadedException("auth service concurrency limit reached");
+        }
+
+        final var startNanos = System.nanoTime();
+
+        try {
+            return delegate.callAuthServiceAsync(endpoint, request).whenComplete((result, e) -> limiter.release(
+                    System.nanoTime() - startNanos,
+                    e != null || result.outcome() == AuthServiceCallResult.Outcome.RETRYABLE_FAILURE
+            ));
+        } catch (RuntimeException e) {
+            limiter.release(System.nanoTime() - startNanos, true);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A bulk call takes a single slot, however many requests it carries.
+     * </p>
+     *
+     * @throws AuthServiceOverloadedException if no slot is free
+     */
+    @Override
+    public CompletableFuture<List<AuthServiceCallResult>> callAuthServiceBulkAsync(
+            final RegisteredEndpoint endpoint,
+            final List<AuthServiceRequest> requests
+    ) {
+        if (!limiter.tryAcquire()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Rejecting auth service bulk call, concurrency limit {} reached", limiter.limit());
+            }
+            throw new AuthServiceOverloadedException("auth service concurrency limit reached");
+        }
+
+        final var startNanos = System.nanoTime();
+
+        try {
+            return delegate.callAuthServiceBulkAsync(endpoint, requests).whenComplete((results, e) -> limiter.release(
+                    System.nanoTime() - startNanos,
+                    e != null || results.stream().anyMatch(result -> result.outcome() == AuthServiceCallResult.Outcome.RETRYABLE_FAILURE)
+            ));
+        } catch (RuntimeException e) {
+            limiter.release(System.nanoTime() - startNanos, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the current concurrency limit
+     */
+    public int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    /**
+     * Returns the number of auth-service calls currently in flight.
+     *
+     * @return the number of in-flight calls
+     */
+    public int inFlightCalls() {
+        return limiter.inFlight();
+    }
+
+    /**
+     * Closes the wrapped client if this client owns it and it is {@link AutoCloseable}.
+     */
+    @Override
+    public void close() {
+        if (ownsDelegate && delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Error closing concurrency limited http client: {}", e.getMessage());
+            }
+        }
+    }
+
+}
@@ -1,12 +1,18 @@
 package com.akgarg.client.authclient.http;
 
 import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
 import com.akgarg.client.authclient.common.AuthServiceEndpoint;
 import com.akgarg.client.authclient.common.AuthServiceRequest;
 import com.akgarg.client.authclient.common.AuthServiceResponse;
+import com.akgarg.client.authclient.common.BulkAuthServiceRequest;
+import com.akgarg.client.authclient.common.BulkAuthServiceResponse;
+import com.akgarg.client.authclient.common.WireFormat;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,8 +20,15 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of {@link AuthServiceHttpClient}.
@@ -24,7 +37,8 @@ import java.util.Optional;
  * It builds HTTP requests, sends them to the configured authentication service, and parses the responses.
  * </p>
  * <p>
- * If a request fails due to an exception, an empty {@link Optional} is returned.
+ * If a request fails due to an exception, the failure is reported as retryable or not in the returned
+ * {@link AuthServiceCallResult}.
  * If the service responses successfully, the response is parsed and returned as an {@link AuthServiceResponse}.
  * </p>
  *
@@ -32,6 +46,13 @@ import java.util.Optional;
  * <ul>
  *     <li>Asynchronous HTTP calls using {@link HttpClient}.</li>
  *     <li>Configurable API version and endpoint.</li>
+ *     <li>Endpoints registered once, with precomputed URIs and per-endpoint call statistics.</li>
+ *     <li>Requests failing as retryable once unanswered for {@value #REQUEST_TIMEOUT_MILLIS} milliseconds.</li>
+ *     <li>Trace context propagation through request headers.</li>
+ *     <li>Bulk token validation in a single request with {@link ApiVersion#V2}.</li>
+ *     <li>JSON or CBOR bodies, see {@link WireFormat}, negotiated per endpoint with JSON as the fallback.</li>
+ *     <li>Optional {@link HttpClient} shared with other clients, so they share one connection pool and selector
+ *     thread.</li>
  *     <li>Customizable object mapping for response parsing.</li>
  * </ul>
  *
@@ -47,9 +68,26 @@ public final class DefaultAuthServiceHttpClient implements AuthServiceHttpClient
      */
     private static final String VALIDATE_TOKEN_ENDPOINT = "api/%s/auth/validate-token";
 
+    /**
+     * Default bulk token validation endpoint, for the API versions supporting it, next to the token validation
+     * endpoint.
+     */
+    private static final String BULK_VALIDATE_TOKENS_ENDPOINT = "validate-tokens";
+
+    /**
+     * The timeout of a request, in milliseconds. A request unanswered by then fails with an
+     * {@link java.net.http.HttpTimeoutException}, reported as a retryable failure.
+     */
+    public static final long REQUEST_TIMEOUT_MILLIS = 10_000;
+
     private final String validateTokenEndpoint;
+    private final String bulkValidateTokensEndpoint;
     private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final WireFormat wireFormat;
     private final HttpClient httpClient;
+    private final AuthClientTracer tracer;
+    private final ConcurrentMap<AuthServiceEndpoint, RegisteredEndpoint> registeredEndpoints;
 
     /**
      * Constructs a {@code DefaultAuthServiceHttpClient} instance with the specified parameters.
@@ -57,11 +95,35 @@ public final class DefaultAuthServiceHttpClient implements AuthServiceHttpClient
      * @param validateTokenEndpoint custom token validation endpoint; if {@code null} or blank, a default endpoint is used
      * @param apiVersion            the API version to use in the endpoint
      * @throws NullPointerException if {@code apiVersion} is {@code null}
+     * @see #builder(ApiVersion)
      */
     public DefaultAuthServiceHttpClient(final String validateTokenEndpoint, final ApiVersion apiVersion) {
-        this.validateTokenEndpoint = getValidateTokenEndpoint(apiVersion, validateTokenEndpoint);
+        this(builder(apiVersion).validateTokenEndpoint(validateTokenEndpoint));
+    }
+
+    private DefaultAuthServiceHttpClient(final Builder builder) {
+        final var apiVersion = Objects.requireNonNull(builder.apiVersion, "apiVersion is null");
+        this.tracer = Objects.requireNonNull(builder.tracer, "tracer is null");
+        this.validateTokenEndpoint = getValidateTokenEndpoint(apiVersion, builder.validateTokenEndpoint);
+        this.bulkValidateTokensEndpoint = apiVersion.supportsBulkValidation()
+                ? getBulkValidateTokensEndpoint(this.validateTokenEndpoint, builder.bulkValidateTokensEndpoint)
+                : null;
         this.objectMapper = createObjectMapperInstance();
-        this.httpClient = HttpClient.newHttpClient();
+        this.wireFormat = getWireFormat(builder.wireFormat);
+        this.cborMapper = this.wireFormat == WireFormat.CBOR ? CborMapperFactory.create() : null;
+        this.httpClient = builder.httpClient != null ? builder.httpClient : HttpClient.newHttpClient();
+        this.registeredEndpoints = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a builder of a {@code DefaultAuthServiceHttpClient} calling the given API version, for configuring the
+     * optional features of the client.
+     *
+     * @param apiVersion the API version to use in the endpoint
+     * @return a new builder
+     */
+    public static Builder builder(final ApiVersion apiVersion) {
+        return new Builder(apiVersion);
     }
 
     /**
@@ -80,6 +142,41 @@ public final class DefaultAuthServiceHttpClient implements AuthServiceHttpClient
         }
     }
 
+    /**
+     * Resolves the bulk token validation endpoint. If a custom endpoint is not provided, the default endpoint is
+     * placed next to the token validation endpoint, keeping its base path.
+     *
+     * @param validateTokenEndpoint       the resolved token validation endpoint
+     * @param bulkValidateTokensEndpoint custom endpoint value
+     * @return resolved endpoint string
+     */
+    private String getBulkValidateTokensEndpoint(final String validateTokenEndpoint, final String bulkValidateTokensEndpoint) {
+        if (bulkValidateTokensEndpoint == null || bulkValidateTokensEndpoint.isBlank()) {
+            return validateTokenEndpoint.substring(0, validateTokenEndpoint.lastIndexOf('/') + 1) + BULK_VALIDATE_TOKENS_ENDPOINT;
+        } else {
+            return bulkValidateTokensEndpoint;
+        }
+    }
+
+    /**
+     * Resolves the preferred wire format, falling back to JSON if the preferred one is not on the classpath.
+     *
+     * @param wireFormat the configured wire format
+     * @return the resolved wire format
+     */
+    private WireFormat getWireFormat(final WireFormat wireFormat) {
+        if (wireFormat == null) {
+            return WireFormat.JSON;
+        }
+
+        if (!wireFormat.isAvailable()) {
+            log.warn("Wire format {} is not on the classpath, sending JSON instead", wireFormat);
+            return WireFormat.JSON;
+        }
+
+        return wireFormat;
+    }
+
     /**
      * Creates and configures an {@link ObjectMapper} instance.
      *
@@ -90,63 +187,401 @@ public final class DefaultAuthServiceHttpClient implements AuthServiceHttpClient
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    @Override
+    public RegisteredEndpoint register(final AuthServiceEndpoint endpoint) {
+        Objects.requireNonNull(endpoint, "endpoint is null");
+        return registeredEndpoints.computeIfAbsent(
+                endpoint,
+                key -> new RegisteredEndpoint(key, getAuthServiceEndpointURI(key))
+        );
+    }
+
+    @Override
+    public RegisteredEndpoint resolve(final AuthServiceEndpoint endpoint) {
+        Objects.requireNonNull(endpoint, "endpoint is null");
+        final var registeredEndpoint = registeredEndpoints.get(endpoint);
+        return registeredEndpoint != null ? registeredEndpoint : new RegisteredEndpoint(endpoint, getAuthServiceEndpointURI(endpoint));
+    }
+
+    @Override
+    public void unregister(final AuthServiceEndpoint endpoint) {
+        registeredEndpoints.remove(endpoint);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
      * Sends a POST request to the specified authentication service endpoint with the given request payload.
      * Logs the response details and parses the result into an {@link AuthServiceResponse} if successful.
+     * A non-200 status is answered with an unsuccessful {@link AuthServiceResponse}, except for the retryable
+     * statuses {@code 429}, {@code 502}, {@code 503} and {@code 504}.
      * </p>
      *
      * @param endpoint the target authentication service endpoint
      * @param request  the request payload containing token validation details
-     * @return an {@link Optional} containing the parsed {@link AuthServiceResponse}, or an empty {@link Optional} if an error occurs
+     * @return the {@link AuthServiceCallResult} of the call
      */
     @Override
     @SuppressWarnings("squid:S2142")
-    public Optional<AuthServiceResponse> queryAuthService(
-            final AuthServiceEndpoint endpoint,
+    public AuthServiceCallResult callAuthService(
+            final RegisteredEndpoint endpoint,
             final AuthServiceRequest request
     ) {
         try {
-            final var httpRequest = createHttpRequest(endpoint, request);
-            final var response = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString()).get();
+            return callAuthServiceAsync(endpoint, request).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AuthServiceCallResult.failure(-1);
+        } catch (Exception e) {
+            log.error("Error '{}' querying auth service on endpoint: {}", e.getMessage(), endpoint);
+            return AuthServiceCallResult.failure(-1);
+        }
+    }
 
-            if (log.isDebugEnabled()) {
-                log.debug("Auth service response code: {}", response.statusCode());
-                log.debug("Auth service response: {}", response.body());
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The request is sent with {@link HttpClient#sendAsync}, so no thread waits for the response. The outcome and
+     * latency of the call are recorded on the endpoint.
+     * </p>
+     *
+     * @param endpoint the target authentication service endpoint
+     * @param request  the request payload containing token validation details
+     * @return a future completed with the {@link AuthServiceCallResult} of the call
+     */
+    @Override
+    public CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request
+    ) {
+        final var format = wireFormat(endpoint);
+        final HttpRequest httpRequest;
+
+        try {
+            httpRequest = createHttpRequest(endpoint.uri(), format, request);
+        } catch (Exception e) {
+            log.error("Error '{}' creating auth service request for endpoint: {}", e.getMessage(), endpoint);
+            return CompletableFuture.completedFuture(AuthServiceCallResult.failure(-1));
+        }
+
+        final var startNanos = System.nanoTime();
+
+        return httpClient
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(response -> {
+                    if (isUnsupportedWireFormat(endpoint, format, response)) {
+                        return callAuthServiceAsync(endpoint, request);
+                    }
+
+                    final var result = toCallResult(endpoint, request, response);
+                    recordCall(endpoint, result, startNanos);
+                    return CompletableFuture.completedFuture(result);
+                })
+                .exceptionally(e -> {
+                    endpoint.recordFailure();
+                    return toCallResult(endpoint, e, -1);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With an API version supporting bulk validation, all requests are sent in a single POST request to the bulk
+     * validation endpoint. The whole call is recorded on the endpoint as a single call. If the auth-service doesn't
+     * know the bulk endpoint, the requests are sent one by one instead.
+     * </p>
+     *
+     * @param endpoint the target authentication service endpoint
+     * @param requests the request payloads containing token validation details
+     * @return a future completed with the {@link AuthServiceCallResult} of every request
+     */
+    @Override
+    public CompletableFuture<List<AuthServiceCallResult>> callAuthServiceBulkAsync(
+            final RegisteredEndpoint endpoint,
+            final List<AuthServiceRequest> requests
+    ) {
+        if (bulkValidateTokensEndpoint == null || requests.size() == 1) {
+            return AuthServiceHttpClient.super.callAuthServiceBulkAsync(endpoint, requests);
+        }
+
+        final var format = wireFormat(endpoint);
+        final HttpRequest httpRequest;
+
+        try {
+            httpRequest = createHttpRequest(
+                    endpoint.uri().resolve("/" + bulkValidateTokensEndpoint),
+                    format,
+                    new BulkAuthServiceRequest(requests)
+            );
+        } catch (Exception e) {
+            log.error("Error '{}' creating bulk auth service request for endpoint: {}", e.getMessage(), endpoint);
+            return CompletableFuture.completedFuture(Collections.nCopies(requests.size(), AuthServiceCallResult.failure(-1)));
+        }
+
+        final var startNanos = System.nanoTime();
+
+        return httpClient
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(response -> {
+                    if (isUnsupportedWireFormat(endpoint, format, response)) {
+                        return callAuthServiceBulkAsync(endpoint, requests);
+                    }
+
+                    if (response.statusCode() == 404 || response.statusCode() == 405) {
+                        log.warn("Auth service endpoint {} has no bulk validation, validating one by one", endpoint);
+                        return AuthServiceHttpClient.super.callAuthServiceBulkAsync(endpoint, requests);
+                    }
+
+                    final var results = toCallResults(endpoint, requests, response);
+                    recordCall(endpoint, results.get(0), startNanos);
+                    return CompletableFuture.completedFuture(results);
+                })
+                .exceptionally(e -> {
+                    final var result = toCallResult(endpoint, e, -1);
+                    endpoint.recordFailure();
+                    return Collections.nCopies(requests.size(), result);
+                });
+    }
+
+    /**
+     * Converts the response of the bulk validation endpoint into the results of the requests.
+     *
+     * @param endpoint the endpoint which answered
+     * @param requests the request payloads
+     * @param response the HTTP response
+     * @return the {@link AuthServiceCallResult} of every request
+     */
+    private List<AuthServiceCallResult> toCallResults(
+            final RegisteredEndpoint endpoint,
+            final List<AuthServiceRequest> requests,
+            final HttpResponse<byte[]> response
+    ) {
+        final var statusCode = response.statusCode();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Auth service bulk response code: {}", statusCode);
+        }
+
+        if (isRetryableStatus(statusCode)) {
+            log.warn("Auth service endpoint {} answered with retryable status {}", endpoint, statusCode);
+            return Collections.nCopies(requests.size(), AuthServiceCallResult.retryableFailure(statusCode));
+        }
+
+        if (statusCode != 200) {
+            return requests.stream()
+                    .map(request -> AuthServiceCallResult.response(
+                            new AuthServiceResponse(request.userId(), request.token(), -1, false),
+                            statusCode
+                    ))
+                    .toList();
+        }
+
+        try {
+            final var bulkResponse = readResponseBody(response, BulkAuthServiceResponse.class);
+
+            if (bulkResponse == null || bulkResponse.responses() == null || bulkResponse.responses().size() != requests.size()) {
+                log.error("Auth service endpoint {} answered a bulk request of {} tokens with a mismatching response", endpoint, requests.size());
+                return Collections.nCopies(requests.size(), AuthServiceCallResult.failure(statusCode));
             }
 
-            if (response.statusCode() != 200) {
-                return Optional.of(new AuthServiceResponse(request.userId(), request.token(), -1, false));
+            return bulkResponse.responses().stream()
+                    .map(authServiceResponse -> authServiceResponse != null
+                            ? AuthServiceCallResult.response(authServiceResponse, statusCode)
+                            : AuthServiceCallResult.failure(statusCode))
+                    .toList();
+        } catch (Exception e) {
+            return Collections.nCopies(requests.size(), toCallResult(endpoint, e, statusCode));
+        }
+    }
+
+    /**
+     * Records the outcome and latency of a call on the endpoint.
+     *
+     * @param endpoint   the endpoint which was called
+     * @param result     the result of the call
+     * @param startNanos the start time of the call
+     */
+    private void recordCall(final RegisteredEndpoint endpoint, final AuthServiceCallResult result, final long startNanos) {
+        if (result.outcome() == AuthServiceCallResult.Outcome.RESPONSE) {
+            endpoint.recordSuccess(System.nanoTime() - startNanos);
+        } else {
+            endpoint.recordFailure();
+        }
+    }
+
+    /**
+     * Converts the response of the authentication service into the result of the call.
+     *
+     * @param endpoint the endpoint which answered
+     * @param request  the request payload
+     * @param response the HTTP response
+     * @return the {@link AuthServiceCallResult} of the call
+     */
+    private AuthServiceCallResult toCallResult(
+            final RegisteredEndpoint endpoint,
+            final AuthServiceRequest request,
+            final HttpResponse<byte[]> response
+    ) {
+        final var statusCode = response.statusCode();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Auth service response code: {}", statusCode);
+            log.debug("Auth service response: {} bytes of {}", response.body().length, contentType(response));
+        }
+
+        if (isRetryableStatus(statusCode)) {
+            log.warn("Auth service endpoint {} answered with retryable status {}", endpoint, statusCode);
+            return AuthServiceCallResult.retryableFailure(statusCode);
+        }
+
+        if (statusCode != 200) {
+            return AuthServiceCallResult.response(
+                    new AuthServiceResponse(request.userId(), request.token(), -1, false),
+                    statusCode
+            );
+        }
+
+        try {
+            final var authServiceResponse = readResponseBody(response, AuthServiceResponse.class);
+
+            if (authServiceResponse == null) {
+                return AuthServiceCallResult.failure(statusCode);
             }
 
-            return Optional.ofNullable(objectMapper.readValue(response.body(), AuthServiceResponse.class));
+            return AuthServiceCallResult.response(authServiceResponse, statusCode);
         } catch (Exception e) {
-            log.error("Error '{}' querying auth service on endpoint: {}", e.getMessage(), endpoint);
-            return Optional.empty();
+            return toCallResult(endpoint, e, statusCode);
+        }
+    }
+
+    /**
+     * Converts a failure of the call into its result.
+     *
+     * @param endpoint   the endpoint which was called
+     * @param e          the failure
+     * @param statusCode the HTTP status code, or -1 if no response was received
+     * @return a retryable or non-retryable failure result
+     */
+    private AuthServiceCallResult toCallResult(final RegisteredEndpoint endpoint, final Throwable e, final int statusCode) {
+        final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("Error '{}' querying auth service on endpoint: {}", cause, endpoint);
+        return isRetryableException(cause)
+                ? AuthServiceCallResult.retryableFailure(statusCode)
+                : AuthServiceCallResult.failure(statusCode);
+    }
+
+    /**
+     * Returns whether the given status means the endpoint is unavailable or overloaded at the moment.
+     *
+     * @param statusCode the HTTP status code
+     * @return true for {@code 429}, {@code 502}, {@code 503} and {@code 504}, false otherwise
+     */
+    private boolean isRetryableStatus(final int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Returns whether the given exception is an I/O failure, such as a refused connection or a timeout, which
+     * may not happen on another endpoint.
+     *
+     * @param e the exception thrown by the call
+     * @return true for I/O failures, false for failures such as an unreadable request or response
+     */
+    private boolean isRetryableException(final Throwable e) {
+        return e instanceof IOException && !(e instanceof JsonProcessingException);
+    }
+
+    /**
+     * Returns the wire format of the requests sent to the given endpoint.
+     *
+     * @param endpoint the target endpoint
+     * @return the preferred wire format, or JSON if the endpoint rejected it
+     */
+    private WireFormat wireFormat(final RegisteredEndpoint endpoint) {
+        return wireFormat == WireFormat.JSON || endpoint.isJsonOnly() ? WireFormat.JSON : wireFormat;
+    }
+
+    /**
+     * Returns whether the endpoint rejected the wire format of the request, in which case the endpoint is sent
+     * JSON from then on and the request should be sent again.
+     *
+     * @param endpoint the endpoint which answered
+     * @param format   the wire format of the request
+     * @param response the HTTP response
+     * @return true if a non-JSON request was answered with {@code 415 Unsupported Media Type}
+     */
+    private boolean isUnsupportedWireFormat(
+            final RegisteredEndpoint endpoint,
+            final WireFormat format,
+            final HttpResponse<byte[]> response
+    ) {
+        if (format == WireFormat.JSON || response.statusCode() != 415) {
+            return false;
+        }
+
+        if (endpoint.markJsonOnly()) {
+            log.warn("Auth service endpoint {} doesn't accept {}, sending JSON instead", endpoint, format);
         }
+
+        return true;
     }
 
     /**
-     * Creates an HTTP request for token validation using the provided endpoint and request payload.
+     * Creates a POST request to the given URI with the payload encoded in the given wire format, carrying the
+     * current trace context as headers. Non-JSON requests still accept JSON responses.
      *
-     * @param endpoint the authentication service endpoint
-     * @param request  the payload for token validation
+     * @param uri     the request URI
+     * @param format  the wire format of the request body
+     * @param payload the request payload
      * @return a constructed {@link HttpRequest} object
-     * @throws JsonProcessingException if the request payload cannot be serialized to JSON
+     * @throws JsonProcessingException if the request payload cannot be serialized
      */
     private HttpRequest createHttpRequest(
-            final AuthServiceEndpoint endpoint,
-            final AuthServiceRequest request
+            final URI uri,
+            final WireFormat format,
+            final Object payload
     ) throws JsonProcessingException {
-        final var requestBody = createRequestBody(request);
+        final var mapper = format == WireFormat.CBOR ? cborMapper : objectMapper;
+        final var accept = format == WireFormat.JSON
+                ? WireFormat.JSON.getMediaType()
+                : format.getMediaType() + ", " + WireFormat.JSON.getMediaType() + ";q=0.5";
 
-        return HttpRequest
+        final var builder = HttpRequest
                 .newBuilder()
-                .uri(getAuthServiceEndpointURI(endpoint))
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
-                .header("Content-Type", "application/json")
-                .build();
+                .uri(uri)
+                .timeout(Duration.ofMillis(REQUEST_TIMEOUT_MILLIS))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload)))
+                .header("Content-Type", format.getMediaType())
+                .header("Accept", accept);
+
+        tracer.inject(builder::header);
+        return builder.build();
+    }
+
+    /**
+     * Decodes the response body according to its {@code Content-Type}, as JSON unless it is CBOR.
+     *
+     * @param response the HTTP response
+     * @param type     the type of the payload
+     * @param <T>      the type of the payload
+     * @return the decoded payload
+     * @throws IOException if the body cannot be decoded
+     */
+    private <T> T readResponseBody(final HttpResponse<byte[]> response, final Class<T> type) throws IOException {
+        final var mapper = cborMapper != null && contentType(response).startsWith(WireFormat.CBOR.getMediaType())
+                ? cborMapper
+                : objectMapper;
+        return mapper.readValue(response.body(), type);
+    }
+
+    /**
+     * Returns the {@code Content-Type} of the response.
+     *
+     * @param response the HTTP response
+     * @return the content type, or an empty string if missing
+     */
+    private String contentType(final HttpResponse<byte[]> response) {
+        return response.headers().firstValue("Content-Type").orElse("");
     }
 
     /**
@@ -162,14 +597,103 @@ public final class DefaultAuthServiceHttpClient implements AuthServiceHttpClient
     }
 
     /**
-     * Serializes the given {@link AuthServiceRequest} to a JSON string.
-     *
-     * @param request the request payload
-     * @return a JSON string representation of the request
-     * @throws JsonProcessingException if serialization fails
+     * Creates the {@link ObjectMapper} of the CBOR wire format. Kept apart so {@code jackson-dataformat-cbor} is only
+     * loaded when CBOR is used.
      */
-    private String createRequestBody(final AuthServiceRequest request) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(request);
+    private static final class CborMapperFactory {
+
+        private static ObjectMapper create() {
+            return new CBORMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        }
+
+    }
+
+    /**
+     * Builder of a {@link DefaultAuthServiceHttpClient}. Every optional feature is disabled unless configured, and a
+     * null argument disables the feature again.
+     */
+    public static final class Builder {
+
+        private final ApiVersion apiVersion;
+        private String validateTokenEndpoint;
+        private String bulkValidateTokensEndpoint;
+        private AuthClientTracer tracer = AuthClientTracer.NOOP;
+        private HttpClient httpClient;
+        private WireFormat wireFormat;
+
+        private Builder(final ApiVersion apiVersion) {
+            this.apiVersion = apiVersion;
+        }
+
+        /**
+         * Sets a custom token validation endpoint.
+         *
+         * @param validateTokenEndpoint custom token validation endpoint; if {@code null} or blank, a default endpoint
+         *                              is used
+         * @return the builder instance
+         */
+        public Builder validateTokenEndpoint(final String validateTokenEndpoint) {
+            this.validateTokenEndpoint = validateTokenEndpoint;
+            return this;
+        }
+
+        /**
+         * Sets a custom bulk token validation endpoint, used with the API versions supporting bulk validation.
+         *
+         * @param bulkValidateTokensEndpoint custom bulk token validation endpoint; if {@code null} or blank,
+         *                                   {@code validate-tokens} next to the token validation endpoint is used
+         * @return the builder instance
+         */
+        public Builder bulkValidateTokensEndpoint(final String bulkValidateTokensEndpoint) {
+            this.bulkValidateTokensEndpoint = bulkValidateTokensEndpoint;
+            return this;
+        }
+
+        /**
+         * Sets the tracer whose current trace context is propagated as request headers, {@link AuthClientTracer#NOOP}
+         * by default.
+         *
+         * @param tracer the tracer propagating the trace context
+         * @return the builder instance
+         */
+        public Builder tracer(final AuthClientTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Sends the requests through the given {@link HttpClient}, which may be shared with other clients.
+         *
+         * @param httpClient the HTTP transport, null to create one for the client
+         * @return the builder instance
+         */
+        public Builder httpClient(final HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the preferred encoding of the request bodies. Endpoints answering a CBOR request with
+         * {@code 415 Unsupported Media Type} are sent JSON from then on.
+         *
+         * @param wireFormat the preferred encoding of the bodies, null for {@link WireFormat#JSON}
+         * @return the builder instance
+         */
+        public Builder wireFormat(final WireFormat wireFormat) {
+            this.wireFormat = wireFormat;
+            return this;
+        }
+
+        /**
+         * Builds the client.
+         *
+         * @return a new DefaultAuthServiceHttpClient instance
+         * @throws NullPointerException if the API version or the tracer is null
+         */
+        public DefaultAuthServiceHttpClient build() {
+            return new DefaultAuthServiceHttpClient(this);
+        }
+
     }
 
 }
@@ -0,0 +1,64 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.config.EndpointDiscoveryConfigs;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Probes the health of registered endpoints with asynchronous HTTP {@code GET} requests, see
+ * {@link EndpointDiscoveryConfigs}. The probes are sent through the HTTP transport of the client when given, so they
+ * don't cost a connection pool and selector thread of their own.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class EndpointHealthProber {
+
+    private final HttpClient httpClient;
+    private final EndpointDiscoveryConfigs configs;
+    private final String path;
+
+    EndpointHealthProber(final EndpointDiscoveryConfigs configs, final HttpClient httpClient) {
+        this.configs = configs;
+        this.path = configs.healthCheckPath() == null || configs.healthCheckPath().isBlank()
+                ? "/"
+                : (configs.healthCheckPath().startsWith("/") ? configs.healthCheckPath() : "/" + configs.healthCheckPath());
+        this.httpClient = httpClient != null ? httpClient : HttpClient
+                .newBuilder()
+                .connectTimeout(configs.probeTimeout())
+                .build();
+    }
+
+    /**
+     * Probes the given endpoint.
+     *
+     * @param endpoint the endpoint to probe
+     * @return a future completed with true if the endpoint is healthy, false otherwise; never completed exceptionally
+     */
+    CompletableFuture<Boolean> probe(final RegisteredEndpoint endpoint) {
+        final HttpRequest request;
+
+        try {
+            final var authServiceEndpoint = endpoint.endpoint();
+            request = HttpRequest
+                    .newBuilder()
+                    .uri(URI.create(authServiceEndpoint.scheme() + "://" + authServiceEndpoint.host() + ":" + authServiceEndpoint.port() + path))
+                    .timeout(configs.probeTimeout())
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> e == null && (configs.healthCheckPath() == null
+                        || configs.healthCheckPath().isBlank()
+                        || response.statusCode() / 100 == 2));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link AuthServiceEndpointSource} reading {@code scheme://host:port} lines from a local file.
+ * <p>
+ * The file is watched by polling its modification time and size, which also works for files replaced through
+ * symbolic links, such as mounted Kubernetes config maps.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class FileAuthServiceEndpointSource implements AuthServiceEndpointSource {
+
+    private final Path file;
+    private FileTime lastModified;
+    private long lastSize;
+    private List<AuthServiceEndpoint> endpoints;
+
+    FileAuthServiceEndpointSource(final Path file) {
+        this.file = Objects.requireNonNull(file, "endpoints file is null");
+    }
+
+    @Override
+    public synchronized List<AuthServiceEndpoint> load() throws IOException {
+        final var modified = Files.getLastModifiedTime(file);
+        final var size = Files.size(file);
+
+        if (endpoints != null && modified.equals(lastModified) && size == lastSize) {
+            return endpoints;
+        }
+
+        final var parsed = new ArrayList<AuthServiceEndpoint>();
+
+        for (final var line : Files.readAllLines(file)) {
+            final var trimmed = line.strip();
+
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            parsed.add(parse(trimmed));
+        }
+
+        this.endpoints = List.copyOf(parsed);
+        this.lastModified = modified;
+        this.lastSize = size;
+        return endpoints;
+    }
+
+    private AuthServiceEndpoint parse(final String line) throws IOException {
+        try {
+            final var uri = URI.create(line);
+
+            if (uri.getScheme() == null || uri.getHost() == null || uri.getPort() <= 0) {
+                throw new IOException("invalid endpoint '" + line + "' in " + file + ", expected scheme://host:port");
+            }
+
+            return new AuthServiceEndpoint(uri.getScheme(), uri.getHost(), uri.getPort());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid endpoint '" + line + "' in " + file + ", expected scheme://host:port", e);
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.akgarg.client.authclient.http;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AuthServiceEndpoint} registered on an {@link AuthServiceHttpClient}, with its precomputed request URI
+ * and the state observed across calls.
+ * <p>
+ * The client keeps a single instance per registered endpoint, so the state persists across requests and can be used
+ * for stateful routing. An endpoint resolved for a single call without being registered gets an instance of its own,
+ * whose state is dropped after the call. Endpoints are healthy until health probes of an
+ * {@link AuthServiceEndpointRegistry} say otherwise. State updates are lock-free.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class RegisteredEndpoint {
+
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+
+    private final AuthServiceEndpoint endpoint;
+    private final URI uri;
+    private final AtomicLong calls;
+    private final AtomicLong failures;
+    private final AtomicInteger consecutiveFailures;
+    private final AtomicLong latencyEwmaNanos;
+    private final AtomicInteger failedProbes;
+    private volatile boolean healthy;
+    private volatile boolean jsonOnly;
+
+    /**
+     * Constructs a registered endpoint.
+     *
+     * @param endpoint the endpoint
+     * @param uri      the precomputed token validation URI of the endpoint
+     */
+    public RegisteredEndpoint(final AuthServiceEndpoint endpoint, final URI uri) {
+        this.endpoint = endpoint;
+        this.uri = uri;
+        this.calls = new AtomicLong();
+        this.failures = new AtomicLong();
+        this.consecutiveFailures = new AtomicInteger();
+        this.latencyEwmaNanos = new AtomicLong();
+        this.failedProbes = new AtomicInteger();
+        this.healthy = true;
+    }
+
+    /**
+     * Returns the endpoint.
+     *
+     * @return the endpoint
+     */
+    public AuthServiceEndpoint endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the precomputed token validation URI of the endpoint.
+     *
+     * @return the token validation URI
+     */
+    public URI uri() {
+        return uri;
+    }
+
+    /**
+     * Returns the number of completed calls to the endpoint.
+     *
+     * @return the number of completed calls
+     */
+    public long calls() {
+        return calls.get();
+    }
+
+    /**
+     * Returns the number of calls to the endpoint which failed without a usable response.
+     *
+     * @return the number of failed calls
+     */
+    public long failures() {
+        return failures.get();
+    }
+
+    /**
+     * Returns the number of failed calls since the last call answered by the endpoint.
+     *
+     * @return the number of consecutive failed calls
+     */
+    public int consecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of the latency of the calls answered by the endpoint.
+     *
+     * @return the average latency in nanoseconds, 0 if no call was answered yet
+     */
+    public long latencyEwmaNanos() {
+        return latencyEwmaNanos.get();
+    }
+
+    /**
+     * Returns whether the endpoint passed its last health probes.
+     *
+     * @return false if the endpoint failed its last health probes or awaits its first one, true otherwise
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Takes the endpoint out of rotation until it passes a health probe.
+     */
+    void awaitProbe() {
+        healthy = false;
+    }
+
+    /**
+     * Records the outcome of a health probe.
+     *
+     * @param success            whether the probe succeeded
+     * @param unhealthyThreshold the consecutive failed probes making the endpoint unhealthy
+     * @return true if the health of the endpoint changed, false otherwise
+     */
+    boolean recordProbe(final boolean success, final int unhealthyThreshold) {
+        final var wasHealthy = healthy;
+
+        if (success) {
+            failedProbes.set(0);
+            healthy = true;
+        } else if (failedProbes.incrementAndGet() >= unhealthyThreshold) {
+            healthy = false;
+        }
+
+        return wasHealthy != healthy;
+    }
+
+    /**
+     * Records a call answered by the endpoint.
+     *
+     * @param latencyNanos the latency of the call
+     */
+    public void recordSuccess(final long latencyNanos) {
+        calls.incrementAndGet();
+        consecutiveFailures.set(0);
+        latencyEwmaNanos.updateAndGet(average -> average == 0
+                ? latencyNanos
+                : (long) (average + LATENCY_EWMA_WEIGHT * (latencyNanos - average)));
+    }
+
+    /**
+     * Records a call which failed without a usable response.
+     */
+    public void recordFailure() {
+        calls.incrementAndGet();
+        failures.incrementAndGet();
+        consecutiveFailures.incrementAndGet();
+    }
+
+    /**
+     * Returns whether the endpoint rejected a non-JSON wire format, so it is sent JSON.
+     *
+     * @return true if the endpoint only accepts JSON
+     */
+    boolean isJsonOnly() {
+        return jsonOnly;
+    }
+
+    /**
+     * Records that the endpoint rejected a non-JSON wire format.
+     *
+     * @return true if the endpoint was not known to only accept JSON before
+     */
+    boolean markJsonOnly() {
+        final var wasJsonOnly = jsonOnly;
+        jsonOnly = true;
+        return !wasJsonOnly;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+
+}
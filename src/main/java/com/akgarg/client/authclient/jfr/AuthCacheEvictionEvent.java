@@ -0,0 +1,67 @@
+package com.akgarg.client.authclient.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of a bulk removal of sessions from a local token cache: a periodic sweep of the expired
+ * sessions, or a clear of the whole cache.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@Name(AuthCacheEvictionEvent.NAME)
+@Label("Auth Cache Eviction")
+@Category({"Auth Client"})
+@Description("Removal of sessions from a local token cache")
+@StackTrace(false)
+public final class AuthCacheEvictionEvent extends Event {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "com.akgarg.authclient.CacheEviction";
+
+    /**
+     * Reason of the removal of expired sessions.
+     */
+    public static final String EXPIRED = "EXPIRED";
+
+    /**
+     * Reason of the removal of all sessions.
+     */
+    public static final String CLEARED = "CLEARED";
+
+    @Label("Cache Strategy")
+    private String cacheStrategy;
+
+    @Label("Reason")
+    private String reason;
+
+    @Label("Entries Evicted")
+    @Description("Number of sessions removed")
+    private long entriesEvicted;
+
+    /**
+     * Ends the event and commits it with the given removal, if the event is enabled and above its threshold.
+     *
+     * @param cacheStrategy  the cache strategy of the cache
+     * @param reason         {@link #EXPIRED} or {@link #CLEARED}
+     * @param entriesEvicted the number of sessions removed
+     */
+    public void complete(final String cacheStrategy, final String reason, final long entriesEvicted) {
+        end();
+
+        if (shouldCommit()) {
+            this.cacheStrategy = cacheStrategy;
+            this.reason = reason;
+            this.entriesEvicted = entriesEvicted;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.akgarg.client.authclient.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of a lookup of a session in the token cache.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@Name(AuthCacheLookupEvent.NAME)
+@Label("Auth Cache Lookup")
+@Category({"Auth Client"})
+@Description("Lookup of a session in the token cache")
+@StackTrace(false)
+public final class AuthCacheLookupEvent extends Event {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "com.akgarg.authclient.CacheLookup";
+
+    @Label("Cache Strategy")
+    private String cacheStrategy;
+
+    @Label("Hit")
+    @Description("Whether the session was found")
+    private boolean hit;
+
+    /**
+     * Ends the event and commits it with the given outcome, if the event is enabled and above its threshold.
+     *
+     * @param cacheStrategy the cache strategy of the client
+     * @param hit           whether the session was found
+     */
+    public void complete(final String cacheStrategy, final boolean hit) {
+        end();
+
+        if (shouldCommit()) {
+            this.cacheStrategy = cacheStrategy;
+            this.hit = hit;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.akgarg.client.authclient.jfr;
+
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of a single auth-service call, including the time spent in the transport decorators
+ * such as the concurrency limit and the micro-batching.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@Name(AuthServiceCallEvent.NAME)
+@Label("Auth Service Call")
+@Category({"Auth Client"})
+@Description("Call to an auth-service endpoint")
+@StackTrace(false)
+public final class AuthServiceCallEvent extends Event {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "com.akgarg.authclient.ServiceCall";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Retry")
+    @Description("Retry index of the call, 0 for the first call")
+    private int retry;
+
+    @Label("Status Code")
+    @Description("HTTP status of the response, -1 if no response was received")
+    private int statusCode;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Sets the called endpoint and the retry index of the call.
+     *
+     * @param endpoint the called endpoint
+     * @param retry    the retry index of the call
+     */
+    public void endpoint(final AuthServiceEndpoint endpoint, final int retry) {
+        if (isEnabled()) {
+            this.endpoint = format(endpoint);
+            this.retry = retry;
+        }
+    }
+
+    /**
+     * Ends the event and commits it with the given result, if the event is enabled and above its threshold.
+     *
+     * @param result the result of the call
+     */
+    public void complete(final AuthServiceCallResult result) {
+        end();
+
+        if (shouldCommit()) {
+            this.statusCode = result.statusCode();
+            this.outcome = result.outcome().name();
+            commit();
+        }
+    }
+
+    /**
+     * Ends the event and commits it as rejected without being sent, if the event is enabled and above its threshold.
+     */
+    public void completeRejected() {
+        end();
+
+        if (shouldCommit()) {
+            this.statusCode = -1;
+            this.outcome = "REJECTED";
+            commit();
+        }
+    }
+
+    /**
+     * Formats the given endpoint as {@code scheme://host:port}.
+     *
+     * @param endpoint the endpoint, may be null
+     * @return the formatted endpoint, or null
+     */
+    static String format(final AuthServiceEndpoint endpoint) {
+        return endpoint != null ? endpoint.scheme() + "://" + endpoint.host() + ":" + endpoint.port() : null;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.akgarg.client.authclient.jfr;
+
+import com.akgarg.client.authclient.common.ValidationResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of a token validation, spanning the cache lookup and the auth-service calls.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@Name(AuthValidateEvent.NAME)
+@Label("Auth Validate")
+@Category({"Auth Client"})
+@Description("Validation of an authentication token")
+@StackTrace(false)
+public final class AuthValidateEvent extends Event {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "com.akgarg.authclient.Validate";
+
+    @Label("Cache Strategy")
+    private String cacheStrategy;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Source")
+    @Description("Where the answer came from")
+    private String source;
+
+    @Label("Endpoint")
+    @Description("Endpoint of the last auth-service call")
+    private String endpoint;
+
+    @Label("Attempts")
+    @Description("Number of auth-service calls")
+    private int attempts;
+
+    /**
+     * Ends the event and commits it with the given result, if the event is enabled and above its threshold.
+     *
+     * @param cacheStrategy the cache strategy of the client
+     * @param result        the result of the validation
+     */
+    public void complete(final String cacheStrategy, final ValidationResult result) {
+        end();
+
+        if (shouldCommit()) {
+            this.cacheStrategy = cacheStrategy;
+            this.outcome = result.outcome().name();
+            this.source = result.source().name();
+            this.endpoint = AuthServiceCallEvent.format(result.endpoint());
+            this.attempts = result.attempts();
+            commit();
+        }
+    }
+
+}
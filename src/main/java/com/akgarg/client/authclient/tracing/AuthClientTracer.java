@@ -0,0 +1,60 @@
+package com.akgarg.client.authclient.tracing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Creates the trace spans of an auth client and propagates the trace context to auth-service calls.
+ * <p>
+ * The client traces token validations, with child spans for the cache lookup, each auth-service call and the cache
+ * fill. {@link #NOOP} is used when no tracer is configured: its spans are a shared stateless instance, so tracing
+ * allocates nothing and no tracing library needs to be on the classpath. {@link OpenTelemetryAuthClientTracer}
+ * reports the spans to OpenTelemetry.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public interface AuthClientTracer {
+
+    /**
+     * Name of the span covering a token validation.
+     */
+    String VALIDATE_SPAN = "AuthClient validate";
+
+    /**
+     * Name of the span covering a cache lookup.
+     */
+    String CACHE_LOOKUP_SPAN = "AuthClient cache lookup";
+
+    /**
+     * Name of the span covering a single auth-service call.
+     */
+    String AUTH_SERVICE_CALL_SPAN = "AuthClient auth-service call";
+
+    /**
+     * Name of the span covering the caching of a validated token.
+     */
+    String CACHE_FILL_SPAN = "AuthClient cache fill";
+
+    /**
+     * The tracer used when no tracer is configured, tracing nothing.
+     */
+    AuthClientTracer NOOP = NoopAuthClientTracer.INSTANCE;
+
+    /**
+     * Starts a span.
+     *
+     * @param name   the name of the span
+     * @param parent the parent span, or null to use the current trace context as parent
+     * @return the started span, to be ended with {@link TraceSpan#end()}
+     */
+    TraceSpan startSpan(String name, TraceSpan parent);
+
+    /**
+     * Writes the current trace context as request headers.
+     *
+     * @param headers receives the name and value of every header to set
+     */
+    void inject(BiConsumer<String, String> headers);
+
+}
@@ -0,0 +1,63 @@
+package com.akgarg.client.authclient.tracing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * The {@link AuthClientTracer#NOOP} tracer, whose single instance is also its span and scope.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class NoopAuthClientTracer implements AuthClientTracer, TraceSpan, TraceSpan.Scope {
+
+    static final NoopAuthClientTracer INSTANCE = new NoopAuthClientTracer();
+
+    private NoopAuthClientTracer() {
+    }
+
+    @Override
+    public TraceSpan startSpan(final String name, final TraceSpan parent) {
+        return this;
+    }
+
+    @Override
+    public void inject(final BiConsumer<String, String> headers) {
+        // nothing to propagate
+    }
+
+    @Override
+    public TraceSpan setAttribute(final String key, final String value) {
+        return this;
+    }
+
+    @Override
+    public TraceSpan setAttribute(final String key, final long value) {
+        return this;
+    }
+
+    @Override
+    public TraceSpan setAttribute(final String key, final boolean value) {
+        return this;
+    }
+
+    @Override
+    public void recordFailure(final Throwable e) {
+        // nothing to record
+    }
+
+    @Override
+    public Scope makeCurrent() {
+        return this;
+    }
+
+    @Override
+    public void end() {
+        // nothing to end
+    }
+
+    @Override
+    public void close() {
+        // nothing to restore
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.akgarg.client.authclient.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An {@link AuthClientTracer} reporting spans to OpenTelemetry and propagating the trace context with the
+ * propagators of the given {@link OpenTelemetry} instance, W3C {@code traceparent} by default.
+ * <p>
+ * Requires the OpenTelemetry API on the classpath. Auth-service call spans are client spans, all other spans are
+ * internal.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public final class OpenTelemetryAuthClientTracer implements AuthClientTracer {
+
+    private static final String INSTRUMENTATION_SCOPE = "com.akgarg.authservice-java-client";
+    private static final TextMapSetter<BiConsumer<String, String>> HEADER_SETTER = (headers, key, value) -> {
+        if (headers != null) {
+            headers.accept(key, value);
+        }
+    };
+
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+
+    /**
+     * Constructs a tracer reporting to the given OpenTelemetry instance.
+     *
+     * @param openTelemetry the OpenTelemetry instance
+     * @throws NullPointerException if {@code openTelemetry} is null
+     */
+    public OpenTelemetryAuthClientTracer(final OpenTelemetry openTelemetry) {
+        Objects.requireNonNull(openTelemetry, "openTelemetry is null");
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    @Override
+    public TraceSpan startSpan(final String name, final TraceSpan parent) {
+        final var parentContext = parent instanceof OpenTelemetrySpan span
+                ? Context.current().with(span.span)
+                : Context.current();
+
+        return new OpenTelemetrySpan(tracer
+                .spanBuilder(name)
+                .setParent(parentContext)
+                .setSpanKind(AUTH_SERVICE_CALL_SPAN.equals(name) ? SpanKind.CLIENT : SpanKind.INTERNAL)
+                .startSpan());
+    }
+
+    @Override
+    public void inject(final BiConsumer<String, String> headers) {
+        propagator.inject(Context.current(), headers, HEADER_SETTER);
+    }
+
+    /**
+     * A {@link TraceSpan} wrapping an OpenTelemetry {@link Span}.
+     */
+    private record OpenTelemetrySpan(Span span) implements TraceSpan {
+
+        @Override
+        public TraceSpan setAttribute(final String key, final String value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute(final String key, final long value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute(final String key, final boolean value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public void recordFailure(final Throwable e) {
+            if (e != null) {
+                span.recordException(e);
+            }
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            return span.makeCurrent()::close;
+        }
+
+        @Override
+        public void end() {
+            span.end();
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.akgarg.client.authclient.tracing;
+
+/**
+ * A span started by an {@link AuthClientTracer}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public interface TraceSpan {
+
+    /**
+     * Name of the attribute holding the cache strategy of a cache lookup or fill.
+     */
+    String CACHE_STRATEGY_ATTRIBUTE = "auth_client.cache.strategy";
+
+    /**
+     * Name of the attribute telling whether a cache lookup found the token.
+     */
+    String CACHE_HIT_ATTRIBUTE = "auth_client.cache.hit";
+
+    /**
+     * Name of the attribute holding the host of the called auth-service endpoint.
+     */
+    String SERVER_ADDRESS_ATTRIBUTE = "server.address";
+
+    /**
+     * Name of the attribute holding the port of the called auth-service endpoint.
+     */
+    String SERVER_PORT_ATTRIBUTE = "server.port";
+
+    /**
+     * Name of the attribute holding the HTTP status of an auth-service call, -1 if no response was received.
+     */
+    String STATUS_CODE_ATTRIBUTE = "http.response.status_code";
+
+    /**
+     * Name of the attribute holding the retry index of an auth-service call, 0 for the first call.
+     */
+    String RETRY_ATTRIBUTE = "auth_client.retry";
+
+    /**
+     * Name of the attribute holding the outcome of a validation or auth-service call.
+     */
+    String OUTCOME_ATTRIBUTE = "auth_client.outcome";
+
+    /**
+     * Sets a string attribute on the span.
+     *
+     * @param key   the attribute name
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute(String key, String value);
+
+    /**
+     * Sets a long attribute on the span.
+     *
+     * @param key   the attribute name
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute(String key, long value);
+
+    /**
+     * Sets a boolean attribute on the span.
+     *
+     * @param key   the attribute name
+     * @param value the attribute value
+     * @return this span
+     */
+    TraceSpan setAttribute(String key, boolean value);
+
+    /**
+     * Marks the span as failed.
+     *
+     * @param e the failure, may be null
+     */
+    void recordFailure(Throwable e);
+
+    /**
+     * Makes the span the current trace context of the calling thread until the returned scope is closed.
+     *
+     * @return the scope to close on the same thread
+     */
+    Scope makeCurrent();
+
+    /**
+     * Ends the span.
+     */
+    void end();
+
+    /**
+     * A scope in which a span is the current trace context.
+     */
+    interface Scope extends AutoCloseable {
+
+        /**
+         * Restores the previous trace context.
+         */
+        @Override
+        void close();
+
+    }
+
+}
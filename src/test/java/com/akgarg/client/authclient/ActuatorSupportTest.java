@@ -0,0 +1,147 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.cache.RedisConnectionState;
+import com.akgarg.client.authclient.cache.RedisConnectionStateEvent;
+import com.akgarg.client.authclient.common.AuthClientStatistics;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.config.AuthClientAutoConfiguration;
+import com.akgarg.client.authclient.config.AuthClientEndpoint;
+import com.akgarg.client.authclient.config.AuthClientHealthIndicator;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the client statistics and the actuator {@link AuthClientHealthIndicator} and
+ * {@link AuthClientEndpoint}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class ActuatorSupportTest {
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start();
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void statistics_ShouldReportCacheAndEndpoints() {
+        final var authClient = buildClient();
+
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-2", "token-2")));
+
+        final var statistics = authClient.statistics();
+        assertEquals(AuthTokenCacheStrategy.IN_MEMORY.name(), statistics.cacheStrategy());
+        assertEquals(2, statistics.cacheSize());
+        assertEquals(1, statistics.cacheHits());
+        assertEquals(2, statistics.cacheMisses());
+        assertEquals(1.0 / 3, statistics.cacheHitRatio(), 1e-9);
+        assertNull(statistics.redis());
+
+        final var endpoint = statistics.endpoints().get(0);
+        assertTrue(endpoint.healthy());
+        assertEquals(2, endpoint.calls());
+        assertEquals(0, endpoint.failures());
+        assertTrue(endpoint.latencyMillis() > 0);
+
+        authClient.close();
+    }
+
+    @Test
+    void endpoint_ShouldInvalidateUsersAndClearCache() {
+        final var authClient = buildClient();
+        final var endpoint = new AuthClientEndpoint(authClient);
+        authClient.validate(new ValidateTokenRequest("user-1", "token-1"));
+        authClient.validate(new ValidateTokenRequest("user-2", "token-2"));
+
+        assertEquals(2L, ((AuthClientStatistics) endpoint.statistics().get("statistics")).cacheSize());
+
+        assertEquals(true, endpoint.invalidateUser("user-1").get("removed"));
+        assertEquals(false, endpoint.invalidateUser("user-1").get("removed"));
+        assertEquals(1, authClient.statistics().cacheSize());
+
+        assertEquals(true, endpoint.clearCache().get("cleared"));
+        assertEquals(0, authClient.statistics().cacheSize());
+
+        authClient.close();
+    }
+
+    @Test
+    void healthIndicator_ShouldReportDegraded_WhenRedisIsUnreachable() throws Exception {
+        final var events = new LinkedBlockingQueue<RedisConnectionStateEvent>();
+        final var authClient = AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS)
+                .redisConnectionProperties(new RedisConnectionConfigs("localhost", unusedPort()))
+                .redisFallbackConfig(new RedisFallbackConfigs(100, Duration.ofMillis(100), Duration.ofSeconds(1)))
+                .redisConnectionStateListener(events::add)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+
+        assertEquals(RedisConnectionState.DEGRADED, events.poll(10, TimeUnit.SECONDS).current());
+
+        final var health = new AuthClientHealthIndicator(authClient).health();
+        assertEquals(AuthClientHealthIndicator.DEGRADED, health.getStatus());
+        assertNotNull(health.getDetails().get("redis"));
+        assertEquals(1L, health.getDetails().get("healthyEndpoints"));
+
+        authClient.close();
+    }
+
+    @Test
+    void healthIndicator_ShouldReportUp_WithHealthyEndpoints() {
+        final var authClient = buildClient();
+
+        assertEquals(Status.UP, new AuthClientHealthIndicator(authClient).health().getStatus());
+
+        authClient.close();
+    }
+
+    @Test
+    void autoConfiguration_ShouldContributeHealthIndicatorAndEndpoint() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(AuthClientAutoConfiguration.class))
+                .run(context -> {
+                    assertNotNull(context.getBean(AuthClientHealthIndicator.class));
+                    assertNotNull(context.getBean(AuthClientEndpoint.class));
+                });
+    }
+
+    private AuthClient buildClient() {
+        return AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private static int unusedPort() throws Exception {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * An in-process auth-service stub shared by the test cases, built on the JDK {@link HttpServer}.
+ * <p>
+ * By default every path answers a validation request with a session of the requested user and token, accepted and
+ * valid for a minute. Tests change the answers with {@link #accepting(boolean)}, {@link #lifetime(Duration)},
+ * {@link #status(int)} and {@link #delay(Duration)}, observe the requests with {@link #calls()} and
+ * {@link #onRequest(Consumer)}, or serve paths of their own with {@link #context(String, HttpHandler)}.
+ * </p>
+ *
+ * <pre>{@code
+ * private AuthServiceStub authService;
+ *
+ * @BeforeEach
+ * void startAuthService() {
+ *     authService = AuthServiceStub.start();
+ * }
+ *
+ * @AfterEach
+ * void stopAuthService() {
+ *     authService.close();
+ * }
+ * }</pre>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class AuthServiceStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean accepting = new AtomicBoolean(true);
+    private final AtomicReference<Duration> lifetime = new AtomicReference<>(Duration.ofMinutes(1));
+    private final AtomicReference<Duration> delay = new AtomicReference<>(Duration.ZERO);
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<Consumer<HttpExchange>> requestObserver = new AtomicReference<>(exchange -> {
+    });
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private AuthServiceStub() throws IOException {
+        this.executor = Executors.newCachedThreadPool(r -> {
+            final var thread = new Thread(r, "authServiceStub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Starts a stub on a free local port.
+     *
+     * @return the started stub, to be closed by the test
+     */
+    static AuthServiceStub start() {
+        try {
+            return new AuthServiceStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can't start auth-service stub", e);
+        }
+    }
+
+    AuthServiceEndpoint endpoint() {
+        return new AuthServiceEndpoint("http", "localhost", port());
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    String uri() {
+        return "http://localhost:" + port();
+    }
+
+    /**
+     * Returns the number of requests answered by the default handler.
+     *
+     * @return the number of validation requests
+     */
+    int calls() {
+        return calls.get();
+    }
+
+    /**
+     * Sets whether the answered sessions are accepted or rejected.
+     *
+     * @param accepting true to accept the validated tokens
+     * @return this stub
+     */
+    AuthServiceStub accepting(final boolean accepting) {
+        this.accepting.set(accepting);
+        return this;
+    }
+
+    /**
+     * Sets the lifetime of the answered sessions, counted from the time of the answer.
+     *
+     * @param lifetime the session lifetime
+     * @return this stub
+     */
+    AuthServiceStub lifetime(final Duration lifetime) {
+        this.lifetime.set(lifetime);
+        return this;
+    }
+
+    /**
+     * Sets the status of the answers. Any other status than {@code 200} is sent without a body.
+     *
+     * @param status the HTTP status
+     * @return this stub
+     */
+    AuthServiceStub status(final int status) {
+        this.status.set(status);
+        return this;
+    }
+
+    /**
+     * Sets the delay of the answers.
+     *
+     * @param delay the delay before every answer
+     * @return this stub
+     */
+    AuthServiceStub delay(final Duration delay) {
+        this.delay.set(delay);
+        return this;
+    }
+
+    /**
+     * Sets an observer of the requests, called before each of them is answered, e.g. to capture their headers.
+     *
+     * @param requestObserver the observer of the requests
+     * @return this stub
+     */
+    AuthServiceStub onRequest(final Consumer<HttpExchange> requestObserver) {
+        this.requestObserver.set(requestObserver);
+        return this;
+    }
+
+    /**
+     * Serves the given path with the given handler instead of the default one.
+     *
+     * @param path    the path served by the handler
+     * @param handler the handler of the path
+     * @return this stub
+     */
+    AuthServiceStub context(final String path, final HttpHandler handler) {
+        server.createContext(path, handler);
+        return this;
+    }
+
+    /**
+     * Stops serving the given path with a handler set by {@link #context(String, HttpHandler)}.
+     *
+     * @param path the path to remove
+     */
+    void removeContext(final String path) {
+        server.removeContext(path);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            calls.incrementAndGet();
+            requestObserver.get().accept(exchange);
+            Thread.sleep(delay.get().toMillis());
+
+            if (status.get() != 200) {
+                exchange.sendResponseHeaders(status.get(), -1);
+                return;
+            }
+
+            final var request = objectMapper.readValue(exchange.getRequestBody(), AuthServiceRequest.class);
+            final var body = """
+                    {"userId":"%s","token":"%s","expiration":%d,"success":%b}
+                    """.formatted(
+                    request.userId(),
+                    request.token(),
+                    System.currentTimeMillis() + lifetime.get().toMillis(),
+                    accepting.get()
+            ).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
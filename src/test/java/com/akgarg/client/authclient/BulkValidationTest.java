@@ -0,0 +1,262 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.config.BatchingConfigs;
+import com.akgarg.client.authclient.http.BatchingAuthServiceHttpClient;
+import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the micro-batching of concurrent cache misses into bulk validation calls, see
+ * {@link BatchingAuthServiceHttpClient}, against a stub auth-service.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class BulkValidationTest {
+
+    private static final int CLIENTS = 32;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger bulkCalls = new AtomicInteger();
+    private final AtomicInteger bulkTokens = new AtomicInteger();
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start()
+                .context("/api/v2/auth/validate-tokens", this::respondBulk)
+                .context("/api/v2/auth/validate-token", exchange -> {
+                    singleCalls.incrementAndGet();
+                    respond(exchange, response(objectMapper.readTree(exchange.getRequestBody())));
+                });
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void validate_ShouldSendConcurrentMissesInFewBulkCalls() throws Exception {
+        final var authClient = buildClient(ApiVersion.V2, new BatchingConfigs(CLIENTS, Duration.ofMillis(50)));
+
+        final var results = validateConcurrently(authClient);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            assertEquals(i % 3 != 0, results.get(i).join(), "result of user " + i);
+        }
+
+        assertEquals(CLIENTS, bulkTokens.get() + singleCalls.get());
+        assertTrue(bulkCalls.get() + singleCalls.get() < CLIENTS / 4,
+                "expected few auth-service calls, got " + bulkCalls.get() + " bulk and " + singleCalls.get() + " single calls");
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldSendSingleCalls_WhenApiVersionHasNoBulkValidation() throws Exception {
+        authService.context("/api/v1/auth/validate-token", exchange -> {
+            singleCalls.incrementAndGet();
+            respond(exchange, response(objectMapper.readTree(exchange.getRequestBody())));
+        });
+        final var authClient = buildClient(ApiVersion.V1, new BatchingConfigs(CLIENTS, Duration.ofMillis(50)));
+
+        final var results = validateConcurrently(authClient);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            assertEquals(i % 3 != 0, results.get(i).join(), "result of user " + i);
+        }
+
+        assertEquals(0, bulkCalls.get());
+        assertEquals(CLIENTS, singleCalls.get());
+
+        authClient.close();
+    }
+
+    @Test
+    void callAuthServiceBulk_ShouldKeepBasePathOfCustomValidateEndpoint() {
+        authService.removeContext("/api/v2/auth/validate-tokens");
+        authService.context("/gateway/api/v2/auth/validate-tokens", this::respondBulk);
+        final var httpClient = DefaultAuthServiceHttpClient.builder(ApiVersion.V2)
+                .validateTokenEndpoint("gateway/api/v2/auth/validate-token")
+                .build();
+
+        final var results = callBulk(httpClient);
+
+        assertEquals(1, bulkCalls.get());
+        assertEquals(0, singleCalls.get());
+        assertTrue(results.stream().allMatch(result -> result.response().success()));
+    }
+
+    @Test
+    void callAuthServiceBulk_ShouldCallCustomBulkEndpoint() {
+        authService.removeContext("/api/v2/auth/validate-tokens");
+        authService.context("/custom/bulk", this::respondBulk);
+        final var httpClient = DefaultAuthServiceHttpClient.builder(ApiVersion.V2)
+                .bulkValidateTokensEndpoint("custom/bulk")
+                .build();
+
+        final var results = callBulk(httpClient);
+
+        assertEquals(1, bulkCalls.get());
+        assertEquals(0, singleCalls.get());
+        assertTrue(results.stream().allMatch(result -> result.response().success()));
+    }
+
+    @Test
+    void batchingConfigs_ShouldBeValidated() {
+        final var httpClient = new DefaultAuthServiceHttpClient(null, ApiVersion.V2);
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchingAuthServiceHttpClient(
+                httpClient,
+                new BatchingConfigs(0, Duration.ofMillis(2)),
+                null,
+                true
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingAuthServiceHttpClient(
+                httpClient,
+                new BatchingConfigs(8, Duration.ofMillis(-1)),
+                null,
+                true
+        ));
+    }
+
+    @Test
+    void callAuthService_ShouldSendBatchRightAway_WhenSchedulerRejectsIt() {
+        final var scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.shutdown();
+        final var httpClient = new BatchingAuthServiceHttpClient(
+                new DefaultAuthServiceHttpClient(null, ApiVersion.V2),
+                new BatchingConfigs(CLIENTS, Duration.ofSeconds(10)),
+                scheduler,
+                true
+        );
+        final var endpoint = httpClient.register(authService.endpoint());
+
+        final var result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> httpClient.callAuthService(endpoint, new AuthServiceRequest("user-1", "token-1")));
+
+        assertEquals(AuthServiceCallResult.Outcome.RESPONSE, result.outcome());
+        assertTrue(result.response().success());
+        assertEquals(0, httpClient.pendingCalls());
+    }
+
+    @Test
+    void close_ShouldSendPendingBatches() throws Exception {
+        final var httpClient = new BatchingAuthServiceHttpClient(
+                new DefaultAuthServiceHttpClient(null, ApiVersion.V2),
+                new BatchingConfigs(CLIENTS, Duration.ofSeconds(10)),
+                null,
+                true
+        );
+        final var endpoint = httpClient.register(authService.endpoint());
+        final var first = httpClient.callAuthServiceAsync(endpoint, new AuthServiceRequest("user-1", "token-1"));
+        final var second = httpClient.callAuthServiceAsync(endpoint, new AuthServiceRequest("user-3", "token-3"));
+        assertEquals(2, httpClient.pendingCalls());
+
+        httpClient.close();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).response().success());
+        assertFalse(second.get(5, TimeUnit.SECONDS).response().success());
+        assertEquals(1, bulkCalls.get());
+        assertEquals(0, httpClient.pendingCalls());
+    }
+
+    private AuthClient buildClient(final ApiVersion apiVersion, final BatchingConfigs batchingConfigs) {
+        return AuthClientBuilder
+                .builder()
+                .apiVersion(apiVersion)
+                .batching(batchingConfigs)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private List<CompletableFuture<Boolean>> validateConcurrently(final AuthClient authClient) throws Exception {
+        final var executor = Executors.newFixedThreadPool(CLIENTS);
+        final var start = new CountDownLatch(1);
+        final var results = new ArrayList<CompletableFuture<Boolean>>();
+
+        for (int i = 0; i < CLIENTS; i++) {
+            final var request = new ValidateTokenRequest("user-" + i, "token-" + i);
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return authClient.validate(request);
+            }, executor));
+        }
+
+        start.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        return results;
+    }
+
+    private List<AuthServiceCallResult> callBulk(final DefaultAuthServiceHttpClient httpClient) {
+        final var endpoint = httpClient.register(authService.endpoint());
+        return httpClient.callAuthServiceBulkAsync(endpoint, List.of(
+                new AuthServiceRequest("user-1", "token-1"),
+                new AuthServiceRequest("user-2", "token-2")
+        )).join();
+    }
+
+    private void respondBulk(final HttpExchange exchange) throws IOException {
+        bulkCalls.incrementAndGet();
+        final var responses = new ArrayList<String>();
+
+        for (final var request : objectMapper.readTree(exchange.getRequestBody()).get("requests")) {
+            bulkTokens.incrementAndGet();
+            responses.add(response(request));
+        }
+
+        respond(exchange, "{\"responses\":[" + String.join(",", responses) + "]}");
+    }
+
+    /**
+     * Answers every third user as invalid, so a result handed to the wrong caller is noticed.
+     */
+    private static String response(final JsonNode request) {
+        final var userId = request.get("user_id").asText();
+        final var valid = Integer.parseInt(userId.substring("user-".length())) % 3 != 0;
+        return """
+                {"userId":"%s","token":"%s","expiration":%d,"success":%s}""".formatted(
+                userId,
+                request.get("auth_token").asText(),
+                System.currentTimeMillis() + 60_000,
+                valid
+        );
+    }
+
+    private static void respond(final HttpExchange exchange, final String body) throws IOException {
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.PipelinedRedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.config.ConcurrencyLimitConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.ConcurrencyLimitedAuthServiceHttpClient;
+import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.akgarg.client.authclient.testkit.AuthServiceHttpClientConformanceKit;
+import com.akgarg.client.authclient.testkit.AuthTokenCacheConformanceKit;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Runs the conformance kits against the built-in caches and transports.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class ConformanceKitTest {
+
+    @Nested
+    class InMemoryAuthTokenCacheConformanceTest extends AuthTokenCacheConformanceKit {
+
+        @Override
+        protected AuthTokenCache createCache(final int maxSessionsPerUser) {
+            return InMemoryAuthTokenCache.builder().maxSessionsPerUser(maxSessionsPerUser).build();
+        }
+
+    }
+
+    @Nested
+    class RedisAuthTokenCacheConformanceTest extends AuthTokenCacheConformanceKit {
+
+        @Override
+        protected AuthTokenCache createCache(final int maxSessionsPerUser) {
+            return RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379))
+                    .maxSessionsPerUser(maxSessionsPerUser)
+                    .build();
+        }
+
+        @Override
+        protected void destroyCache(final AuthTokenCache cache) {
+            ((RedisAuthTokenCache) cache).close();
+        }
+
+    }
+
+    @Nested
+    class PipelinedRedisAuthTokenCacheConformanceTest extends AuthTokenCacheConformanceKit {
+
+        @Override
+        protected AuthTokenCache createCache(final int maxSessionsPerUser) {
+            return PipelinedRedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379))
+                    .maxSessionsPerUser(maxSessionsPerUser)
+                    .build();
+        }
+
+        @Override
+        protected void destroyCache(final AuthTokenCache cache) {
+            ((PipelinedRedisAuthTokenCache) cache).close();
+        }
+
+    }
+
+    @Nested
+    class DefaultAuthServiceHttpClientConformanceTest extends AuthServiceHttpClientConformanceKit {
+
+        @Override
+        protected AuthServiceHttpClient createClient(final String validateTokenEndpoint, final ApiVersion apiVersion) {
+            return new DefaultAuthServiceHttpClient(validateTokenEndpoint, apiVersion);
+        }
+
+        @Test
+        void resolve_ShouldNotRegisterEndpoint() {
+            final var client = createClient(null, ApiVersion.V1);
+            final var endpoint = new AuthServiceEndpoint("http", "localhost", 8080);
+            final var resolved = client.resolve(endpoint);
+
+            assertNotSame(resolved, client.resolve(endpoint));
+            assertNotSame(resolved, client.register(endpoint));
+        }
+
+    }
+
+    @Nested
+    class ConcurrencyLimitedAuthServiceHttpClientConformanceTest extends AuthServiceHttpClientConformanceKit {
+
+        @Override
+        protected AuthServiceHttpClient createClient(final String validateTokenEndpoint, final ApiVersion apiVersion) {
+            return new ConcurrencyLimitedAuthServiceHttpClient(
+                    new DefaultAuthServiceHttpClient(validateTokenEndpoint, apiVersion),
+                    ConcurrencyLimitConfigs.withDefaults(),
+                    true
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.config.EndpointDiscoveryConfigs;
+import com.akgarg.client.authclient.http.AuthServiceEndpointRegistry;
+import com.akgarg.client.authclient.http.AuthServiceEndpointSource;
+import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the endpoint reloading and health probing of {@link AuthServiceEndpointRegistry}, run against stub
+ * auth-service endpoints.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class EndpointDiscoveryTest {
+
+    private static final EndpointDiscoveryConfigs DISCOVERY_CONFIGS = new EndpointDiscoveryConfigs(
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Duration.ofMillis(500),
+            "/health",
+            1
+    );
+
+    private AuthServiceStub healthyAuthService;
+    private AuthServiceStub unhealthyAuthService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void startAuthServices() {
+        healthyAuthService = startAuthService(200);
+        unhealthyAuthService = startAuthService(503);
+    }
+
+    @AfterEach
+    void stopAuthServices() {
+        healthyAuthService.close();
+        unhealthyAuthService.close();
+    }
+
+    @Test
+    void registry_ShouldRemoveUnhealthyEndpointsAndAddReloadedOnes() throws Exception {
+        final var endpointsFile = tempDir.resolve("endpoints");
+        Files.writeString(endpointsFile, "# auth service instances\n" + healthyAuthService.uri() + "\n" + unhealthyAuthService.uri() + "\n");
+
+        try (final var registry = AuthServiceEndpointRegistry.dynamic(
+                new DefaultAuthServiceHttpClient(null, ApiVersion.V1),
+                List.of(),
+                AuthServiceEndpointSource.file(endpointsFile),
+                DISCOVERY_CONFIGS
+        )) {
+            assertEquals(2, registry.registeredEndpoints().size());
+            awaitTrue(() -> ports(registry).equals(List.of(healthyAuthService.port())), "unhealthy endpoint should leave rotation");
+
+            final var addedAuthService = startAuthService(200);
+
+            try {
+                Files.writeString(endpointsFile, healthyAuthService.uri() + "\n" + addedAuthService.uri() + "\n");
+                Files.setLastModifiedTime(endpointsFile, FileTime.from(Instant.now().plusSeconds(1)));
+
+                awaitTrue(() -> ports(registry).equals(List.of(healthyAuthService.port(), addedAuthService.port())), "added endpoint should join rotation");
+                assertEquals(2, registry.registeredEndpoints().size());
+            } finally {
+                addedAuthService.close();
+            }
+        }
+    }
+
+    @Test
+    void registry_ShouldKeepAllEndpointsInRotation_WhenNoneIsHealthy() throws Exception {
+        try (final var registry = AuthServiceEndpointRegistry.dynamic(
+                new DefaultAuthServiceHttpClient(null, ApiVersion.V1),
+                List.of(unhealthyAuthService.endpoint()),
+                List::of,
+                DISCOVERY_CONFIGS
+        )) {
+            awaitTrue(() -> !registry.registeredEndpoints().get(0).isHealthy(), "endpoint should be unhealthy");
+            assertEquals(1, registry.endpoints().size());
+        }
+    }
+
+    @Test
+    void registry_ShouldProbeThroughGivenTransport() throws Exception {
+        final var transport = HttpClient.newHttpClient();
+        final var threadsBefore = Thread.getAllStackTraces().keySet();
+
+        try (final var registry = AuthServiceEndpointRegistry.dynamic(
+                DefaultAuthServiceHttpClient.builder(ApiVersion.V1).httpClient(transport).build(),
+                List.of(unhealthyAuthService.endpoint()),
+                List::of,
+                DISCOVERY_CONFIGS,
+                transport
+        )) {
+            awaitTrue(() -> !registry.registeredEndpoints().get(0).isHealthy(), "endpoint should be unhealthy");
+
+            final var selectorThreads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> !threadsBefore.contains(thread))
+                    .map(Thread::getName)
+                    .filter(name -> name.startsWith("HttpClient") && name.endsWith("SelectorManager"))
+                    .toList();
+            assertEquals(List.of(), selectorThreads, "the probes should not start a transport of their own");
+        }
+    }
+
+    private static AuthServiceStub startAuthService(final int healthStatus) {
+        return AuthServiceStub.start().context("/health", exchange -> {
+            exchange.sendResponseHeaders(healthStatus, -1);
+            exchange.close();
+        });
+    }
+
+    private static List<Integer> ports(final AuthServiceEndpointRegistry registry) {
+        return registry.endpoints().stream().map(RegisteredEndpoint::endpoint).map(AuthServiceEndpoint::port).toList();
+    }
+
+    private static void awaitTrue(final BooleanSupplier condition, final String message) throws InterruptedException {
+        final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(20);
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.SnapshotConfigs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.XAddParams;
+import redis.clients.jedis.params.XTrimParams;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link InMemoryAuthTokenCache}
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class InMemoryAuthTokenCacheTest {
+
+    @Test
+    void getToken_ShouldReturnEverySession_OfMultiDeviceUser() {
+        final var tokenCache = new InMemoryAuthTokenCache();
+        final var userId = "multi-device-user-id";
+        final var phoneToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var webToken = newAuthToken(userId, Duration.ofMinutes(20));
+
+        assertTrue(tokenCache.addToken(userId, phoneToken));
+        assertTrue(tokenCache.addToken(userId, webToken));
+
+        assertEquals(phoneToken, tokenCache.getToken(userId, phoneToken.token()).orElseThrow());
+        assertEquals(webToken, tokenCache.getToken(userId, webToken.token()).orElseThrow());
+        assertEquals(webToken, tokenCache.getToken(userId).orElseThrow());
+        assertFalse(tokenCache.getToken(userId, UUID.randomUUID().toString()).isPresent());
+    }
+
+    @Test
+    void addToken_ShouldEvictSessionClosestToExpiry_WhenCapIsReached() {
+        final var tokenCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(2).build();
+        final var userId = "capped-user-id";
+        final var first = newAuthToken(userId, Duration.ofMinutes(5));
+        final var second = newAuthToken(userId, Duration.ofMinutes(10));
+        final var third = newAuthToken(userId, Duration.ofMinutes(15));
+
+        tokenCache.addToken(userId, first);
+        tokenCache.addToken(userId, second);
+        tokenCache.addToken(userId, third);
+
+        assertFalse(tokenCache.getToken(userId, first.token()).isPresent());
+        assertTrue(tokenCache.getToken(userId, second.token()).isPresent());
+        assertTrue(tokenCache.getToken(userId, third.token()).isPresent());
+    }
+
+    @Test
+    void removeToken_ShouldRemoveSingleSession_OrAllSessions() {
+        final var tokenCache = new InMemoryAuthTokenCache();
+        final var userId = "logout-user-id";
+        final var phoneToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var webToken = newAuthToken(userId, Duration.ofMinutes(10));
+
+        tokenCache.addToken(userId, phoneToken);
+        tokenCache.addToken(userId, webToken);
+
+        assertTrue(tokenCache.removeToken(userId, phoneToken.token()));
+        assertFalse(tokenCache.getToken(userId, phoneToken.token()).isPresent());
+        assertTrue(tokenCache.getToken(userId, webToken.token()).isPresent());
+
+        assertTrue(tokenCache.removeToken(userId));
+        assertFalse(tokenCache.getToken(userId).isPresent());
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void removeToken_ShouldBePropagatedToOtherNodes_ThroughInvalidationStream() throws InterruptedException {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var streamConfigs = new InvalidationStreamConfigs("auth_client:test_invalidations", 1000);
+        final var firstNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).invalidationStream(connectionProperty, streamConfigs).build();
+        final var secondNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).invalidationStream(connectionProperty, streamConfigs).build();
+
+        // give both consumers time to attach to the stream
+        Thread.sleep(500);
+
+        final var userId = "cross-node-user-id";
+        final var phoneToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var webToken = newAuthToken(userId, Duration.ofMinutes(10));
+        firstNode.addToken(userId, phoneToken);
+        secondNode.addToken(userId, phoneToken);
+        secondNode.addToken(userId, webToken);
+
+        assertTrue(firstNode.removeToken(userId, phoneToken.token()));
+
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (secondNode.getToken(userId, phoneToken.token()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertFalse(secondNode.getToken(userId, phoneToken.token()).isPresent());
+        assertTrue(secondNode.getToken(userId, webToken.token()).isPresent());
+    }
+
+    @Test
+    void snapshot_ShouldWarmUpNewCache_WithUnexpiredEntries(@TempDir final Path directory) throws InterruptedException {
+        final var snapshotConfigs = new SnapshotConfigs(directory.resolve("cache.snapshot"), Duration.ofMillis(200));
+        final var tokenCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).build();
+        final var userId = "snapshot-user-id";
+        final var liveToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var shortLivedToken = newAuthToken(userId, Duration.ofMillis(300));
+        tokenCache.addToken(userId, liveToken);
+        tokenCache.addToken(userId, shortLivedToken);
+
+        Thread.sleep(600);
+
+        final var restartedCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(SnapshotConfigs.onShutdown(snapshotConfigs.file())).build();
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (restartedCache.getToken(userId, liveToken.token()).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(liveToken, restartedCache.getToken(userId, liveToken.token()).orElseThrow());
+        assertFalse(restartedCache.getToken(userId, shortLivedToken.token()).isPresent());
+    }
+
+    @Test
+    void snapshot_ShouldBeIgnored_WhenCorrupted(@TempDir final Path directory) throws Exception {
+        final var snapshotFile = directory.resolve("cache.snapshot");
+        Files.write(snapshotFile, new byte[]{0x41, 0x43, 0x53, 0x48, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2});
+
+        final var tokenCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(SnapshotConfigs.onShutdown(snapshotFile)).build();
+        Thread.sleep(200);
+
+        assertFalse(tokenCache.getToken("snapshot-user-id").isPresent());
+    }
+
+    @Test
+    void snapshot_ShouldNotRestoreSessions_RemovedWhileLoading(@TempDir final Path directory) throws Exception {
+        final var snapshotConfigs = SnapshotConfigs.onShutdown(directory.resolve("cache.snapshot"));
+        final var tokenCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).build();
+        // the snapshot is not written while the (missing) previous one is loading
+        Thread.sleep(200);
+        final var userId = "snapshot-user-id";
+        final var removedToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var liveToken = newAuthToken(userId, Duration.ofMinutes(10));
+        tokenCache.addToken(userId, removedToken);
+        tokenCache.addToken(userId, liveToken);
+        tokenCache.close();
+
+        final var snapshotBytes = new String(Files.readAllBytes(snapshotConfigs.file()), StandardCharsets.ISO_8859_1);
+        assertFalse(snapshotBytes.contains(liveToken.token()), "the snapshot should not contain raw tokens");
+
+        final var scheduler = Executors.newSingleThreadScheduledExecutor();
+        final var loading = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                loading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final var restartedCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).scheduler(scheduler).build();
+        restartedCache.removeToken(userId, removedToken.token());
+        loading.countDown();
+
+        awaitToken(restartedCache, liveToken);
+        assertEquals(liveToken, restartedCache.getToken(userId, liveToken.token()).orElseThrow());
+        assertFalse(restartedCache.getToken(userId, removedToken.token()).isPresent());
+
+        restartedCache.close();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void snapshot_ShouldResumeInvalidationStream_FromSnapshottedEntry(@TempDir final Path directory) throws Exception {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var streamConfigs = new InvalidationStreamConfigs("auth_client:test_snapshot_" + UUID.randomUUID(), 1000);
+        final var snapshotConfigs = SnapshotConfigs.onShutdown(directory.resolve("cache.snapshot"));
+        final var userId = "snapshot-stream-user-id";
+        final var revokedToken = newAuthToken(userId, Duration.ofMinutes(10));
+        final var liveToken = newAuthToken(userId, Duration.ofMinutes(10));
+
+        final var firstNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).invalidationStream(connectionProperty, streamConfigs).build();
+        final var secondNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).invalidationStream(connectionProperty, streamConfigs).build();
+        // give the consumers time to attach to the stream
+        Thread.sleep(500);
+        firstNode.addToken(userId, revokedToken);
+        firstNode.addToken(userId, liveToken);
+        firstNode.close();
+
+        // revoked while the first node is down
+        secondNode.removeToken(userId, revokedToken.token());
+
+        final var restartedNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).invalidationStream(connectionProperty, streamConfigs).build();
+        awaitToken(restartedNode, liveToken);
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (restartedNode.getToken(userId, revokedToken.token()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertFalse(restartedNode.getToken(userId, revokedToken.token()).isPresent());
+        assertTrue(restartedNode.getToken(userId, liveToken.token()).isPresent());
+
+        restartedNode.close();
+        secondNode.close();
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            jedis.del(streamConfigs.streamKey());
+        }
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void snapshot_ShouldBeDiscarded_WhenInvalidationStreamWasTrimmedPastIt(@TempDir final Path directory) throws Exception {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var streamConfigs = new InvalidationStreamConfigs("auth_client:test_snapshot_" + UUID.randomUUID(), 2);
+        final var snapshotConfigs = SnapshotConfigs.onShutdown(directory.resolve("cache.snapshot"));
+        final var userId = "snapshot-trimmed-user-id";
+        final var authToken = newAuthToken(userId, Duration.ofMinutes(10));
+
+        final var firstNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).invalidationStream(connectionProperty, streamConfigs).build();
+        Thread.sleep(500);
+        firstNode.addToken(userId, authToken);
+        firstNode.close();
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            for (int i = 0; i < 3; i++) {
+                jedis.xadd(streamConfigs.streamKey(), Map.of("user_id", "other-user-id"), XAddParams.xAddParams());
+            }
+            jedis.xtrim(streamConfigs.streamKey(), XTrimParams.xTrimParams().maxLen(2).exactTrimming());
+        }
+
+        final var restartedNode = InMemoryAuthTokenCache.builder().maxSessionsPerUser(4).snapshot(snapshotConfigs).invalidationStream(connectionProperty, streamConfigs).build();
+        Thread.sleep(500);
+
+        assertFalse(restartedNode.getToken(userId, authToken.token()).isPresent());
+
+        restartedNode.close();
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            jedis.del(streamConfigs.streamKey());
+        }
+    }
+
+    private static void awaitToken(final InMemoryAuthTokenCache tokenCache, final AuthToken authToken) throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (tokenCache.getToken(authToken.userId(), authToken.token()).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private AuthToken newAuthToken(final String userId, final Duration validity) {
+        return new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + validity.toMillis());
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.jfr.AuthCacheEvictionEvent;
+import com.akgarg.client.authclient.jfr.AuthCacheLookupEvent;
+import com.akgarg.client.authclient.jfr.AuthServiceCallEvent;
+import com.akgarg.client.authclient.jfr.AuthValidateEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the JDK Flight Recorder events of the client, recorded against a stub auth-service.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class JfrEventsTest {
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start();
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void validate_ShouldCommitValidationCacheAndCallEvents() throws Exception {
+        final var authClient = buildClient();
+
+        final var events = record(() -> {
+            assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+            assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+        });
+
+        final var lookups = ofType(events, AuthCacheLookupEvent.NAME);
+        assertEquals(List.of(false, true), lookups.stream().map(event -> event.getBoolean("hit")).toList());
+        assertEquals(AuthTokenCacheStrategy.IN_MEMORY.name(), lookups.get(0).getString("cacheStrategy"));
+
+        final var calls = ofType(events, AuthServiceCallEvent.NAME);
+        assertEquals(1, calls.size());
+        assertEquals(authService.uri(), calls.get(0).getString("endpoint"));
+        assertEquals(200, calls.get(0).getInt("statusCode"));
+        assertEquals("RESPONSE", calls.get(0).getString("outcome"));
+        assertEquals(0, calls.get(0).getInt("retry"));
+        assertFalse(calls.get(0).getDuration().isNegative());
+
+        final var validations = ofType(events, AuthValidateEvent.NAME);
+        assertEquals(List.of("AUTH_SERVICE", "MEMORY"), validations.stream().map(event -> event.getString("source")).toList());
+        assertEquals(List.of("VALID", "VALID"), validations.stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(1, validations.get(0).getInt("attempts"));
+
+        authClient.close();
+    }
+
+    @Test
+    void reactiveValidate_ShouldCommitValidationCacheAndCallEvents() throws Exception {
+        final var authClient = buildClient();
+        final var reactiveAuthClient = ReactiveAuthClient.from(authClient);
+
+        final var events = record(() -> {
+            assertEquals(Boolean.TRUE, reactiveAuthClient.validate(new ValidateTokenRequest("user-1", "token-1")).block(Duration.ofSeconds(5)));
+            assertEquals(Boolean.TRUE, reactiveAuthClient.validate(new ValidateTokenRequest("user-1", "token-1")).block(Duration.ofSeconds(5)));
+        });
+
+        final var lookups = ofType(events, AuthCacheLookupEvent.NAME);
+        assertEquals(List.of(false, true), lookups.stream().map(event -> event.getBoolean("hit")).toList());
+        assertEquals(AuthTokenCacheStrategy.IN_MEMORY.name(), lookups.get(0).getString("cacheStrategy"));
+
+        final var calls = ofType(events, AuthServiceCallEvent.NAME);
+        assertEquals(1, calls.size());
+        assertEquals(authService.uri(), calls.get(0).getString("endpoint"));
+        assertEquals(200, calls.get(0).getInt("statusCode"));
+        assertEquals("RESPONSE", calls.get(0).getString("outcome"));
+        assertEquals(0, calls.get(0).getInt("retry"));
+
+        final var validations = ofType(events, AuthValidateEvent.NAME);
+        assertEquals(List.of("AUTH_SERVICE", "MEMORY"), validations.stream().map(event -> event.getString("source")).toList());
+        assertEquals(List.of("VALID", "VALID"), validations.stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(1, validations.get(0).getInt("attempts"));
+
+        authClient.close();
+    }
+
+    @Test
+    void clearCache_ShouldCommitEvictionEvent() throws Exception {
+        final var authClient = buildClient();
+        authClient.validate(new ValidateTokenRequest("user-1", "token-1"));
+
+        final var evictions = ofType(record(authClient::clearCache), AuthCacheEvictionEvent.NAME);
+
+        assertEquals(1, evictions.size());
+        assertEquals(AuthCacheEvictionEvent.CLEARED, evictions.get(0).getString("reason"));
+        assertEquals(1, evictions.get(0).getLong("entriesEvicted"));
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldNotCommitEvents_WhenDisabled() throws Exception {
+        final var authClient = buildClient();
+
+        try (final var recording = new Recording()) {
+            recording.enable(AuthValidateEvent.NAME).withoutThreshold();
+            recording.disable(AuthServiceCallEvent.NAME);
+            recording.disable(AuthCacheLookupEvent.NAME);
+
+            final var events = record(recording, () -> authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+
+            assertEquals(1, ofType(events, AuthValidateEvent.NAME).size());
+            assertTrue(ofType(events, AuthServiceCallEvent.NAME).isEmpty());
+            assertTrue(ofType(events, AuthCacheLookupEvent.NAME).isEmpty());
+        }
+
+        authClient.close();
+    }
+
+    private AuthClient buildClient() {
+        return AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private static List<RecordedEvent> record(final Runnable action) throws Exception {
+        try (final var recording = new Recording()) {
+            for (final var name : List.of(AuthValidateEvent.NAME, AuthCacheLookupEvent.NAME, AuthServiceCallEvent.NAME, AuthCacheEvictionEvent.NAME)) {
+                recording.enable(name).withoutThreshold();
+            }
+
+            return record(recording, action);
+        }
+    }
+
+    private static List<RecordedEvent> record(final Recording recording, final Runnable action) throws Exception {
+        final var file = Files.createTempFile("authclient", ".jfr");
+
+        try {
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Returns the events of the given type ordered by their start time, events committed by different threads are
+     * not ordered in the recording.
+     */
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+
+}
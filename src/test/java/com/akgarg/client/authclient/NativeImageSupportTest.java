@@ -0,0 +1,123 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.AuthServiceResponse;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.BulkAuthServiceRequest;
+import com.akgarg.client.authclient.common.BulkAuthServiceResponse;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.AuthClientAutoConfiguration;
+import com.akgarg.client.authclient.config.AuthClientProperties;
+import com.akgarg.client.authclient.config.AuthClientRuntimeHints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test of {@link AuthClientAutoConfiguration} for GraalVM native images, validating tokens against a stub
+ * auth-service endpoint, along with checks of the native image metadata. Runs on the JVM by default and as a native
+ * image with the {@code nativeTest} profile.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@SpringBootTest(classes = NativeImageSupportTest.SmokeTestApplication.class)
+class NativeImageSupportTest {
+
+    private static final String NATIVE_IMAGE_METADATA = "META-INF/native-image/com.akgarg/authservice-java-client/";
+    private static final AuthServiceStub authService = AuthServiceStub.start();
+
+    @Autowired
+    private AuthClient authClient;
+
+    @DynamicPropertySource
+    static void authClientProperties(final DynamicPropertyRegistry registry) {
+        registry.add("auth.client.endpoints[0].scheme", () -> "http");
+        registry.add("auth.client.endpoints[0].host", () -> "localhost");
+        registry.add("auth.client.endpoints[0].port", authService::port);
+    }
+
+    @AfterAll
+    static void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void autoConfiguredClient_ShouldValidateAndCacheTokens() {
+        final var request = new ValidateTokenRequest("native-user-id", "native-token");
+
+        assertTrue(authClient.validate(request));
+
+        final var result = authClient.validateDetailed(request);
+        assertEquals(ValidationResult.Outcome.VALID, result.outcome());
+        assertEquals(ValidationResult.Source.MEMORY, result.source());
+        assertEquals(1, authService.calls());
+    }
+
+    @Test
+    void runtimeHints_ShouldCoverReflectionSerializationAndBinding() {
+        final var hints = new RuntimeHints();
+        new AuthClientRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (final var payloadType : Set.of(
+                AuthServiceRequest.class,
+                AuthServiceResponse.class,
+                BulkAuthServiceRequest.class,
+                BulkAuthServiceResponse.class
+        )) {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                    .onType(payloadType)
+                    .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                    .test(hints));
+        }
+        assertTrue(RuntimeHintsPredicates.serialization().onType(AuthToken.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AuthClientProperties.class).test(hints));
+    }
+
+    @Test
+    void nativeImageMetadata_ShouldCoverPayloadsAndSerializedSessions() throws Exception {
+        assertEquals(
+                Set.of(
+                        AuthServiceRequest.class.getName(),
+                        AuthServiceResponse.class.getName(),
+                        BulkAuthServiceRequest.class.getName(),
+                        BulkAuthServiceResponse.class.getName()
+                ),
+                metadataTypes("reflect-config.json")
+        );
+        assertTrue(metadataTypes("serialization-config.json").contains(AuthToken.class.getName()));
+    }
+
+    private static Set<String> metadataTypes(final String file) throws IOException {
+        final var types = new HashSet<String>();
+
+        try (final var input = NativeImageSupportTest.class.getClassLoader().getResourceAsStream(NATIVE_IMAGE_METADATA + file)) {
+            assertNotNull(input, file + " is missing");
+            new ObjectMapper().readTree(input).forEach(entry -> types.add(entry.get("name").asText()));
+        }
+
+        return types;
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration(AuthClientAutoConfiguration.class)
+    static class SmokeTestApplication {
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.PipelinedRedisAuthTokenCache;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link PipelinedRedisAuthTokenCache}, requires a redis-server running on localhost:6379
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PipelinedRedisAuthTokenCacheTest {
+
+    @Test
+    @Order(1)
+    void addToken_ForSuccessfulInsertion() {
+        final var tokenCache = createTokenCache();
+
+        final var userId = "random-pipelined-user-id";
+        final var token = UUID.randomUUID().toString();
+
+        final var expiration = System.currentTimeMillis() + Duration.ofSeconds(10).toMillis();
+        final var authToken = new AuthToken(userId, token, expiration);
+        final var addResult = tokenCache.addToken(userId, authToken);
+
+        assertTrue(addResult);
+    }
+
+    @Test
+    @Order(2)
+    void getToken_ForSuccessfulFetch() {
+        final var tokenCache = createTokenCache();
+
+        final var userId = "random-pipelined-user-id";
+        final var authTokenOptional = tokenCache.getToken(userId);
+
+        assertTrue(authTokenOptional.isPresent());
+    }
+
+    @Test
+    @Order(3)
+    void removeToken_Success() {
+        final var tokenCache = createTokenCache();
+
+        final var userId = "random-pipelined-user-id";
+        final var removeTokenResponse = tokenCache.removeToken(userId);
+
+        assertTrue(removeTokenResponse);
+    }
+
+    @Test
+    @Order(4)
+    void getToken_ForUnsuccessfulFetch() {
+        final var tokenCache = createTokenCache();
+
+        final var userId = "random-pipelined-user-id";
+        final var authTokenOptional = tokenCache.getToken(userId);
+
+        assertFalse(authTokenOptional.isPresent());
+    }
+
+    @Test
+    @Order(5)
+    void concurrentCommands_AreMultiplexedOverFewConnections() {
+        final var tokenCache = new PipelinedRedisAuthTokenCache(
+                new RedisConnectionConfigs("localhost", 6379),
+                new RedisPipelineConfigs(2, 64, Duration.ofSeconds(2))
+        );
+
+        final var expiration = System.currentTimeMillis() + Duration.ofSeconds(10).toMillis();
+        final var futures = new ArrayList<CompletableFuture<Boolean>>();
+
+        for (int i = 0; i < 500; i++) {
+            final var userId = "pipelined-user-" + i;
+            futures.add(CompletableFuture.supplyAsync(() ->
+                    tokenCache.addToken(userId, new AuthToken(userId, UUID.randomUUID().toString(), expiration)) &&
+                            tokenCache.getToken(userId).isPresent() &&
+                            tokenCache.removeToken(userId)
+            ));
+        }
+
+        futures.forEach(future -> assertTrue(future.join()));
+    }
+
+    @Test
+    @Order(6)
+    void close_ShouldStopPipelineWorkers() throws Exception {
+        final var workersBefore = pipelineWorkers();
+        final var tokenCache = new PipelinedRedisAuthTokenCache(
+                new RedisConnectionConfigs("localhost", 6379),
+                new RedisPipelineConfigs(3, 64, Duration.ofSeconds(2))
+        );
+
+        assertEquals(workersBefore + 3, pipelineWorkers());
+
+        tokenCache.close();
+
+        final var deadline = System.currentTimeMillis() + 2000;
+        while (pipelineWorkers() > workersBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(workersBefore, pipelineWorkers());
+    }
+
+    @Test
+    @Order(7)
+    void clear_ShouldOnlyDeleteKeysUnderKeyPrefix() {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var prefix = "test-" + UUID.randomUUID() + ":";
+        final var tokenCache = PipelinedRedisAuthTokenCache.builder(connectionProperty).keyPrefix(prefix).build();
+        final var otherCache = createTokenCache();
+
+        final var userIds = List.of("prefixed-user-1", "prefixed-user-2", "prefixed-user-3");
+        final var authToken = new AuthToken("prefixed-user", UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000);
+        userIds.forEach(userId -> assertTrue(tokenCache.addToken(userId, authToken)));
+        assertTrue(otherCache.addToken(userIds.get(0), authToken));
+
+        assertTrue(tokenCache.clear());
+
+        userIds.forEach(userId -> assertFalse(tokenCache.getToken(userId).isPresent()));
+        assertEquals(authToken, otherCache.getToken(userIds.get(0), authToken.token()).orElseThrow());
+        assertTrue(otherCache.removeToken(userIds.get(0)));
+
+        tokenCache.close();
+        otherCache.close();
+    }
+
+    @Test
+    @Order(8)
+    void addToken_ShouldSendScriptByDigest_AndReloadItAfterFlush() {
+        final var tokenCache = createTokenCache();
+        final var userId = "script-pipelined-user-" + UUID.randomUUID();
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            jedis.scriptFlush();
+            jedis.configResetStat();
+
+            assertTrue(tokenCache.addTokenAsync(userId, new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000)).join());
+            assertTrue(tokenCache.addToken(userId, new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000)));
+            jedis.scriptFlush();
+            assertTrue(tokenCache.addToken(userId, new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000)));
+            assertTrue(tokenCache.addToken(userId, new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000)));
+
+            assertEquals(2, commandCalls(jedis, "eval"), "script should only be sent in full after each flush");
+            assertTrue(commandCalls(jedis, "evalsha") >= 4);
+        } finally {
+            tokenCache.removeToken(userId);
+            tokenCache.close();
+        }
+    }
+
+    private static long pipelineWorkers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("redisPipelineWorker-"))
+                .count();
+    }
+
+    private PipelinedRedisAuthTokenCache createTokenCache() {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var pipelineConfigs = RedisPipelineConfigs.withDefaults();
+        return new PipelinedRedisAuthTokenCache(connectionProperty, pipelineConfigs);
+    }
+
+    /**
+     * Returns the number of calls of the given command since the statistics were reset, from {@code INFO commandstats}.
+     */
+    private static long commandCalls(final Jedis jedis, final String command) {
+        return jedis.info("commandstats").lines()
+                .filter(line -> line.startsWith("cmdstat_" + command + ":"))
+                .map(line -> line.substring(line.indexOf("calls=") + "calls=".length(), line.indexOf(',')))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.cache.AuthTokenCacheProvider;
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.AuthServiceResponse;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+import com.akgarg.client.authclient.testkit.AuthTokenCacheConformanceKit;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for custom {@link AuthTokenCache} and {@link AuthServiceHttpClient} implementations, plugged in through
+ * the builder and through {@link java.util.ServiceLoader}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class PluggableSpiTest {
+
+    private static final String USER_ID = "spi-user-id";
+    private static final String TOKEN = "spi-token";
+
+    @Test
+    void build_ShouldUseCacheOfServiceProvider_WhenCacheStrategyIsCustom() {
+        final var transport = new StubAuthServiceHttpClient();
+        final var authClient = (DefaultAuthClient) AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.CUSTOM)
+                .cacheProvider(MapAuthTokenCacheProvider.NAME)
+                .maxSessionsPerUser(2)
+                .authServiceHttpClient(transport)
+                .authServiceEndpoints(List.of(new AuthServiceEndpoint("stub", "localhost", 1)))
+                .build();
+
+        final var cache = assertInstanceOf(MapAuthTokenCache.class, authClient.authTokenCache());
+        assertEquals(2, cache.maxSessionsPerUser);
+
+        assertTrue(authClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)));
+        assertTrue(authClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)));
+        assertEquals(1, transport.calls.get(), "second validation should be served from the custom cache");
+        assertTrue(cache.getToken(USER_ID, TOKEN).isPresent());
+
+        assertTrue(authClient.revoke(USER_ID, TOKEN));
+        assertTrue(cache.getToken(USER_ID, TOKEN).isEmpty());
+    }
+
+    @Test
+    void build_ShouldUseGivenCache_OverCacheStrategy() {
+        final var cache = new MapAuthTokenCache(1);
+        final var authClient = (DefaultAuthClient) AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS)
+                .authTokenCache(cache)
+                .build();
+
+        assertSame(cache, authClient.authTokenCache());
+    }
+
+    @Test
+    void build_ShouldUseOnlyServiceProvider_WhenNoProviderNameIsGiven() {
+        final var authClient = (DefaultAuthClient) AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.CUSTOM)
+                .build();
+
+        assertInstanceOf(MapAuthTokenCache.class, authClient.authTokenCache());
+    }
+
+    @Test
+    void build_ShouldFail_WhenNoServiceProviderMatches() {
+        final var builder = AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.CUSTOM)
+                .cacheProvider("unknown");
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class, AuthClientBuilder.builder().authServiceHttpClientProvider("unknown")::build);
+    }
+
+    @Nested
+    class MapAuthTokenCacheConformanceTest extends AuthTokenCacheConformanceKit {
+
+        @Override
+        protected AuthTokenCache createCache(final int maxSessionsPerUser) {
+            return new MapAuthTokenCache(maxSessionsPerUser);
+        }
+
+    }
+
+    /**
+     * A custom cache keeping the sessions of every user in a list.
+     */
+    static final class MapAuthTokenCache implements AuthTokenCache {
+
+        private final Map<String, List<AuthToken>> sessions = new HashMap<>();
+        private final int maxSessionsPerUser;
+
+        MapAuthTokenCache(final int maxSessionsPerUser) {
+            this.maxSessionsPerUser = maxSessionsPerUser;
+        }
+
+        @Override
+        public synchronized Optional<AuthToken> getToken(final String userId) {
+            return sessions.getOrDefault(userId, List.of()).stream().max(Comparator.comparingLong(AuthToken::expiration));
+        }
+
+        @Override
+        public synchronized Optional<AuthToken> getToken(final String userId, final String token) {
+            return sessions.getOrDefault(userId, List.of()).stream().filter(session -> session.token().equals(token)).findFirst();
+        }
+
+        @Override
+        public synchronized boolean addToken(final String userId, final AuthToken token) {
+            final var userSessions = sessions.computeIfAbsent(userId, key -> new ArrayList<>());
+            userSessions.removeIf(session -> session.token().equals(token.token()));
+
+            if (userSessions.size() >= maxSessionsPerUser) {
+                userSessions.remove(userSessions.stream().min(Comparator.comparingLong(AuthToken::expiration)).orElseThrow());
+            }
+
+            return userSessions.add(token);
+        }
+
+        @Override
+        public synchronized boolean removeToken(final String userId) {
+            return sessions.remove(userId) != null;
+        }
+
+        @Override
+        public synchronized boolean removeToken(final String userId, final String token) {
+            final var userSessions = sessions.get(userId);
+            return userSessions != null && userSessions.removeIf(session -> session.token().equals(token));
+        }
+
+    }
+
+    /**
+     * Publishes {@link MapAuthTokenCache} through {@link java.util.ServiceLoader}.
+     */
+    public static final class MapAuthTokenCacheProvider implements AuthTokenCacheProvider {
+
+        static final String NAME = "map";
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public AuthTokenCache create(final int maxSessionsPerUser) {
+            return new MapAuthTokenCache(maxSessionsPerUser);
+        }
+
+    }
+
+    /**
+     * A custom transport answering every call with a successful response, without any network call.
+     */
+    private static final class StubAuthServiceHttpClient implements AuthServiceHttpClient {
+
+        private final ConcurrentMap<AuthServiceEndpoint, RegisteredEndpoint> endpoints = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public RegisteredEndpoint register(final AuthServiceEndpoint endpoint) {
+            return endpoints.computeIfAbsent(endpoint, key -> new RegisteredEndpoint(key, URI.create("stub://" + key.host())));
+        }
+
+        @Override
+        public void unregister(final AuthServiceEndpoint endpoint) {
+            endpoints.remove(endpoint);
+        }
+
+        @Override
+        public AuthServiceCallResult callAuthService(final RegisteredEndpoint endpoint, final AuthServiceRequest request) {
+            calls.incrementAndGet();
+            endpoint.recordSuccess(1);
+            return AuthServiceCallResult.response(
+                    new AuthServiceResponse(request.userId(), request.token(), System.currentTimeMillis() + 60_000, true),
+                    200
+            );
+        }
+
+        @Override
+        public CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(
+                final RegisteredEndpoint endpoint,
+                final AuthServiceRequest request
+        ) {
+            return CompletableFuture.completedFuture(callAuthService(endpoint, request));
+        }
+
+    }
+
+}
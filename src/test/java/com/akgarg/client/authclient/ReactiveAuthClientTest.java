@@ -0,0 +1,118 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ReactiveAuthClient}, run against stub auth-service endpoints.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class ReactiveAuthClientTest {
+
+    private static final String USER_ID = "reactive-user-id";
+    private static final String TOKEN = "reactive-token";
+
+    private AuthServiceStub healthyAuthService;
+    private AuthServiceStub unavailableAuthService;
+
+    @BeforeEach
+    void startAuthServices() {
+        healthyAuthService = AuthServiceStub.start();
+        unavailableAuthService = AuthServiceStub.start().status(503);
+    }
+
+    @AfterEach
+    void stopAuthServices() {
+        healthyAuthService.close();
+        unavailableAuthService.close();
+    }
+
+    @Test
+    void validate_ShouldFailOverAndCacheToken_WithoutBlocking() {
+        final var reactiveAuthClient = AuthClientBuilder.builder().buildReactive();
+        final var request = new ValidateTokenRequest(USER_ID, TOKEN, List.of(
+                unavailableAuthService.endpoint(),
+                healthyAuthService.endpoint()
+        ));
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(1, healthyAuthService.calls(), "second validation should be served from cache");
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.revoke(USER_ID, TOKEN).block(Duration.ofSeconds(10)));
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(2, healthyAuthService.calls(), "revoked token should be validated again");
+    }
+
+    @Test
+    void validate_ShouldCountCacheHitsAndMisses_InStatisticsOfTheBlockingClient() {
+        final var authClient = AuthClientBuilder.builder().build();
+        final var reactiveAuthClient = ReactiveAuthClient.from(authClient);
+        final var request = new ValidateTokenRequest(USER_ID, TOKEN, List.of(
+                healthyAuthService.endpoint()
+        ));
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertTrue(authClient.validate(request));
+
+        final var statistics = authClient.statistics();
+        assertEquals(2, statistics.cacheHits());
+        assertEquals(1, statistics.cacheMisses());
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldReturnFalse_WhenAllEndpointsAreUnavailable() {
+        final var reactiveAuthClient = AuthClientBuilder.builder().buildReactive();
+        final var request = new ValidateTokenRequest(USER_ID, TOKEN, List.of(
+                unavailableAuthService.endpoint()
+        ));
+
+        assertEquals(Boolean.FALSE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(0, healthyAuthService.calls());
+    }
+
+    @Test
+    void validate_ShouldUseRegisteredEndpoints_WhenRequestHasNone() {
+        final var authClient = (DefaultAuthClient) AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(
+                        unavailableAuthService.endpoint(),
+                        healthyAuthService.endpoint()
+                ))
+                .build();
+        final var reactiveAuthClient = ReactiveAuthClient.from(authClient);
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)).block(Duration.ofSeconds(10)));
+        assertTrue(authClient.revoke(USER_ID, TOKEN));
+        assertTrue(authClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)));
+        assertEquals(2, healthyAuthService.calls());
+
+        final var registeredEndpoints = authClient.resolveEndpoints(new ValidateTokenRequest(USER_ID, TOKEN));
+        assertSame(registeredEndpoints, authClient.resolveEndpoints(new ValidateTokenRequest(USER_ID, TOKEN)));
+        assertEquals(2, registeredEndpoints.get(1).calls());
+        assertEquals(0, registeredEndpoints.get(1).consecutiveFailures());
+        assertTrue(registeredEndpoints.get(1).latencyEwmaNanos() > 0);
+        assertEquals(registeredEndpoints.get(0).failures(), registeredEndpoints.get(0).calls());
+    }
+
+    @Test
+    void validate_ShouldReturnFalse_WhenNoEndpointIsRegisteredOrGiven() {
+        final var authClient = AuthClientBuilder.builder().build();
+
+        assertFalse(authClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)));
+        assertEquals(0, healthyAuthService.calls());
+    }
+
+}
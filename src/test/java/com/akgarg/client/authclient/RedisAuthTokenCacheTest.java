@@ -9,9 +9,15 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import redis.clients.jedis.Jedis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -78,4 +84,116 @@ class RedisAuthTokenCacheTest {
         assertFalse(authTokenOptional.isPresent());
     }
 
+    @Test
+    @Order(5)
+    void getToken_ShouldReturnEverySession_OfMultiDeviceUser() {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var connectionPoolConfig = RedisConnectionPoolConfigs.withDefaults();
+        final var tokenCache = RedisAuthTokenCache.builder(connectionProperty).connectionPoolConfigs(connectionPoolConfig).maxSessionsPerUser(2).build();
+
+        final var userId = "random-multi-device-user-id";
+        final var expiration = System.currentTimeMillis() + Duration.ofSeconds(10).toMillis();
+        final var phoneToken = new AuthToken(userId, UUID.randomUUID().toString(), expiration);
+        final var webToken = new AuthToken(userId, UUID.randomUUID().toString(), expiration + 1000);
+        final var tabletToken = new AuthToken(userId, UUID.randomUUID().toString(), expiration + 2000);
+
+        assertTrue(tokenCache.addToken(userId, phoneToken));
+        assertTrue(tokenCache.addToken(userId, webToken));
+        assertTrue(tokenCache.addToken(userId, tabletToken));
+
+        assertFalse(tokenCache.getToken(userId, phoneToken.token()).isPresent());
+        assertTrue(tokenCache.getToken(userId, webToken.token()).isPresent());
+        assertTrue(tokenCache.getToken(userId, tabletToken.token()).isPresent());
+        assertTrue(tokenCache.removeToken(userId, webToken.token()));
+        assertTrue(tokenCache.removeToken(userId));
+    }
+
+    @Test
+    @Order(6)
+    void clear_ShouldOnlyDeleteKeysUnderKeyPrefix() {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var prefix = "test-" + UUID.randomUUID() + ":";
+        final var tokenCache = RedisAuthTokenCache.builder(connectionProperty).keyPrefix(prefix).build();
+        final var otherCache = new RedisAuthTokenCache(connectionProperty, RedisConnectionPoolConfigs.withDefaults());
+
+        final var userId = "prefixed-user-id";
+        final var authToken = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000);
+        assertTrue(tokenCache.addToken(userId, authToken));
+        assertTrue(otherCache.addToken(userId, authToken));
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            assertTrue(jedis.exists(prefix + "sessions:" + userId));
+            assertTrue(jedis.exists(prefix + "expiry:" + userId));
+        }
+
+        assertTrue(tokenCache.clear());
+
+        assertFalse(tokenCache.getToken(userId).isPresent());
+        assertEquals(authToken, otherCache.getToken(userId, authToken.token()).orElseThrow());
+        assertTrue(otherCache.removeToken(userId));
+    }
+
+    @Test
+    @Order(7)
+    void getToken_ShouldReadLegacyEntry_WhenEnabled() throws Exception {
+        final var connectionProperty = new RedisConnectionConfigs("localhost", 6379);
+        final var userId = "legacy-user-" + UUID.randomUUID();
+        final var authToken = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000);
+
+        try (final var jedis = new Jedis("localhost", 6379);
+             final var serialized = new ByteArrayOutputStream();
+             final var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(authToken);
+            out.flush();
+            jedis.hset(userId.getBytes(StandardCharsets.UTF_8), "auth_token".getBytes(StandardCharsets.UTF_8), serialized.toByteArray());
+            jedis.expire(userId, 10);
+        }
+
+        final var defaultCache = new RedisAuthTokenCache(connectionProperty, RedisConnectionPoolConfigs.withDefaults());
+        assertFalse(defaultCache.getToken(userId, authToken.token()).isPresent());
+
+        final var tokenCache = RedisAuthTokenCache.builder(connectionProperty).readLegacyKeys(true).build();
+        assertEquals(authToken, tokenCache.getToken(userId, authToken.token()).orElseThrow());
+        assertEquals(authToken, tokenCache.getToken(userId).orElseThrow());
+        assertFalse(tokenCache.getToken(userId, "other-token").isPresent());
+
+        assertTrue(tokenCache.removeToken(userId));
+        assertFalse(tokenCache.getToken(userId).isPresent());
+    }
+
+    @Test
+    @Order(8)
+    void addToken_ShouldSendScriptByDigest_AndReloadItAfterFlush() {
+        final var tokenCache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379)).build();
+        final var userId = "script-user-" + UUID.randomUUID();
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            jedis.scriptFlush();
+            jedis.configResetStat();
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(tokenCache.addToken(userId, new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 10_000)));
+            }
+
+            assertEquals(1, commandCalls(jedis, "eval"), "script should only be sent in full once");
+            assertTrue(commandCalls(jedis, "evalsha") >= 3);
+            assertEquals(3, jedis.hlen("authclient:sessions:" + userId));
+        } finally {
+            tokenCache.removeToken(userId);
+            tokenCache.close();
+        }
+    }
+
+    /**
+     * Returns the number of calls of the given command since the statistics were reset, from {@code INFO commandstats}.
+     */
+    private static long commandCalls(final Jedis jedis, final String command) {
+        return jedis.info("commandstats").lines()
+                .filter(line -> line.startsWith("cmdstat_" + command + ":"))
+                .map(line -> line.substring(line.indexOf("calls=") + "calls=".length(), line.indexOf(',')))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0);
+    }
+
 }
@@ -0,0 +1,245 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisConnectionState;
+import com.akgarg.client.authclient.cache.RedisConnectionStateEvent;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the degraded mode of {@link RedisAuthTokenCache} and the invalidation stream of
+ * {@link InMemoryAuthTokenCache}, run against a port no Redis server listens on or a proxy to Redis which is stopped.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class RedisDegradedModeTest {
+
+    @Test
+    void redisCache_ShouldStartAndServeFromFallback_WhenRedisIsUnreachable() throws Exception {
+        final var events = new LinkedBlockingQueue<RedisConnectionStateEvent>();
+        final var tokenCache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", unusedPort()))
+                .maxSessionsPerUser(2)
+                .fallback(new RedisFallbackConfigs(100, Duration.ofMillis(100), Duration.ofSeconds(1)))
+                .stateListener(events::add)
+                .build();
+
+        final var event = events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(RedisConnectionState.CONNECTING, event.previous());
+        assertEquals(RedisConnectionState.DEGRADED, event.current());
+
+        final var userId = "degraded-user-id";
+        final var authToken = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+
+        assertTrue(tokenCache.addToken(userId, authToken));
+        assertEquals(authToken, tokenCache.getToken(userId, authToken.token()).orElseThrow());
+        assertEquals(authToken, tokenCache.getToken(userId).orElseThrow());
+
+        assertTrue(tokenCache.removeToken(userId, authToken.token()));
+        assertFalse(tokenCache.getToken(userId).isPresent());
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void redisCache_ShouldClearRedisOnRecovery_WhenRemovalsWereDropped() throws Exception {
+        final var events = new LinkedBlockingQueue<RedisConnectionStateEvent>();
+
+        try (final var proxy = new RedisProxy()) {
+            final var tokenCache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", proxy.port))
+                    .fallback(new RedisFallbackConfigs(2, Duration.ofMillis(100), Duration.ofMillis(200)))
+                    .stateListener(events::add)
+                    .build();
+            awaitState(events, RedisConnectionState.CONNECTED);
+
+            final var tokens = new AuthToken[3];
+            for (int i = 0; i < tokens.length; i++) {
+                final var userId = "dropped-removal-user-" + UUID.randomUUID();
+                tokens[i] = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+                assertTrue(tokenCache.addToken(userId, tokens[i]));
+            }
+
+            proxy.stop();
+            // the removal log holds 2 removals, so the removal of the first token is dropped
+            for (final var authToken : tokens) {
+                tokenCache.removeToken(authToken.userId(), authToken.token());
+            }
+            awaitState(events, RedisConnectionState.DEGRADED);
+            assertEquals(1, tokenCache.redisStatus().orElseThrow().droppedRemovals());
+
+            proxy.start();
+            awaitState(events, RedisConnectionState.CONNECTED);
+
+            for (final var authToken : tokens) {
+                assertFalse(tokenCache.getToken(authToken.userId(), authToken.token()).isPresent());
+            }
+        }
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void invalidationStream_ShouldPublishQueuedRemovals_WhenRedisIsReachableAgain() throws Exception {
+        final var streamConfigs = new InvalidationStreamConfigs("auth_client:test_queued_" + UUID.randomUUID(), 1000);
+
+        try (final var proxy = new RedisProxy()) {
+            final var firstNode = InMemoryAuthTokenCache.builder()
+                    .invalidationStream(new RedisConnectionConfigs("localhost", proxy.port), streamConfigs)
+                    .build();
+            final var secondNode = InMemoryAuthTokenCache.builder()
+                    .invalidationStream(new RedisConnectionConfigs("localhost", 6379), streamConfigs)
+                    .build();
+
+            // give both consumers time to attach to the stream
+            Thread.sleep(500);
+
+            final var userId = "queued-removal-user-" + UUID.randomUUID();
+            final var authToken = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+            firstNode.addToken(userId, authToken);
+            secondNode.addToken(userId, authToken);
+
+            proxy.stop();
+
+            assertFalse(firstNode.removeToken(userId, authToken.token()), "unpublished removal should be reported");
+            assertFalse(firstNode.getToken(userId, authToken.token()).isPresent());
+            assertTrue(secondNode.getToken(userId, authToken.token()).isPresent());
+
+            proxy.start();
+
+            final var deadline = System.currentTimeMillis() + 10_000;
+            while (secondNode.getToken(userId, authToken.token()).isPresent() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertFalse(secondNode.getToken(userId, authToken.token()).isPresent(), "queued removal should be published");
+
+            firstNode.close();
+            secondNode.close();
+        }
+    }
+
+    private static void awaitState(final LinkedBlockingQueue<RedisConnectionStateEvent> events, final RedisConnectionState state) throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + 10_000;
+        RedisConnectionStateEvent event;
+
+        do {
+            event = events.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } while (event != null && event.current() != state);
+
+        assertNotNull(event, "redis connection state should become " + state);
+    }
+
+    private static int unusedPort() throws Exception {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A TCP proxy to the local Redis server which can be stopped and started again on the same port.
+     */
+    private static final class RedisProxy implements AutoCloseable {
+
+        private final int port;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private volatile ServerSocket serverSocket;
+
+        private RedisProxy() throws Exception {
+            this.port = unusedPort();
+            start();
+        }
+
+        private void start() throws IOException {
+            final var server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress("localhost", port));
+            serverSocket = server;
+            daemon(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        connect(server, server.accept());
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Pipes an accepted connection to Redis, unless the proxy was stopped in the meantime, so no connection
+         * survives {@link #stop()}.
+         */
+        private synchronized void connect(final ServerSocket server, final Socket client) throws IOException {
+            if (server.isClosed()) {
+                client.close();
+                return;
+            }
+
+            final var upstream = new Socket("localhost", 6379);
+            sockets.add(client);
+            sockets.add(upstream);
+            daemon(() -> pipe(client.getInputStream(), upstream.getOutputStream()));
+            daemon(() -> pipe(upstream.getInputStream(), client.getOutputStream()));
+        }
+
+        private synchronized void stop() throws IOException {
+            serverSocket.close();
+            for (final var socket : sockets) {
+                socket.close();
+            }
+            sockets.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            stop();
+        }
+
+        private static void pipe(final InputStream in, final OutputStream out) throws IOException {
+            try (in; out) {
+                in.transferTo(out);
+            }
+        }
+
+        private static void daemon(final IoTask task) {
+            final var thread = new Thread(() -> {
+                try {
+                    task.run();
+                } catch (IOException ignored) {
+                    // the proxy was stopped
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @FunctionalInterface
+        private interface IoTask {
+            void run() throws IOException;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisReplicaConfigs;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the read replica routing of {@link RedisAuthTokenCache}. The local Redis server serves as its own
+ * replica, next to a replica no Redis server listens on.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class RedisReplicaRoutingTest {
+
+    @Test
+    void getToken_ShouldReadFromReplicasOrPrimary_WhenAReplicaIsUnreachable() throws Exception {
+        final var primary = new RedisConnectionConfigs("localhost", 6379);
+        final var tokenCache = RedisAuthTokenCache.builder(primary)
+                .maxSessionsPerUser(2)
+                .replicas(new RedisReplicaConfigs(
+                        List.of(primary, new RedisConnectionConfigs("localhost", unusedPort())),
+                        Duration.ofMillis(1000),
+                        Duration.ofMillis(100)
+                ))
+                .build();
+
+        final var userId = "replica-user-id";
+        final var authToken = new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+        assertTrue(tokenCache.addToken(userId, authToken));
+
+        // lets the lag checks put the reachable replica in rotation
+        Thread.sleep(500);
+
+        for (var i = 0; i < 20; i++) {
+            assertEquals(authToken, tokenCache.getToken(userId, authToken.token()).orElseThrow());
+            assertEquals(authToken, tokenCache.getToken(userId).orElseThrow());
+        }
+
+        assertTrue(tokenCache.removeToken(userId, authToken.token()));
+        assertFalse(tokenCache.getToken(userId, authToken.token()).isPresent());
+    }
+
+    private static int unusedPort() throws Exception {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
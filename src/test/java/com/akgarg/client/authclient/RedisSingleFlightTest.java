@@ -0,0 +1,192 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisConnectionState;
+import com.akgarg.client.authclient.cache.RedisConnectionStateEvent;
+import com.akgarg.client.authclient.cache.RedisSingleFlight;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.TokenDigest;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisFallbackConfigs;
+import com.akgarg.client.authclient.config.RedisSingleFlightConfigs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.SetParams;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the cluster-wide single-flight of cache misses, see {@link RedisSingleFlight}. Two clients with
+ * their own Redis caches stand for two nodes sharing the local Redis server.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class RedisSingleFlightTest {
+
+    private static final String TOKEN = "single-flight-token";
+
+    private final String userId = "single-flight-" + UUID.randomUUID();
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start()
+                // keeps the lease held while the other node misses the session
+                .delay(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void validate_ShouldCallAuthServiceOnce_WhenNodesMissTheSameSession() throws Exception {
+        final var firstNode = buildClient(new RedisConnectionConfigs("localhost", 6379));
+        final var secondNode = buildClient(new RedisConnectionConfigs("localhost", 6379));
+        final var request = request();
+
+        final var firstResult = CompletableFuture.supplyAsync(() -> firstNode.validateDetailed(request));
+        final var secondResult = CompletableFuture.supplyAsync(() -> secondNode.validateDetailed(request));
+
+        final var results = List.of(firstResult.get(10, TimeUnit.SECONDS), secondResult.get(10, TimeUnit.SECONDS));
+        assertTrue(results.stream().allMatch(ValidationResult::valid));
+        assertEquals(1, authService.calls(), "only the lease holder should call the auth-service");
+        assertEquals(1, results.stream().filter(result -> result.source() == ValidationResult.Source.REDIS).count());
+
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    void reactiveValidate_ShouldShareTheSingleFlight_OfBlockingAndReactiveNodes() throws Exception {
+        final var firstNode = buildClient(new RedisConnectionConfigs("localhost", 6379));
+        final var secondNode = buildClient(new RedisConnectionConfigs("localhost", 6379));
+        final var reactiveNode = ReactiveAuthClient.from(secondNode);
+        final var request = request();
+
+        final var firstResult = reactiveNode.validateDetailed(request).toFuture();
+        final var secondResult = CompletableFuture.supplyAsync(() -> firstNode.validateDetailed(request));
+        final var thirdResult = reactiveNode.validateDetailed(request).toFuture();
+
+        final var results = List.of(
+                firstResult.get(10, TimeUnit.SECONDS),
+                secondResult.get(10, TimeUnit.SECONDS),
+                thirdResult.get(10, TimeUnit.SECONDS)
+        );
+        assertTrue(results.stream().allMatch(ValidationResult::valid));
+        assertEquals(1, authService.calls(), "only the lease holder should call the auth-service");
+        assertEquals(2, results.stream().filter(result -> result.source() == ValidationResult.Source.REDIS).count());
+
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    void reactiveValidate_ShouldHoldNoThread_WhileAwaitingTheLease() throws Exception {
+        final var authClient = buildClient(new RedisConnectionConfigs("localhost", 6379));
+        final var reactiveAuthClient = ReactiveAuthClient.from(authClient);
+        final var leaseKey = "authclient:lease:" + userId + ":" + HexFormat.of().formatHex(TokenDigest.sha256(TOKEN));
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            // another node holds the lease of the session
+            jedis.set(leaseKey, "other-node", SetParams.setParams().px(5000));
+
+            final var results = IntStream.range(0, 32)
+                    .mapToObj(i -> reactiveAuthClient.validateDetailed(request()).toFuture())
+                    .toList();
+            Thread.sleep(200);
+
+            final var awaitingThreads = Thread.getAllStackTraces().values().stream()
+                    .filter(frames -> Arrays.stream(frames).anyMatch(frame -> frame.getClassName().equals(RedisSingleFlight.class.getName())
+                            && frame.getMethodName().equals("await")))
+                    .count();
+            assertEquals(0, awaitingThreads, "reactive validations should not block a thread while awaiting the lease");
+            assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+
+            // the other node caches the session and releases its lease
+            final var cache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379)).build();
+            assertTrue(cache.addToken(userId, new AuthToken(userId, TOKEN, System.currentTimeMillis() + 60_000)));
+            jedis.del(leaseKey);
+            cache.close();
+
+            for (final var result : results) {
+                assertEquals(ValidationResult.Source.REDIS, result.get(10, TimeUnit.SECONDS).source());
+            }
+        }
+
+        assertEquals(0, authService.calls(), "the lease holder should be the only node validating the session");
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldCallAuthService_WhenRedisIsUnreachable() throws Exception {
+        final var events = new LinkedBlockingQueue<RedisConnectionStateEvent>();
+        final var authClient = AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS)
+                .redisConnectionProperties(new RedisConnectionConfigs("localhost", unusedPort()))
+                .redisFallbackConfig(new RedisFallbackConfigs(100, Duration.ofMillis(100), Duration.ofSeconds(1)))
+                .redisConnectionStateListener(events::add)
+                .redisSingleFlight(RedisSingleFlightConfigs.withDefaults())
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+
+        final var event = events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(RedisConnectionState.DEGRADED, event.current());
+
+        final var request = request();
+        assertTrue(authClient.validate(request));
+        assertTrue(authClient.validate(request));
+        assertEquals(1, authService.calls(), "the session should be cached in the local fallback cache");
+
+        authClient.close();
+    }
+
+    @Test
+    void singleFlightConfigs_ShouldBeValidated() {
+        assertThrows(IllegalArgumentException.class, () -> RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379))
+                .singleFlight(new RedisSingleFlightConfigs(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(20)))
+                .build());
+    }
+
+    private AuthClient buildClient(final RedisConnectionConfigs connectionConfigs) {
+        return AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS)
+                .redisConnectionProperties(connectionConfigs)
+                .redisSingleFlight(RedisSingleFlightConfigs.withDefaults())
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private ValidateTokenRequest request() {
+        return new ValidateTokenRequest(userId, TOKEN);
+    }
+
+    private static int unusedPort() throws Exception {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.RevocationFilter;
+import com.akgarg.client.authclient.common.TokenDigest;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.RevocationFilterConfigs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link RevocationFilter} and its use by {@link AuthClient}, run against a stub auth-service endpoint.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class RevocationFilterTest {
+
+    private static final String USER_ID = "revocation-user-id";
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start();
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void filter_ShouldReportRevokedTokens_AndFewFalsePositives() {
+        final var filter = new RevocationFilter(new RevocationFilterConfigs(1000, 0.01, Duration.ofHours(1)));
+
+        for (var i = 0; i < 500; i++) {
+            filter.revoke("revoked-" + i);
+        }
+        filter.revokeDigest(HexFormat.of().formatHex(TokenDigest.sha256("revoked-by-digest")));
+        filter.revokeDigest("not-a-digest");
+
+        for (var i = 0; i < 500; i++) {
+            assertTrue(filter.mightBeRevoked("revoked-" + i));
+        }
+        assertTrue(filter.mightBeRevoked("revoked-by-digest"));
+
+        var falsePositives = 0;
+        for (var i = 0; i < 10_000; i++) {
+            if (filter.mightBeRevoked(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100, "too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void validate_ShouldConfirmCachedTokenWithAuthService_WhenFeedRevokesIt() {
+        final var feedListener = new AtomicReference<Consumer<String>>();
+        final var authClient = AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .revocationFilter(RevocationFilterConfigs.withDefaults())
+                .revocationFeed(feedListener::set)
+                .build();
+        final var revoked = new ValidateTokenRequest(USER_ID, "revoked-token");
+        final var kept = new ValidateTokenRequest(USER_ID, "kept-token");
+
+        assertTrue(authClient.validate(revoked));
+        assertTrue(authClient.validate(kept));
+        assertEquals(ValidationResult.Source.MEMORY, authClient.validateDetailed(revoked).source());
+        assertEquals(2, authService.calls());
+
+        // revoked elsewhere, auth-service rejects the token from now on
+        feedListener.get().accept(HexFormat.of().formatHex(TokenDigest.sha256("revoked-token")));
+        authService.accepting(false);
+
+        final var result = authClient.validateDetailed(revoked);
+        assertEquals(ValidationResult.Outcome.INVALID, result.outcome());
+        assertEquals(ValidationResult.Source.AUTH_SERVICE, result.source());
+        assertEquals(3, authService.calls());
+
+        assertEquals(ValidationResult.Outcome.INVALID, authClient.validateDetailed(revoked).outcome());
+        assertEquals(4, authService.calls(), "dropped session should not be served from cache");
+
+        final var keptResult = authClient.validateDetailed(kept);
+        assertEquals(ValidationResult.Outcome.VALID, keptResult.outcome());
+        assertEquals(ValidationResult.Source.MEMORY, keptResult.source());
+        assertEquals(4, authService.calls());
+    }
+
+    @Test
+    void reactiveValidate_ShouldConfirmCachedToken_WhenRevokedLocally() {
+        final var authClient = (DefaultAuthClient) AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .revocationFilter(RevocationFilterConfigs.withDefaults())
+                .build();
+        final var reactiveAuthClient = ReactiveAuthClient.from(authClient);
+        final var request = new ValidateTokenRequest(USER_ID, "locally-revoked-token");
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertTrue(authClient.revoke(USER_ID, "locally-revoked-token"));
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(request).block(Duration.ofSeconds(10)));
+        assertEquals(2, authService.calls());
+
+        // the session was cached again, but its token stays in the filter
+        authService.accepting(false);
+        final var result = reactiveAuthClient.validateDetailed(request).block(Duration.ofSeconds(10));
+        assertNotNull(result);
+        assertEquals(ValidationResult.Outcome.INVALID, result.outcome());
+        assertEquals(3, authService.calls());
+    }
+
+}
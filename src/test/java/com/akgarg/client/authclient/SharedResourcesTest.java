@@ -0,0 +1,346 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.config.BatchingConfigs;
+import com.akgarg.client.authclient.config.ConcurrencyLimitConfigs;
+import com.akgarg.client.authclient.config.EndpointDiscoveryConfigs;
+import com.akgarg.client.authclient.config.InvalidationStreamConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.RedisConnectionPoolConfigs;
+import com.akgarg.client.authclient.config.RedisPipelineConfigs;
+import com.akgarg.client.authclient.config.RevocationFilterConfigs;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.akgarg.client.authclient.http.RegisteredEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link AuthClientResources} shared by several {@link AuthClient} instances.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class SharedResourcesTest {
+
+    private static final String USER_ID = "shared-user-id";
+    private static final String TOKEN = "shared-token";
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start();
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void resources_ShouldOutliveTheirCreator_UntilEveryClientIsClosed() {
+        final var resources = AuthClientResources.create();
+        final var scheduler = resources.scheduler();
+        final var firstClient = buildClient(resources);
+        final var secondClient = buildClient(resources);
+        assertEquals(3, resources.references());
+
+        resources.close();
+        resources.close();
+        assertEquals(2, resources.references());
+        assertSame(scheduler, resources.scheduler());
+
+        assertTrue(firstClient.validate(request()));
+        assertTrue(secondClient.validate(request()));
+        assertEquals(2, authService.calls(), "each client should cache the session on its own");
+
+        firstClient.close();
+        firstClient.close();
+        assertEquals(1, resources.references());
+        assertFalse(scheduler.isShutdown(), "the scheduler should keep running for the other client");
+        assertTrue(secondClient.validate(request()));
+
+        secondClient.close();
+        assertEquals(0, resources.references());
+        assertTrue(scheduler.isShutdown());
+        assertThrows(IllegalStateException.class, resources::retain);
+        assertThrows(IllegalStateException.class, resources::httpClient);
+        assertThrows(IllegalStateException.class, () -> buildClient(resources));
+    }
+
+    @Test
+    void resources_ShouldShareOnePoolPerRedisServerAndPoolConfigs() {
+        final var resources = AuthClientResources.create();
+        final var connectionConfigs = new RedisConnectionConfigs("localhost", 6379);
+
+        final var pool = resources.redisPool(connectionConfigs, null);
+        assertSame(pool, resources.redisPool(new RedisConnectionConfigs("localhost", 6379), RedisConnectionPoolConfigs.withDefaults()));
+        assertNotSame(pool, resources.redisPool(connectionConfigs, new RedisConnectionPoolConfigs(4, 4, 0)));
+        assertNotSame(pool, resources.redisPool(new RedisConnectionConfigs("localhost", 6380), null));
+        assertSame(resources.httpClient(), resources.httpClient());
+
+        resources.close();
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void inMemoryCache_ShouldNotStopSharedScheduler_WhenClosed() {
+        try (final var resources = AuthClientResources.create()) {
+            final var scheduler = resources.scheduler();
+            final var tokenCache = InMemoryAuthTokenCache.builder().maxSessionsPerUser(1).scheduler(scheduler).build();
+
+            tokenCache.close();
+
+            assertFalse(scheduler.isShutdown());
+            assertFalse(scheduler.isTerminated());
+        }
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void close_ShouldStopEveryThreadStartedForTheClient() throws Exception {
+        final var threadsBefore = Thread.getAllStackTraces().keySet();
+        final var authClient = AuthClientBuilder
+                .builder()
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS)
+                .redisConnectionProperties(new RedisConnectionConfigs("localhost", 6379))
+                .invalidationStream(InvalidationStreamConfigs.withDefaults())
+                .revocationFilter(RevocationFilterConfigs.withDefaults())
+                .batching(BatchingConfigs.withDefaults())
+                .endpointDiscovery(EndpointDiscoveryConfigs.withDefaults())
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+        assertTrue(authClient.clearCache());
+        assertTrue(authClient.validate(request()));
+
+        // the HTTP transport and the evictor of the commons-pool connection pools are JVM-wide threads, the stub's
+        // threads serve the auth-service
+        final var clientThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> !threadsBefore.contains(thread))
+                .filter(thread -> !thread.getName().startsWith("HttpClient") && !thread.getName().equals("commons-pool-evictor"))
+                .filter(thread -> !thread.getName().equals("authServiceStub"))
+                .toList();
+        final var clientThreadNames = clientThreads.stream().map(Thread::getName).toList();
+        for (final var name : Set.of("RedisAuthTokenCacheConnectionMonitor", "authTokenInvalidationConsumer", "authClientBatchFlusher", "AuthServiceEndpointDiscovery")) {
+            assertTrue(clientThreadNames.contains(name), name + " should be running in " + clientThreadNames);
+        }
+
+        authClient.close();
+
+        for (final var thread : clientThreads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive(), thread.getName() + " should be stopped by close");
+        }
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void resources_ShouldShareOnePipelinePerRedisServer_UntilEveryClientIsClosed() throws Exception {
+        final var threadsBefore = Thread.getAllStackTraces().keySet();
+        final var resources = AuthClientResources.create();
+        final var connectionConfigs = new RedisConnectionConfigs("localhost", 6379);
+        final var pipeline = resources.redisPipeline(connectionConfigs, null);
+        assertSame(pipeline, resources.redisPipeline(new RedisConnectionConfigs("localhost", 6379), RedisPipelineConfigs.withDefaults()));
+        assertNotSame(pipeline, resources.redisPipeline(connectionConfigs, new RedisPipelineConfigs(1, 16, Duration.ofSeconds(1))));
+
+        final var firstClient = buildPipelinedClient(resources);
+        final var secondClient = buildPipelinedClient(resources);
+        final var workers = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> !threadsBefore.contains(thread))
+                .filter(thread -> thread.getName().startsWith("redisPipelineWorker-"))
+                .toList();
+        assertEquals(pipeline.connections() + 1, workers.size(), "the clients should use the shared pipeline");
+
+        resources.close();
+        assertTrue(firstClient.clearCache());
+        firstClient.close();
+        assertTrue(secondClient.validate(request()));
+        assertTrue(secondClient.validate(request()));
+        assertEquals(1, authService.calls(), "the shared pipeline should outlive the first client");
+
+        secondClient.close();
+        assertEquals(0, resources.references());
+
+        for (final var thread : workers) {
+            thread.join(5000);
+            assertFalse(thread.isAlive(), thread.getName() + " should be stopped once the resources are released");
+        }
+    }
+
+    /**
+     * Requires a redis-server running on localhost:6379
+     */
+    @Test
+    void resources_ShouldShareOneBoundedRedisExecutor_UntilTheyAreReleased() throws Exception {
+        final var resources = AuthClientResources.create(1, 2);
+        final var executor = (ThreadPoolExecutor) resources.redisAsyncExecutor();
+        assertSame(executor, resources.redisAsyncExecutor());
+        assertEquals(2, executor.getMaximumPoolSize());
+        assertEquals(0, executor.getPoolSize(), "the threads should be started on demand");
+
+        final var connectionConfigs = new RedisConnectionConfigs("localhost", 6379);
+        final var firstCache = RedisAuthTokenCache.builder(connectionConfigs)
+                .connectionPool(resources.redisPool(connectionConfigs, null))
+                .asyncExecutor(executor)
+                .build();
+        final var secondCache = RedisAuthTokenCache.builder(connectionConfigs)
+                .connectionPool(resources.redisPool(connectionConfigs, null))
+                .asyncExecutor(executor)
+                .build();
+        final var token = new AuthToken(USER_ID, TOKEN, System.currentTimeMillis() + 60_000);
+
+        assertTrue(firstCache.addTokenAsync(USER_ID, token).get(5, TimeUnit.SECONDS));
+        assertTrue(secondCache.getTokenAsync(USER_ID, TOKEN).get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(executor.getPoolSize() <= 2);
+
+        firstCache.close();
+        assertFalse(executor.isShutdown(), "the shared executor should outlive the cache");
+        assertTrue(secondCache.getTokenAsync(USER_ID, TOKEN).get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(secondCache.removeToken(USER_ID, TOKEN));
+        secondCache.close();
+
+        resources.close();
+        assertTrue(executor.isShutdown());
+        assertThrows(IllegalArgumentException.class, () -> AuthClientResources.create(1, 0));
+    }
+
+    @Test
+    void build_ShouldCloseBuiltComponentsAndReleaseResources_WhenItFails() {
+        try (final var resources = AuthClientResources.create()) {
+            final var scheduler = (ScheduledThreadPoolExecutor) resources.scheduler();
+            final var builder = AuthClientBuilder
+                    .builder()
+                    .resources(resources)
+                    .revocationFilter(new RevocationFilterConfigs(0, 0.01, Duration.ofMinutes(1)))
+                    .authServiceEndpoints(List.of(authService.endpoint()));
+
+            assertThrows(IllegalArgumentException.class, builder::build);
+
+            assertEquals(1, resources.references());
+            assertFalse(scheduler.getQueue().isEmpty());
+            assertTrue(scheduler.getQueue().stream().allMatch(task -> ((Future<?>) task).isCancelled()),
+                    "the tasks of the cache built for the client should be cancelled");
+        }
+    }
+
+    @Test
+    void close_ShouldLeaveCacheAndHttpClientGivenToTheBuilderOpen() throws Exception {
+        final var scheduler = new ScheduledThreadPoolExecutor(1);
+        final var authTokenCache = InMemoryAuthTokenCache.builder().scheduler(scheduler).build();
+        final var closes = new AtomicInteger();
+        final var authServiceHttpClient = new ClosingAuthServiceHttpClient(closes);
+        final var authClient = AuthClientBuilder
+                .builder()
+                .authTokenCache(authTokenCache)
+                .authServiceHttpClient(authServiceHttpClient)
+                .concurrencyLimit(ConcurrencyLimitConfigs.withDefaults())
+                .batching(BatchingConfigs.withDefaults())
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+        assertTrue(authClient.validate(request()));
+
+        authClient.close();
+
+        assertEquals(0, closes.get(), "the given http client should not be closed through the decorators");
+        assertFalse(scheduler.getQueue().isEmpty());
+        assertTrue(scheduler.getQueue().stream().noneMatch(task -> ((Future<?>) task).isCancelled()),
+                "the tasks of the given cache should keep running");
+
+        authTokenCache.close();
+        authServiceHttpClient.close();
+        scheduler.shutdownNow();
+        assertEquals(1, closes.get());
+    }
+
+    private AuthClient buildPipelinedClient(final AuthClientResources resources) {
+        return AuthClientBuilder
+                .builder()
+                .resources(resources)
+                .cacheStrategy(AuthTokenCacheStrategy.REDIS_PIPELINED)
+                .redisConnectionProperties(new RedisConnectionConfigs("localhost", 6379))
+                .redisKeyPrefix("shared-pipeline:")
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private AuthClient buildClient(final AuthClientResources resources) {
+        return AuthClientBuilder
+                .builder()
+                .resources(resources)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+    private static ValidateTokenRequest request() {
+        return new ValidateTokenRequest(USER_ID, TOKEN);
+    }
+
+    /**
+     * A {@link DefaultAuthServiceHttpClient} counting how often it is closed.
+     */
+    private static final class ClosingAuthServiceHttpClient implements AuthServiceHttpClient, AutoCloseable {
+
+        private final AuthServiceHttpClient delegate = new DefaultAuthServiceHttpClient(null, ApiVersion.V1);
+        private final AtomicInteger closes;
+
+        private ClosingAuthServiceHttpClient(final AtomicInteger closes) {
+            this.closes = closes;
+        }
+
+        @Override
+        public RegisteredEndpoint register(final AuthServiceEndpoint endpoint) {
+            return delegate.register(endpoint);
+        }
+
+        @Override
+        public void unregister(final AuthServiceEndpoint endpoint) {
+            delegate.unregister(endpoint);
+        }
+
+        @Override
+        public AuthServiceCallResult callAuthService(final RegisteredEndpoint endpoint, final AuthServiceRequest request) {
+            return delegate.callAuthService(endpoint, request);
+        }
+
+        @Override
+        public CompletableFuture<AuthServiceCallResult> callAuthServiceAsync(
+                final RegisteredEndpoint endpoint,
+                final AuthServiceRequest request
+        ) {
+            return delegate.callAuthServiceAsync(endpoint, request);
+        }
+
+        @Override
+        public void close() {
+            closes.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.InMemoryAuthTokenCache;
+import com.akgarg.client.authclient.cache.RedisAuthTokenCache;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import com.akgarg.client.authclient.config.SlidingExpiryConfigs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the sliding expiry of cached sessions, see {@link SlidingExpiryConfigs}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class SlidingExpiryTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration MAX_LIFETIME = Duration.ofMinutes(30);
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start().lifetime(Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void getToken_ShouldExtendExpiration_ToIdleTimeoutFromNow() {
+        final var cache = inMemoryCache(new SlidingExpiryConfigs(IDLE_TIMEOUT, MAX_LIFETIME));
+        final var authToken = new AuthToken("user-1", "token-1", System.currentTimeMillis() + 60_000);
+        cache.addToken("user-1", authToken);
+
+        final var before = System.currentTimeMillis();
+        final var extended = cache.getToken("user-1", "token-1").orElseThrow();
+
+        assertTrue(extended.expiration() >= before + IDLE_TIMEOUT.toMillis());
+        assertTrue(extended.expiration() <= System.currentTimeMillis() + IDLE_TIMEOUT.toMillis());
+        assertEquals(extended, cache.getToken("user-1").orElseThrow());
+
+        cache.close();
+    }
+
+    @Test
+    void getToken_ShouldNotExtendExpiration_PastCeiling() {
+        final var cache = inMemoryCache(new SlidingExpiryConfigs(IDLE_TIMEOUT, IDLE_TIMEOUT));
+        final var added = System.currentTimeMillis();
+        cache.addToken("user-1", new AuthToken("user-1", "token-1", added + 60_000));
+
+        final var extended = cache.getToken("user-1", "token-1").orElseThrow();
+
+        assertTrue(extended.expiration() <= added + IDLE_TIMEOUT.toMillis());
+        assertTrue(extended.expiration() > added + 60_000);
+
+        cache.close();
+    }
+
+    @Test
+    void getToken_ShouldNotExtendExpiration_OfExpiredSessions() {
+        final var cache = inMemoryCache(new SlidingExpiryConfigs(IDLE_TIMEOUT, MAX_LIFETIME));
+        final var expired = new AuthToken("user-1", "token-1", System.currentTimeMillis() - 1);
+        cache.addToken("user-1", expired);
+
+        assertEquals(expired, cache.getToken("user-1", "token-1").orElseThrow());
+
+        cache.close();
+    }
+
+    @Test
+    void getToken_ShouldKeepExpiration_WithoutSlidingExpiry() {
+        final var cache = inMemoryCache(null);
+        final var authToken = new AuthToken("user-1", "token-1", System.currentTimeMillis() + 60_000);
+        cache.addToken("user-1", authToken);
+
+        assertEquals(authToken, cache.getToken("user-1", "token-1").orElseThrow());
+
+        cache.close();
+    }
+
+    @Test
+    void validate_ShouldNotCallAuthService_WhileSessionIsInUse() throws Exception {
+        final var authClient = buildClient(new SlidingExpiryConfigs(Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        final var request = new ValidateTokenRequest("user-1", "token-1");
+
+        assertTrue(authClient.validate(request));
+        assertTrue(authClient.validate(request));
+        // the session validated by the auth-service has expired by now, but was extended by its last use
+        Thread.sleep(500);
+        assertTrue(authClient.validate(request));
+
+        assertEquals(1, authService.calls());
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldCallAuthServiceAgain_OnceCeilingIsReached() throws Exception {
+        final var authClient = buildClient(new SlidingExpiryConfigs(Duration.ofMillis(400), Duration.ofMillis(400)));
+        final var request = new ValidateTokenRequest("user-1", "token-1");
+
+        assertTrue(authClient.validate(request));
+        assertTrue(authClient.validate(request));
+        Thread.sleep(600);
+        assertTrue(authClient.validate(request));
+
+        assertEquals(2, authService.calls());
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldReportExpired_WithoutSlidingExpiry() throws Exception {
+        final var authClient = buildClient(null);
+        final var request = new ValidateTokenRequest("user-1", "token-1");
+
+        assertTrue(authClient.validate(request));
+        Thread.sleep(500);
+
+        assertEquals(ValidationResult.Outcome.EXPIRED, authClient.validateDetailed(request).outcome());
+        assertEquals(1, authService.calls());
+
+        authClient.close();
+    }
+
+    @Test
+    void getToken_ShouldExtendExpiration_InRedis() {
+        final var cache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379))
+                .maxSessionsPerUser(2)
+                .slidingExpiry(new SlidingExpiryConfigs(IDLE_TIMEOUT, MAX_LIFETIME))
+                .build();
+        final var userId = "sliding-" + UUID.randomUUID();
+        final var authToken = new AuthToken(userId, "token-1", System.currentTimeMillis() + 60_000);
+        assertTrue(cache.addToken(userId, authToken));
+
+        final var before = System.currentTimeMillis();
+        final var extended = cache.getToken(userId, "token-1").orElseThrow();
+
+        assertTrue(cache.servesFromRedis());
+        assertTrue(extended.expiration() >= before + IDLE_TIMEOUT.toMillis());
+        assertEquals(extended.expiration(), cache.getToken(userId).orElseThrow().expiration());
+
+        cache.removeToken(userId);
+    }
+
+    @Test
+    void getToken_ShouldDropSessionInRedis_OncePastCeiling() throws Exception {
+        final var cache = RedisAuthTokenCache.builder(new RedisConnectionConfigs("localhost", 6379))
+                .slidingExpiry(new SlidingExpiryConfigs(Duration.ofMillis(200), Duration.ofMillis(600)))
+                .build();
+        final var userId = "sliding-" + UUID.randomUUID();
+        assertTrue(cache.addToken(userId, new AuthToken(userId, "token-1", System.currentTimeMillis() + 100)));
+        // the ceiling is fixed while the session is added, so it is at most 600 ms from now
+        final var added = System.currentTimeMillis();
+
+        final var deadline = added + 1000;
+        var lastHit = 0L;
+
+        while (System.currentTimeMillis() < deadline) {
+            final var session = cache.getToken(userId, "token-1");
+
+            if (session.isPresent()) {
+                assertTrue(session.get().expiration() <= added + 600, "the session should not be extended past its ceiling");
+                lastHit = System.currentTimeMillis();
+            }
+
+            Thread.sleep(20);
+        }
+
+        assertTrue(lastHit > added + 300, "the session should be extended while in use");
+        assertTrue(lastHit <= added + 600 + 50, "the session should not be served past its ceiling");
+        assertFalse(cache.getToken(userId, "token-1").isPresent());
+        assertFalse(cache.getToken(userId).isPresent());
+
+        try (final var jedis = new Jedis("localhost", 6379)) {
+            assertEquals(0, jedis.hlen("authclient:sessions:" + userId));
+            assertEquals(0, jedis.zcard("authclient:expiry:" + userId));
+            assertEquals(0, jedis.zcard("authclient:ceiling:" + userId));
+        }
+
+        cache.removeToken(userId);
+    }
+
+    @Test
+    void slidingExpiryConfigs_ShouldBeValidated() {
+        assertThrows(IllegalArgumentException.class, () -> inMemoryCache(new SlidingExpiryConfigs(Duration.ZERO, MAX_LIFETIME)));
+        assertThrows(IllegalArgumentException.class, () -> inMemoryCache(new SlidingExpiryConfigs(MAX_LIFETIME, IDLE_TIMEOUT)));
+    }
+
+    private static InMemoryAuthTokenCache inMemoryCache(final SlidingExpiryConfigs slidingExpiryConfigs) {
+        return InMemoryAuthTokenCache.builder().maxSessionsPerUser(2).slidingExpiry(slidingExpiryConfigs).build();
+    }
+
+    private AuthClient buildClient(final SlidingExpiryConfigs slidingExpiryConfigs) {
+        final var builder = AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()));
+
+        if (slidingExpiryConfigs != null) {
+            builder.slidingExpiry(slidingExpiryConfigs);
+        }
+
+        return builder.build();
+    }
+
+}
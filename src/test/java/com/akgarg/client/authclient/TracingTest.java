@@ -0,0 +1,180 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.tracing.AuthClientTracer;
+import com.akgarg.client.authclient.tracing.TraceSpan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the tracing of token validations, run against a stub auth-service endpoint with a recording
+ * {@link AuthClientTracer}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class TracingTest {
+
+    private static final String USER_ID = "traced-user-id";
+    private static final String TOKEN = "traced-token";
+
+    private final List<String> receivedTraceHeaders = new CopyOnWriteArrayList<>();
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start()
+                .onRequest(exchange -> receivedTraceHeaders.add(exchange.getRequestHeaders().getFirst("traceparent")));
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void validate_ShouldTraceCacheLookupAuthServiceCallAndCacheFill() {
+        final var tracer = new RecordingTracer();
+        final var authClient = AuthClientBuilder
+                .builder()
+                .tracer(tracer)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+
+        assertTrue(authClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)));
+
+        assertEquals(List.of(
+                AuthClientTracer.CACHE_LOOKUP_SPAN,
+                AuthClientTracer.AUTH_SERVICE_CALL_SPAN,
+                AuthClientTracer.CACHE_FILL_SPAN,
+                AuthClientTracer.VALIDATE_SPAN
+        ), tracer.endedSpanNames());
+
+        final var lookup = tracer.ended.get(0);
+        assertEquals("IN_MEMORY", lookup.attributes.get(TraceSpan.CACHE_STRATEGY_ATTRIBUTE));
+        assertEquals(false, lookup.attributes.get(TraceSpan.CACHE_HIT_ATTRIBUTE));
+
+        final var call = tracer.ended.get(1);
+        assertEquals(200L, call.attributes.get(TraceSpan.STATUS_CODE_ATTRIBUTE));
+        assertEquals(0L, call.attributes.get(TraceSpan.RETRY_ATTRIBUTE));
+        assertEquals((long) authService.port(), call.attributes.get(TraceSpan.SERVER_PORT_ATTRIBUTE));
+        assertSame(tracer.ended.get(3), call.parent);
+        assertEquals(List.of(call.id), receivedTraceHeaders, "call span context should be propagated");
+
+        assertEquals("VALID", tracer.ended.get(3).attributes.get(TraceSpan.OUTCOME_ATTRIBUTE));
+    }
+
+    @Test
+    void reactiveValidate_ShouldEndAllSpans() {
+        final var tracer = new RecordingTracer();
+        final var reactiveAuthClient = AuthClientBuilder
+                .builder()
+                .tracer(tracer)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .buildReactive();
+
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)).block(Duration.ofSeconds(10)));
+        assertEquals(Boolean.TRUE, reactiveAuthClient.validate(new ValidateTokenRequest(USER_ID, TOKEN)).block(Duration.ofSeconds(10)));
+
+        assertEquals(List.of(
+                AuthClientTracer.CACHE_LOOKUP_SPAN,
+                AuthClientTracer.AUTH_SERVICE_CALL_SPAN,
+                AuthClientTracer.CACHE_FILL_SPAN,
+                AuthClientTracer.VALIDATE_SPAN,
+                AuthClientTracer.CACHE_LOOKUP_SPAN,
+                AuthClientTracer.VALIDATE_SPAN
+        ), tracer.endedSpanNames());
+        assertEquals(true, tracer.ended.get(4).attributes.get(TraceSpan.CACHE_HIT_ATTRIBUTE));
+        assertEquals(List.of(tracer.ended.get(1).id), receivedTraceHeaders);
+    }
+
+    /**
+     * Records ended spans, tracking the current span per thread.
+     */
+    private static final class RecordingTracer implements AuthClientTracer {
+
+        private final List<RecordedSpan> ended = new CopyOnWriteArrayList<>();
+        private final ThreadLocal<RecordedSpan> current = new ThreadLocal<>();
+
+        @Override
+        public TraceSpan startSpan(final String name, final TraceSpan parent) {
+            return new RecordedSpan(this, name, parent != null ? (RecordedSpan) parent : current.get());
+        }
+
+        @Override
+        public void inject(final BiConsumer<String, String> headers) {
+            final var span = current.get();
+            if (span != null) {
+                headers.accept("traceparent", span.id);
+            }
+        }
+
+        List<String> endedSpanNames() {
+            return ended.stream().map(span -> span.name).toList();
+        }
+
+    }
+
+    private static final class RecordedSpan implements TraceSpan {
+
+        private final RecordingTracer tracer;
+        private final String name;
+        private final RecordedSpan parent;
+        private final String id;
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        private RecordedSpan(final RecordingTracer tracer, final String name, final RecordedSpan parent) {
+            this.tracer = tracer;
+            this.name = name;
+            this.parent = parent;
+            this.id = Integer.toHexString(System.identityHashCode(this));
+        }
+
+        @Override
+        public TraceSpan setAttribute(final String key, final String value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute(final String key, final long value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public TraceSpan setAttribute(final String key, final boolean value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void recordFailure(final Throwable e) {
+            attributes.put("failed", true);
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            final var previous = tracer.current.get();
+            tracer.current.set(this);
+            return () -> tracer.current.set(previous);
+        }
+
+        @Override
+        public void end() {
+            tracer.ended.add(this);
+        }
+
+    }
+
+}
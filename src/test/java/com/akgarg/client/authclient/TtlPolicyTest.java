@@ -0,0 +1,154 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.cache.TtlPolicy;
+import com.akgarg.client.authclient.common.AuthToken;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.TtlPolicyConfigs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link TtlPolicy} and its use by {@link AuthClient}, run against a stub auth-service endpoint.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class TtlPolicyTest {
+
+    private static final String USER_ID = "ttl-user-id";
+
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start().lifetime(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void admit_ShouldCapAndJitterCacheExpiration_WithinTokenExpiration() {
+        final var policy = new TtlPolicy(new TtlPolicyConfigs(Duration.ofMinutes(1), 0.5, Duration.ofSeconds(5), Duration.ZERO, 10));
+        final var expirations = new HashSet<Long>();
+
+        for (var i = 0; i < 100; i++) {
+            final var now = System.currentTimeMillis();
+            final var admitted = policy.admit(new AuthToken(USER_ID, "token", now + 3_600_000));
+
+            assertNotNull(admitted);
+            assertTrue(admitted.expiration() <= System.currentTimeMillis() + 60_000);
+            assertTrue(admitted.expiration() >= now + 30_000);
+            expirations.add(admitted.expiration() - now);
+        }
+
+        assertTrue(expirations.size() > 10, "cache expirations should be spread by the jitter");
+    }
+
+    @Test
+    void admit_ShouldRejectSessionsAboutToExpire_AndKeepOthersAsIs() {
+        final var policy = new TtlPolicy(new TtlPolicyConfigs(Duration.ofHours(1), 0, Duration.ofSeconds(5), Duration.ZERO, 10));
+        final var now = System.currentTimeMillis();
+        final var session = new AuthToken(USER_ID, "token", now + 60_000);
+
+        assertNull(policy.admit(new AuthToken(USER_ID, "token", now + 2_000)));
+        assertNull(policy.admit(new AuthToken(USER_ID, "token", now - 1_000)));
+        assertSame(session, policy.admit(session));
+        assertThrows(IllegalArgumentException.class, () -> new TtlPolicy(new TtlPolicyConfigs(Duration.ZERO, 0, Duration.ZERO, Duration.ZERO, 10)));
+        assertThrows(IllegalArgumentException.class, () -> new TtlPolicy(new TtlPolicyConfigs(Duration.ofHours(1), 1, Duration.ZERO, Duration.ZERO, 10)));
+    }
+
+    @Test
+    void validate_ShouldRevalidateWithAuthService_WhenCappedSessionLeftCache() throws Exception {
+        final var authClient = authClient(new TtlPolicyConfigs(Duration.ofMillis(200), 0, Duration.ZERO, Duration.ZERO, 10));
+        final var request = new ValidateTokenRequest(USER_ID, "capped-token");
+
+        assertTrue(authClient.validate(request));
+        assertTrue(authClient.validate(request));
+        assertEquals(1, authService.calls(), "second validation should be served from cache");
+
+        Thread.sleep(300);
+
+        final var result = authClient.validateDetailed(request);
+        assertEquals(ValidationResult.Outcome.VALID, result.outcome());
+        assertEquals(ValidationResult.Source.AUTH_SERVICE, result.source());
+        assertEquals(2, authService.calls());
+    }
+
+    @Test
+    void validate_ShouldNotCacheSessionsAboutToExpire() {
+        final var authClient = authClient(new TtlPolicyConfigs(Duration.ofHours(1), 0, Duration.ofSeconds(5), Duration.ZERO, 10));
+        final var request = new ValidateTokenRequest(USER_ID, "short-lived-token");
+        authService.lifetime(Duration.ofSeconds(2));
+
+        assertTrue(authClient.validate(request));
+        assertTrue(authClient.validate(request));
+        assertEquals(2, authService.calls(), "short-lived sessions should not be cached");
+    }
+
+    @Test
+    void validate_ShouldRememberRejectedTokens_ForNegativeTtl() {
+        final var authClient = authClient(new TtlPolicyConfigs(Duration.ofHours(1), 0.1, Duration.ZERO, Duration.ofMinutes(1), 10));
+        authService.accepting(false);
+
+        assertFalse(authClient.validate(new ValidateTokenRequest(USER_ID, "rejected-token")));
+
+        final var result = authClient.validateDetailed(new ValidateTokenRequest(USER_ID, "rejected-token"));
+        assertEquals(ValidationResult.Outcome.INVALID, result.outcome());
+        assertEquals(ValidationResult.Source.MEMORY, result.source());
+        assertEquals(1, authService.calls(), "rejected token should be answered from the negative entries");
+
+        authService.accepting(true);
+        assertTrue(authClient.validate(new ValidateTokenRequest(USER_ID, "accepted-token")));
+        assertTrue(authClient.validate(new ValidateTokenRequest("other-user-id", "rejected-token")));
+        assertEquals(3, authService.calls(), "negative entries should be kept per user");
+    }
+
+    @Test
+    void rejected_ShouldKeepNegativeEntriesBounded_DroppingThoseExpiringFirst() throws Exception {
+        final var policy = new TtlPolicy(new TtlPolicyConfigs(Duration.ofHours(1), 0, Duration.ZERO, Duration.ofMinutes(1), 8));
+
+        for (var i = 0; i < 8; i++) {
+            policy.rejected(USER_ID, "token-" + i);
+        }
+
+        Thread.sleep(5);
+        policy.rejected(USER_ID, "token-8");
+
+        assertTrue(policy.isRejected(USER_ID, "token-8"), "latest rejection should be kept");
+        assertFalse(policy.isRejected(USER_ID, "token-0"), "rejection expiring first should be dropped");
+        assertFalse(policy.isRejected(USER_ID, "unknown-token"));
+    }
+
+    @Test
+    void isRejected_ShouldExpireNegativeEntries() throws Exception {
+        final var policy = new TtlPolicy(new TtlPolicyConfigs(Duration.ofHours(1), 0, Duration.ZERO, Duration.ofMillis(50), 8));
+
+        assertFalse(policy.isRejected(USER_ID, "token"));
+        policy.rejected(USER_ID, "token");
+        assertTrue(policy.isRejected(USER_ID, "token"));
+
+        Thread.sleep(100);
+
+        assertFalse(policy.isRejected(USER_ID, "token"));
+    }
+
+    private AuthClient authClient(final TtlPolicyConfigs ttlPolicyConfigs) {
+        return AuthClientBuilder
+                .builder()
+                .ttlPolicy(ttlPolicyConfigs)
+                .authServiceEndpoints(List.of(authService.endpoint()))
+                .build();
+    }
+
+}
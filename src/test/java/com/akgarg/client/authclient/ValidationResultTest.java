@@ -0,0 +1,101 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link AuthClient#validateDetailed} and {@link ReactiveAuthClient#validateDetailed}, run against
+ * stub auth-service endpoints.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class ValidationResultTest {
+
+    private static final String USER_ID = "detailed-user-id";
+    private static final String TOKEN = "detailed-token";
+
+    private AuthServiceStub healthyAuthService;
+    private AuthServiceStub unavailableAuthService;
+
+    @BeforeEach
+    void startAuthServices() {
+        healthyAuthService = AuthServiceStub.start();
+        unavailableAuthService = AuthServiceStub.start().status(503);
+    }
+
+    @AfterEach
+    void stopAuthServices() {
+        healthyAuthService.close();
+        unavailableAuthService.close();
+    }
+
+    @Test
+    void validateDetailed_ShouldReportAuthServiceThenMemorySource() {
+        final var authClient = AuthClientBuilder.builder().build();
+        final var healthyEndpoint = healthyAuthService.endpoint();
+        final var request = new ValidateTokenRequest(USER_ID, TOKEN, List.of(healthyEndpoint));
+
+        final var remote = authClient.validateDetailed(request);
+        assertEquals(ValidationResult.Outcome.VALID, remote.outcome());
+        assertEquals(ValidationResult.Source.AUTH_SERVICE, remote.source());
+        assertEquals(healthyEndpoint, remote.endpoint());
+        assertEquals(1, remote.attempts());
+        assertTrue(remote.elapsedNanos() > 0);
+
+        final var cached = authClient.validateDetailed(request);
+        assertEquals(ValidationResult.Outcome.VALID, cached.outcome());
+        assertEquals(ValidationResult.Source.MEMORY, cached.source());
+        assertNull(cached.endpoint());
+        assertEquals(0, cached.attempts());
+    }
+
+    @Test
+    void validateDetailed_ShouldTellUnavailableFromInvalid() {
+        final var authClient = AuthClientBuilder.builder().build();
+        final var unavailableEndpoint = unavailableAuthService.endpoint();
+
+        final var unavailable = authClient.validateDetailed(new ValidateTokenRequest(USER_ID, TOKEN, List.of(unavailableEndpoint)));
+        assertEquals(ValidationResult.Outcome.UNAVAILABLE, unavailable.outcome());
+        assertTrue(unavailable.unavailable());
+        assertEquals(unavailableEndpoint, unavailable.endpoint());
+        assertEquals(1, unavailable.attempts());
+
+        final var noEndpoint = authClient.validateDetailed(new ValidateTokenRequest(USER_ID, TOKEN));
+        assertEquals(ValidationResult.Outcome.NO_ENDPOINT, noEndpoint.outcome());
+        assertEquals(ValidationResult.Source.NONE, noEndpoint.source());
+
+        final var malformed = authClient.validateDetailed(new ValidateTokenRequest(USER_ID, " "));
+        assertEquals(ValidationResult.Outcome.MALFORMED_REQUEST, malformed.outcome());
+        assertFalse(malformed.unavailable());
+    }
+
+    @Test
+    void reactiveValidateDetailed_ShouldReportFailoverAttempts() {
+        final var reactiveAuthClient = AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(unavailableAuthService.endpoint(), healthyAuthService.endpoint()))
+                .buildReactive();
+
+        for (int i = 0; i < 10; i++) {
+            final var result = reactiveAuthClient
+                    .validateDetailed(new ValidateTokenRequest(USER_ID, TOKEN + i))
+                    .block(Duration.ofSeconds(10));
+
+            assertNotNull(result);
+            assertEquals(ValidationResult.Outcome.VALID, result.outcome());
+            assertEquals(ValidationResult.Source.AUTH_SERVICE, result.source());
+            assertEquals(healthyAuthService.endpoint(), result.endpoint());
+            assertTrue(result.attempts() == 1 || result.attempts() == 2);
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.akgarg.client.authclient;
+
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.common.AuthServiceResponse;
+import com.akgarg.client.authclient.common.BulkAuthServiceRequest;
+import com.akgarg.client.authclient.common.BulkAuthServiceResponse;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.WireFormat;
+import com.akgarg.client.authclient.http.DefaultAuthServiceHttpClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the negotiation of the {@link WireFormat} of auth-service calls against a stub auth-service.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class WireFormatNegotiationTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final List<String> requestContentTypes = new CopyOnWriteArrayList<>();
+    private final List<String> responseContentTypes = new CopyOnWriteArrayList<>();
+    private volatile boolean acceptsCbor = true;
+    private AuthServiceStub authService;
+
+    @BeforeEach
+    void startAuthService() {
+        authService = AuthServiceStub.start()
+                .context("/api/v1/auth/validate-token", exchange -> {
+                    final var request = readRequest(exchange, AuthServiceRequest.class);
+
+                    if (request != null) {
+                        respond(exchange, response(request));
+                    }
+                })
+                .context("/api/v2/auth/validate-tokens", exchange -> {
+                    final var bulkRequest = readRequest(exchange, BulkAuthServiceRequest.class);
+
+                    if (bulkRequest != null) {
+                        respond(exchange, new BulkAuthServiceResponse(bulkRequest.requests().stream().map(this::response).toList()));
+                    }
+                });
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        authService.close();
+    }
+
+    @Test
+    void validate_ShouldSendAndReceiveCbor_WhenEndpointAcceptsIt() {
+        final var authClient = buildClient(WireFormat.CBOR);
+
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+        assertFalse(authClient.validate(new ValidateTokenRequest("user-2", "invalid")));
+
+        assertEquals(List.of(WireFormat.CBOR.getMediaType(), WireFormat.CBOR.getMediaType()), requestContentTypes);
+        assertEquals(List.of(WireFormat.CBOR.getMediaType(), WireFormat.CBOR.getMediaType()), responseContentTypes);
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldFallBackToJson_WhenEndpointRejectsCbor() {
+        acceptsCbor = false;
+        final var authClient = buildClient(WireFormat.CBOR);
+
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-2", "token-2")));
+
+        assertEquals(
+                List.of(WireFormat.CBOR.getMediaType(), WireFormat.JSON.getMediaType(), WireFormat.JSON.getMediaType()),
+                requestContentTypes,
+                "the endpoint should be sent JSON once it rejected CBOR"
+        );
+        assertEquals(List.of(WireFormat.JSON.getMediaType(), WireFormat.JSON.getMediaType()), responseContentTypes);
+
+        authClient.close();
+    }
+
+    @Test
+    void validate_ShouldSendJson_ByDefault() {
+        final var authClient = buildClient(null);
+
+        assertTrue(authClient.validate(new ValidateTokenRequest("user-1", "token-1")));
+
+        assertEquals(List.of(WireFormat.JSON.getMediaType()), requestContentTypes);
+        assertEquals(List.of(WireFormat.JSON.getMediaType()), responseContentTypes);
+
+        authClient.close();
+    }
+
+    @Test
+    void bulkValidation_ShouldSendAndReceiveCbor() {
+        final var httpClient = DefaultAuthServiceHttpClient.builder(ApiVersion.V2).wireFormat(WireFormat.CBOR).build();
+        final var endpoint = httpClient.register(authService.endpoint());
+
+        final var results = httpClient.callAuthServiceBulkAsync(endpoint, List.of(
+                new AuthServiceRequest("user-1", "token-1"),
+                new AuthServiceRequest("user-2", "invalid")
+        )).join();
+
+        assertEquals(List.of("user-1", "user-2"), results.stream().map(result -> result.response().userId()).toList());
+        assertEquals(List.of(true, false), results.stream().map(AuthServiceCallResult::response).map(AuthServiceResponse::success).toList());
+        assertEquals(List.of(WireFormat.CBOR.getMediaType()), requestContentTypes);
+        assertEquals(List.of(WireFormat.CBOR.getMediaType()), responseContentTypes);
+    }
+
+    private AuthClient buildClient(final WireFormat wireFormat) {
+        final var builder = AuthClientBuilder
+                .builder()
+                .authServiceEndpoints(List.of(authService.endpoint()));
+
+        if (wireFormat != null) {
+            builder.wireFormat(wireFormat);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reads the request body in its wire format, answering {@code 415} to CBOR while CBOR is not accepted.
+     */
+    private <T> T readRequest(final HttpExchange exchange, final Class<T> type) throws IOException {
+        final var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        requestContentTypes.add(contentType);
+
+        final var cbor = WireFormat.CBOR.getMediaType().equals(contentType);
+
+        if (cbor && !acceptsCbor) {
+            exchange.sendResponseHeaders(415, -1);
+            exchange.close();
+            return null;
+        }
+
+        return (cbor ? cborMapper : jsonMapper).readValue(exchange.getRequestBody(), type);
+    }
+
+    private AuthServiceResponse response(final AuthServiceRequest request) {
+        return new AuthServiceResponse(
+                request.userId(),
+                request.token(),
+                System.currentTimeMillis() + 60_000,
+                !"invalid".equals(request.token())
+        );
+    }
+
+    /**
+     * Answers in CBOR if the client accepts it and CBOR is accepted, in JSON otherwise.
+     */
+    private void respond(final HttpExchange exchange, final Object payload) throws IOException {
+        final var accept = exchange.getRequestHeaders().getFirst("Accept");
+        final var format = acceptsCbor && accept != null && accept.contains(WireFormat.CBOR.getMediaType())
+                ? WireFormat.CBOR
+                : WireFormat.JSON;
+        final var body = (format == WireFormat.CBOR ? cborMapper : jsonMapper).writeValueAsBytes(payload);
+
+        responseContentTypes.add(format.getMediaType());
+        exchange.getResponseHeaders().set("Content-Type", format.getMediaType());
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+}
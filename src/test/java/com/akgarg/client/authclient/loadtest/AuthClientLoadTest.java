@@ -0,0 +1,252 @@
+package com.akgarg.client.authclient.loadtest;
+
+import com.akgarg.client.authclient.AuthClient;
+import com.akgarg.client.authclient.AuthClientBuilder;
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+import com.akgarg.client.authclient.common.ValidateTokenRequest;
+import com.akgarg.client.authclient.common.ValidationResult;
+import com.akgarg.client.authclient.config.RedisConnectionConfigs;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of the full client against an in-process {@link StubAuthService}.
+ * <p>
+ * Validations are issued open-loop at a fixed rate: each one has an intended start time, and a validation which
+ * can't start on time because the client or the calling threads are saturated keeps its intended start time. The
+ * response time is measured from the intended start, which corrects the coordinated omission a closed-loop driver
+ * would suffer from; the service time, measured from the actual start, is reported next to it. With the configured
+ * hit ratio a validation is for the pre-warmed session of a random user, otherwise for a new token of that user.
+ * </p>
+ * <p>
+ * Excluded from regular test runs; run with {@code mvn test -Pload-test}, configured with the {@code loadtest.*}
+ * system properties of {@link LoadTestConfigs}. Latency distributions are written in the {@code .hgrm} format to
+ * the report directory.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class AuthClientLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_NANOS = Duration.ofMinutes(1).toNanos();
+
+    @Test
+    void loadTest() throws Exception {
+        final var configs = LoadTestConfigs.fromSystemProperties();
+
+        try (final var stub = new StubAuthService(
+                StubAuthService.LatencyDistribution.parse(configs.stubLatency()),
+                configs.stubErrorRate(),
+                configs.stubValidRatio(),
+                Duration.ofHours(1),
+                configs.threads()
+        );
+             final var authClient = buildAuthClient(configs, stub)) {
+            final var warmTokens = warmUp(authClient, configs);
+
+            run(authClient, configs, warmTokens, configs.warmup(), false);
+            final var stubRequestsBefore = stub.requests();
+            final var report = run(authClient, configs, warmTokens, configs.duration(), true);
+
+            report.print(System.out, configs, stub.requests() - stubRequestsBefore);
+            report.writeDistributions(Path.of(configs.reportDirectory()), configs.cacheStrategy());
+
+            assertTrue(report.completed() > 0, "no validation completed");
+            assertEquals(0, report.outcomeCount(ValidationResult.Outcome.MALFORMED_REQUEST));
+        }
+    }
+
+    private static AuthClient buildAuthClient(final LoadTestConfigs configs, final StubAuthService stub) {
+        final var builder = AuthClientBuilder
+                .builder()
+                .cacheStrategy(configs.cacheStrategy())
+                .maxSessionsPerUser(configs.maxSessionsPerUser())
+                .authServiceEndpoints(List.of(stub.endpoint()));
+
+        if (configs.cacheStrategy() != AuthTokenCacheStrategy.IN_MEMORY) {
+            builder.redisConnectionProperties(new RedisConnectionConfigs(configs.redisHost(), configs.redisPort()));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Validates one token per user, so these tokens are cached before the run and can be validated as cache hits.
+     */
+    private static String[] warmUp(final AuthClient authClient, final LoadTestConfigs configs) throws InterruptedException {
+        final var warmTokens = new String[configs.users()];
+        final var executor = Executors.newFixedThreadPool(configs.threads());
+
+        try {
+            for (var user = 0; user < configs.users(); user++) {
+                final var userId = userId(user);
+                final var token = "warm-token-" + user;
+                warmTokens[user] = token;
+                executor.execute(() -> authClient.validate(new ValidateTokenRequest(userId, token)));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+
+        return warmTokens;
+    }
+
+    private static Report run(
+            final AuthClient authClient,
+            final LoadTestConfigs configs,
+            final String[] warmTokens,
+            final Duration duration,
+            final boolean measured
+    ) throws InterruptedException {
+        final var report = new Report();
+        final var missTokens = new AtomicLong();
+        final var executor = Executors.newFixedThreadPool(configs.threads());
+        final var intervalNanos = TimeUnit.SECONDS.toNanos(1) / configs.rate();
+        final var validations = duration.toNanos() / intervalNanos;
+        final var startNanos = System.nanoTime();
+
+        try {
+            for (var i = 0L; i < validations; i++) {
+                final var intendedStartNanos = startNanos + i * intervalNanos;
+                final var waitNanos = intendedStartNanos - System.nanoTime();
+
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+
+                final var random = ThreadLocalRandom.current();
+                final var user = random.nextInt(configs.users());
+                final var token = random.nextDouble() < configs.hitRatio()
+                        ? warmTokens[user]
+                        : "token-" + missTokens.incrementAndGet();
+                final var request = new ValidateTokenRequest(userId(user), token);
+
+                executor.execute(() -> {
+                    final var actualStartNanos = System.nanoTime();
+                    final var result = authClient.validateDetailed(request);
+                    final var endNanos = System.nanoTime();
+
+                    if (measured) {
+                        report.record(result, endNanos - intendedStartNanos, endNanos - actualStartNanos);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+
+        report.elapsedNanos = System.nanoTime() - startNanos;
+        return report;
+    }
+
+    private static String userId(final int user) {
+        return "load-test-user-" + user;
+    }
+
+    /**
+     * The latencies, outcomes and sources of the measured validations.
+     */
+    private static final class Report {
+
+        private final LatencyHistogram responseTimes = new LatencyHistogram(HIGHEST_TRACKABLE_LATENCY_NANOS);
+        private final LatencyHistogram serviceTimes = new LatencyHistogram(HIGHEST_TRACKABLE_LATENCY_NANOS);
+        private final Map<ValidationResult.Outcome, LongAdder> outcomes = new EnumMap<>(ValidationResult.Outcome.class);
+        private final Map<ValidationResult.Source, LongAdder> sources = new EnumMap<>(ValidationResult.Source.class);
+        private long elapsedNanos;
+
+        private Report() {
+            for (final var outcome : ValidationResult.Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+            for (final var source : ValidationResult.Source.values()) {
+                sources.put(source, new LongAdder());
+            }
+        }
+
+        void record(final ValidationResult result, final long responseTimeNanos, final long serviceTimeNanos) {
+            responseTimes.record(responseTimeNanos);
+            serviceTimes.record(serviceTimeNanos);
+            outcomes.get(result.outcome()).increment();
+            sources.get(result.source()).increment();
+        }
+
+        long completed() {
+            return responseTimes.totalCount();
+        }
+
+        long outcomeCount(final ValidationResult.Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+
+        void print(final PrintStream out, final LoadTestConfigs configs, final long stubRequests) {
+            final var completed = completed();
+            final var cacheHits = completed - sources.get(ValidationResult.Source.AUTH_SERVICE).sum()
+                    - sources.get(ValidationResult.Source.NONE).sum();
+
+            out.printf("%n==== auth client load test: %s ====%n", configs);
+            out.printf("validations: %d in %.1f s, throughput %.1f/s (target %d/s)%n",
+                    completed, elapsedNanos / 1e9, completed / (elapsedNanos / 1e9), configs.rate());
+            out.printf("cache hit ratio: %.4f (target %.4f), auth-service requests: %d%n",
+                    completed > 0 ? (double) cacheHits / completed : 0.0, configs.hitRatio(), stubRequests);
+            out.printf("outcomes: %s%nsources: %s%n", sums(outcomes), sums(sources));
+            out.printf("%n%-28s %10s %10s %10s %10s %10s %10s%n", "latency (ms)", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+            printPercentiles(out, "response time (CO-corrected)", responseTimes);
+            printPercentiles(out, "service time", serviceTimes);
+        }
+
+        void writeDistributions(final Path directory, final AuthTokenCacheStrategy cacheStrategy) throws Exception {
+            Files.createDirectories(directory);
+            final var prefix = cacheStrategy.name().toLowerCase();
+
+            try (final var out = new PrintStream(Files.newOutputStream(directory.resolve(prefix + "-response-time.hgrm")))) {
+                responseTimes.outputPercentileDistribution(out, 1e6, 5);
+            }
+            try (final var out = new PrintStream(Files.newOutputStream(directory.resolve(prefix + "-service-time.hgrm")))) {
+                serviceTimes.outputPercentileDistribution(out, 1e6, 5);
+            }
+        }
+
+        private static void printPercentiles(final PrintStream out, final String name, final LatencyHistogram histogram) {
+            out.printf(
+                    "%-28s %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    name,
+                    histogram.valueAtPercentile(50) / 1e6,
+                    histogram.valueAtPercentile(90) / 1e6,
+                    histogram.valueAtPercentile(99) / 1e6,
+                    histogram.valueAtPercentile(99.9) / 1e6,
+                    histogram.valueAtPercentile(99.99) / 1e6,
+                    histogram.maxValue() / 1e6
+            );
+        }
+
+        private static <K> Map<K, Long> sums(final Map<K, LongAdder> counters) {
+            final var sums = new LinkedHashMap<K, Long>();
+            counters.forEach((key, counter) -> {
+                if (counter.sum() > 0) {
+                    sums.put(key, counter.sum());
+                }
+            });
+            return sums;
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.akgarg.client.authclient.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent latency histogram with the bucket layout of HdrHistogram.
+ * <p>
+ * Values are kept with three significant decimal digits: each power-of-two range is split into 1024 linear
+ * sub-buckets, so the recorded value and the value reported for it differ by less than 0.1%. Recording is a single
+ * atomic increment, which keeps the histogram off the critical path of the measured calls. The percentile
+ * distribution is printed in the {@code .hgrm} format of HdrHistogram, so it can be plotted with its tools.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param highestTrackableValue the highest value recorded as is, higher values are recorded as this value
+     */
+    LatencyHistogram(final long highestTrackableValue) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue must be greater than 1");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(countsIndex(highestTrackableValue) + 1);
+        this.totalCount = new LongAdder();
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value to record, negative values are recorded as 0
+     */
+    void record(final long value) {
+        counts.incrementAndGet(countsIndex(Math.max(0, Math.min(value, highestTrackableValue))));
+        totalCount.increment();
+    }
+
+    long totalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the highest value equivalent to the value at the percentile, 0 if the histogram is empty
+     */
+    long valueAtPercentile(final double percentile) {
+        final var total = totalCount();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final var countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        var count = 0L;
+
+        for (var i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+            if (count >= countAtPercentile) {
+                return highestEquivalentValue(i);
+            }
+        }
+
+        return highestTrackableValue;
+    }
+
+    long maxValue() {
+        for (var i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    double mean() {
+        final var total = totalCount();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        var sum = 0.0;
+
+        for (var i = 0; i < counts.length(); i++) {
+            final var count = counts.get(i);
+            if (count > 0) {
+                sum += (double) count * ((lowestEquivalentValue(i) + highestEquivalentValue(i)) / 2.0);
+            }
+        }
+
+        return sum / total;
+    }
+
+    /**
+     * Prints the percentile distribution in the {@code .hgrm} format of HdrHistogram, halving the distance to 100%
+     * every {@code ticksPerHalfDistance} lines.
+     *
+     * @param out                  the stream to print to
+     * @param scalingRatio         the ratio values are divided by before printing, e.g. 1000 to print microseconds
+     * @param ticksPerHalfDistance the number of lines printed per halving of the distance to 100%
+     */
+    void outputPercentileDistribution(final PrintStream out, final double scalingRatio, final int ticksPerHalfDistance) {
+        final var total = totalCount();
+        out.printf("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+
+        if (total > 0) {
+            var percentile = 0.0;
+            var reportedCount = -1L;
+
+            while (true) {
+                final var countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+
+                if (countAtPercentile != reportedCount) {
+                    out.printf(
+                            "%12.3f %2.12f %10d %14.2f%n",
+                            valueAtPercentile(percentile) / scalingRatio,
+                            percentile / 100.0,
+                            countAtPercentile,
+                            percentile < 100.0 ? 1 / (1 - percentile / 100.0) : Double.POSITIVE_INFINITY
+                    );
+                    reportedCount = countAtPercentile;
+                }
+
+                if (countAtPercentile >= total) {
+                    break;
+                }
+
+                final var halvings = (long) (Math.log(100.0 / (100.0 - percentile)) / Math.log(2)) + 1;
+                percentile += 100.0 / ((double) (1L << Math.min(halvings, 62)) * ticksPerHalfDistance);
+            }
+
+            out.printf("%12.3f %2.12f %10d %14s%n", maxValue() / scalingRatio, 1.0, total, "");
+        }
+
+        out.printf(
+                "#[Mean    = %12.3f, StdDeviation   = %12s]%n#[Max     = %12.3f, Total count    = %12d]%n",
+                mean() / scalingRatio,
+                "n/a",
+                maxValue() / scalingRatio,
+                total
+        );
+        out.printf("#[Buckets = %12d, SubBuckets     = %12d]%n", bucketIndex(highestTrackableValue) + 1, 1 << SUB_BUCKET_BITS);
+    }
+
+    private static int bucketIndex(final long value) {
+        return Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    }
+
+    private static int countsIndex(final long value) {
+        final var bucketIndex = bucketIndex(value);
+        final var subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << (SUB_BUCKET_BITS - 1)) + subBucketIndex - SUB_BUCKET_HALF_COUNT;
+    }
+
+    private static long lowestEquivalentValue(final int index) {
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) {
+            return index;
+        }
+        final var bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        final var subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) {
+            return index;
+        }
+        final var bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        return lowestEquivalentValue(index) + (1L << bucketIndex) - 1;
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.akgarg.client.authclient.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the bucketing, percentiles and {@code .hgrm} output of {@link LatencyHistogram}.
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void record_ShouldKeepSmallValuesExact_AndLargeValuesWithinThreeSignificantDigits() {
+        for (final var value : new long[]{0, 1, 1_000, 2_047}) {
+            final var histogram = new LatencyHistogram(60_000_000_000L);
+            histogram.record(value);
+            assertEquals(value, histogram.maxValue());
+        }
+
+        for (final var value : new long[]{2_048, 2_049, 123_456, 1_000_000, 59_999_999_999L}) {
+            final var histogram = new LatencyHistogram(60_000_000_000L);
+            histogram.record(value);
+
+            final var reported = histogram.maxValue();
+            assertTrue(reported >= value, value + " reported as " + reported);
+            assertTrue(reported - value < value / 1_000.0, value + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void record_ShouldClampValuesOutsideTrackableRange() {
+        final var histogram = new LatencyHistogram(1_000);
+
+        histogram.record(-5);
+        assertEquals(0, histogram.maxValue());
+
+        histogram.record(5_000);
+        assertEquals(1_000, histogram.maxValue());
+        assertEquals(2, histogram.totalCount());
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(1));
+    }
+
+    @Test
+    void valueAtPercentile_ShouldReturnRecordedValueAtRank() {
+        final var histogram = new LatencyHistogram(1_000);
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertEquals(0, histogram.mean());
+
+        for (var value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1, histogram.valueAtPercentile(0));
+        assertEquals(50, histogram.valueAtPercentile(50));
+        assertEquals(90, histogram.valueAtPercentile(90));
+        assertEquals(99, histogram.valueAtPercentile(99));
+        assertEquals(100, histogram.valueAtPercentile(100));
+        assertEquals(100, histogram.valueAtPercentile(150));
+        assertEquals(50.5, histogram.mean(), 0.001);
+    }
+
+    @Test
+    void outputPercentileDistribution_ShouldPrintHgrmFormat() {
+        final var histogram = new LatencyHistogram(1_000_000);
+
+        for (var value = 1; value <= 1_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+
+        final var bytes = new ByteArrayOutputStream();
+        histogram.outputPercentileDistribution(new PrintStream(bytes, true, StandardCharsets.UTF_8), 1_000.0, 5);
+        final var lines = bytes.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertEquals(4, lines.get(0).trim().split("\\s+").length);
+        assertTrue(lines.get(0).trim().startsWith("Value"));
+        assertEquals("", lines.get(1));
+
+        final var distribution = lines.subList(2, lines.size() - 3);
+        assertTrue(distribution.size() > 10, "expected a line per percentile tick, got " + distribution.size());
+        var previousValue = 0.0;
+        var previousPercentile = 0.0;
+
+        for (final var line : distribution) {
+            final var columns = line.trim().split("\\s+");
+            final var value = Double.parseDouble(columns[0]);
+            final var percentile = Double.parseDouble(columns[1]);
+            assertTrue(value >= previousValue && percentile >= previousPercentile, "distribution should be sorted: " + line);
+            previousValue = value;
+            previousPercentile = percentile;
+        }
+
+        final var last = distribution.get(distribution.size() - 1).trim().split("\\s+");
+        assertEquals(1_000.0, Double.parseDouble(last[0]), 1.0);
+        assertEquals("1.000000000000", last[1]);
+        assertEquals("1000", last[2]);
+        final var mean = lines.get(lines.size() - 3);
+        assertTrue(mean.startsWith("#[Mean    ="), mean);
+        assertEquals(500.5, Double.parseDouble(mean.substring("#[Mean    =".length(), mean.indexOf(',')).trim()), 0.5);
+        assertTrue(lines.get(lines.size() - 2).contains("Total count    =         1000"), lines.get(lines.size() - 2));
+        assertTrue(lines.get(lines.size() - 1).startsWith("#[Buckets ="), lines.get(lines.size() - 1));
+    }
+
+}
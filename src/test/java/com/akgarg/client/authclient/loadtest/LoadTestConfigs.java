@@ -0,0 +1,84 @@
+package com.akgarg.client.authclient.loadtest;
+
+import com.akgarg.client.authclient.cache.AuthTokenCacheStrategy;
+
+import java.time.Duration;
+
+/**
+ * Configurations of a load test run, read from {@code loadtest.*} system properties.
+ * <p>
+ * Example:
+ * <pre>
+ * mvn test -Pload-test -Dloadtest.rate=20000 -Dloadtest.hit-ratio=0.95 -Dloadtest.cache-strategy=REDIS
+ * </pre>
+ * </p>
+ *
+ * @param cacheStrategy      the cache strategy of the client under test
+ * @param redisHost          the redis host of the redis cache strategies
+ * @param redisPort          the redis port of the redis cache strategies
+ * @param rate               the target number of validations per second
+ * @param duration           the duration of the measured run
+ * @param warmup             the duration of the unmeasured run preceding it
+ * @param users              the number of distinct users
+ * @param hitRatio           the share of validations of already cached tokens, between 0 and 1
+ * @param threads            the number of threads calling the client
+ * @param stubLatency        the response delay distribution of the stub auth-service
+ * @param stubErrorRate      the share of stub responses which are {@code 503}, between 0 and 1
+ * @param stubValidRatio     the share of stub-answered tokens which are valid, between 0 and 1
+ * @param maxSessionsPerUser the maximum number of sessions cached per user
+ * @param reportDirectory    the directory the {@code .hgrm} latency distributions are written to
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+record LoadTestConfigs(
+        AuthTokenCacheStrategy cacheStrategy,
+        String redisHost,
+        int redisPort,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        int users,
+        double hitRatio,
+        int threads,
+        String stubLatency,
+        double stubErrorRate,
+        double stubValidRatio,
+        int maxSessionsPerUser,
+        String reportDirectory
+) {
+
+    private static final String PREFIX = "loadtest.";
+
+    LoadTestConfigs {
+        if (rate <= 0 || users <= 0 || threads <= 0 || maxSessionsPerUser <= 0) {
+            throw new IllegalArgumentException("rate, users, threads and max sessions per user must be positive");
+        }
+        if (hitRatio < 0 || hitRatio > 1 || stubErrorRate < 0 || stubErrorRate > 1 || stubValidRatio < 0 || stubValidRatio > 1) {
+            throw new IllegalArgumentException("hit ratio, stub error rate and stub valid ratio must be between 0 and 1");
+        }
+    }
+
+    static LoadTestConfigs fromSystemProperties() {
+        return new LoadTestConfigs(
+                AuthTokenCacheStrategy.valueOf(property("cache-strategy", "IN_MEMORY")),
+                property("redis-host", "localhost"),
+                Integer.parseInt(property("redis-port", "6379")),
+                Integer.parseInt(property("rate", "5000")),
+                Duration.ofSeconds(Long.parseLong(property("duration-seconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "5"))),
+                Integer.parseInt(property("users", "10000")),
+                Double.parseDouble(property("hit-ratio", "0.9")),
+                Integer.parseInt(property("threads", "64")),
+                property("stub-latency", "exponential:2:5"),
+                Double.parseDouble(property("stub-error-rate", "0.0")),
+                Double.parseDouble(property("stub-valid-ratio", "1.0")),
+                Integer.parseInt(property("max-sessions-per-user", "64")),
+                property("report-directory", "target/load-test")
+        );
+    }
+
+    private static String property(final String name, final String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.akgarg.client.authclient.loadtest;
+
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process auth-service stub for load tests, built on the JDK {@link HttpServer}.
+ * <p>
+ * Every request is answered after a delay drawn from the configured {@link LatencyDistribution}. A share of the
+ * requests, given by the error rate, is answered with {@code 503}; the other requests are answered with a session of
+ * the requested user and token, valid with the configured probability and rejected otherwise. The stub answers any
+ * path, so it works with every API version and validate endpoint.
+ * </p>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+final class StubAuthService implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requests = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double validRatio;
+    private final Duration tokenTtl;
+
+    /**
+     * Starts a stub auth-service on a free local port.
+     *
+     * @param latency    the distribution of the response delays
+     * @param errorRate  the share of requests answered with {@code 503}, between 0 and 1
+     * @param validRatio the share of answered tokens which are valid, between 0 and 1
+     * @param tokenTtl   the lifetime of the valid sessions
+     * @param threads    the number of threads serving requests
+     * @throws IOException if the server can't be started
+     */
+    StubAuthService(
+            final LatencyDistribution latency,
+            final double errorRate,
+            final double validRatio,
+            final Duration tokenTtl,
+            final int threads
+    ) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.validRatio = validRatio;
+        this.tokenTtl = tokenTtl;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    AuthServiceEndpoint endpoint() {
+        return new AuthServiceEndpoint("http", "localhost", server.getAddress().getPort());
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        try (exchange) {
+            final var request = objectMapper.readValue(exchange.getRequestBody(), AuthServiceRequest.class);
+            final var random = ThreadLocalRandom.current();
+            final var delayNanos = latency.nextNanos(random);
+
+            if (delayNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            }
+
+            if (random.nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            final var body = objectMapper.writeValueAsBytes(Map.of(
+                    "userId", request.userId(),
+                    "token", request.token(),
+                    "expiration", System.currentTimeMillis() + tokenTtl.toMillis(),
+                    "success", random.nextDouble() < validRatio
+            ));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The distribution of the response delays of the stub.
+     */
+    @FunctionalInterface
+    interface LatencyDistribution {
+
+        long nextNanos(ThreadLocalRandom random);
+
+        static LatencyDistribution fixed(final Duration delay) {
+            final var delayNanos = delay.toNanos();
+            return random -> delayNanos;
+        }
+
+        static LatencyDistribution uniform(final Duration min, final Duration max) {
+            final var minNanos = min.toNanos();
+            final var maxNanos = max.toNanos();
+            return random -> minNanos < maxNanos ? random.nextLong(minNanos, maxNanos + 1) : minNanos;
+        }
+
+        /**
+         * A shifted exponential distribution, modelling a service with a floor latency and a long tail.
+         *
+         * @param min  the lowest delay
+         * @param mean the mean delay, not lower than {@code min}
+         */
+        static LatencyDistribution exponential(final Duration min, final Duration mean) {
+            final var minNanos = min.toNanos();
+            final var tailMeanNanos = Math.max(0, mean.toNanos() - minNanos);
+            return random -> minNanos + (long) (-Math.log(1 - random.nextDouble()) * tailMeanNanos);
+        }
+
+        /**
+         * Parses a distribution spec: {@code fixed:<millis>}, {@code uniform:<min-millis>:<max-millis>} or
+         * {@code exponential:<min-millis>:<mean-millis>}.
+         */
+        static LatencyDistribution parse(final String spec) {
+            final var parts = spec.split(":");
+
+            try {
+                return switch (parts[0]) {
+                    case "fixed" -> fixed(Duration.ofMillis(Long.parseLong(parts[1])));
+                    case "uniform" -> uniform(Duration.ofMillis(Long.parseLong(parts[1])), Duration.ofMillis(Long.parseLong(parts[2])));
+                    case "exponential" -> exponential(Duration.ofMillis(Long.parseLong(parts[1])), Duration.ofMillis(Long.parseLong(parts[2])));
+                    default -> throw new IllegalArgumentException("unknown latency distribution: " + spec);
+                };
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("invalid latency distribution: " + spec, e);
+            }
+        }
+
+    }
+
+}
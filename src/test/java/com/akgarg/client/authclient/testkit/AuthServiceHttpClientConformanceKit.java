@@ -0,0 +1,218 @@
+package com.akgarg.client.authclient.testkit;
+
+import com.akgarg.client.authclient.common.ApiVersion;
+import com.akgarg.client.authclient.common.AuthServiceCallResult;
+import com.akgarg.client.authclient.common.AuthServiceEndpoint;
+import com.akgarg.client.authclient.common.AuthServiceRequest;
+import com.akgarg.client.authclient.http.AuthServiceHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conformance tests every {@link AuthServiceHttpClient} transport calling the HTTP auth service must pass.
+ * <p>
+ * A custom transport is checked by extending this class in a JUnit 5 test and creating the transport under test;
+ * requires JUnit Jupiter on the test classpath. The transport is run against a stub auth service answering the
+ * <code>POST</code> token validation requests of {@link ApiVersion#V1} with a JSON body.
+ * </p>
+ * <pre>
+ * class MyAuthServiceHttpClientTest extends AuthServiceHttpClientConformanceKit {
+ *     protected AuthServiceHttpClient createClient(String validateTokenEndpoint, ApiVersion apiVersion) {
+ *         return new MyAuthServiceHttpClient(validateTokenEndpoint, apiVersion);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public abstract class AuthServiceHttpClientConformanceKit {
+
+    private static final String USER_ID = "conformance-user-id";
+    private static final String TOKEN = "conformance-token";
+    private static final String DEFAULT_PATH = "/api/v1/auth/validate-token";
+
+    private HttpServer server;
+    private volatile int status;
+    private volatile String responseBody;
+    private volatile String requestPath;
+    private volatile String requestBody;
+
+    /**
+     * Creates the transport under test.
+     *
+     * @param validateTokenEndpoint custom token validation endpoint; if {@code null}, the default endpoint of the API
+     *                              version must be used
+     * @param apiVersion            the API version of the auth service
+     * @return a new {@link AuthServiceHttpClient} instance
+     */
+    protected abstract AuthServiceHttpClient createClient(String validateTokenEndpoint, ApiVersion apiVersion);
+
+    @BeforeEach
+    void startAuthService() throws Exception {
+        status = 200;
+        responseBody = """
+                {"userId":"%s","token":"%s","expiration":%d,"success":true}
+                """.formatted(USER_ID, TOKEN, System.currentTimeMillis() + 60_000);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requestPath = exchange.getRequestURI().getPath();
+            requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            final var body = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopAuthService() {
+        server.stop(0);
+    }
+
+    @Test
+    void register_ShouldReturnSameEndpoint_UntilUnregistered() {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = authServiceEndpoint();
+        final var registered = client.register(endpoint);
+
+        assertEquals(endpoint, registered.endpoint());
+        assertNotNull(registered.uri());
+        assertSame(registered, client.register(new AuthServiceEndpoint("http", "localhost", endpoint.port())));
+
+        client.unregister(endpoint);
+        assertNotSame(registered, client.register(endpoint));
+        assertThrows(NullPointerException.class, () -> client.register(null));
+    }
+
+    @Test
+    void resolve_ShouldReturnRegisteredEndpoint_WhenRegistered() {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = authServiceEndpoint();
+        final var resolved = client.resolve(endpoint);
+
+        assertEquals(endpoint, resolved.endpoint());
+        assertEquals(AuthServiceCallResult.Outcome.RESPONSE, client.callAuthService(resolved, new AuthServiceRequest(USER_ID, TOKEN)).outcome());
+
+        final var registered = client.register(endpoint);
+        assertSame(registered, client.resolve(endpoint));
+        assertThrows(NullPointerException.class, () -> client.resolve(null));
+    }
+
+    @Test
+    void callAuthService_ShouldReturnResponse_WhenAuthServiceAnswers() {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = client.register(authServiceEndpoint());
+
+        final var result = client.callAuthService(endpoint, new AuthServiceRequest(USER_ID, TOKEN));
+
+        assertEquals(AuthServiceCallResult.Outcome.RESPONSE, result.outcome());
+        assertEquals(200, result.statusCode());
+        assertEquals(USER_ID, result.response().userId());
+        assertEquals(TOKEN, result.response().token());
+        assertTrue(result.response().success());
+        assertTrue(result.response().expiration() > System.currentTimeMillis());
+
+        assertEquals(DEFAULT_PATH, requestPath);
+        assertTrue(requestBody.contains("\"user_id\""), requestBody);
+        assertTrue(requestBody.contains("\"auth_token\""), requestBody);
+        assertTrue(requestBody.contains(TOKEN), requestBody);
+
+        assertEquals(1, endpoint.calls());
+        assertEquals(0, endpoint.failures());
+        assertTrue(endpoint.latencyEwmaNanos() > 0);
+    }
+
+    @Test
+    void callAuthService_ShouldUseCustomValidateTokenEndpoint() {
+        final var client = createClient("custom/validate", ApiVersion.V1);
+
+        final var result = client.callAuthService(authServiceEndpoint(), new AuthServiceRequest(USER_ID, TOKEN));
+
+        assertEquals(AuthServiceCallResult.Outcome.RESPONSE, result.outcome());
+        assertEquals("/custom/validate", requestPath);
+    }
+
+    @Test
+    void callAuthService_ShouldReturnUnsuccessfulResponse_WhenAuthServiceRejectsToken() {
+        final var client = createClient(null, ApiVersion.V1);
+        status = 401;
+        responseBody = "{}";
+
+        final var result = client.callAuthService(authServiceEndpoint(), new AuthServiceRequest(USER_ID, TOKEN));
+
+        assertEquals(AuthServiceCallResult.Outcome.RESPONSE, result.outcome());
+        assertEquals(401, result.statusCode());
+        assertFalse(result.response().success());
+    }
+
+    @Test
+    void callAuthService_ShouldReturnRetryableFailure_WhenAuthServiceIsUnavailable() {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = client.register(authServiceEndpoint());
+        status = 503;
+        responseBody = "";
+
+        final var result = client.callAuthService(endpoint, new AuthServiceRequest(USER_ID, TOKEN));
+
+        assertEquals(AuthServiceCallResult.Outcome.RETRYABLE_FAILURE, result.outcome());
+        assertEquals(503, result.statusCode());
+        assertTrue(result.toOptional().isEmpty());
+        assertEquals(1, endpoint.failures());
+        assertEquals(1, endpoint.consecutiveFailures());
+    }
+
+    @Test
+    void callAuthService_ShouldReturnRetryableFailure_WhenAuthServiceIsUnreachable() throws Exception {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = client.register(new AuthServiceEndpoint("http", "localhost", unusedPort()));
+
+        final var result = client.callAuthService(endpoint, new AuthServiceRequest(USER_ID, TOKEN));
+
+        assertEquals(AuthServiceCallResult.Outcome.RETRYABLE_FAILURE, result.outcome());
+        assertEquals(1, endpoint.failures());
+    }
+
+    @Test
+    void callAuthServiceAsync_ShouldMatchSynchronousCall() throws Exception {
+        final var client = createClient(null, ApiVersion.V1);
+        final var endpoint = client.register(authServiceEndpoint());
+        final var request = new AuthServiceRequest(USER_ID, TOKEN);
+
+        final var result = client.callAuthServiceAsync(endpoint, request).get(10, TimeUnit.SECONDS);
+
+        assertEquals(client.callAuthService(endpoint, request), result);
+        assertEquals(2, endpoint.calls());
+
+        status = 503;
+        responseBody = "";
+        assertEquals(
+                AuthServiceCallResult.Outcome.RETRYABLE_FAILURE,
+                client.callAuthServiceAsync(endpoint, request).get(10, TimeUnit.SECONDS).outcome()
+        );
+    }
+
+    private AuthServiceEndpoint authServiceEndpoint() {
+        return new AuthServiceEndpoint("http", "localhost", server.getAddress().getPort());
+    }
+
+    private static int unusedPort() throws Exception {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.akgarg.client.authclient.testkit;
+
+import com.akgarg.client.authclient.cache.AuthTokenCache;
+import com.akgarg.client.authclient.common.AuthToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conformance tests every {@link AuthTokenCache} implementation must pass.
+ * <p>
+ * A custom cache is checked by extending this class in a JUnit 5 test and creating the cache under test; requires
+ * JUnit Jupiter on the test classpath. Every test uses its own random user IDs, so caches backed by a shared store
+ * don't need to be emptied between tests.
+ * </p>
+ * <pre>
+ * class MyAuthTokenCacheTest extends AuthTokenCacheConformanceKit {
+ *     protected AuthTokenCache createCache(int maxSessionsPerUser) {
+ *         return new MyAuthTokenCache(maxSessionsPerUser);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Akhilesh Garg
+ * @since 18/10/26
+ */
+public abstract class AuthTokenCacheConformanceKit {
+
+    /**
+     * The maximum number of sessions per user of the caches under test.
+     */
+    protected static final int MAX_SESSIONS_PER_USER = 3;
+
+    private AuthTokenCache cache;
+
+    /**
+     * Creates the cache under test.
+     *
+     * @param maxSessionsPerUser the maximum number of sessions cached per user
+     * @return a new {@link AuthTokenCache} instance
+     */
+    protected abstract AuthTokenCache createCache(int maxSessionsPerUser);
+
+    /**
+     * Releases the given cache once a test is done. Does nothing by default.
+     *
+     * @param cache the cache under test
+     */
+    protected void destroyCache(final AuthTokenCache cache) {
+    }
+
+    @BeforeEach
+    void setUpCache() {
+        cache = createCache(MAX_SESSIONS_PER_USER);
+    }
+
+    @AfterEach
+    void tearDownCache() {
+        destroyCache(cache);
+    }
+
+    @Test
+    void getToken_ShouldReturnEmpty_WhenUserHasNoSession() {
+        final var userId = newUserId();
+
+        assertTrue(cache.getToken(userId).isEmpty());
+        assertTrue(cache.getToken(userId, "unknown-token").isEmpty());
+    }
+
+    @Test
+    void getToken_ShouldReturnAddedSession() {
+        final var userId = newUserId();
+        final var authToken = newToken(userId, 60_000);
+
+        assertTrue(cache.addToken(userId, authToken));
+        assertEquals(authToken, cache.getToken(userId, authToken.token()).orElseThrow());
+        assertEquals(authToken, cache.getToken(userId).orElseThrow());
+        assertTrue(cache.getToken(userId, "unknown-token").isEmpty());
+    }
+
+    @Test
+    void getToken_ShouldReturnLatestExpiringSession_WhenUserHasSeveralSessions() {
+        final var userId = newUserId();
+        final var first = newToken(userId, 60_000);
+        final var latest = newToken(userId, 180_000);
+        final var second = newToken(userId, 120_000);
+
+        assertTrue(cache.addToken(userId, first));
+        assertTrue(cache.addToken(userId, latest));
+        assertTrue(cache.addToken(userId, second));
+
+        assertEquals(latest, cache.getToken(userId).orElseThrow());
+        assertEquals(first, cache.getToken(userId, first.token()).orElseThrow());
+        assertEquals(second, cache.getToken(userId, second.token()).orElseThrow());
+    }
+
+    @Test
+    void addToken_ShouldReplaceSession_WhenTokenIsAlreadyCached() {
+        final var userId = newUserId();
+        final var authToken = newToken(userId, 60_000);
+        final var renewed = new AuthToken(userId, authToken.token(), authToken.expiration() + 60_000);
+
+        assertTrue(cache.addToken(userId, authToken));
+        assertTrue(cache.addToken(userId, renewed));
+
+        assertEquals(renewed, cache.getToken(userId, authToken.token()).orElseThrow());
+        assertEquals(renewed, cache.getToken(userId).orElseThrow());
+    }
+
+    @Test
+    void addToken_ShouldEvictSessionClosestToExpiry_WhenSessionCapIsReached() {
+        final var userId = newUserId();
+        final var sessions = new ArrayList<AuthToken>();
+
+        for (var i = 0; i < MAX_SESSIONS_PER_USER; i++) {
+            sessions.add(newToken(userId, 60_000L * (i + 2)));
+        }
+
+        final var closestToExpiry = newToken(userId, 30_000);
+        assertTrue(cache.addToken(userId, closestToExpiry));
+        sessions.forEach(session -> assertTrue(cache.addToken(userId, session)));
+
+        assertTrue(cache.getToken(userId, closestToExpiry.token()).isEmpty());
+        sessions.forEach(session -> assertEquals(session, cache.getToken(userId, session.token()).orElseThrow()));
+    }
+
+    @Test
+    void addToken_ShouldAdmitNewSession_WhenItExpiresBeforeEveryCachedSession() {
+        final var userId = newUserId();
+        final var sessions = new ArrayList<AuthToken>();
+
+        for (var i = 0; i < MAX_SESSIONS_PER_USER; i++) {
+            sessions.add(newToken(userId, 60_000L * (i + 2)));
+            assertTrue(cache.addToken(userId, sessions.get(i)));
+        }
+
+        final var closestToExpiry = newToken(userId, 30_000);
+        assertTrue(cache.addToken(userId, closestToExpiry));
+
+        assertEquals(closestToExpiry, cache.getToken(userId, closestToExpiry.token()).orElseThrow());
+        assertTrue(cache.getToken(userId, sessions.get(0).token()).isEmpty());
+        sessions.subList(1, sessions.size())
+                .forEach(session -> assertEquals(session, cache.getToken(userId, session.token()).orElseThrow()));
+    }
+
+    @Test
+    void removeToken_ShouldRemoveOnlyGivenSession() {
+        final var userId = newUserId();
+        final var removed = newToken(userId, 120_000);
+        final var kept = newToken(userId, 60_000);
+
+        assertTrue(cache.addToken(userId, removed));
+        assertTrue(cache.addToken(userId, kept));
+        assertTrue(cache.removeToken(userId, removed.token()));
+
+        assertTrue(cache.getToken(userId, removed.token()).isEmpty());
+        assertEquals(kept, cache.getToken(userId, kept.token()).orElseThrow());
+        assertEquals(kept, cache.getToken(userId).orElseThrow());
+    }
+
+    @Test
+    void removeToken_ShouldRemoveAllSessions_WhenNoTokenIsGiven() {
+        final var userId = newUserId();
+        final var first = newToken(userId, 60_000);
+        final var second = newToken(userId, 120_000);
+
+        assertTrue(cache.addToken(userId, first));
+        assertTrue(cache.addToken(userId, second));
+        assertTrue(cache.removeToken(userId));
+
+        assertTrue(cache.getToken(userId).isEmpty());
+        assertTrue(cache.getToken(userId, first.token()).isEmpty());
+        assertTrue(cache.getToken(userId, second.token()).isEmpty());
+    }
+
+    @Test
+    void sessions_ShouldBeIsolatedPerUser() {
+        final var userId = newUserId();
+        final var otherUserId = newUserId();
+        final var authToken = newToken(userId, 60_000);
+
+        assertTrue(cache.addToken(userId, authToken));
+
+        assertTrue(cache.getToken(otherUserId).isEmpty());
+        assertTrue(cache.getToken(otherUserId, authToken.token()).isEmpty());
+
+        cache.removeToken(otherUserId);
+        assertEquals(authToken, cache.getToken(userId, authToken.token()).orElseThrow());
+    }
+
+    @Test
+    void asyncOperations_ShouldMatchSynchronousOperations() throws Exception {
+        final var userId = newUserId();
+        final var authToken = newToken(userId, 60_000);
+
+        assertTrue(cache.getTokenAsync(userId, authToken.token()).get(10, TimeUnit.SECONDS).isEmpty());
+        assertTrue(cache.addTokenAsync(userId, authToken).get(10, TimeUnit.SECONDS));
+
+        assertEquals(authToken, cache.getTokenAsync(userId, authToken.token()).get(10, TimeUnit.SECONDS).orElseThrow());
+        assertEquals(authToken, cache.getToken(userId, authToken.token()).orElseThrow());
+    }
+
+    @Test
+    void operations_ShouldBeThreadSafe() throws Exception {
+        final var threads = 8;
+        final var tokensPerThread = 50;
+        final var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final var futures = new ArrayList<Future<List<AuthToken>>>();
+
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    final var added = new ArrayList<AuthToken>();
+
+                    for (var j = 0; j < tokensPerThread; j++) {
+                        final var userId = newUserId();
+                        final var authToken = newToken(userId, 60_000);
+                        assertTrue(cache.addToken(userId, authToken));
+                        added.add(authToken);
+                    }
+
+                    return added;
+                }));
+            }
+
+            for (final var future : futures) {
+                for (final var authToken : future.get(30, TimeUnit.SECONDS)) {
+                    assertEquals(authToken, cache.getToken(authToken.userId(), authToken.token()).orElseThrow());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a random user ID, unique to the calling test.
+     *
+     * @return a new user ID
+     */
+    protected static String newUserId() {
+        return "conformance-user-" + UUID.randomUUID();
+    }
+
+    /**
+     * Returns a session of the given user with a random token.
+     *
+     * @param userId          the user ID of the session
+     * @param expiresInMillis the time to live of the session
+     * @return a new {@link AuthToken} instance
+     */
+    protected static AuthToken newToken(final String userId, final long expiresInMillis) {
+        return new AuthToken(userId, UUID.randomUUID().toString(), System.currentTimeMillis() + expiresInMillis);
+    }
+
+}